@@ -20,6 +20,9 @@ import java.io.DataInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.util.Arrays;
 
 import parquet.Log;
 
@@ -61,7 +64,29 @@ abstract public class BytesInput {
    */
   public static BytesInput from(byte[] in) {
     if (DEBUG) LOG.debug("BytesInput from array of " + in.length + " bytes");
-    return new ByteArrayBytesInput(in);
+    return new ByteArrayBytesInput(in, 0, in.length);
+  }
+
+  /**
+   *
+   * @param in
+   * @param offset start of the bytes in the array
+   * @param length number of bytes
+   * @return a Bytes input that will write the given slice of the array without copying it
+   */
+  public static BytesInput from(byte[] in, int offset, int length) {
+    if (DEBUG) LOG.debug("BytesInput from array of " + length + " bytes");
+    return new ByteArrayBytesInput(in, offset, length);
+  }
+
+  /**
+   *
+   * @param buffer
+   * @return a Bytes input that will write the bytes between the position and the limit of the buffer without copying them
+   */
+  public static BytesInput from(ByteBuffer buffer) {
+    if (DEBUG) LOG.debug("BytesInput from buffer of " + buffer.remaining() + " bytes");
+    return new ByteBufferBytesInput(buffer);
   }
 
   /**
@@ -82,6 +107,15 @@ abstract public class BytesInput {
     return new BAOSBytesInput(arrayOut);
   }
 
+  /**
+   *
+   * @param arrayOut
+   * @return a BytesInput that will write the content of the slabs of the buffer
+   */
+  public static BytesInput from(CapacityByteArrayOutputStream arrayOut) {
+    return new CapacityBAOSBytesInput(arrayOut);
+  }
+
   /**
    * @return an empty bytes input
    */
@@ -118,6 +152,15 @@ abstract public class BytesInput {
     return baos.getBuf();
   }
 
+  /**
+   *
+   * @return a buffer of the contents of this input. It is not a copy when the input already wraps a buffer or an array
+   * @throws IOException
+   */
+  public ByteBuffer toByteBuffer() throws IOException {
+    return ByteBuffer.wrap(toByteArray());
+  }
+
   /**
    *
    * @return the size in bytes that would be written
@@ -246,22 +289,97 @@ abstract public class BytesInput {
 
   }
 
+  private static class CapacityBAOSBytesInput extends BytesInput {
+
+    private final CapacityByteArrayOutputStream arrayOut;
+
+    private CapacityBAOSBytesInput(CapacityByteArrayOutputStream arrayOut) {
+      this.arrayOut = arrayOut;
+    }
+
+    @Override
+    public void writeAllTo(OutputStream out) throws IOException {
+      arrayOut.writeTo(out);
+    }
+
+    @Override
+    public byte[] toByteArray() throws IOException {
+      return arrayOut.toByteArray();
+    }
+
+    @Override
+    public long size() {
+      return arrayOut.size();
+    }
+
+  }
+
   private static class ByteArrayBytesInput extends BytesInput {
 
     private final byte[] in;
+    private final int offset;
+    private final int length;
 
-    private ByteArrayBytesInput(byte[] in) {
+    private ByteArrayBytesInput(byte[] in, int offset, int length) {
       this.in = in;
+      this.offset = offset;
+      this.length = length;
     }
 
     @Override
     public void writeAllTo(OutputStream out) throws IOException {
-      out.write(in);
+      out.write(in, offset, length);
+    }
+
+    @Override
+    public byte[] toByteArray() throws IOException {
+      return Arrays.copyOfRange(in, offset, offset + length);
+    }
+
+    @Override
+    public ByteBuffer toByteBuffer() throws IOException {
+      return ByteBuffer.wrap(in, offset, length).slice();
+    }
+
+    @Override
+    public long size() {
+      return length;
+    }
+
+  }
+
+  private static class ByteBufferBytesInput extends BytesInput {
+
+    private final ByteBuffer buffer;
+
+    private ByteBufferBytesInput(ByteBuffer buffer) {
+      this.buffer = buffer.slice();
+    }
+
+    @Override
+    public void writeAllTo(OutputStream out) throws IOException {
+      if (buffer.hasArray()) {
+        out.write(buffer.array(), buffer.arrayOffset(), buffer.remaining());
+      } else {
+        Channels.newChannel(out).write(buffer.duplicate());
+      }
+    }
+
+    @Override
+    public byte[] toByteArray() throws IOException {
+      byte[] bytes = new byte[buffer.remaining()];
+      buffer.duplicate().get(bytes);
+      return bytes;
+    }
+
+    @Override
+    public ByteBuffer toByteBuffer() throws IOException {
+      return buffer.duplicate();
     }
 
     @Override
     public long size() {
-      return in.length;
+      return buffer.remaining();
     }
 
   }
@@ -99,4 +99,64 @@ public class BytesUtils {
     }
     out.write(value & 0x7F);
   }
+
+  public static void writeUnsignedVarLong(long value, OutputStream out) throws IOException {
+    while ((value & 0xFFFFFFFFFFFFFF80L) != 0L) {
+      out.write((int)(value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    out.write((int)(value & 0x7F));
+  }
+
+  /**
+   * writes a signed long so that small absolute values use few bytes
+   * @param value the value to write
+   * @param out the stream to write to
+   * @throws IOException
+   */
+  public static void writeZigZagVarLong(long value, OutputStream out) throws IOException {
+    writeUnsignedVarLong((value << 1) ^ (value >> 63), out);
+  }
+
+  public static byte[] intToBytes(int value) {
+    byte[] outBuffer = new byte[4];
+    outBuffer[3] = (byte)(value >>> 24);
+    outBuffer[2] = (byte)(value >>> 16);
+    outBuffer[1] = (byte)(value >>>  8);
+    outBuffer[0] = (byte)(value >>>  0);
+    return outBuffer;
+  }
+
+  public static int bytesToInt(byte[] bytes) {
+    return ((bytes[3] & 255) << 24) +
+           ((bytes[2] & 255) << 16) +
+           ((bytes[1] & 255) <<  8) +
+           ((bytes[0] & 255) <<  0);
+  }
+
+  public static byte[] longToBytes(long value) {
+    byte[] outBuffer = new byte[8];
+    for (int i = 0; i < 8; i++) {
+      outBuffer[i] = (byte)(value >>> (8 * i));
+    }
+    return outBuffer;
+  }
+
+  public static long bytesToLong(byte[] bytes) {
+    long value = 0;
+    for (int i = 7; i >= 0; i--) {
+      value = (value << 8) + (bytes[i] & 255);
+    }
+    return value;
+  }
+
+  public static byte[] booleanToBytes(boolean value) {
+    byte[] outBuffer = new byte[1];
+    outBuffer[0] = (byte)(value ? 1 : 0);
+    return outBuffer;
+  }
+
+  public static boolean bytesToBool(byte[] bytes) {
+    return (bytes[0] & 255) != 0;
+  }
 }
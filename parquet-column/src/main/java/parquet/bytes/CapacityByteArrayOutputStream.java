@@ -15,26 +15,148 @@
  */
 package parquet.bytes;
 
-import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
- * expose the memory used by a ByteArrayOutputStream
+ * A growable buffer made of a list of slabs.
+ * Growing it allocates a new slab and never copies the bytes already written.
+ * The first slab has the initial size, the next ones double the capacity until they reach {@link #MAX_SLAB_SIZE}.
+ * The slabs are kept on {@link #reset()} to be reused.
+ *
+ * The write methods are not synchronized as the buffers are used by only one thread.
  *
  * @author Julien Le Dem
  *
  */
-public class CapacityByteArrayOutputStream extends ByteArrayOutputStream {
+public class CapacityByteArrayOutputStream extends OutputStream {
+
+  static final int MAX_SLAB_SIZE = 1024 * 1024;
+
+  private final int initialSlabSize;
+  private final List<byte[]> slabs = new ArrayList<byte[]>();
+  private byte[] currentSlab;
+  private int currentSlabIndex;
+  private int currentSlabPosition;
+  private int size;
+  private int capacity;
+
+  /**
+   * No memory is allocated until the first write
+   * @param initialSlabSize the size of the first slab
+   */
+  public CapacityByteArrayOutputStream(int initialSlabSize) {
+    if (initialSlabSize <= 0) {
+      throw new IllegalArgumentException("initialSlabSize must be positive: " + initialSlabSize);
+    }
+    this.initialSlabSize = initialSlabSize;
+    reset();
+  }
+
+  private void nextSlab() {
+    ++ currentSlabIndex;
+    if (currentSlabIndex == slabs.size()) {
+      int nextSlabSize = capacity == 0 ? initialSlabSize : Math.max(initialSlabSize, Math.min(MAX_SLAB_SIZE, capacity));
+      slabs.add(new byte[nextSlabSize]);
+      capacity += nextSlabSize;
+    }
+    currentSlab = slabs.get(currentSlabIndex);
+    currentSlabPosition = 0;
+  }
+
+  /**
+   * {@inheritDoc}
+   * @see java.io.OutputStream#write(int)
+   */
+  @Override
+  public void write(int b) {
+    if (currentSlab == null || currentSlabPosition == currentSlab.length) {
+      nextSlab();
+    }
+    currentSlab[currentSlabPosition] = (byte) b;
+    currentSlabPosition += 1;
+    size += 1;
+  }
 
-  public CapacityByteArrayOutputStream(int initialSize) {
-    super(initialSize);
+  /**
+   * {@inheritDoc}
+   * @see java.io.OutputStream#write(byte[], int, int)
+   */
+  @Override
+  public void write(byte[] b, int off, int len) {
+    if ((off < 0) || (len < 0) || (off > b.length - len)) {
+      throw new IndexOutOfBoundsException();
+    }
+    while (len > 0) {
+      if (currentSlab == null || currentSlabPosition == currentSlab.length) {
+        nextSlab();
+      }
+      int length = Math.min(len, currentSlab.length - currentSlabPosition);
+      System.arraycopy(b, off, currentSlab, currentSlabPosition, length);
+      currentSlabPosition += length;
+      size += length;
+      off += length;
+      len -= length;
+    }
+  }
+
+  /**
+   * writes the content of the slabs to the given stream without copying them in a single array
+   * @param out the output to write to
+   * @throws IOException if the output throws
+   */
+  public void writeTo(OutputStream out) throws IOException {
+    for (int i = 0; i < currentSlabIndex; i++) {
+      byte[] slab = slabs.get(i);
+      out.write(slab, 0, slab.length);
+    }
+    if (currentSlab != null) {
+      out.write(currentSlab, 0, currentSlabPosition);
+    }
+  }
+
+  /**
+   * @return a copy of the content of the buffer
+   */
+  public byte[] toByteArray() {
+    byte[] result = new byte[size];
+    int position = 0;
+    for (int i = 0; i < currentSlabIndex; i++) {
+      byte[] slab = slabs.get(i);
+      System.arraycopy(slab, 0, result, position, slab.length);
+      position += slab.length;
+    }
+    if (currentSlab != null) {
+      System.arraycopy(currentSlab, 0, result, position, currentSlabPosition);
+    }
+    return result;
+  }
+
+  /**
+   * @return the number of bytes written
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * empties the buffer. The slabs are kept and reused by the next writes
+   */
+  public void reset() {
+    currentSlab = null;
+    currentSlabIndex = -1;
+    currentSlabPosition = 0;
+    size = 0;
   }
 
   /**
    *
-   * @return the size of the allocated buffer
+   * @return the size of the allocated slabs
    */
   public int getCapacity() {
-    return buf.length;
+    return capacity;
   }
 
-}
\ No newline at end of file
+}
@@ -28,6 +28,8 @@ public class LittleEndianDataOutputStream extends OutputStream {
 
   private final OutputStream out;
 
+  private final byte writeBuffer[] = new byte[8];
+
   /**
    * Creates a new data output stream to write data to the specified
    * underlying output stream. The counter <code>written</code> is
@@ -127,8 +129,9 @@ public class LittleEndianDataOutputStream extends OutputStream {
    * @see        java.io.FilterOutputStream#out
    */
   public final void writeShort(int v) throws IOException {
-    out.write((v >>> 0) & 0xFF);
-    out.write((v >>> 8) & 0xFF);
+    writeBuffer[0] = (byte)(v >>> 0);
+    writeBuffer[1] = (byte)(v >>> 8);
+    out.write(writeBuffer, 0, 2);
   }
 
   /**
@@ -141,17 +144,14 @@ public class LittleEndianDataOutputStream extends OutputStream {
    * @see        java.io.FilterOutputStream#out
    */
   public final void writeInt(int v) throws IOException {
-    // TODO: see note in LittleEndianDataInputStream: maybe faster
-    // to use Integer.reverseBytes() and then writeInt, or a ByteBuffer
-    // approach
-    out.write((v >>>  0) & 0xFF);
-    out.write((v >>>  8) & 0xFF);
-    out.write((v >>> 16) & 0xFF);
-    out.write((v >>> 24) & 0xFF);
+    // one call to the underlying stream instead of one per byte
+    writeBuffer[3] = (byte)(v >>> 24);
+    writeBuffer[2] = (byte)(v >>> 16);
+    writeBuffer[1] = (byte)(v >>>  8);
+    writeBuffer[0] = (byte)(v >>>  0);
+    out.write(writeBuffer, 0, 4);
   }
 
-  private byte writeBuffer[] = new byte[8];
-
   /**
    * Writes a <code>long</code> to the underlying output stream as eight
    * bytes, low byte first. In no exception is thrown, the counter
@@ -39,6 +39,12 @@ public interface ColumnReader {
    */
   void consume();
 
+  /**
+   * Skip the current triplet without materializing it, moving to the next value.
+   * Unlike {@link #consume()} this is valid when the current value has not been read.
+   */
+  void skip();
+
   /**
    * must return 0 when isFullyConsumed() == true
    * @return the repetition level for the current value
@@ -84,4 +90,28 @@ public interface ColumnReader {
    * @return the current value
    */
   double getDouble();
+
+  /**
+   * Reads up to length triplets starting from the current one into the provided arrays
+   * and moves to the triplet following the last one read.
+   * The value at index i is set only if definitionLevels[i] is the max definition level of the column.
+   * Other indices of values are left untouched.
+   * @param values receives the values
+   * @param definitionLevels receives the definition levels
+   * @param repetitionLevels receives the repetition levels
+   * @param offset the index of the first triplet in the arrays
+   * @param length the maximum number of triplets to read
+   * @return the number of triplets actually read (0 if the column is fully consumed)
+   */
+  int readIntegers(int[] values, int[] definitionLevels, int[] repetitionLevels, int offset, int length);
+
+  /**
+   * @see #readIntegers(int[], int[], int[], int, int)
+   */
+  int readLongs(long[] values, int[] definitionLevels, int[] repetitionLevels, int offset, int length);
+
+  /**
+   * @see #readIntegers(int[], int[], int[], int, int)
+   */
+  int readDoubles(double[] values, int[] definitionLevels, int[] repetitionLevels, int offset, int length);
 }
@@ -0,0 +1,73 @@
+/**
+ * Copyright 2012 Twitter, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package parquet.column;
+
+import parquet.io.Binary;
+
+/**
+ * a dictionary to decode dictionary based encodings
+ *
+ * @author Julien Le Dem
+ *
+ */
+public abstract class Dictionary {
+
+  private final Encoding encoding;
+
+  /**
+   * @param encoding the encoding used for the dictionary page
+   */
+  public Dictionary(Encoding encoding) {
+    this.encoding = encoding;
+  }
+
+  /**
+   * @return the encoding used for the dictionary page
+   */
+  public Encoding getEncoding() {
+    return encoding;
+  }
+
+  /**
+   * @return the highest id in this dictionary
+   */
+  public abstract int getMaxId();
+
+  /**
+   * @param id the id of the value in the dictionary
+   * @return the corresponding value
+   */
+  public Binary decodeToBinary(int id) {
+    throw new UnsupportedOperationException(this.getClass().getName());
+  }
+
+  /**
+   * @param id the id of the value in the dictionary
+   * @return the corresponding value
+   */
+  public int decodeToInt(int id) {
+    throw new UnsupportedOperationException(this.getClass().getName());
+  }
+
+  /**
+   * @param id the id of the value in the dictionary
+   * @return the corresponding value
+   */
+  public long decodeToLong(int id) {
+    throw new UnsupportedOperationException(this.getClass().getName());
+  }
+
+}
@@ -15,6 +15,55 @@
  */
 package parquet.column;
 
+/**
+ * encoding of the values in a page
+ *
+ * RLE, DELTA_BINARY_PACKED, DELTA_BYTE_ARRAY, BYTE_STREAM_SPLIT and XOR are experimental:
+ * parquet-format can not describe them yet, so they are only used by the column layer and not written to files
+ *
+ * @author Julien Le Dem
+ *
+ */
 public enum Encoding {
-  PLAIN
+
+  /**
+   * values are stored one after the other
+   */
+  PLAIN,
+
+  /**
+   * the dictionary page stores the distinct values in plain encoding
+   * and the data pages store the bit packed ids of the values in the dictionary
+   */
+  PLAIN_DICTIONARY,
+
+  /**
+   * INT32 and BOOLEAN values are stored as runs of repeated values or bit packed groups of values
+   * on the bit width of the biggest value in the page
+   */
+  RLE,
+
+  /**
+   * INT64 values are stored as the deltas between consecutive values,
+   * bit packed by miniblocks on the width of their biggest delta minus the smallest delta of their block
+   */
+  DELTA_BINARY_PACKED,
+
+  /**
+   * BINARY values are stored as the length of the prefix shared with the previous value and the remaining suffix.
+   * The lengths are in DELTA_BINARY_PACKED encoding
+   */
+  DELTA_BYTE_ARRAY,
+
+  /**
+   * FLOAT and DOUBLE values are split in one stream per byte of the value
+   * so that the bytes of the same significance are next to each other for the compression codec
+   */
+  BYTE_STREAM_SPLIT,
+
+  /**
+   * DOUBLE values are stored as the meaningful bits of the XOR with the previous value
+   */
+  XOR
+
 }
@@ -0,0 +1,91 @@
+/**
+ * Copyright 2012 Twitter, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package parquet.column.mem;
+
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import parquet.column.ColumnDescriptor;
+import parquet.column.Encoding;
+
+/**
+ * The encoding of the data pages requested for some of the columns.
+ * The other columns use the default encoding for their type
+ * or pick the smallest encoding for each page when adaptive encoding is enabled.
+ * The encodings can be restricted to the ones the storage can describe.
+ *
+ * @author Julien Le Dem
+ *
+ */
+public class ColumnEncodings {
+
+  private final Map<String, Encoding> encodings = new HashMap<String, Encoding>();
+  private final Set<Encoding> availableEncodings = EnumSet.allOf(Encoding.class);
+  private boolean adaptiveEncoding;
+
+  /**
+   * @param columnPath the path of the column separated by dots (ex: "a.b")
+   * @param encoding the encoding of the data pages of this column
+   */
+  public void setEncoding(String columnPath, Encoding encoding) {
+    if (encoding == null) {
+      throw new NullPointerException("encoding");
+    }
+    encodings.put(columnPath, encoding);
+  }
+
+  /**
+   * @param adaptiveEncoding whether the columns without a requested encoding pick the smallest encoding for their pages
+   */
+  public void setAdaptiveEncoding(boolean adaptiveEncoding) {
+    this.adaptiveEncoding = adaptiveEncoding;
+  }
+
+  /**
+   * @return whether the columns without a requested encoding pick the smallest encoding for their pages
+   */
+  public boolean isAdaptiveEncoding() {
+    return adaptiveEncoding;
+  }
+
+  /**
+   * @param encodings the only encodings the data pages can use (all of them by default)
+   */
+  public void setAvailableEncodings(Collection<Encoding> encodings) {
+    availableEncodings.clear();
+    availableEncodings.addAll(encodings);
+  }
+
+  /**
+   * @param encoding an encoding
+   * @return whether the data pages can use it
+   */
+  public boolean isAvailable(Encoding encoding) {
+    return availableEncodings.contains(encoding);
+  }
+
+  /**
+   * @param path the column
+   * @return the encoding requested for this column or null for the default one
+   */
+  public Encoding getEncoding(ColumnDescriptor path) {
+    return encodings.get(PageLimits.toColumnPath(path));
+  }
+
+}
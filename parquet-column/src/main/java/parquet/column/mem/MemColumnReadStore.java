@@ -73,6 +73,21 @@ public class MemColumnReadStore implements ColumnReadStore {
         currentInt = dataColumn.readInteger();
     }
 
+    @Override
+    public int readIntegers(int[] values, int[] definitionLevels, int[] repetitionLevels, int offset, int length) {
+      return readBatch(values, definitionLevels, repetitionLevels, offset, length);
+    }
+
+    @Override
+    protected void readDataBatch(Object values, int offset, int length) {
+      dataColumn.readIntegers((int[])values, offset, length);
+    }
+
+    @Override
+    protected void copyCurrentValue(Object values, int index) {
+      ((int[])values)[index] = currentInt;
+    }
+
     @Override
     public String getCurrentValueToString() throws IOException {
       checkRead();
@@ -98,6 +113,26 @@ public class MemColumnReadStore implements ColumnReadStore {
       currentLong = dataColumn.readLong();
     }
 
+    @Override
+    public int readLongs(long[] values, int[] definitionLevels, int[] repetitionLevels, int offset, int length) {
+      return readBatch(values, definitionLevels, repetitionLevels, offset, length);
+    }
+
+    @Override
+    protected void readDataBatch(Object values, int offset, int length) {
+      dataColumn.readLongs((long[])values, offset, length);
+    }
+
+    @Override
+    protected void skipDataValues(int count) {
+      dataColumn.skipLongs(count);
+    }
+
+    @Override
+    protected void copyCurrentValue(Object values, int index) {
+      ((long[])values)[index] = currentLong;
+    }
+
     @Override
     public String getCurrentValueToString() throws IOException {
       checkRead();
@@ -198,6 +233,21 @@ public class MemColumnReadStore implements ColumnReadStore {
       current = dataColumn.readDouble();
     }
 
+    @Override
+    public int readDoubles(double[] values, int[] definitionLevels, int[] repetitionLevels, int offset, int length) {
+      return readBatch(values, definitionLevels, repetitionLevels, offset, length);
+    }
+
+    @Override
+    protected void readDataBatch(Object values, int offset, int length) {
+      dataColumn.readDoubles((double[])values, offset, length);
+    }
+
+    @Override
+    protected void copyCurrentValue(Object values, int index) {
+      ((double[])values)[index] = current;
+    }
+
     @Override
     public String getCurrentValueToString() throws IOException {
       checkRead();
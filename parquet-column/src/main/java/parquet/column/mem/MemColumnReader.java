@@ -16,20 +16,30 @@
 package parquet.column.mem;
 
 import static parquet.Log.DEBUG;
-import static parquet.column.Encoding.PLAIN;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 
 import parquet.Log;
 import parquet.column.ColumnDescriptor;
 import parquet.column.ColumnReader;
+import parquet.column.Dictionary;
+import parquet.column.Encoding;
 import parquet.column.primitive.BitPackingColumnReader;
 import parquet.column.primitive.BooleanPlainColumnReader;
 import parquet.column.primitive.BoundedColumnFactory;
+import parquet.column.primitive.ByteStreamSplitColumnReader;
+import parquet.column.primitive.DeltaBinaryPackingColumnReader;
+import parquet.column.primitive.DeltaByteArrayColumnReader;
+import parquet.column.primitive.DictionaryColumnReader;
 import parquet.column.primitive.PlainColumnReader;
+import parquet.column.primitive.PlainDictionary;
 import parquet.column.primitive.PrimitiveColumnReader;
+import parquet.column.primitive.RLEColumnReader;
+import parquet.column.primitive.XorColumnReader;
 import parquet.io.Binary;
 import parquet.io.ParquetDecodingException;
+import parquet.schema.PrimitiveType.PrimitiveTypeName;
 
 /**
  * ColumnReader implementation 
@@ -43,10 +53,13 @@ abstract class MemColumnReader implements ColumnReader {
   private final ColumnDescriptor path;
   private final long totalValueCount;
   private final PageReader pageReader;
+  private final Dictionary dictionary;
+  private final int maxDefinitionLevel;
 
   private PrimitiveColumnReader repetitionLevelColumn;
   private PrimitiveColumnReader definitionLevelColumn;
   protected PrimitiveColumnReader dataColumn;
+  private Encoding dataColumnEncoding;
 
   private int repetitionLevel;
   private int definitionLevel;
@@ -56,6 +69,8 @@ abstract class MemColumnReader implements ColumnReader {
   private int readValues;
   private int readValuesInPage;
   private long pageValueCount;
+  // values of the page skipped in the data column, they are skipped together before the next read
+  private int skippedValues;
 
   /**
    *
@@ -71,10 +86,21 @@ abstract class MemColumnReader implements ColumnReader {
     }
     this.path = path;
     this.pageReader = pageReader;
+    this.maxDefinitionLevel = path.getMaxDefinitionLevel();
     this.totalValueCount = pageReader.getTotalValueCount();
     if (totalValueCount == 0) {
       throw new ParquetDecodingException("totalValueCount == 0");
     }
+    DictionaryPage dictionaryPage = pageReader.readDictionaryPage();
+    if (dictionaryPage != null) {
+      try {
+        this.dictionary = PlainDictionary.read(path.getType(), dictionaryPage);
+      } catch (IOException e) {
+        throw new ParquetDecodingException("could not decode the dictionary for " + path, e);
+      }
+    } else {
+      this.dictionary = null;
+    }
   }
 
   /**
@@ -84,7 +110,8 @@ abstract class MemColumnReader implements ColumnReader {
    */
   @Override
   public boolean isFullyConsumed() {
-    return readValues >= totalValueCount;
+    // the last triplet may have been read ahead and not consumed yet
+    return readValues >= totalValueCount && consumed;
   }
 
   /**
@@ -156,6 +183,128 @@ abstract class MemColumnReader implements ColumnReader {
     throw new UnsupportedOperationException();
   }
 
+  /**
+   *
+   * {@inheritDoc}
+   * @see parquet.column.ColumnReader#readIntegers(int[], int[], int[], int, int)
+   */
+  @Override
+  public int readIntegers(int[] values, int[] definitionLevels, int[] repetitionLevels, int offset, int length) {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   *
+   * {@inheritDoc}
+   * @see parquet.column.ColumnReader#readLongs(long[], int[], int[], int, int)
+   */
+  @Override
+  public int readLongs(long[] values, int[] definitionLevels, int[] repetitionLevels, int offset, int length) {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   *
+   * {@inheritDoc}
+   * @see parquet.column.ColumnReader#readDoubles(double[], int[], int[], int, int)
+   */
+  @Override
+  public int readDoubles(double[] values, int[] definitionLevels, int[] repetitionLevels, int offset, int length) {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * reads a batch of triplets for the type specific readXXXs() methods.
+   * @param values an array of the type of the column
+   * @see parquet.column.ColumnReader#readIntegers(int[], int[], int[], int, int)
+   */
+  protected int readBatch(Object values, int[] definitionLevels, int[] repetitionLevels, int offset, int length) {
+    int read = 0;
+    if (length > 0 && !consumed) {
+      // the current triplet has already been started by the non batch API
+      repetitionLevels[offset] = repetitionLevel;
+      definitionLevels[offset] = definitionLevel;
+      if (definitionLevel == maxDefinitionLevel) {
+        checkValueRead();
+        copyCurrentValue(values, offset);
+      }
+      consume();
+      read = 1;
+    }
+    while (read < length && !isFullyConsumed()) {
+      if (isPageFullyConsumed()) {
+        readPage();
+      }
+      skipDataValues();
+      int start = offset + read;
+      int count = (int)Math.min(length - read, pageValueCount - readValuesInPage);
+      repetitionLevelColumn.readIntegers(repetitionLevels, start, count);
+      definitionLevelColumn.readIntegers(definitionLevels, start, count);
+      if (maxDefinitionLevel == 0) {
+        readDataBatch(values, start, count);
+      } else {
+        // read the runs of non null values
+        int end = start + count;
+        int i = start;
+        while (i < end) {
+          if (definitionLevels[i] != maxDefinitionLevel) {
+            ++ i;
+            continue;
+          }
+          int runStart = i;
+          while (i < end && definitionLevels[i] == maxDefinitionLevel) {
+            ++ i;
+          }
+          readDataBatch(values, runStart, i - runStart);
+        }
+      }
+      readValues += count;
+      readValuesInPage += count;
+      read += count;
+    }
+    if (isFullyConsumed()) {
+      repetitionLevel = 0;
+    }
+    return read;
+  }
+
+  /**
+   * reads length values from the data column in the provided array
+   * @param values an array of the type of the column
+   * @param offset where to start writing in values
+   * @param length how many values to read
+   */
+  protected void readDataBatch(Object values, int offset, int length) {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * copies the current value in the provided array
+   * @param values an array of the type of the column
+   * @param index where to write
+   */
+  protected void copyCurrentValue(Object values, int index) {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * skips values in the data column.
+   * Subclasses should override this when the data column can skip values without decoding them
+   * @param count how many values to skip
+   */
+  protected void skipDataValues(int count) {
+    for (int i = 0; i < count; i++) {
+      readCurrentValue();
+    }
+  }
+
+  private void skipDataValues() {
+    if (skippedValues > 0) {
+      skipDataValues(skippedValues);
+      skippedValues = 0;
+    }
+  }
+
   /**
    *
    * {@inheritDoc}
@@ -182,6 +331,7 @@ abstract class MemColumnReader implements ColumnReader {
   protected void checkValueRead() {
     checkRead();
     if (!consumed && !valueRead) {
+      skipDataValues();
       readCurrentValue();
       valueRead = true;
     }
@@ -217,38 +367,101 @@ abstract class MemColumnReader implements ColumnReader {
       return;
     }
     if (isPageFullyConsumed()) {
-      if (DEBUG) LOG.debug("loading page");
-      Page page = pageReader.readPage();
-      if (page.getEncoding() != PLAIN) {
-        // TODO: implement more encoding
-        throw new ParquetDecodingException("Unsupported encoding: " + page.getEncoding());
+      readPage();
+    }
+    read();
+  }
+
+  private void readPage() {
+    if (DEBUG) LOG.debug("loading page");
+    Page page = pageReader.readPage();
+
+    repetitionLevelColumn = new BitPackingColumnReader(path.getMaxRepetitionLevel());
+    definitionLevelColumn = BoundedColumnFactory.getBoundedReader(maxDefinitionLevel);
+    if (dataColumn == null || dataColumnEncoding != page.getEncoding()) {
+      // the reader keeps its buffers from page to page when the encoding does not change
+      this.dataColumn = newDataColumnReader(page.getEncoding());
+      this.dataColumnEncoding = page.getEncoding();
+    }
+
+    this.pageValueCount = page.getValueCount();
+    this.readValuesInPage = 0;
+    this.skippedValues = 0;
+    try {
+      // the page is read in place when it is already on the heap
+      ByteBuffer buffer = page.getBytes().toByteBuffer();
+      final byte[] bytes;
+      final int offset;
+      if (buffer.hasArray()) {
+        bytes = buffer.array();
+        offset = buffer.arrayOffset() + buffer.position();
+      } else {
+        bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        offset = 0;
       }
+      final int end = offset + buffer.remaining();
+      if (DEBUG) LOG.debug("page size " + buffer.remaining() + " bytes and " + pageValueCount + " records");
+      if (DEBUG) LOG.debug("reading repetition levels at " + offset);
+      int next = repetitionLevelColumn.initFromPage(pageValueCount, bytes, offset, end);
+      if (DEBUG) LOG.debug("reading definition levels at " + next);
+      next = definitionLevelColumn.initFromPage(pageValueCount, bytes, next, end);
+      if (DEBUG) LOG.debug("reading data at " + next);
+      dataColumn.initFromPage(pageValueCount, bytes, next, end);
+    } catch (IOException e) {
+      throw new ParquetDecodingException("could not read page " + page + " in col " + path, e);
+    }
+  }
 
-      repetitionLevelColumn = new BitPackingColumnReader(path.getMaxRepetitionLevel());
-      definitionLevelColumn = BoundedColumnFactory.getBoundedReader(path.getMaxDefinitionLevel());
+  private PrimitiveColumnReader newDataColumnReader(Encoding encoding) {
+    switch (encoding) {
+    case PLAIN:
       switch (path.getType()) {
       case BOOLEAN:
-        this.dataColumn = new BooleanPlainColumnReader();
+        return new BooleanPlainColumnReader();
       default:
-        this.dataColumn = new PlainColumnReader();
+        return new PlainColumnReader();
       }
-
-      this.pageValueCount = page.getValueCount();
-      this.readValuesInPage = 0;
-      try {
-        byte[] bytes = page.getBytes().toByteArray();
-        if (DEBUG) LOG.debug("page size " + bytes.length + " bytes and " + pageValueCount + " records");
-        if (DEBUG) LOG.debug("reading repetition levels at 0");
-        int next = repetitionLevelColumn.initFromPage(pageValueCount, bytes, 0);
-        if (DEBUG) LOG.debug("reading definition levels at " + next);
-        next = definitionLevelColumn.initFromPage(pageValueCount, bytes, next);
-        if (DEBUG) LOG.debug("reading data at " + next);
-        dataColumn.initFromPage(pageValueCount, bytes, next);
-      } catch (IOException e) {
-        throw new ParquetDecodingException("could not read page " + page + " in col " + path, e);
+    case PLAIN_DICTIONARY:
+      if (dictionary == null) {
+        throw new ParquetDecodingException("missing dictionary page for dictionary encoded data in col " + path);
+      }
+      return new DictionaryColumnReader(dictionary);
+    case RLE:
+      switch (path.getType()) {
+      case INT32:
+      case BOOLEAN:
+        return new RLEColumnReader();
+      default:
+        throw new ParquetDecodingException("RLE encoding is not supported for col " + path);
+      }
+    case DELTA_BINARY_PACKED:
+      if (path.getType() != PrimitiveTypeName.INT64) {
+        throw new ParquetDecodingException("DELTA_BINARY_PACKED encoding is not supported for col " + path);
+      }
+      return new DeltaBinaryPackingColumnReader();
+    case DELTA_BYTE_ARRAY:
+      if (path.getType() != PrimitiveTypeName.BINARY) {
+        throw new ParquetDecodingException("DELTA_BYTE_ARRAY encoding is not supported for col " + path);
+      }
+      return new DeltaByteArrayColumnReader();
+    case BYTE_STREAM_SPLIT:
+      switch (path.getType()) {
+      case FLOAT:
+        return new ByteStreamSplitColumnReader(4);
+      case DOUBLE:
+        return new ByteStreamSplitColumnReader(8);
+      default:
+        throw new ParquetDecodingException("BYTE_STREAM_SPLIT encoding is not supported for col " + path);
       }
+    case XOR:
+      if (path.getType() != PrimitiveTypeName.DOUBLE) {
+        throw new ParquetDecodingException("XOR encoding is not supported for col " + path);
+      }
+      return new XorColumnReader();
+    default:
+      throw new ParquetDecodingException("Unsupported encoding: " + encoding);
     }
-    read();
   }
 
   private boolean isPageFullyConsumed() {
@@ -266,4 +479,19 @@ abstract class MemColumnReader implements ColumnReader {
     valueRead = false;
   }
 
+  /**
+   *
+   * {@inheritDoc}
+   * @see parquet.column.ColumnReader#skip()
+   */
+  @Override
+  public void skip() {
+    checkRead();
+    if (!consumed && !valueRead && definitionLevel == maxDefinitionLevel) {
+      // the data column moves past the value before the next read
+      ++ skippedValues;
+    }
+    consume();
+  }
+
 }
@@ -30,12 +30,54 @@ public class MemColumnWriteStore implements ColumnWriteStore {
 
   private final Map<ColumnDescriptor, MemColumnWriter> columns = new TreeMap<ColumnDescriptor, MemColumnWriter>();
   private final PageWriteStore pageWriteStore;
-  private final int pageSizeThreshold;
+  private final PageLimits pageLimits;
+  private final int dictionaryPageSizeThreshold;
+  private final boolean enableDictionary;
+  private final ColumnEncodings columnEncodings;
 
+  /**
+   * values are written using plain encoding
+   * @param pageWriteStore the store to write pages to
+   * @param pageSizeThreshold the size of a page
+   */
   public MemColumnWriteStore(PageWriteStore pageWriteStore, int pageSizeThreshold) {
+    this(pageWriteStore, pageSizeThreshold, pageSizeThreshold, false);
+  }
+
+  /**
+   * @param pageWriteStore the store to write pages to
+   * @param pageSizeThreshold the size of a page
+   * @param dictionaryPageSizeThreshold the maximum size of a dictionary page before falling back to plain encoding
+   * @param enableDictionary whether to use dictionary encoding for the types that support it
+   */
+  public MemColumnWriteStore(PageWriteStore pageWriteStore, int pageSizeThreshold, int dictionaryPageSizeThreshold, boolean enableDictionary) {
+    this(pageWriteStore, new PageLimits(pageSizeThreshold), dictionaryPageSizeThreshold, enableDictionary);
+  }
+
+  /**
+   * @param pageWriteStore the store to write pages to
+   * @param pageLimits the size and value count of the pages of each column
+   * @param dictionaryPageSizeThreshold the maximum size of a dictionary page before falling back to plain encoding
+   * @param enableDictionary whether to use dictionary encoding for the types that support it
+   */
+  public MemColumnWriteStore(PageWriteStore pageWriteStore, PageLimits pageLimits, int dictionaryPageSizeThreshold, boolean enableDictionary) {
+    this(pageWriteStore, pageLimits, dictionaryPageSizeThreshold, enableDictionary, new ColumnEncodings());
+  }
+
+  /**
+   * @param pageWriteStore the store to write pages to
+   * @param pageLimits the size and value count of the pages of each column
+   * @param dictionaryPageSizeThreshold the maximum size of a dictionary page before falling back to plain encoding
+   * @param enableDictionary whether to use dictionary encoding for the types that support it
+   * @param columnEncodings the encodings requested for some of the columns instead of the default ones
+   */
+  public MemColumnWriteStore(PageWriteStore pageWriteStore, PageLimits pageLimits, int dictionaryPageSizeThreshold, boolean enableDictionary, ColumnEncodings columnEncodings) {
     super();
     this.pageWriteStore = pageWriteStore;
-    this.pageSizeThreshold = pageSizeThreshold;
+    this.pageLimits = pageLimits;
+    this.dictionaryPageSizeThreshold = dictionaryPageSizeThreshold;
+    this.enableDictionary = enableDictionary;
+    this.columnEncodings = columnEncodings;
   }
 
   public ColumnWriter getColumnWriter(ColumnDescriptor path) {
@@ -49,7 +91,7 @@ public class MemColumnWriteStore implements ColumnWriteStore {
 
   private MemColumnWriter newMemColumn(ColumnDescriptor path) {
     PageWriter pageWriter = pageWriteStore.getPageWriter(path);
-    return new MemColumnWriter(path, pageWriter, pageSizeThreshold);
+    return new MemColumnWriter(path, pageWriter, pageLimits.getPageSizeThreshold(path), pageLimits.getPageValueCountThreshold(path), dictionaryPageSizeThreshold, enableDictionary, columnEncodings);
   }
 
   @Override
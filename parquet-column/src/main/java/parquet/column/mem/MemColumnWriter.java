@@ -16,19 +16,33 @@
 package parquet.column.mem;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 
 import parquet.Log;
 import parquet.bytes.BytesInput;
 import parquet.column.ColumnDescriptor;
 import parquet.column.ColumnWriter;
+import parquet.column.Encoding;
+import parquet.column.primitive.AdaptiveColumnWriter;
 import parquet.column.primitive.BitPackingColumnWriter;
 import parquet.column.primitive.BooleanPlainColumnWriter;
 import parquet.column.primitive.BoundedColumnFactory;
+import parquet.column.primitive.ByteStreamSplitColumnWriter;
 import parquet.column.primitive.DataColumnWriter;
+import parquet.column.primitive.DeltaBinaryPackingColumnWriter;
+import parquet.column.primitive.DeltaByteArrayColumnWriter;
+import parquet.column.primitive.DictionaryColumnWriter.PlainBinaryDictionaryColumnWriter;
+import parquet.column.primitive.DictionaryColumnWriter.PlainIntegerDictionaryColumnWriter;
+import parquet.column.primitive.DictionaryColumnWriter.PlainLongDictionaryColumnWriter;
 import parquet.column.primitive.PlainColumnWriter;
 import parquet.column.primitive.PrimitiveColumnWriter;
+import parquet.column.primitive.RLEColumnWriter;
+import parquet.column.primitive.XorColumnWriter;
+import parquet.column.statistics.Statistics;
 import parquet.io.Binary;
 import parquet.io.ParquetEncodingException;
+import parquet.schema.PrimitiveType.PrimitiveTypeName;
 
 
 final class MemColumnWriter implements ColumnWriter {
@@ -38,43 +52,197 @@ final class MemColumnWriter implements ColumnWriter {
   private final ColumnDescriptor path;
   private final PageWriter pageWriter;
   private final long pageSizeThreshold;
+  private final int pageValueCountThreshold;
   private PrimitiveColumnWriter repetitionLevelColumn;
   private PrimitiveColumnWriter definitionLevelColumn;
   private DataColumnWriter dataColumn;
   private int valueCount;
+  private int valueCountForNextSizeCheck;
+  private Statistics<?> statistics;
 
-  public MemColumnWriter(ColumnDescriptor path, PageWriter pageWriter, int pageSizeThreshold) {
+  public MemColumnWriter(ColumnDescriptor path, PageWriter pageWriter, int pageSizeThreshold, int dictionaryPageSizeThreshold, boolean enableDictionary) {
+    this(path, pageWriter, pageSizeThreshold, Integer.MAX_VALUE, dictionaryPageSizeThreshold, enableDictionary, new ColumnEncodings());
+  }
+
+  /**
+   * @param columnEncodings the encoding of the data pages if one is requested for this column, adaptive or default otherwise
+   */
+  public MemColumnWriter(ColumnDescriptor path, PageWriter pageWriter, int pageSizeThreshold, int pageValueCountThreshold, int dictionaryPageSizeThreshold, boolean enableDictionary, ColumnEncodings columnEncodings) {
     this.path = path;
     this.pageWriter = pageWriter;
     this.pageSizeThreshold = pageSizeThreshold;
+    this.pageValueCountThreshold = pageValueCountThreshold;
     repetitionLevelColumn = new BitPackingColumnWriter(path.getMaxRepetitionLevel());
     definitionLevelColumn = BoundedColumnFactory.getBoundedWriter(path.getMaxDefinitionLevel());
+    Encoding encoding = columnEncodings.getEncoding(path);
+    if (encoding != null) {
+      if (!columnEncodings.isAvailable(encoding)) {
+        throw new ParquetEncodingException("encoding " + encoding + " is not available for column " + path);
+      }
+      this.dataColumn = newDataColumnWriter(encoding, pageSizeThreshold * 11 / 10, dictionaryPageSizeThreshold);
+    } else if (columnEncodings.isAdaptiveEncoding()) {
+      this.dataColumn = newAdaptiveDataColumnWriter(pageSizeThreshold * 11 / 10, dictionaryPageSizeThreshold, enableDictionary, columnEncodings);
+    } else {
+      this.dataColumn = newDataColumnWriter(pageSizeThreshold * 11 / 10, dictionaryPageSizeThreshold, enableDictionary);
+    }
+    resetStatistics();
+    this.valueCountForNextSizeCheck = 1;
+  }
+
+  private void resetStatistics() {
+    this.statistics = Statistics.getStatsBasedOnType(path.getType());
+  }
+
+  private DataColumnWriter newDataColumnWriter(int initialSize, int dictionaryPageSizeThreshold, boolean enableDictionary) {
     switch (path.getType()) {
     case BOOLEAN:
-      this.dataColumn = new BooleanPlainColumnWriter(pageSizeThreshold * 11 / 10);
-    default:
-      this.dataColumn = new PlainColumnWriter(pageSizeThreshold * 11 / 10);
+      return new BooleanPlainColumnWriter(initialSize);
+    case BINARY:
+      if (enableDictionary) {
+        return new PlainBinaryDictionaryColumnWriter(dictionaryPageSizeThreshold, initialSize);
+      }
+      break;
+    case INT32:
+      if (enableDictionary) {
+        return new PlainIntegerDictionaryColumnWriter(dictionaryPageSizeThreshold, initialSize);
+      }
+      break;
+    case INT64:
+      if (enableDictionary) {
+        return new PlainLongDictionaryColumnWriter(dictionaryPageSizeThreshold, initialSize);
+      }
+      break;
+    }
+    return new PlainColumnWriter(initialSize);
+  }
+
+  private DataColumnWriter newDataColumnWriter(Encoding encoding, int initialSize, int dictionaryPageSizeThreshold) {
+    switch (encoding) {
+    case PLAIN:
+      return path.getType() == PrimitiveTypeName.BOOLEAN ? new BooleanPlainColumnWriter(initialSize) : new PlainColumnWriter(initialSize);
+    case PLAIN_DICTIONARY:
+      switch (path.getType()) {
+      case BINARY:
+      case INT32:
+      case INT64:
+        return newDataColumnWriter(initialSize, dictionaryPageSizeThreshold, true);
+      }
+      break;
+    case RLE:
+      switch (path.getType()) {
+      case INT32:
+      case BOOLEAN:
+        return new RLEColumnWriter(initialSize);
+      }
+      break;
+    case DELTA_BINARY_PACKED:
+      if (path.getType() == PrimitiveTypeName.INT64) {
+        return new DeltaBinaryPackingColumnWriter(initialSize);
+      }
+      break;
+    case DELTA_BYTE_ARRAY:
+      if (path.getType() == PrimitiveTypeName.BINARY) {
+        return new DeltaByteArrayColumnWriter(initialSize);
+      }
+      break;
+    case BYTE_STREAM_SPLIT:
+      switch (path.getType()) {
+      case FLOAT:
+        return new ByteStreamSplitColumnWriter(4);
+      case DOUBLE:
+        return new ByteStreamSplitColumnWriter(8);
+      }
+      break;
+    case XOR:
+      if (path.getType() == PrimitiveTypeName.DOUBLE) {
+        return new XorColumnWriter();
+      }
+      break;
     }
+    throw new ParquetEncodingException("encoding " + encoding + " is not supported for column " + path);
+  }
+
+  /**
+   * the default encoding of the type competes with plain and the specialized encodings of the type that are available
+   */
+  private DataColumnWriter newAdaptiveDataColumnWriter(int initialSize, int dictionaryPageSizeThreshold, boolean enableDictionary, ColumnEncodings columnEncodings) {
+    List<DataColumnWriter> candidates = new ArrayList<DataColumnWriter>();
+    candidates.add(newDataColumnWriter(initialSize, dictionaryPageSizeThreshold, enableDictionary));
+    switch (path.getType()) {
+    case BOOLEAN:
+      if (columnEncodings.isAvailable(Encoding.RLE)) {
+        candidates.add(new RLEColumnWriter(initialSize));
+      }
+      break;
+    case INT32:
+      if (enableDictionary) {
+        candidates.add(new PlainColumnWriter(initialSize));
+      }
+      if (columnEncodings.isAvailable(Encoding.RLE)) {
+        candidates.add(new RLEColumnWriter(initialSize));
+      }
+      break;
+    case INT64:
+      if (enableDictionary) {
+        candidates.add(new PlainColumnWriter(initialSize));
+      }
+      if (columnEncodings.isAvailable(Encoding.DELTA_BINARY_PACKED)) {
+        candidates.add(new DeltaBinaryPackingColumnWriter(initialSize));
+      }
+      break;
+    case BINARY:
+      if (enableDictionary) {
+        candidates.add(new PlainColumnWriter(initialSize));
+      }
+      if (columnEncodings.isAvailable(Encoding.DELTA_BYTE_ARRAY)) {
+        candidates.add(new DeltaByteArrayColumnWriter(initialSize));
+      }
+      break;
+    case DOUBLE:
+      if (columnEncodings.isAvailable(Encoding.XOR)) {
+        candidates.add(new XorColumnWriter());
+      }
+      break;
+    }
+    if (candidates.size() == 1) {
+      return candidates.get(0);
+    }
+    return new AdaptiveColumnWriter(candidates.toArray(new DataColumnWriter[candidates.size()]));
   }
 
   private void log(Object value, int r, int d) {
     LOG.debug(path+" "+value+" r:"+r+" d:"+d);
   }
 
+  /**
+   * checking the size of the page is relatively expensive, so let's not do it for every value.
+   * The next check happens halfway to the value count at which the page is expected to be full
+   */
   private void accountForValueWritten() {
     ++ valueCount;
-    long memSize = repetitionLevelColumn.getBufferedSize()
-        + definitionLevelColumn.getBufferedSize()
-        + dataColumn.getBufferedSize();
-    if (memSize > pageSizeThreshold) {
-      writePage();
+    if (valueCount >= valueCountForNextSizeCheck) {
+      long memSize = repetitionLevelColumn.getBufferedSize()
+          + definitionLevelColumn.getBufferedSize()
+          + dataColumn.getBufferedSize();
+      if (memSize > pageSizeThreshold || valueCount >= pageValueCountThreshold) {
+        // the first check of the next page is halfway to the size of this one
+        valueCountForNextSizeCheck = Math.max(1, valueCount / 2);
+        writePage();
+      } else if (memSize == 0) {
+        // some values are buffered before being accounted for
+        valueCountForNextSizeCheck = valueCount + 1;
+      } else {
+        float valueSize = (float) memSize / valueCount;
+        long valuesToFill = (long)((pageSizeThreshold - memSize) / valueSize);
+        valueCountForNextSizeCheck = (int)Math.min(pageValueCountThreshold, valueCount + Math.max(1, valuesToFill / 2));
+      }
     }
   }
 
   private void writePage() {
     if (DEBUG) LOG.debug("write page");
     try {
-      pageWriter.writePage(BytesInput.fromSequence(repetitionLevelColumn.getBytes(), definitionLevelColumn.getBytes(), dataColumn.getBytes()), valueCount, dataColumn.getEncoding());
+      pageWriter.writePage(BytesInput.fromSequence(repetitionLevelColumn.getBytes(), definitionLevelColumn.getBytes(), dataColumn.getBytes()), valueCount, statistics, dataColumn.getEncoding());
     } catch (IOException e) {
       throw new ParquetEncodingException("could not write page for " + path, e);
     }
@@ -82,6 +250,7 @@ final class MemColumnWriter implements ColumnWriter {
     definitionLevelColumn.reset();
     dataColumn.reset();
     valueCount = 0;
+    resetStatistics();
   }
 
   @Override
@@ -89,6 +258,7 @@ final class MemColumnWriter implements ColumnWriter {
     if (DEBUG) log(null, repetitionLevel, definitionLevel);
     repetitionLevelColumn.writeInteger(repetitionLevel);
     definitionLevelColumn.writeInteger(definitionLevel);
+    statistics.incrementNumNulls();
     accountForValueWritten();
   }
 
@@ -98,6 +268,7 @@ final class MemColumnWriter implements ColumnWriter {
     repetitionLevelColumn.writeInteger(repetitionLevel);
     definitionLevelColumn.writeInteger(definitionLevel);
     dataColumn.writeDouble(value);
+    statistics.updateStats(value);
     accountForValueWritten();
   }
 
@@ -107,6 +278,7 @@ final class MemColumnWriter implements ColumnWriter {
     repetitionLevelColumn.writeInteger(repetitionLevel);
     definitionLevelColumn.writeInteger(definitionLevel);
     dataColumn.writeFloat(value);
+    statistics.updateStats(value);
     accountForValueWritten();
   }
 
@@ -116,6 +288,7 @@ final class MemColumnWriter implements ColumnWriter {
     repetitionLevelColumn.writeInteger(repetitionLevel);
     definitionLevelColumn.writeInteger(definitionLevel);
     dataColumn.writeBytes(value);
+    statistics.updateStats(value);
     accountForValueWritten();
   }
 
@@ -125,6 +298,7 @@ final class MemColumnWriter implements ColumnWriter {
     repetitionLevelColumn.writeInteger(repetitionLevel);
     definitionLevelColumn.writeInteger(definitionLevel);
     dataColumn.writeBoolean(value);
+    statistics.updateStats(value);
     accountForValueWritten();
   }
 
@@ -134,6 +308,7 @@ final class MemColumnWriter implements ColumnWriter {
     repetitionLevelColumn.writeInteger(repetitionLevel);
     definitionLevelColumn.writeInteger(definitionLevel);
     dataColumn.writeInteger(value);
+    statistics.updateStats(value);
     accountForValueWritten();
   }
 
@@ -143,6 +318,7 @@ final class MemColumnWriter implements ColumnWriter {
     repetitionLevelColumn.writeInteger(repetitionLevel);
     definitionLevelColumn.writeInteger(definitionLevel);
     dataColumn.writeLong(value);
+    statistics.updateStats(value);
     accountForValueWritten();
   }
 
@@ -151,6 +327,16 @@ final class MemColumnWriter implements ColumnWriter {
     if (valueCount > 0) {
       writePage();
     }
+    final DictionaryPage dictionaryPage = dataColumn.createDictionaryPage();
+    if (dictionaryPage != null) {
+      if (DEBUG) LOG.debug("write dictionary");
+      try {
+        pageWriter.writeDictionaryPage(dictionaryPage);
+      } catch (IOException e) {
+        throw new ParquetEncodingException("could not write dictionary page for " + path, e);
+      }
+      dataColumn.resetDictionary();
+    }
   }
 
   @Override
@@ -158,6 +344,7 @@ final class MemColumnWriter implements ColumnWriter {
     return repetitionLevelColumn.getBufferedSize()
         + definitionLevelColumn.getBufferedSize()
         + dataColumn.getBufferedSize()
+        + dataColumn.getDictionaryByteSize()
         + pageWriter.getMemSize();
   }
 
@@ -28,14 +28,16 @@ public class MemPageReader implements PageReader {
 
   private long totalValueCount;
   private Iterator<Page> pages;
+  private DictionaryPage dictionaryPage;
 
-  public MemPageReader(long totalValueCount, Iterator<Page> pages) {
+  public MemPageReader(long totalValueCount, Iterator<Page> pages, DictionaryPage dictionaryPage) {
     super();
     if (pages == null) {
       throw new NullPointerException("pages");
     }
     this.totalValueCount = totalValueCount;
     this.pages = pages;
+    this.dictionaryPage = dictionaryPage;
   }
 
   @Override
@@ -54,4 +56,9 @@ public class MemPageReader implements PageReader {
     }
   }
 
+  @Override
+  public DictionaryPage readDictionaryPage() {
+    return dictionaryPage;
+  }
+
 }
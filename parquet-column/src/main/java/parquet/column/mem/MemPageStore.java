@@ -30,6 +30,8 @@ public class MemPageStore implements PageReadStore, PageWriteStore {
 
   private Map<ColumnDescriptor, MemPageWriter> pageWriters = new HashMap<ColumnDescriptor, MemPageWriter>();
 
+  private long rowCount;
+
   @Override
   public PageWriter getPageWriter(ColumnDescriptor path) {
     MemPageWriter pageWriter = pageWriters.get(path);
@@ -48,12 +50,20 @@ public class MemPageStore implements PageReadStore, PageWriteStore {
     }
     List<Page> pages = new ArrayList<Page>(pageWriter.getPages());
     if (Log.DEBUG) LOG.debug("initialize page reader with "+ pageWriter.getTotalValueCount() + " values and " + pages.size() + " pages");
-    return new MemPageReader(pageWriter.getTotalValueCount(), pages.iterator());
+    return new MemPageReader(pageWriter.getTotalValueCount(), pages.iterator(), pageWriter.getDictionaryPage());
   }
 
   @Override
   public long getRowCount() {
-    throw new UnsupportedOperationException();
+    return rowCount;
+  }
+
+  /**
+   * the writers do not know about records
+   * @param count the number of records written in this store
+   */
+  public void addRowCount(long count) {
+    rowCount += count;
   }
 
 }
@@ -24,6 +24,7 @@ import java.util.List;
 import parquet.Log;
 import parquet.bytes.BytesInput;
 import parquet.column.Encoding;
+import parquet.column.statistics.Statistics;
 import parquet.io.ParquetEncodingException;
 
 
@@ -31,17 +32,18 @@ public class MemPageWriter implements PageWriter {
   private static final Log LOG = Log.getLog(MemPageWriter.class);
 
   private final List<Page> pages = new ArrayList<Page>();
+  private DictionaryPage dictionaryPage;
   private long memSize = 0;
   private long totalValueCount = 0;
 
 
   @Override
-  public void writePage(BytesInput bytesInput, int valueCount, Encoding encoding) throws IOException {
+  public void writePage(BytesInput bytesInput, int valueCount, Statistics<?> statistics, Encoding encoding) throws IOException {
     if (valueCount == 0) {
       throw new ParquetEncodingException("illegal page of 0 values");
     }
     memSize += bytesInput.size();
-    pages.add(new Page(BytesInput.copy(bytesInput), valueCount, (int)bytesInput.size(), encoding));
+    pages.add(new Page(BytesInput.copy(bytesInput), valueCount, (int)bytesInput.size(), statistics, encoding));
     totalValueCount += valueCount;
     if (DEBUG) LOG.debug("page written for " + bytesInput.size() + " bytes and " + valueCount + " records");
   }
@@ -55,6 +57,10 @@ public class MemPageWriter implements PageWriter {
     return pages;
   }
 
+  public DictionaryPage getDictionaryPage() {
+    return dictionaryPage;
+  }
+
   public long getTotalValueCount() {
     return totalValueCount;
   }
@@ -65,4 +71,14 @@ public class MemPageWriter implements PageWriter {
     return memSize;
   }
 
+  @Override
+  public void writeDictionaryPage(DictionaryPage dictionaryPage) throws IOException {
+    if (this.dictionaryPage != null) {
+      throw new ParquetEncodingException("Only one dictionary page per block");
+    }
+    this.memSize += dictionaryPage.getBytes().size();
+    this.dictionaryPage = dictionaryPage.copy();
+    if (DEBUG) LOG.debug("dictionary page written for " + dictionaryPage.getBytes().size() + " bytes and " + dictionaryPage.getDictionarySize() + " records");
+  }
+
 }
@@ -18,6 +18,7 @@ package parquet.column.mem;
 import parquet.Log;
 import parquet.bytes.BytesInput;
 import parquet.column.Encoding;
+import parquet.column.statistics.Statistics;
 
 /**
  * one page in a chunk
@@ -35,6 +36,7 @@ public class Page {
   private final int valueCount;
   private final int uncompressedSize;
   private final Encoding encoding;
+  private final Statistics<?> statistics;
   private final int id;
 
   /**
@@ -44,7 +46,19 @@ public class Page {
    * @param encoding the encoding for this page
    */
   public Page(BytesInput bytes, int valueCount, int uncompressedSize, Encoding encoding) {
+    this(bytes, valueCount, uncompressedSize, null, encoding);
+  }
+
+  /**
+   * @param bytes the bytes for this page
+   * @param valueCount count of values in this page
+   * @param uncompressedSize the uncompressed size of the page
+   * @param statistics the statistics of the values in this page (null if unknown)
+   * @param encoding the encoding for this page
+   */
+  public Page(BytesInput bytes, int valueCount, int uncompressedSize, Statistics<?> statistics, Encoding encoding) {
     this.bytes = bytes;
+    this.statistics = statistics;
     this.valueCount = valueCount;
     this.uncompressedSize = uncompressedSize;
     this.encoding = encoding;
@@ -84,9 +98,17 @@ public class Page {
     return encoding;
   }
 
+  /**
+   *
+   * @return the statistics of the values in this page or null if not available
+   */
+  public Statistics<?> getStatistics() {
+    return statistics;
+  }
+
   @Override
   public String toString() {
-    return "Page [id: " + id + ", bytes.size=" + bytes.size() + ", valueCount=" + valueCount + ", uncompressedSize=" + uncompressedSize + ", encoding=" + encoding + "]";
+    return "Page [id: " + id + ", bytes.size=" + bytes.size() + ", valueCount=" + valueCount + ", uncompressedSize=" + uncompressedSize + ", encoding=" + encoding + ", statistics=" + statistics + "]";
   }
 
 }
\ No newline at end of file
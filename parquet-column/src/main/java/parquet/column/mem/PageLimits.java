@@ -0,0 +1,126 @@
+/**
+ * Copyright 2012 Twitter, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package parquet.column.mem;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import parquet.column.ColumnDescriptor;
+
+/**
+ * The size and value count after which a page is written, with overrides for some of the columns.
+ *
+ * @author Julien Le Dem
+ *
+ */
+public class PageLimits {
+
+  private final int pageSizeThreshold;
+  private final int pageValueCountThreshold;
+  private final Map<String, Integer> columnPageSizeThresholds = new HashMap<String, Integer>();
+  private final Map<String, Integer> columnPageValueCountThresholds = new HashMap<String, Integer>();
+
+  /**
+   * the value count of the pages is not limited
+   * @param pageSizeThreshold the size of a page
+   */
+  public PageLimits(int pageSizeThreshold) {
+    this(pageSizeThreshold, Integer.MAX_VALUE);
+  }
+
+  /**
+   * @param pageSizeThreshold the size of a page
+   * @param pageValueCountThreshold the maximum number of values in a page
+   */
+  public PageLimits(int pageSizeThreshold, int pageValueCountThreshold) {
+    checkPositive("pageSizeThreshold", pageSizeThreshold);
+    checkPositive("pageValueCountThreshold", pageValueCountThreshold);
+    this.pageSizeThreshold = pageSizeThreshold;
+    this.pageValueCountThreshold = pageValueCountThreshold;
+  }
+
+  private static void checkPositive(String name, int value) {
+    if (value <= 0) {
+      throw new IllegalArgumentException(name + " must be positive: " + value);
+    }
+  }
+
+  /**
+   * @param columnPath the path of the column separated by dots (ex: "a.b")
+   * @param pageSizeThreshold the size of a page of this column
+   */
+  public void setPageSizeThreshold(String columnPath, int pageSizeThreshold) {
+    checkPositive("pageSizeThreshold", pageSizeThreshold);
+    columnPageSizeThresholds.put(columnPath, pageSizeThreshold);
+  }
+
+  /**
+   * @param columnPath the path of the column separated by dots (ex: "a.b")
+   * @param pageValueCountThreshold the maximum number of values in a page of this column
+   */
+  public void setPageValueCountThreshold(String columnPath, int pageValueCountThreshold) {
+    checkPositive("pageValueCountThreshold", pageValueCountThreshold);
+    columnPageValueCountThresholds.put(columnPath, pageValueCountThreshold);
+  }
+
+  /**
+   * @param path the column
+   * @return the size of a page of this column
+   */
+  public int getPageSizeThreshold(ColumnDescriptor path) {
+    Integer threshold = columnPageSizeThresholds.get(toColumnPath(path));
+    return threshold == null ? pageSizeThreshold : threshold;
+  }
+
+  /**
+   * @param path the column
+   * @return the maximum number of values in a page of this column
+   */
+  public int getPageValueCountThreshold(ColumnDescriptor path) {
+    Integer threshold = columnPageValueCountThresholds.get(toColumnPath(path));
+    return threshold == null ? pageValueCountThreshold : threshold;
+  }
+
+  /**
+   * @return the size of a page for the columns that are not overridden
+   */
+  public int getPageSizeThreshold() {
+    return pageSizeThreshold;
+  }
+
+  /**
+   * @return the maximum number of values in a page for the columns that are not overridden
+   */
+  public int getPageValueCountThreshold() {
+    return pageValueCountThreshold;
+  }
+
+  /**
+   * @param path the column
+   * @return the path of the column separated by dots
+   */
+  public static String toColumnPath(ColumnDescriptor path) {
+    StringBuilder sb = new StringBuilder();
+    for (String name : path.getPath()) {
+      if (sb.length() > 0) {
+        sb.append('.');
+      }
+      sb.append(name);
+    }
+    return sb.toString();
+  }
+
+}
@@ -23,6 +23,11 @@ package parquet.column.mem;
  */
 public interface PageReader {
 
+  /**
+   * @return the dictionary page in that chunk or null if none
+   */
+  DictionaryPage readDictionaryPage();
+
   /**
    *
    * @return the total number of values in the column chunk
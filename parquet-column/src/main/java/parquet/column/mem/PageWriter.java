@@ -19,6 +19,7 @@ import java.io.IOException;
 
 import parquet.bytes.BytesInput;
 import parquet.column.Encoding;
+import parquet.column.statistics.Statistics;
 
 /**
  * a writer for all the pages of a given column chunk
@@ -32,9 +33,11 @@ public interface PageWriter {
    * writes a single page
    * @param bytesInput the bytes for the page
    * @param valueCount the number of values in that page
+   * @param statistics the statistics of the values in that page
+   * @param encoding the encoding of the values
    * @throws IOException
    */
-  abstract public void writePage(BytesInput bytesInput, int valueCount, Encoding encoding) throws IOException;
+  abstract public void writePage(BytesInput bytesInput, int valueCount, Statistics<?> statistics, Encoding encoding) throws IOException;
 
   /**
    *
@@ -48,4 +51,11 @@ public interface PageWriter {
    */
   public abstract long allocatedSize();
 
+  /**
+   * writes a dictionary page
+   * @param dictionaryPage the dictionary page containing the dictionary data
+   * @throws IOException
+   */
+  abstract public void writeDictionaryPage(DictionaryPage dictionaryPage) throws IOException;
+
 }
@@ -0,0 +1,241 @@
+/**
+ * Copyright 2012 Twitter, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package parquet.column.primitive;
+
+import parquet.Log;
+import parquet.bytes.BytesInput;
+import parquet.column.Encoding;
+import parquet.column.mem.DictionaryPage;
+import parquet.io.Binary;
+import parquet.io.ParquetEncodingException;
+
+/**
+ * Picks the encoding of each page among several candidates.
+ * During a trial page the values are written to all the candidates and the page is written
+ * with the one that produced the smallest output. The following pages use that candidate only
+ * until the next trial: at the beginning of each column chunk and then every few pages.
+ * Each page records the encoding that was used.
+ *
+ * @author Julien Le Dem
+ *
+ */
+public class AdaptiveColumnWriter extends DataColumnWriter {
+  private static final Log LOG = Log.getLog(AdaptiveColumnWriter.class);
+
+  /**
+   * default number of pages between two trials
+   */
+  public static final int DEFAULT_TRIAL_INTERVAL = 16;
+
+  private final DataColumnWriter[] candidates;
+  private final int trialInterval;
+  private DataColumnWriter selected;
+  private boolean trial = true;
+  private int pagesSinceTrial;
+
+  /**
+   * @param candidates the possible encodings. The first one is kept in case of equality
+   * @param trialInterval the number of pages written between two trials
+   */
+  public AdaptiveColumnWriter(DataColumnWriter[] candidates, int trialInterval) {
+    if (candidates.length == 0) {
+      throw new ParquetEncodingException("at least one encoding is needed");
+    }
+    this.candidates = candidates;
+    this.trialInterval = trialInterval;
+    this.selected = candidates[0];
+  }
+
+  /**
+   * @param candidates the possible encodings. The first one is kept in case of equality
+   */
+  public AdaptiveColumnWriter(DataColumnWriter... candidates) {
+    this(candidates, DEFAULT_TRIAL_INTERVAL);
+  }
+
+  @Override
+  public void writeBoolean(boolean v) {
+    if (trial) {
+      for (DataColumnWriter candidate : candidates) {
+        candidate.writeBoolean(v);
+      }
+    } else {
+      selected.writeBoolean(v);
+    }
+  }
+
+  @Override
+  public void writeBytes(Binary v) {
+    if (trial) {
+      for (DataColumnWriter candidate : candidates) {
+        candidate.writeBytes(v);
+      }
+    } else {
+      selected.writeBytes(v);
+    }
+  }
+
+  @Override
+  public void writeInteger(int v) {
+    if (trial) {
+      for (DataColumnWriter candidate : candidates) {
+        candidate.writeInteger(v);
+      }
+    } else {
+      selected.writeInteger(v);
+    }
+  }
+
+  @Override
+  public void writeLong(long v) {
+    if (trial) {
+      for (DataColumnWriter candidate : candidates) {
+        candidate.writeLong(v);
+      }
+    } else {
+      selected.writeLong(v);
+    }
+  }
+
+  @Override
+  public void writeDouble(double v) {
+    if (trial) {
+      for (DataColumnWriter candidate : candidates) {
+        candidate.writeDouble(v);
+      }
+    } else {
+      selected.writeDouble(v);
+    }
+  }
+
+  @Override
+  public void writeFloat(float v) {
+    if (trial) {
+      for (DataColumnWriter candidate : candidates) {
+        candidate.writeFloat(v);
+      }
+    } else {
+      selected.writeFloat(v);
+    }
+  }
+
+  /**
+   * during a trial this is the size of the smallest candidate as the page will be written with it
+   */
+  @Override
+  public long getBufferedSize() {
+    if (trial) {
+      long min = Long.MAX_VALUE;
+      for (DataColumnWriter candidate : candidates) {
+        min = Math.min(min, candidate.getBufferedSize());
+      }
+      return min;
+    }
+    return selected.getBufferedSize();
+  }
+
+  @Override
+  public BytesInput getBytes() {
+    if (trial) {
+      selected = candidates[0];
+      long selectedSize = selected.getBufferedSize();
+      for (int i = 1; i < candidates.length; i++) {
+        long size = candidates[i].getBufferedSize();
+        if (size < selectedSize) {
+          selected = candidates[i];
+          selectedSize = size;
+        }
+      }
+      if (Log.DEBUG) LOG.debug("selected " + selected.getEncoding() + " for an estimated size of " + selectedSize);
+    }
+    return selected.getBytes();
+  }
+
+  @Override
+  public Encoding getEncoding() {
+    return selected.getEncoding();
+  }
+
+  @Override
+  public void reset() {
+    if (trial) {
+      for (DataColumnWriter candidate : candidates) {
+        if (candidate == selected) {
+          candidate.reset();
+        } else {
+          // a dictionary candidate must not keep the entries of a page it did not write
+          candidate.discardPage();
+        }
+      }
+      trial = false;
+      pagesSinceTrial = 0;
+    } else {
+      selected.reset();
+      ++ pagesSinceTrial;
+      trial = pagesSinceTrial >= trialInterval;
+    }
+  }
+
+  /**
+   * every candidate keeps the dictionary of the pages it wrote until the end of the column chunk
+   */
+  @Override
+  public long getDictionaryByteSize() {
+    long size = 0;
+    for (DataColumnWriter candidate : candidates) {
+      size += candidate.getDictionaryByteSize();
+    }
+    return size;
+  }
+
+  @Override
+  public long getAllocatedSize() {
+    long size = 0;
+    for (DataColumnWriter candidate : candidates) {
+      size += candidate.getAllocatedSize();
+    }
+    return size;
+  }
+
+  /**
+   * only the candidates that wrote pages return a dictionary.
+   * The others forget what they accumulated during the trials and the next column chunk starts with a trial
+   */
+  @Override
+  public DictionaryPage createDictionaryPage() {
+    DictionaryPage dictionaryPage = null;
+    for (DataColumnWriter candidate : candidates) {
+      DictionaryPage candidatePage = candidate.createDictionaryPage();
+      if (candidatePage == null) {
+        candidate.resetDictionary();
+      } else if (dictionaryPage != null) {
+        throw new ParquetEncodingException("Only one dictionary page is allowed");
+      } else {
+        dictionaryPage = candidatePage;
+      }
+    }
+    trial = true;
+    return dictionaryPage;
+  }
+
+  @Override
+  public void resetDictionary() {
+    for (DataColumnWriter candidate : candidates) {
+      candidate.resetDictionary();
+    }
+    trial = true;
+  }
+}
@@ -69,9 +69,359 @@ public class BitPacking {
     abstract public int read() throws IOException;
   }
 
+  /**
+   * reads the packed ints directly from a byte array
+   * (same layout as the stream based readers)
+   *
+   * @author Julien Le Dem
+   *
+   */
+  public static final class ByteArrayBitPackingReader extends BitPackingReader {
+    private final int bitLength;
+    private final int mask;
+    private final byte[] in;
+    private final int end;
+    private final int startBitPosition;
+    private int bitPosition;
+
+    private ByteArrayBitPackingReader(int bitLength, byte[] in, int offset, int length) {
+      this.bitLength = bitLength;
+      this.mask = (1 << bitLength) - 1;
+      this.in = in;
+      this.end = offset + length;
+      this.startBitPosition = offset * 8;
+      this.bitPosition = startBitPosition;
+    }
+
+    /**
+     * {@inheritDoc}
+     * @see parquet.column.primitive.BitPacking.BitPackingReader#read()
+     */
+    @Override
+    public int read() {
+      int bytePosition = bitPosition >>> 3;
+      // values are at most 8 bits so they span at most 2 bytes
+      int twoBytes = (byteAt(bytePosition) << 8) | byteAt(bytePosition + 1);
+      int value = (twoBytes >>> (16 - (bitPosition & 7) - bitLength)) & mask;
+      bitPosition += bitLength;
+      return value;
+    }
+
+    /**
+     * reads the next length values, unpacking them 8 at a time when possible
+     * @param values where to store the values
+     * @param offset where to store the first value
+     * @param length the number of values to read
+     */
+    public void read(int[] values, int offset, int length) {
+      int i = offset;
+      final int endValues = offset + length;
+      if (bitLength > 0) {
+        // one at a time until the beginning of a group of 8 values
+        while (i < endValues && (bitPosition - startBitPosition) % (8 * bitLength) != 0) {
+          values[i ++] = read();
+        }
+        // the last group may be incomplete and padded
+        while (endValues - i >= 8 && (bitPosition >>> 3) + bitLength <= end) {
+          unpack8Values(bitLength, in, bitPosition >>> 3, values, i);
+          bitPosition += 8 * bitLength;
+          i += 8;
+        }
+      }
+      while (i < endValues) {
+        values[i ++] = read();
+      }
+    }
+
+    private int byteAt(int position) {
+      // the last byte is padded with 0s
+      return position < end ? in[position] & 0xFF : 0;
+    }
+  }
+
   private BitPacking() {
   }
 
+  /**
+   * unpacks 8 values of bitLength bits each, most significant bit first
+   * (same layout as the writers). The 8 values take exactly bitLength bytes.
+   * @param bitLength the width in bits of the values (0 to 8)
+   * @param in the packed bytes
+   * @param inOffset where the bitLength bytes of the 8 values start
+   * @param out where to store the values
+   * @param outOffset where to store the first value
+   */
+  public static void unpack8Values(int bitLength, byte[] in, int inOffset, int[] out, int outOffset) {
+    switch (bitLength) {
+    case 0:
+      for (int i = outOffset; i < outOffset + 8; i++) {
+        out[i] = 0;
+      }
+      break;
+    case 1: {
+      final int bits = in[inOffset] & 0xFF;
+      out[outOffset + 0] = (bits >>> 7) & 1;
+      out[outOffset + 1] = (bits >>> 6) & 1;
+      out[outOffset + 2] = (bits >>> 5) & 1;
+      out[outOffset + 3] = (bits >>> 4) & 1;
+      out[outOffset + 4] = (bits >>> 3) & 1;
+      out[outOffset + 5] = (bits >>> 2) & 1;
+      out[outOffset + 6] = (bits >>> 1) & 1;
+      out[outOffset + 7] = bits & 1;
+      break;
+    }
+    case 2: {
+      final int bits = ((in[inOffset] & 0xFF) << 8) | (in[inOffset + 1] & 0xFF);
+      out[outOffset + 0] = (bits >>> 14) & 3;
+      out[outOffset + 1] = (bits >>> 12) & 3;
+      out[outOffset + 2] = (bits >>> 10) & 3;
+      out[outOffset + 3] = (bits >>> 8) & 3;
+      out[outOffset + 4] = (bits >>> 6) & 3;
+      out[outOffset + 5] = (bits >>> 4) & 3;
+      out[outOffset + 6] = (bits >>> 2) & 3;
+      out[outOffset + 7] = bits & 3;
+      break;
+    }
+    case 3: {
+      final int bits = ((in[inOffset] & 0xFF) << 16) | ((in[inOffset + 1] & 0xFF) << 8) | (in[inOffset + 2] & 0xFF);
+      out[outOffset + 0] = (bits >>> 21) & 7;
+      out[outOffset + 1] = (bits >>> 18) & 7;
+      out[outOffset + 2] = (bits >>> 15) & 7;
+      out[outOffset + 3] = (bits >>> 12) & 7;
+      out[outOffset + 4] = (bits >>> 9) & 7;
+      out[outOffset + 5] = (bits >>> 6) & 7;
+      out[outOffset + 6] = (bits >>> 3) & 7;
+      out[outOffset + 7] = bits & 7;
+      break;
+    }
+    case 4: {
+      final int bits = ((in[inOffset] & 0xFF) << 24) | ((in[inOffset + 1] & 0xFF) << 16) | ((in[inOffset + 2] & 0xFF) << 8) | (in[inOffset + 3] & 0xFF);
+      out[outOffset + 0] = (bits >>> 28) & 15;
+      out[outOffset + 1] = (bits >>> 24) & 15;
+      out[outOffset + 2] = (bits >>> 20) & 15;
+      out[outOffset + 3] = (bits >>> 16) & 15;
+      out[outOffset + 4] = (bits >>> 12) & 15;
+      out[outOffset + 5] = (bits >>> 8) & 15;
+      out[outOffset + 6] = (bits >>> 4) & 15;
+      out[outOffset + 7] = bits & 15;
+      break;
+    }
+    case 5: {
+      final long bits = ((long)(in[inOffset] & 0xFF) << 32) | ((long)(in[inOffset + 1] & 0xFF) << 24) | ((long)(in[inOffset + 2] & 0xFF) << 16) | ((long)(in[inOffset + 3] & 0xFF) << 8) | (in[inOffset + 4] & 0xFF);
+      out[outOffset + 0] = (int)(bits >>> 35) & 31;
+      out[outOffset + 1] = (int)(bits >>> 30) & 31;
+      out[outOffset + 2] = (int)(bits >>> 25) & 31;
+      out[outOffset + 3] = (int)(bits >>> 20) & 31;
+      out[outOffset + 4] = (int)(bits >>> 15) & 31;
+      out[outOffset + 5] = (int)(bits >>> 10) & 31;
+      out[outOffset + 6] = (int)(bits >>> 5) & 31;
+      out[outOffset + 7] = (int)bits & 31;
+      break;
+    }
+    case 6: {
+      final long bits = ((long)(in[inOffset] & 0xFF) << 40) | ((long)(in[inOffset + 1] & 0xFF) << 32) | ((long)(in[inOffset + 2] & 0xFF) << 24) | ((long)(in[inOffset + 3] & 0xFF) << 16) | ((long)(in[inOffset + 4] & 0xFF) << 8) | (in[inOffset + 5] & 0xFF);
+      out[outOffset + 0] = (int)(bits >>> 42) & 63;
+      out[outOffset + 1] = (int)(bits >>> 36) & 63;
+      out[outOffset + 2] = (int)(bits >>> 30) & 63;
+      out[outOffset + 3] = (int)(bits >>> 24) & 63;
+      out[outOffset + 4] = (int)(bits >>> 18) & 63;
+      out[outOffset + 5] = (int)(bits >>> 12) & 63;
+      out[outOffset + 6] = (int)(bits >>> 6) & 63;
+      out[outOffset + 7] = (int)bits & 63;
+      break;
+    }
+    case 7: {
+      final long bits = ((long)(in[inOffset] & 0xFF) << 48) | ((long)(in[inOffset + 1] & 0xFF) << 40) | ((long)(in[inOffset + 2] & 0xFF) << 32) | ((long)(in[inOffset + 3] & 0xFF) << 24) | ((long)(in[inOffset + 4] & 0xFF) << 16) | ((long)(in[inOffset + 5] & 0xFF) << 8) | (in[inOffset + 6] & 0xFF);
+      out[outOffset + 0] = (int)(bits >>> 49) & 127;
+      out[outOffset + 1] = (int)(bits >>> 42) & 127;
+      out[outOffset + 2] = (int)(bits >>> 35) & 127;
+      out[outOffset + 3] = (int)(bits >>> 28) & 127;
+      out[outOffset + 4] = (int)(bits >>> 21) & 127;
+      out[outOffset + 5] = (int)(bits >>> 14) & 127;
+      out[outOffset + 6] = (int)(bits >>> 7) & 127;
+      out[outOffset + 7] = (int)bits & 127;
+      break;
+    }
+    case 8: {
+      final long bits = ((long)(in[inOffset] & 0xFF) << 56) | ((long)(in[inOffset + 1] & 0xFF) << 48) | ((long)(in[inOffset + 2] & 0xFF) << 40) | ((long)(in[inOffset + 3] & 0xFF) << 32) | ((long)(in[inOffset + 4] & 0xFF) << 24) | ((long)(in[inOffset + 5] & 0xFF) << 16) | ((long)(in[inOffset + 6] & 0xFF) << 8) | (in[inOffset + 7] & 0xFF);
+      out[outOffset + 0] = (int)(bits >>> 56) & 255;
+      out[outOffset + 1] = (int)(bits >>> 48) & 255;
+      out[outOffset + 2] = (int)(bits >>> 40) & 255;
+      out[outOffset + 3] = (int)(bits >>> 32) & 255;
+      out[outOffset + 4] = (int)(bits >>> 24) & 255;
+      out[outOffset + 5] = (int)(bits >>> 16) & 255;
+      out[outOffset + 6] = (int)(bits >>> 8) & 255;
+      out[outOffset + 7] = (int)bits & 255;
+      break;
+    }
+    default:
+      throw new UnsupportedOperationException("only support up to 8 for now");
+    }
+  }
+
+  /**
+   * packs 8 values on bitLength bits each, most significant bit first
+   * (same layout as the writers). The values must fit in bitLength bits.
+   * @param bitLength the width in bits of the values (0 to 8)
+   * @param in the values
+   * @param inOffset where the first value is
+   * @param out where to store the bitLength bytes of the packed values
+   * @param outOffset where to store the first byte
+   */
+  public static void pack8Values(int bitLength, int[] in, int inOffset, byte[] out, int outOffset) {
+    switch (bitLength) {
+    case 0:
+      break;
+    case 1: {
+      final int bits = (in[inOffset + 0] << 7)
+          | (in[inOffset + 1] << 6)
+          | (in[inOffset + 2] << 5)
+          | (in[inOffset + 3] << 4)
+          | (in[inOffset + 4] << 3)
+          | (in[inOffset + 5] << 2)
+          | (in[inOffset + 6] << 1)
+          | in[inOffset + 7];
+      out[outOffset] = (byte)(bits);
+      break;
+    }
+    case 2: {
+      final int bits = (in[inOffset + 0] << 14)
+          | (in[inOffset + 1] << 12)
+          | (in[inOffset + 2] << 10)
+          | (in[inOffset + 3] << 8)
+          | (in[inOffset + 4] << 6)
+          | (in[inOffset + 5] << 4)
+          | (in[inOffset + 6] << 2)
+          | in[inOffset + 7];
+      out[outOffset] = (byte)(bits >>> 8);
+      out[outOffset + 1] = (byte)(bits);
+      break;
+    }
+    case 3: {
+      final int bits = (in[inOffset + 0] << 21)
+          | (in[inOffset + 1] << 18)
+          | (in[inOffset + 2] << 15)
+          | (in[inOffset + 3] << 12)
+          | (in[inOffset + 4] << 9)
+          | (in[inOffset + 5] << 6)
+          | (in[inOffset + 6] << 3)
+          | in[inOffset + 7];
+      out[outOffset] = (byte)(bits >>> 16);
+      out[outOffset + 1] = (byte)(bits >>> 8);
+      out[outOffset + 2] = (byte)(bits);
+      break;
+    }
+    case 4: {
+      final int bits = (in[inOffset + 0] << 28)
+          | (in[inOffset + 1] << 24)
+          | (in[inOffset + 2] << 20)
+          | (in[inOffset + 3] << 16)
+          | (in[inOffset + 4] << 12)
+          | (in[inOffset + 5] << 8)
+          | (in[inOffset + 6] << 4)
+          | in[inOffset + 7];
+      out[outOffset] = (byte)(bits >>> 24);
+      out[outOffset + 1] = (byte)(bits >>> 16);
+      out[outOffset + 2] = (byte)(bits >>> 8);
+      out[outOffset + 3] = (byte)(bits);
+      break;
+    }
+    case 5: {
+      final long bits = ((long)in[inOffset + 0] << 35)
+          | ((long)in[inOffset + 1] << 30)
+          | ((long)in[inOffset + 2] << 25)
+          | ((long)in[inOffset + 3] << 20)
+          | ((long)in[inOffset + 4] << 15)
+          | ((long)in[inOffset + 5] << 10)
+          | ((long)in[inOffset + 6] << 5)
+          | (long)in[inOffset + 7];
+      out[outOffset] = (byte)(bits >>> 32);
+      out[outOffset + 1] = (byte)(bits >>> 24);
+      out[outOffset + 2] = (byte)(bits >>> 16);
+      out[outOffset + 3] = (byte)(bits >>> 8);
+      out[outOffset + 4] = (byte)(bits);
+      break;
+    }
+    case 6: {
+      final long bits = ((long)in[inOffset + 0] << 42)
+          | ((long)in[inOffset + 1] << 36)
+          | ((long)in[inOffset + 2] << 30)
+          | ((long)in[inOffset + 3] << 24)
+          | ((long)in[inOffset + 4] << 18)
+          | ((long)in[inOffset + 5] << 12)
+          | ((long)in[inOffset + 6] << 6)
+          | (long)in[inOffset + 7];
+      out[outOffset] = (byte)(bits >>> 40);
+      out[outOffset + 1] = (byte)(bits >>> 32);
+      out[outOffset + 2] = (byte)(bits >>> 24);
+      out[outOffset + 3] = (byte)(bits >>> 16);
+      out[outOffset + 4] = (byte)(bits >>> 8);
+      out[outOffset + 5] = (byte)(bits);
+      break;
+    }
+    case 7: {
+      final long bits = ((long)in[inOffset + 0] << 49)
+          | ((long)in[inOffset + 1] << 42)
+          | ((long)in[inOffset + 2] << 35)
+          | ((long)in[inOffset + 3] << 28)
+          | ((long)in[inOffset + 4] << 21)
+          | ((long)in[inOffset + 5] << 14)
+          | ((long)in[inOffset + 6] << 7)
+          | (long)in[inOffset + 7];
+      out[outOffset] = (byte)(bits >>> 48);
+      out[outOffset + 1] = (byte)(bits >>> 40);
+      out[outOffset + 2] = (byte)(bits >>> 32);
+      out[outOffset + 3] = (byte)(bits >>> 24);
+      out[outOffset + 4] = (byte)(bits >>> 16);
+      out[outOffset + 5] = (byte)(bits >>> 8);
+      out[outOffset + 6] = (byte)(bits);
+      break;
+    }
+    case 8: {
+      final long bits = ((long)in[inOffset + 0] << 56)
+          | ((long)in[inOffset + 1] << 48)
+          | ((long)in[inOffset + 2] << 40)
+          | ((long)in[inOffset + 3] << 32)
+          | ((long)in[inOffset + 4] << 24)
+          | ((long)in[inOffset + 5] << 16)
+          | ((long)in[inOffset + 6] << 8)
+          | (long)in[inOffset + 7];
+      out[outOffset] = (byte)(bits >>> 56);
+      out[outOffset + 1] = (byte)(bits >>> 48);
+      out[outOffset + 2] = (byte)(bits >>> 40);
+      out[outOffset + 3] = (byte)(bits >>> 32);
+      out[outOffset + 4] = (byte)(bits >>> 24);
+      out[outOffset + 5] = (byte)(bits >>> 16);
+      out[outOffset + 6] = (byte)(bits >>> 8);
+      out[outOffset + 7] = (byte)(bits);
+      break;
+    }
+    default:
+      throw new UnsupportedOperationException("only support up to 8 for now");
+    }
+  }
+
+  /**
+   * unpacks 32 values of bitLength bits each (4 * bitLength bytes)
+   * @see #unpack8Values(int, byte[], int, int[], int)
+   */
+  public static void unpack32Values(int bitLength, byte[] in, int inOffset, int[] out, int outOffset) {
+    for (int i = 0; i < 4; i++) {
+      unpack8Values(bitLength, in, inOffset + i * bitLength, out, outOffset + i * 8);
+    }
+  }
+
+  /**
+   * packs 32 values on bitLength bits each (4 * bitLength bytes)
+   * @see #pack8Values(int, int[], int, byte[], int)
+   */
+  public static void pack32Values(int bitLength, int[] in, int inOffset, byte[] out, int outOffset) {
+    for (int i = 0; i < 4; i++) {
+      pack8Values(bitLength, in, inOffset + i * 8, out, outOffset + i * bitLength);
+    }
+  }
+
+
   /**
    * @param bitLength the width in bits of the integers to write
    * @param out the stream to write the bytes to
@@ -132,6 +482,21 @@ public class BitPacking {
       throw new UnsupportedOperationException("only support up to 8 for now");
     }
   }
+
+  /**
+   *
+   * @param bitLength the width in bits of the integers to read
+   * @param in the array to read the bytes from
+   * @param offset where the packed values start in the array
+   * @param length the number of bytes containing packed values
+   * @return a reader decoding directly from the array
+   */
+  public static ByteArrayBitPackingReader createBitPackingReader(int bitLength, byte[] in, int offset, int length) {
+    if (bitLength < 0 || bitLength > 8) {
+      throw new UnsupportedOperationException("only support up to 8 for now");
+    }
+    return new ByteArrayBitPackingReader(bitLength, in, offset, length);
+  }
 }
 
 abstract class BaseBitPackingWriter extends BitPackingWriter {
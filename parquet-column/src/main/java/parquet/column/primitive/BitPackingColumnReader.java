@@ -18,12 +18,10 @@ package parquet.column.primitive;
 import static parquet.bytes.BytesUtils.getWidthFromMaxInt;
 import static parquet.column.primitive.BitPacking.createBitPackingReader;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 
 import parquet.Log;
-import parquet.column.primitive.BitPacking.BitPackingReader;
-import parquet.io.ParquetDecodingException;
+import parquet.column.primitive.BitPacking.ByteArrayBitPackingReader;
 
 /**
  * a column reader that packs the ints in the number of bits required based on the maximum size.
@@ -34,8 +32,7 @@ import parquet.io.ParquetDecodingException;
 public class BitPackingColumnReader extends PrimitiveColumnReader {
   private static final Log LOG = Log.getLog(BitPackingColumnReader.class);
 
-  private ByteArrayInputStream in;
-  private BitPackingReader bitPackingReader;
+  private ByteArrayBitPackingReader bitPackingReader;
   private final int bitsPerValue;
 
   /**
@@ -53,27 +50,32 @@ public class BitPackingColumnReader extends PrimitiveColumnReader {
    */
   @Override
   public int readInteger() {
-    try {
-      return bitPackingReader.read();
-    } catch (IOException e) {
-      throw new ParquetDecodingException(e);
-    }
+    return bitPackingReader.read();
   }
 
   /**
    *
    * {@inheritDoc}
-   * @see parquet.column.primitive.PrimitiveColumnReader#initFromPage(long, byte[], int)
+   * @see parquet.column.primitive.PrimitiveColumnReader#readIntegers(int[], int, int)
    */
   @Override
-  public int initFromPage(long valueCount, byte[] in, int offset) throws IOException {
+  public void readIntegers(int[] values, int offset, int length) {
+    bitPackingReader.read(values, offset, length);
+  }
+
+  /**
+   *
+   * {@inheritDoc}
+   * @see parquet.column.primitive.PrimitiveColumnReader#initFromPage(long, byte[], int, int)
+   */
+  @Override
+  public int initFromPage(long valueCount, byte[] in, int offset, int end) throws IOException {
     // TODO: int vs long
     int effectiveBitLength = (int)valueCount * bitsPerValue;
     // TODO: maybe ((effectiveBitLength - 1) / 8 + 1) here? has fewer conditionals and divides
     int length = effectiveBitLength / 8 + (effectiveBitLength % 8 == 0 ? 0 : 1); // ceil
     if (Log.DEBUG) LOG.debug("reading " + length + " bytes for " + valueCount + " values of size " + bitsPerValue + " bits." );
-    this.in = new ByteArrayInputStream(in, offset, length);
-    this.bitPackingReader = createBitPackingReader(bitsPerValue, this.in, valueCount);
+    this.bitPackingReader = createBitPackingReader(bitsPerValue, in, offset, length);
     return offset + length;
   }
 
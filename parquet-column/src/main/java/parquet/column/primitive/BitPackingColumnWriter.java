@@ -16,17 +16,14 @@
 package parquet.column.primitive;
 
 import static parquet.bytes.BytesUtils.getWidthFromMaxInt;
-import static parquet.column.primitive.BitPacking.getBitPackingWriter;
-
-import java.io.IOException;
+import static parquet.column.primitive.BitPacking.pack8Values;
 
 import parquet.bytes.BytesInput;
 import parquet.bytes.CapacityByteArrayOutputStream;
-import parquet.column.primitive.BitPacking.BitPackingWriter;
-import parquet.io.ParquetEncodingException;
 
 /**
  * a column writer that packs the ints in the number of bits required based on the maximum size.
+ * The values are buffered and packed 8 at a time.
  *
  * @author Julien Le Dem
  *
@@ -34,8 +31,10 @@ import parquet.io.ParquetEncodingException;
 public class BitPackingColumnWriter extends PrimitiveColumnWriter {
 
   private CapacityByteArrayOutputStream out;
-  private BitPackingWriter bitPackingWriter;
   private int bitsPerValue;
+  private final int[] buffer = new int[8];
+  private int bufferedCount;
+  private final byte[] packed;
 
   /**
    *
@@ -43,12 +42,11 @@ public class BitPackingColumnWriter extends PrimitiveColumnWriter {
    */
   public BitPackingColumnWriter(int bound) {
     this.bitsPerValue = getWidthFromMaxInt(bound);
-    this.out = new CapacityByteArrayOutputStream(32*1024); // size needed could be small but starting at 32 is really small
-    init();
-  }
-
-  private void init() {
-    this.bitPackingWriter = getBitPackingWriter(bitsPerValue, out);
+    if (bitsPerValue > 8) {
+      throw new UnsupportedOperationException("only support up to 8 for now");
+    }
+    this.out = new CapacityByteArrayOutputStream(1024); // size needed could be small, the buffer grows without copying
+    this.packed = new byte[bitsPerValue];
   }
 
   /**
@@ -58,10 +56,11 @@ public class BitPackingColumnWriter extends PrimitiveColumnWriter {
    */
   @Override
   public void writeInteger(int v) {
-    try {
-      bitPackingWriter.write(v);
-    } catch (IOException e) {
-      throw new ParquetEncodingException(e);
+    buffer[bufferedCount ++] = v;
+    if (bufferedCount == 8) {
+      pack8Values(bitsPerValue, buffer, 0, packed, 0);
+      out.write(packed, 0, bitsPerValue);
+      bufferedCount = 0;
     }
   }
 
@@ -72,7 +71,7 @@ public class BitPackingColumnWriter extends PrimitiveColumnWriter {
    */
   @Override
   public long getBufferedSize() {
-    return out.size();
+    return out.size() + (bufferedCount * bitsPerValue + 7) / 8;
   }
 
   /**
@@ -82,12 +81,16 @@ public class BitPackingColumnWriter extends PrimitiveColumnWriter {
    */
   @Override
   public BytesInput getBytes() {
-    try {
-      this.bitPackingWriter.finish();
-      return BytesInput.from(out);
-    } catch (IOException e) {
-      throw new ParquetEncodingException(e);
+    if (bufferedCount > 0) {
+      // the last byte is padded with 0s
+      for (int i = bufferedCount; i < 8; i++) {
+        buffer[i] = 0;
+      }
+      pack8Values(bitsPerValue, buffer, 0, packed, 0);
+      out.write(packed, 0, (bufferedCount * bitsPerValue + 7) / 8);
+      bufferedCount = 0;
     }
+    return BytesInput.from(out);
   }
 
   /**
@@ -98,7 +101,7 @@ public class BitPackingColumnWriter extends PrimitiveColumnWriter {
   @Override
   public void reset() {
     out.reset();
-    init();
+    bufferedCount = 0;
   }
 
   /**
@@ -15,8 +15,6 @@
  */
 package parquet.column.primitive;
 
-import java.io.IOException;
-
 import parquet.io.ParquetDecodingException;
 
 class BitReader {
@@ -82,6 +80,22 @@ class BitReader {
     return currentValue;
   }
 
+  /**
+   * Read a long from the stream which is represented by a specified
+   * number of bits.
+   * @param bitsPerValue the number of bits used to represent the long (up to 64)
+   */
+  public long readNBitLong(int bitsPerValue) {
+    long value = 0;
+    int shift = 0;
+    while (shift < bitsPerValue) {
+      int n = Math.min(bitsPerValue - shift, 16);
+      value |= (long)readNBitInteger(n) << shift;
+      shift += n;
+    }
+    return value;
+  }
+
   private int getNextByte() {
     if (currentBufferPosition < endBufferPosistion) {
       return buf[currentBufferPosition++] & 0xFF;
@@ -89,7 +103,7 @@ class BitReader {
     return 0;
   }
 
-  public boolean readBit() throws IOException {
+  public boolean readBit() {
     if (currentPosition == 8) {
       currentByte = getNextByte();
       currentPosition = 0;
@@ -104,7 +118,7 @@ class BitReader {
     return value;
   }
 
-  public int readUnsignedVarint() throws IOException {
+  public int readUnsignedVarint() {
     int value = 0;
     int i = 0;
     int b;
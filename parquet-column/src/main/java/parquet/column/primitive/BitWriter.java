@@ -22,7 +22,7 @@ class BitWriter {
   private static final Log LOG = Log.getLog(BitWriter.class);
   private static final boolean DEBUG = false;//Log.DEBUG;
 
-  private CapacityByteArrayOutputStream baos = new CapacityByteArrayOutputStream(32 * 1024); // default of 32 is too small
+  private CapacityByteArrayOutputStream baos = new CapacityByteArrayOutputStream(1024); // grows without copying
   private int currentByte = 0;
   private int currentBytePosition = 0;
   private static final int[] byteToTrueMask = new int[8];
@@ -77,6 +77,21 @@ class BitWriter {
     currentBytePosition = (currentBytePosition + bitsToWrite) % 8;
   }
 
+  /**
+   * Write the lowest bits of the given long, least significant first.
+   * It is written in chunks that fit in writeNBitInteger
+   * @param val the value to serialize
+   * @param bitsToWrite the number of bits to use (up to 64)
+   */
+  public void writeNBitLong(long val, int bitsToWrite) {
+    while (bitsToWrite > 0) {
+      int n = Math.min(bitsToWrite, 16);
+      writeNBitInteger((int)val & ((1 << n) - 1), n);
+      val >>>= n;
+      bitsToWrite -= n;
+    }
+  }
+
   private String toBinary(int val, int alignTo) {
     String result = Integer.toBinaryString(val);
     while (result.length() < alignTo) {
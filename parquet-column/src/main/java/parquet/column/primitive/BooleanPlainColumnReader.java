@@ -18,12 +18,10 @@ package parquet.column.primitive;
 import static parquet.Log.DEBUG;
 import static parquet.column.primitive.BitPacking.createBitPackingReader;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 
 import parquet.Log;
-import parquet.column.primitive.BitPacking.BitPackingReader;
-import parquet.io.ParquetDecodingException;
+import parquet.column.primitive.BitPacking.ByteArrayBitPackingReader;
 
 /**
  * encodes boolean for the plain encoding: one bit at a time (0 = false)
@@ -34,7 +32,7 @@ import parquet.io.ParquetDecodingException;
 public class BooleanPlainColumnReader extends PrimitiveColumnReader {
   private static final Log LOG = Log.getLog(BooleanPlainColumnReader.class);
 
-  private BitPackingReader in;
+  private ByteArrayBitPackingReader in;
 
   /**
    *
@@ -43,23 +41,19 @@ public class BooleanPlainColumnReader extends PrimitiveColumnReader {
    */
   @Override
   public boolean readBoolean() {
-    try {
-      return in.read() == 0 ? false : true;
-    } catch (IOException e) {
-      throw new ParquetDecodingException("never happens", e);
-    }
+    return in.read() == 0 ? false : true;
   }
 
 
   /**
    * {@inheritDoc}
-   * @see parquet.column.primitive.PrimitiveColumnReader#initFromPage(byte[], int)
+   * @see parquet.column.primitive.PrimitiveColumnReader#initFromPage(long, byte[], int, int)
    */
   @Override
-  public int initFromPage(long valueCount, byte[] in, int offset) throws IOException {
-    if (DEBUG) LOG.debug("init from page at offset "+ offset + " for length " + (in.length - offset));
-    this.in = createBitPackingReader(1, new ByteArrayInputStream(in, offset, in.length - offset), valueCount);
-    return in.length;
+  public int initFromPage(long valueCount, byte[] in, int offset, int end) throws IOException {
+    if (DEBUG) LOG.debug("init from page at offset "+ offset + " for length " + (end - offset));
+    this.in = createBitPackingReader(1, in, offset, end - offset);
+    return end;
   }
 
 }
\ No newline at end of file
@@ -18,6 +18,7 @@ package parquet.column.primitive;
 import static parquet.Log.DEBUG;
 
 import java.io.IOException;
+import java.util.Arrays;
 
 import parquet.Log;
 import parquet.bytes.BytesUtils;
@@ -43,20 +44,38 @@ class BoundedIntColumnReader extends PrimitiveColumnReader {
 
   @Override
   public int readInteger() {
-    try {
-      if (currentValueCt > 0) {
-        currentValueCt--;
-        return currentValue;
-      }
-      if (bitReader.readBit()) {
-        currentValue = bitReader.readNBitInteger(bitsPerValue);
-        currentValueCt = bitReader.readUnsignedVarint() - 1;
-      } else {
-        currentValue = bitReader.readNBitInteger(bitsPerValue);
-      }
+    if (currentValueCt > 0) {
+      currentValueCt--;
       return currentValue;
-    } catch (IOException e) {
-      throw new ParquetDecodingException("could not read int", e);
+    }
+    if (bitReader.readBit()) {
+      currentValue = bitReader.readNBitInteger(bitsPerValue);
+      currentValueCt = bitReader.readUnsignedVarint() - 1;
+    } else {
+      currentValue = bitReader.readNBitInteger(bitsPerValue);
+    }
+    return currentValue;
+  }
+
+  @Override
+  public void readIntegers(int[] values, int offset, int length) {
+    int i = offset;
+    final int end = offset + length;
+    while (i < end) {
+      if (currentValueCt == 0) {
+        if (bitReader.readBit()) {
+          currentValue = bitReader.readNBitInteger(bitsPerValue);
+          currentValueCt = bitReader.readUnsignedVarint();
+        } else {
+          currentValue = bitReader.readNBitInteger(bitsPerValue);
+          currentValueCt = 1;
+        }
+      }
+      // copy as much of the current run as we can
+      int n = Math.min(currentValueCt, end - i);
+      Arrays.fill(values, i, i + n, currentValue);
+      currentValueCt -= n;
+      i += n;
     }
   }
 
@@ -65,7 +84,7 @@ class BoundedIntColumnReader extends PrimitiveColumnReader {
   // bytes would have to be serialized). This is the flip-side
   // to BoundedIntColumnWriter.writeData(BytesOutput)
   @Override
-  public int initFromPage(long valueCount, byte[] in, int offset) throws IOException {
+  public int initFromPage(long valueCount, byte[] in, int offset, int end) throws IOException {
     if (DEBUG) LOG.debug("reading size at "+ offset + ": " + in[offset] + " " + in[offset + 1] + " " + in[offset + 2] + " " + in[offset + 3] + " ");
     int totalBytes = BytesUtils.readIntLittleEndian(in, offset);
     if (DEBUG) LOG.debug("will read "+ totalBytes + " bytes");
@@ -0,0 +1,107 @@
+/**
+ * Copyright 2012 Twitter, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package parquet.column.primitive;
+
+import static parquet.Log.DEBUG;
+
+import java.io.IOException;
+
+import parquet.Log;
+import parquet.io.ParquetDecodingException;
+
+/**
+ * @see ByteStreamSplitColumnWriter
+ *
+ * @author Julien Le Dem
+ *
+ */
+public class ByteStreamSplitColumnReader extends PrimitiveColumnReader {
+  private static final Log LOG = Log.getLog(ByteStreamSplitColumnReader.class);
+
+  private final int width;
+  private byte[] in;
+  // start of the first stream
+  private int offset;
+  private int valueCount;
+  private int currentValue;
+
+  /**
+   * @param width the size in bytes of a value: 4 for FLOAT, 8 for DOUBLE
+   */
+  public ByteStreamSplitColumnReader(int width) {
+    this.width = width;
+  }
+
+  /**
+   * {@inheritDoc}
+   * The data is the last section of the page: the number of values is given by the remaining size
+   */
+  @Override
+  public int initFromPage(long pageValueCount, byte[] in, int offset, int end) throws IOException {
+    if (DEBUG) LOG.debug("init from page at offset "+ offset + " for length " + (end - offset));
+    int length = end - offset;
+    if (length % width != 0) {
+      throw new ParquetDecodingException("the size of the data " + length + " is not a multiple of " + width);
+    }
+    this.in = in;
+    this.offset = offset;
+    this.valueCount = length / width;
+    this.currentValue = 0;
+    return end;
+  }
+
+  private long readBits() {
+    if (currentValue >= valueCount) {
+      throw new ParquetDecodingException("no more values in the page");
+    }
+    long bits = 0;
+    int position = offset + currentValue;
+    for (int k = 0; k < width; k++) {
+      bits |= (long)(in[position] & 0xFF) << (k * 8);
+      position += valueCount;
+    }
+    ++ currentValue;
+    return bits;
+  }
+
+  @Override
+  public float readFloat() {
+    return Float.intBitsToFloat((int)readBits());
+  }
+
+  @Override
+  public double readDouble() {
+    return Double.longBitsToDouble(readBits());
+  }
+
+  @Override
+  public void readDoubles(double[] values, int offset, int length) {
+    if (currentValue + length > valueCount) {
+      throw new ParquetDecodingException("no more values in the page");
+    }
+    final int start = this.offset + currentValue;
+    for (int i = 0; i < length; i++) {
+      int position = start + i;
+      long bits = 0;
+      for (int k = 0; k < width; k++) {
+        bits |= (long)(in[position] & 0xFF) << (k * 8);
+        position += valueCount;
+      }
+      values[offset + i] = Double.longBitsToDouble(bits);
+    }
+    currentValue += length;
+  }
+}
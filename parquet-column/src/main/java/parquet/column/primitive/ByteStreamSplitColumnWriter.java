@@ -0,0 +1,107 @@
+/**
+ * Copyright 2012 Twitter, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package parquet.column.primitive;
+
+import java.util.Arrays;
+
+import parquet.Log;
+import parquet.bytes.BytesInput;
+import parquet.column.Encoding;
+
+/**
+ * Encodes FLOAT and DOUBLE values by splitting them in one stream per byte:
+ * the first byte of every value, then the second byte of every value, and so on.
+ * The exponent and high bits of the mantissa of similar values end up next to each other,
+ * which the compression codecs handle much better than interleaved plain values.
+ *
+ * <pre>
+ * page: stream 0 ... stream (width - 1)
+ * stream k: byte k (little endian order) of each value
+ * </pre>
+ *
+ * @author Julien Le Dem
+ *
+ */
+public class ByteStreamSplitColumnWriter extends DataColumnWriter {
+  private static final Log LOG = Log.getLog(ByteStreamSplitColumnWriter.class);
+
+  private final int width;
+  private long[] values = new long[1024];
+  private int valueCount;
+  private byte[] streams = new byte[0];
+
+  /**
+   * @param width the size in bytes of a value: 4 for FLOAT, 8 for DOUBLE
+   */
+  public ByteStreamSplitColumnWriter(int width) {
+    this.width = width;
+  }
+
+  private void add(long bits) {
+    if (valueCount == values.length) {
+      values = Arrays.copyOf(values, values.length * 2);
+    }
+    values[valueCount ++] = bits;
+  }
+
+  @Override
+  public final void writeFloat(float v) {
+    add(Float.floatToIntBits(v));
+  }
+
+  @Override
+  public final void writeDouble(double v) {
+    add(Double.doubleToLongBits(v));
+  }
+
+  @Override
+  public long getBufferedSize() {
+    return (long)valueCount * width;
+  }
+
+  @Override
+  public BytesInput getBytes() {
+    int size = valueCount * width;
+    if (streams.length < size) {
+      streams = new byte[size];
+    }
+    for (int k = 0; k < width; k++) {
+      int shift = k * 8;
+      int offset = k * valueCount;
+      for (int i = 0; i < valueCount; i++) {
+        streams[offset + i] = (byte)(values[i] >>> shift);
+      }
+    }
+    if (Log.DEBUG) LOG.debug("split " + valueCount + " values in " + width + " streams");
+    return BytesInput.from(streams, 0, size);
+  }
+
+  @Override
+  public void reset() {
+    valueCount = 0;
+  }
+
+  @Override
+  public long getAllocatedSize() {
+    return values.length * 8L + streams.length;
+  }
+
+  @Override
+  public Encoding getEncoding() {
+    return Encoding.BYTE_STREAM_SPLIT;
+  }
+
+}
@@ -16,6 +16,7 @@
 package parquet.column.primitive;
 
 import parquet.column.Encoding;
+import parquet.column.mem.DictionaryPage;
 
 /**
  * The data column controls the encoding
@@ -30,4 +31,33 @@ abstract public class DataColumnWriter extends PrimitiveColumnWriter {
    * @return the encoding that was used to encode the bytes
    */
   public abstract Encoding getEncoding();
+
+  /**
+   * @return the size in bytes of the dictionary kept for the pages already written in the column chunk
+   * (the entries added for the current page are part of getBufferedSize())
+   */
+  public long getDictionaryByteSize() {
+    return 0;
+  }
+
+  /**
+   * called instead of reset() when the values written since the last page are not written in a page
+   */
+  public void discardPage() {
+    reset();
+  }
+
+  /**
+   * called after the last page of the column chunk has been written
+   * @return the dictionary page or null if this encoding does not use a dictionary
+   */
+  public DictionaryPage createDictionaryPage() {
+    return null;
+  }
+
+  /**
+   * called after createDictionaryPage() at the end of each column chunk to start a new dictionary for the next one
+   */
+  public void resetDictionary() {
+  }
 }
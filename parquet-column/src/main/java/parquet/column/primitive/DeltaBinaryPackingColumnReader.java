@@ -0,0 +1,306 @@
+/**
+ * Copyright 2012 Twitter, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package parquet.column.primitive;
+
+import static parquet.Log.DEBUG;
+
+import java.io.IOException;
+
+import parquet.Log;
+import parquet.io.ParquetDecodingException;
+
+/**
+ * Decodes a miniblock at a time.
+ * Skipping values only sums the deltas of the miniblocks it goes over.
+ *
+ * @see DeltaBinaryPackingColumnWriter
+ *
+ * @author Julien Le Dem
+ *
+ */
+public class DeltaBinaryPackingColumnReader extends PrimitiveColumnReader {
+  private static final Log LOG = Log.getLog(DeltaBinaryPackingColumnReader.class);
+
+  private byte[] in;
+  private int position;
+  private int end;
+
+  private int valueCount;
+  private int miniBlockCount;
+  private int miniBlockSize;
+  private int[] widths;
+  private long[] miniBlockValues;
+  // to unpack the narrow miniblocks
+  private int[] packedValues;
+
+  // values of the page not decoded yet
+  private int remainingValueCount;
+  private boolean firstValueRead;
+  private long previousValue;
+  private long minDelta;
+  // index of the next miniblock in the current block
+  private int miniBlockIndex;
+  private int miniBlockPosition;
+  private int miniBlockValueCount;
+
+  @Override
+  public int initFromPage(long pageValueCount, byte[] in, int offset, int end) throws IOException {
+    if (DEBUG) LOG.debug("init from page at offset "+ offset + " for length " + (end - offset));
+    this.in = in;
+    this.end = end;
+    this.position = offset;
+    int blockSize = readUnsignedVarInt();
+    this.miniBlockCount = readUnsignedVarInt();
+    if (miniBlockCount == 0 || blockSize % miniBlockCount != 0 || (blockSize / miniBlockCount) % 8 != 0) {
+      throw new ParquetDecodingException("invalid block size " + blockSize + " for " + miniBlockCount + " miniblocks");
+    }
+    this.miniBlockSize = blockSize / miniBlockCount;
+    this.valueCount = readUnsignedVarInt();
+    this.remainingValueCount = this.valueCount;
+    this.previousValue = readZigZagVarLong();
+    if (widths == null || widths.length != miniBlockCount) {
+      widths = new int[miniBlockCount];
+    }
+    if (miniBlockValues == null || miniBlockValues.length != miniBlockSize) {
+      miniBlockValues = new long[miniBlockSize];
+      packedValues = new int[miniBlockSize];
+    }
+    this.firstValueRead = false;
+    this.miniBlockIndex = miniBlockCount;
+    this.miniBlockPosition = 0;
+    this.miniBlockValueCount = 0;
+    return findEnd();
+  }
+
+  /**
+   * goes over the block headers to find where the encoded values end
+   * @return the offset following the last block
+   */
+  private int findEnd() {
+    int start = position;
+    int remaining = valueCount - 1;
+    while (remaining > 0) {
+      readZigZagVarLong();
+      int widthsOffset = position;
+      position += miniBlockCount;
+      if (position > end) {
+        break;
+      }
+      for (int m = 0; m < miniBlockCount && remaining > 0; m++) {
+        position += miniBlockSize * (in[widthsOffset + m] & 0xFF) / 8;
+        remaining -= miniBlockSize;
+      }
+    }
+    if (position > end) {
+      throw new ParquetDecodingException("the page is truncated: " + (position - end) + " missing bytes");
+    }
+    int blocksEnd = position;
+    position = start;
+    return blocksEnd;
+  }
+
+  /**
+   * @return the number of values in the page
+   */
+  int getValueCount() {
+    return valueCount;
+  }
+
+  private int readNextByte() {
+    if (position >= end) {
+      throw new ParquetDecodingException("reading past the end of the page");
+    }
+    return in[position ++] & 0xFF;
+  }
+
+  private int readUnsignedVarInt() {
+    return (int)readUnsignedVarLong();
+  }
+
+  private long readUnsignedVarLong() {
+    long value = 0;
+    int i = 0;
+    int b;
+    while (((b = readNextByte()) & 0x80) != 0) {
+      value |= (long)(b & 0x7F) << i;
+      i += 7;
+      if (i > 63) {
+        throw new ParquetDecodingException("Variable length quantity is too long");
+      }
+    }
+    return value | ((long)b << i);
+  }
+
+  private long readZigZagVarLong() {
+    long raw = readUnsignedVarLong();
+    return (raw >>> 1) ^ -(raw & 1);
+  }
+
+  /**
+   * positions the reader on the next miniblock
+   * @return the width of the miniblock
+   */
+  private int nextMiniBlock() {
+    if (remainingValueCount <= 1) {
+      throw new ParquetDecodingException("no more values in the page");
+    }
+    if (miniBlockIndex == miniBlockCount) {
+      minDelta = readZigZagVarLong();
+      for (int m = 0; m < miniBlockCount; m++) {
+        widths[m] = readNextByte();
+        if (widths[m] > 64) {
+          throw new ParquetDecodingException("invalid bit width " + widths[m]);
+        }
+      }
+      miniBlockIndex = 0;
+    }
+    miniBlockPosition = 0;
+    miniBlockValueCount = Math.min(miniBlockSize, remainingValueCount - 1);
+    return widths[miniBlockIndex ++];
+  }
+
+  /**
+   * decodes the values of the next miniblock
+   */
+  private void readMiniBlock() {
+    int width = nextMiniBlock();
+    int length = miniBlockSize * width / 8;
+    if (position + length > end) {
+      throw new ParquetDecodingException("reading past the end of the page");
+    }
+    long value = previousValue;
+    if (width <= 8) {
+      for (int i = 0; i < miniBlockSize; i += 8) {
+        BitPacking.unpack8Values(width, in, position + i / 8 * width, packedValues, i);
+      }
+      for (int i = 0; i < miniBlockValueCount; i++) {
+        value += minDelta + packedValues[i];
+        miniBlockValues[i] = value;
+      }
+    } else {
+      int bitPosition = position * 8;
+      for (int i = 0; i < miniBlockValueCount; i++) {
+        value += minDelta + readPacked(bitPosition, width);
+        miniBlockValues[i] = value;
+        bitPosition += width;
+      }
+    }
+    position += length;
+    previousValue = value;
+    remainingValueCount -= miniBlockValueCount;
+  }
+
+  /**
+   * goes over the next miniblock without storing its values
+   */
+  private void skipMiniBlock() {
+    int width = nextMiniBlock();
+    int length = miniBlockSize * width / 8;
+    if (position + length > end) {
+      throw new ParquetDecodingException("reading past the end of the page");
+    }
+    long sum = (long)miniBlockValueCount * minDelta;
+    if (width > 0 && width <= 8) {
+      for (int i = 0; i < miniBlockSize; i += 8) {
+        BitPacking.unpack8Values(width, in, position + i / 8 * width, packedValues, i);
+      }
+      for (int i = 0; i < miniBlockValueCount; i++) {
+        sum += packedValues[i];
+      }
+    } else if (width > 8) {
+      int bitPosition = position * 8;
+      for (int i = 0; i < miniBlockValueCount; i++) {
+        sum += readPacked(bitPosition, width);
+        bitPosition += width;
+      }
+    }
+    position += length;
+    previousValue += sum;
+    remainingValueCount -= miniBlockValueCount;
+    miniBlockPosition = miniBlockValueCount;
+  }
+
+  private long readPacked(int bitPosition, int width) {
+    long value = 0;
+    int bytePosition = bitPosition >>> 3;
+    int bitOffset = bitPosition & 7;
+    int remaining = width;
+    while (remaining > 0) {
+      int available = 8 - bitOffset;
+      int n = Math.min(available, remaining);
+      int bits = ((in[bytePosition] & 0xFF) >>> (available - n)) & ((1 << n) - 1);
+      value = (value << n) | bits;
+      remaining -= n;
+      bitOffset = 0;
+      ++ bytePosition;
+    }
+    return value;
+  }
+
+  @Override
+  public long readLong() {
+    if (!firstValueRead) {
+      firstValueRead = true;
+      return previousValue;
+    }
+    if (miniBlockPosition == miniBlockValueCount) {
+      readMiniBlock();
+    }
+    return miniBlockValues[miniBlockPosition ++];
+  }
+
+  @Override
+  public void readLongs(long[] values, int offset, int length) {
+    int i = offset;
+    final int end = offset + length;
+    if (i < end && !firstValueRead) {
+      values[i ++] = readLong();
+    }
+    while (i < end) {
+      if (miniBlockPosition == miniBlockValueCount) {
+        readMiniBlock();
+      }
+      int n = Math.min(miniBlockValueCount - miniBlockPosition, end - i);
+      System.arraycopy(miniBlockValues, miniBlockPosition, values, i, n);
+      miniBlockPosition += n;
+      i += n;
+    }
+  }
+
+  /**
+   * skips the next count values, going over whole miniblocks without decoding them
+   * @param count the number of values to skip
+   */
+  @Override
+  public void skipLongs(int count) {
+    if (count > 0 && !firstValueRead) {
+      readLong();
+      -- count;
+    }
+    int buffered = Math.min(count, miniBlockValueCount - miniBlockPosition);
+    miniBlockPosition += buffered;
+    count -= buffered;
+    // the miniblocks that are skipped entirely
+    while (count > 0 && count >= Math.min(miniBlockSize, remainingValueCount - 1)) {
+      skipMiniBlock();
+      count -= miniBlockValueCount;
+    }
+    if (count > 0) {
+      readMiniBlock();
+      miniBlockPosition = count;
+    }
+  }
+}
@@ -0,0 +1,205 @@
+/**
+ * Copyright 2012 Twitter, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package parquet.column.primitive;
+
+import java.io.IOException;
+
+import parquet.Log;
+import parquet.bytes.BytesInput;
+import parquet.bytes.BytesUtils;
+import parquet.bytes.CapacityByteArrayOutputStream;
+import parquet.column.Encoding;
+import parquet.io.ParquetEncodingException;
+
+/**
+ * Encodes INT64 values as the deltas between consecutive values.
+ * The deltas are grouped in blocks and each block is split in miniblocks.
+ * A block stores its smallest delta and each miniblock bit packs the deltas minus that minimum
+ * on the width of its biggest one, so nearly monotonic values take a few bits each.
+ *
+ * <pre>
+ * page: header block*
+ * header: block size (unsigned varint) miniblock count (unsigned varint) value count (unsigned varint) first value (zigzag varlong)
+ * block: min delta (zigzag varlong) width of each miniblock (1 byte each) miniblock*
+ * miniblock: (block size / miniblock count) values bit packed on width bits each, most significant bit first
+ * </pre>
+ * The last miniblock is padded with zeros and the miniblocks after the last value have a width of 0.
+ *
+ * @author Julien Le Dem
+ *
+ */
+public class DeltaBinaryPackingColumnWriter extends DataColumnWriter {
+  private static final Log LOG = Log.getLog(DeltaBinaryPackingColumnWriter.class);
+
+  static final int BLOCK_SIZE = 128;
+  static final int MINI_BLOCK_COUNT = 4;
+  static final int MINI_BLOCK_SIZE = BLOCK_SIZE / MINI_BLOCK_COUNT;
+
+  private final CapacityByteArrayOutputStream out;
+  private final CapacityByteArrayOutputStream headerOut = new CapacityByteArrayOutputStream(32);
+  private final long[] deltas = new long[BLOCK_SIZE];
+  private final int[] widths = new int[MINI_BLOCK_COUNT];
+  // to pack the narrow miniblocks
+  private final int[] miniBlockBuffer = new int[MINI_BLOCK_SIZE];
+  private final byte[] packed = new byte[MINI_BLOCK_SIZE];
+  private int deltaCount;
+  // to estimate the size of the current block
+  private long minDelta;
+  private long maxDelta;
+  private int valueCount;
+  private long firstValue;
+  private long previousValue;
+
+  /**
+   * @param initialSize the initial size of the buffer of encoded values
+   */
+  public DeltaBinaryPackingColumnWriter(int initialSize) {
+    this.out = new CapacityByteArrayOutputStream(initialSize);
+  }
+
+  @Override
+  public final void writeLong(long v) {
+    if (valueCount == 0) {
+      firstValue = v;
+    } else {
+      long delta = v - previousValue;
+      if (deltaCount == 0) {
+        minDelta = maxDelta = delta;
+      } else {
+        minDelta = Math.min(minDelta, delta);
+        maxDelta = Math.max(maxDelta, delta);
+      }
+      deltas[deltaCount ++] = delta;
+      if (deltaCount == BLOCK_SIZE) {
+        writeBlock();
+      }
+    }
+    previousValue = v;
+    ++ valueCount;
+  }
+
+  private void writeBlock() {
+    try {
+      long min = deltas[0];
+      for (int i = 1; i < deltaCount; i++) {
+        min = Math.min(min, deltas[i]);
+      }
+      for (int i = 0; i < deltaCount; i++) {
+        deltas[i] -= min;
+      }
+      for (int i = deltaCount; i < BLOCK_SIZE; i++) {
+        deltas[i] = 0;
+      }
+      for (int m = 0; m < MINI_BLOCK_COUNT; m++) {
+        long or = 0;
+        for (int i = m * MINI_BLOCK_SIZE; i < (m + 1) * MINI_BLOCK_SIZE; i++) {
+          or |= deltas[i];
+        }
+        widths[m] = 64 - Long.numberOfLeadingZeros(or);
+      }
+      BytesUtils.writeZigZagVarLong(min, out);
+      for (int m = 0; m < MINI_BLOCK_COUNT; m++) {
+        out.write(widths[m]);
+      }
+      int miniBlocks = (deltaCount + MINI_BLOCK_SIZE - 1) / MINI_BLOCK_SIZE;
+      for (int m = 0; m < miniBlocks; m++) {
+        writeMiniBlock(m * MINI_BLOCK_SIZE, widths[m]);
+      }
+      deltaCount = 0;
+    } catch (IOException e) {
+      throw new ParquetEncodingException("could not write block", e);
+    }
+  }
+
+  private void writeMiniBlock(int from, int width) {
+    int to = from + MINI_BLOCK_SIZE;
+    if (width <= 8) {
+      for (int i = from; i < to; i++) {
+        miniBlockBuffer[i - from] = (int)deltas[i];
+      }
+      BitPacking.pack32Values(width, miniBlockBuffer, 0, packed, 0);
+      out.write(packed, 0, width * 4);
+    } else {
+      // same layout as BitPacking for the widths it does not support
+      long buffer = 0;
+      int bits = 0;
+      for (int i = from; i < to; i++) {
+        long value = deltas[i];
+        int remaining = width;
+        while (remaining > 0) {
+          int n = Math.min(8 - bits, remaining);
+          remaining -= n;
+          buffer = (buffer << n) | ((value >>> remaining) & ((1L << n) - 1));
+          bits += n;
+          if (bits == 8) {
+            out.write((int)buffer);
+            buffer = 0;
+            bits = 0;
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * the size of the written blocks plus an upper bound for the current one
+   */
+  @Override
+  public long getBufferedSize() {
+    long current = 0;
+    if (deltaCount > 0) {
+      int width = 64 - Long.numberOfLeadingZeros(maxDelta - minDelta);
+      current = 10 + MINI_BLOCK_COUNT + ((deltaCount + MINI_BLOCK_SIZE - 1) / MINI_BLOCK_SIZE) * MINI_BLOCK_SIZE * width / 8;
+    }
+    return 20 + out.size() + current;
+  }
+
+  @Override
+  public BytesInput getBytes() {
+    if (deltaCount > 0) {
+      writeBlock();
+    }
+    try {
+      headerOut.reset();
+      BytesUtils.writeUnsignedVarInt(BLOCK_SIZE, headerOut);
+      BytesUtils.writeUnsignedVarInt(MINI_BLOCK_COUNT, headerOut);
+      BytesUtils.writeUnsignedVarInt(valueCount, headerOut);
+      BytesUtils.writeZigZagVarLong(firstValue, headerOut);
+    } catch (IOException e) {
+      throw new ParquetEncodingException("could not write header", e);
+    }
+    if (Log.DEBUG) LOG.debug("encoded " + valueCount + " values in " + (headerOut.size() + out.size()) + " bytes");
+    return BytesInput.fromSequence(BytesInput.from(headerOut), BytesInput.from(out));
+  }
+
+  @Override
+  public void reset() {
+    out.reset();
+    deltaCount = 0;
+    valueCount = 0;
+  }
+
+  @Override
+  public long getAllocatedSize() {
+    return out.getCapacity() + headerOut.getCapacity() + BLOCK_SIZE * 8;
+  }
+
+  @Override
+  public Encoding getEncoding() {
+    return Encoding.DELTA_BINARY_PACKED;
+  }
+
+}
@@ -0,0 +1,111 @@
+/**
+ * Copyright 2012 Twitter, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package parquet.column.primitive;
+
+import static parquet.Log.DEBUG;
+
+import java.io.IOException;
+
+import parquet.Log;
+import parquet.io.Binary;
+import parquet.io.ParquetDecodingException;
+
+/**
+ * Decodes the lengths of the whole page at once and rebuilds the values one after the other
+ * in a single buffer reused from page to page (it only grows when a page needs more room).
+ * The values returned are slices of that buffer: they are valid only until the next page is read.
+ * Call {@link Binary#copy()} to keep them longer.
+ *
+ * @see DeltaByteArrayColumnWriter
+ *
+ * @author Julien Le Dem
+ *
+ */
+public class DeltaByteArrayColumnReader extends PrimitiveColumnReader {
+  private static final Log LOG = Log.getLog(DeltaByteArrayColumnReader.class);
+
+  private final DeltaBinaryPackingColumnReader prefixLengthReader = new DeltaBinaryPackingColumnReader();
+  private final DeltaBinaryPackingColumnReader suffixLengthReader = new DeltaBinaryPackingColumnReader();
+  // reused from page to page
+  private long[] prefixLengths = new long[0];
+  private long[] suffixLengths = new long[0];
+  private byte[] values = new byte[0];
+
+  private byte[] in;
+  private int suffixOffset;
+  private int valueCount;
+  private int currentValue;
+
+  private int previousOffset;
+  private int previousLength;
+  private int valuesOffset;
+
+  @Override
+  public int initFromPage(long pageValueCount, byte[] in, int offset, int end) throws IOException {
+    if (DEBUG) LOG.debug("init from page at offset "+ offset + " for length " + (end - offset));
+    int next = prefixLengthReader.initFromPage(pageValueCount, in, offset, end);
+    next = suffixLengthReader.initFromPage(pageValueCount, in, next, end);
+    this.valueCount = prefixLengthReader.getValueCount();
+    if (suffixLengthReader.getValueCount() != valueCount) {
+      throw new ParquetDecodingException("found " + suffixLengthReader.getValueCount() + " suffix lengths for " + valueCount + " prefix lengths");
+    }
+    if (prefixLengths.length < valueCount) {
+      prefixLengths = new long[valueCount];
+      suffixLengths = new long[valueCount];
+    }
+    prefixLengthReader.readLongs(prefixLengths, 0, valueCount);
+    suffixLengthReader.readLongs(suffixLengths, 0, valueCount);
+    long size = 0;
+    long suffixSize = 0;
+    for (int i = 0; i < valueCount; i++) {
+      size += prefixLengths[i] + suffixLengths[i];
+      suffixSize += suffixLengths[i];
+    }
+    if (next + suffixSize > end || size > Integer.MAX_VALUE) {
+      throw new ParquetDecodingException("invalid lengths: " + suffixSize + " bytes of suffixes in " + (end - next) + " bytes");
+    }
+    this.in = in;
+    this.suffixOffset = next;
+    if (values.length < size) {
+      values = new byte[(int)size];
+    }
+    this.currentValue = 0;
+    this.previousOffset = 0;
+    this.previousLength = 0;
+    this.valuesOffset = 0;
+    return (int)(next + suffixSize);
+  }
+
+  @Override
+  public Binary readBytes() {
+    if (currentValue == valueCount) {
+      throw new ParquetDecodingException("no more values in the page");
+    }
+    int prefixLength = (int)prefixLengths[currentValue];
+    int suffixLength = (int)suffixLengths[currentValue];
+    ++ currentValue;
+    if (prefixLength > previousLength || prefixLength < 0 || suffixLength < 0) {
+      throw new ParquetDecodingException("invalid prefix length " + prefixLength + " for a previous value of length " + previousLength);
+    }
+    System.arraycopy(values, previousOffset, values, valuesOffset, prefixLength);
+    System.arraycopy(in, suffixOffset, values, valuesOffset + prefixLength, suffixLength);
+    suffixOffset += suffixLength;
+    previousOffset = valuesOffset;
+    previousLength = prefixLength + suffixLength;
+    valuesOffset += previousLength;
+    return Binary.fromByteArray(values, previousOffset, previousLength);
+  }
+}
@@ -0,0 +1,105 @@
+/**
+ * Copyright 2012 Twitter, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package parquet.column.primitive;
+
+import parquet.Log;
+import parquet.bytes.BytesInput;
+import parquet.bytes.CapacityByteArrayOutputStream;
+import parquet.column.Encoding;
+import parquet.io.Binary;
+
+/**
+ * Encodes BINARY values as the length of the prefix they share with the previous value followed by the rest of the value.
+ * Sorted values like urls or paths share long prefixes so only their suffixes are stored.
+ *
+ * <pre>
+ * page: prefix lengths suffix lengths suffixes
+ * prefix lengths, suffix lengths: one per value in DELTA_BINARY_PACKED encoding
+ * suffixes: the bytes of the suffixes of the values one after the other
+ * </pre>
+ * The first value of the page has a prefix length of 0.
+ *
+ * @see DeltaBinaryPackingColumnWriter
+ *
+ * @author Julien Le Dem
+ *
+ */
+public class DeltaByteArrayColumnWriter extends DataColumnWriter {
+  private static final Log LOG = Log.getLog(DeltaByteArrayColumnWriter.class);
+
+  private final DeltaBinaryPackingColumnWriter prefixLengths = new DeltaBinaryPackingColumnWriter(128);
+  private final DeltaBinaryPackingColumnWriter suffixLengths = new DeltaBinaryPackingColumnWriter(128);
+  private final CapacityByteArrayOutputStream suffixes;
+  // copy of the previous value as the caller may reuse its buffer
+  private byte[] previous = new byte[64];
+  private int previousLength = 0;
+
+  /**
+   * @param initialSize the initial size of the buffer of suffixes
+   */
+  public DeltaByteArrayColumnWriter(int initialSize) {
+    this.suffixes = new CapacityByteArrayOutputStream(initialSize);
+  }
+
+  @Override
+  public final void writeBytes(Binary v) {
+    byte[] bytes = v.getBytes();
+    int max = Math.min(bytes.length, previousLength);
+    int prefix = 0;
+    while (prefix < max && bytes[prefix] == previous[prefix]) {
+      ++ prefix;
+    }
+    prefixLengths.writeLong(prefix);
+    suffixLengths.writeLong(bytes.length - prefix);
+    suffixes.write(bytes, prefix, bytes.length - prefix);
+    if (bytes.length > previous.length) {
+      previous = new byte[Math.max(bytes.length, previous.length * 2)];
+    }
+    System.arraycopy(bytes, 0, previous, 0, bytes.length);
+    previousLength = bytes.length;
+  }
+
+  @Override
+  public long getBufferedSize() {
+    return prefixLengths.getBufferedSize() + suffixLengths.getBufferedSize() + suffixes.size();
+  }
+
+  @Override
+  public BytesInput getBytes() {
+    if (Log.DEBUG) LOG.debug("encoded " + suffixes.size() + " bytes of suffixes");
+    return BytesInput.fromSequence(prefixLengths.getBytes(), suffixLengths.getBytes(), BytesInput.from(suffixes));
+  }
+
+  @Override
+  public void reset() {
+    prefixLengths.reset();
+    suffixLengths.reset();
+    suffixes.reset();
+    // each page can be decoded on its own
+    previousLength = 0;
+  }
+
+  @Override
+  public long getAllocatedSize() {
+    return prefixLengths.getAllocatedSize() + suffixLengths.getAllocatedSize() + suffixes.getCapacity();
+  }
+
+  @Override
+  public Encoding getEncoding() {
+    return Encoding.DELTA_BYTE_ARRAY;
+  }
+
+}
@@ -16,6 +16,8 @@
 package parquet.column.primitive;
 
 import java.io.IOException;
+import java.util.Arrays;
+
 import parquet.io.Binary;
 
 /**
@@ -91,7 +93,22 @@ public class DevNullColumnReader extends PrimitiveColumnReader {
   }
 
   @Override
-  public int initFromPage(long valueCount, byte[] in, int offset) throws IOException {
+  public void readIntegers(int[] values, int offset, int length) {
+    Arrays.fill(values, offset, offset + length, defaultInt);
+  }
+
+  @Override
+  public void readLongs(long[] values, int offset, int length) {
+    Arrays.fill(values, offset, offset + length, defaultLong);
+  }
+
+  @Override
+  public void readDoubles(double[] values, int offset, int length) {
+    Arrays.fill(values, offset, offset + length, defaultDouble);
+  }
+
+  @Override
+  public int initFromPage(long valueCount, byte[] in, int offset, int end) throws IOException {
     return offset;
   }
 
@@ -0,0 +1,89 @@
+/**
+ * Copyright 2012 Twitter, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package parquet.column.primitive;
+
+import static parquet.Log.DEBUG;
+
+import java.io.IOException;
+
+import parquet.Log;
+import parquet.column.Dictionary;
+import parquet.io.Binary;
+
+/**
+ * Reads values that have been dictionary encoded
+ *
+ * @see DictionaryColumnWriter
+ *
+ * @author Julien Le Dem
+ *
+ */
+public class DictionaryColumnReader extends PrimitiveColumnReader {
+  private static final Log LOG = Log.getLog(DictionaryColumnReader.class);
+
+  private final Dictionary dictionary;
+  private final BitReader bitReader = new BitReader();
+  private int bitWidth;
+
+  /**
+   * @param dictionary the dictionary to decode the ids
+   */
+  public DictionaryColumnReader(Dictionary dictionary) {
+    this.dictionary = dictionary;
+  }
+
+  @Override
+  public int initFromPage(long valueCount, byte[] page, int offset, int end) throws IOException {
+    this.bitWidth = page[offset] & 0xFF;
+    if (DEBUG) LOG.debug("init from page at offset " + offset + " for length " + (end - offset) + " with ids on " + bitWidth + " bits");
+    bitReader.prepare(page, offset + 1, end - offset - 1);
+    return end;
+  }
+
+  private int readId() {
+    return bitReader.readNBitInteger(bitWidth);
+  }
+
+  @Override
+  public Binary readBytes() {
+    return dictionary.decodeToBinary(readId());
+  }
+
+  @Override
+  public int readInteger() {
+    return dictionary.decodeToInt(readId());
+  }
+
+  @Override
+  public long readLong() {
+    return dictionary.decodeToLong(readId());
+  }
+
+  @Override
+  public void readIntegers(int[] values, int offset, int length) {
+    for (int i = offset; i < offset + length; i++) {
+      values[i] = dictionary.decodeToInt(bitReader.readNBitInteger(bitWidth));
+    }
+  }
+
+  @Override
+  public void readLongs(long[] values, int offset, int length) {
+    for (int i = offset; i < offset + length; i++) {
+      values[i] = dictionary.decodeToLong(bitReader.readNBitInteger(bitWidth));
+    }
+  }
+
+}
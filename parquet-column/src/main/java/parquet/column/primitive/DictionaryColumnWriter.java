@@ -0,0 +1,434 @@
+/**
+ * Copyright 2012 Twitter, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package parquet.column.primitive;
+
+import static parquet.Log.DEBUG;
+import static parquet.bytes.BytesUtils.getWidthFromMaxInt;
+import static parquet.column.Encoding.PLAIN_DICTIONARY;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import parquet.Log;
+import parquet.bytes.BytesInput;
+import parquet.column.Encoding;
+import parquet.column.mem.DictionaryPage;
+import parquet.io.Binary;
+
+/**
+ * Will attempt to encode values using a dictionary and fall back to plain encoding
+ * if the dictionary gets too big.
+ *
+ * The data pages contain the bit width of the ids on one byte followed by the bit packed ids.
+ * The dictionary page contains the values in plain encoding in the order of their id.
+ *
+ * @author Julien Le Dem
+ *
+ */
+public abstract class DictionaryColumnWriter extends DataColumnWriter {
+  private static final Log LOG = Log.getLog(DictionaryColumnWriter.class);
+
+  /* the ids are packed on at most 16 bits */
+  private static final int MAX_DICTIONARY_ENTRIES = 1 << 16;
+
+  /* maximum size in bytes allowed for the dictionary; will fail over to plain encoding if reached */
+  private final int maxDictionaryByteSize;
+
+  /* used when the dictionary gets too big */
+  protected final PlainColumnWriter plainColumnWriter;
+
+  /* will become true if the dictionary becomes too big */
+  private boolean dictionaryTooBig;
+
+  /* true if the dictionary became too big with the values of the current page */
+  private boolean fellBackInPage;
+
+  /* current size in bytes the dictionary will take once serialized */
+  protected int dictionaryByteSize;
+
+  /* size in bytes of the dictionary at the end of last page */
+  private int lastUsedDictionaryByteSize;
+
+  /* dictionary size at the end of last page. The dictionary page only contains the ids used by pages already written */
+  private int lastUsedDictionarySize;
+
+  /* ids of the values in the current page */
+  private int[] encodedValues = new int[64];
+  private int encodedValueCount;
+
+  private final BitWriter bitWriter = new BitWriter();
+
+  /**
+   * @param maxDictionaryByteSize the size at which we fall back to plain encoding
+   * @param initialSize the initial size of the plain encoding buffer
+   */
+  protected DictionaryColumnWriter(int maxDictionaryByteSize, int initialSize) {
+    this.maxDictionaryByteSize = maxDictionaryByteSize;
+    this.plainColumnWriter = new PlainColumnWriter(initialSize);
+  }
+
+  /**
+   * @return true if the values are written with plain encoding
+   */
+  protected boolean isDictionaryTooBig() {
+    return dictionaryTooBig;
+  }
+
+  /**
+   * to be called by subclasses after a value has been added to the dictionary
+   * @param id the id of the value in the dictionary
+   */
+  protected void writeId(int id) {
+    if (encodedValueCount == encodedValues.length) {
+      encodedValues = Arrays.copyOf(encodedValues, encodedValues.length * 2);
+    }
+    encodedValues[encodedValueCount++] = id;
+    if (dictionaryByteSize > maxDictionaryByteSize || getDictionarySize() > MAX_DICTIONARY_ENTRIES) {
+      fallBackToPlainEncoding();
+    }
+  }
+
+  private void fallBackToPlainEncoding() {
+    if (DEBUG) LOG.debug("dictionary is now too big, falling back to plain: " + dictionaryByteSize + "B and " + getDictionarySize() + " entries");
+    dictionaryTooBig = true;
+    fellBackInPage = true;
+    // the values of the current page were not written yet
+    for (int i = 0; i < encodedValueCount; i++) {
+      writeEntryToPlain(encodedValues[i]);
+    }
+    encodedValues = null;
+    encodedValueCount = 0;
+    if (lastUsedDictionarySize == 0) {
+      // the dictionary was never used in a page
+      truncateDictionary(0);
+      dictionaryByteSize = 0;
+    }
+  }
+
+  /**
+   * @return the number of entries in the dictionary
+   */
+  protected abstract int getDictionarySize();
+
+  /**
+   * @param id the id of the entry to write to the plain encoding buffer
+   */
+  protected abstract void writeEntryToPlain(int id);
+
+  /**
+   * writes the entries of the dictionary to the given writer in the order of their ids
+   * @param entryCount the number of entries to write
+   * @param out where to write
+   */
+  protected abstract void writeDictionary(int entryCount, PlainColumnWriter out);
+
+  /**
+   * removes the entries added after the first ones
+   * @param entryCount the number of entries to keep
+   */
+  protected abstract void truncateDictionary(int entryCount);
+
+  private boolean isUsingDictionary() {
+    return !dictionaryTooBig && getDictionarySize() > 0;
+  }
+
+  /**
+   * the bit packed ids as written by getBytes() and the entries added to the dictionary for this page
+   */
+  @Override
+  public long getBufferedSize() {
+    if (dictionaryTooBig) {
+      return plainColumnWriter.getBufferedSize();
+    }
+    int bitWidth = getWidthFromMaxInt(Math.max(0, getDictionarySize() - 1));
+    return 1 + ((long)encodedValueCount * bitWidth + 7) / 8 + dictionaryByteSize - lastUsedDictionaryByteSize;
+  }
+
+  @Override
+  public long getDictionaryByteSize() {
+    return lastUsedDictionaryByteSize;
+  }
+
+  @Override
+  public long getAllocatedSize() {
+    return (encodedValues == null ? 0 : encodedValues.length * 4) + dictionaryByteSize + plainColumnWriter.getAllocatedSize();
+  }
+
+  @Override
+  public BytesInput getBytes() {
+    if (isUsingDictionary()) {
+      // remember the size of the dictionary when we last wrote a page
+      lastUsedDictionarySize = getDictionarySize();
+      lastUsedDictionaryByteSize = dictionaryByteSize;
+      int bitWidth = getWidthFromMaxInt(lastUsedDictionarySize - 1);
+      bitWriter.reset();
+      for (int i = 0; i < encodedValueCount; i++) {
+        bitWriter.writeNBitInteger(encodedValues[i], bitWidth);
+      }
+      byte[] ids = bitWriter.finish();
+      if (DEBUG) LOG.debug("writing " + encodedValueCount + " ids on " + bitWidth + " bits: " + ids.length + " bytes");
+      return BytesInput.fromSequence(BytesInput.from(new byte[] { (byte)bitWidth }), BytesInput.from(ids));
+    }
+    return plainColumnWriter.getBytes();
+  }
+
+  @Override
+  public Encoding getEncoding() {
+    if (isUsingDictionary()) {
+      return PLAIN_DICTIONARY;
+    }
+    return plainColumnWriter.getEncoding();
+  }
+
+  @Override
+  public void reset() {
+    encodedValueCount = 0;
+    fellBackInPage = false;
+    plainColumnWriter.reset();
+  }
+
+  /**
+   * the dictionary goes back to the entries used by the pages already written
+   */
+  @Override
+  public void discardPage() {
+    if (fellBackInPage) {
+      // only the discarded values made the dictionary too big
+      dictionaryTooBig = false;
+      encodedValues = new int[64];
+    }
+    truncateDictionary(lastUsedDictionarySize);
+    dictionaryByteSize = lastUsedDictionaryByteSize;
+    reset();
+  }
+
+  @Override
+  public DictionaryPage createDictionaryPage() {
+    if (lastUsedDictionarySize > 0) {
+      // return a dictionary only if we actually used it
+      PlainColumnWriter dictionaryWriter = new PlainColumnWriter(lastUsedDictionaryByteSize);
+      // write only the part of the dictionary that we used
+      writeDictionary(lastUsedDictionarySize, dictionaryWriter);
+      return new DictionaryPage(dictionaryWriter.getBytes(), lastUsedDictionarySize, PLAIN_DICTIONARY);
+    }
+    return null;
+  }
+
+  @Override
+  public void resetDictionary() {
+    lastUsedDictionaryByteSize = 0;
+    lastUsedDictionarySize = 0;
+    dictionaryByteSize = 0;
+    dictionaryTooBig = false;
+    if (encodedValues == null) {
+      encodedValues = new int[64];
+    }
+    encodedValueCount = 0;
+    truncateDictionary(0);
+  }
+
+  /**
+   * dictionary encoding for binary
+   *
+   * @author Julien Le Dem
+   *
+   */
+  public static class PlainBinaryDictionaryColumnWriter extends DictionaryColumnWriter {
+
+    private Map<Binary, Integer> dictionaryContent = new HashMap<Binary, Integer>();
+    private List<Binary> entries = new ArrayList<Binary>();
+
+    /**
+     * @param maxDictionaryByteSize the size at which we fall back to plain encoding
+     * @param initialSize the initial size of the plain encoding buffer
+     */
+    public PlainBinaryDictionaryColumnWriter(int maxDictionaryByteSize, int initialSize) {
+      super(maxDictionaryByteSize, initialSize);
+    }
+
+    @Override
+    public void writeBytes(Binary v) {
+      if (isDictionaryTooBig()) {
+        plainColumnWriter.writeBytes(v);
+      } else {
+        Integer id = dictionaryContent.get(v);
+        if (id == null) {
+          // the incoming value may be reused by the caller
+          Binary entry = v.copy();
+          id = entries.size();
+          dictionaryContent.put(entry, id);
+          entries.add(entry);
+          // length as int (4 bytes) + actual bytes
+          dictionaryByteSize += 4 + v.length();
+        }
+        writeId(id);
+      }
+    }
+
+    @Override
+    protected int getDictionarySize() {
+      return entries.size();
+    }
+
+    @Override
+    protected void writeEntryToPlain(int id) {
+      plainColumnWriter.writeBytes(entries.get(id));
+    }
+
+    @Override
+    protected void writeDictionary(int entryCount, PlainColumnWriter out) {
+      for (int i = 0; i < entryCount; i++) {
+        out.writeBytes(entries.get(i));
+      }
+    }
+
+    @Override
+    protected void truncateDictionary(int entryCount) {
+      for (int i = entries.size() - 1; i >= entryCount; i--) {
+        dictionaryContent.remove(entries.remove(i));
+      }
+    }
+  }
+
+  /**
+   * dictionary encoding for int32
+   *
+   * @author Julien Le Dem
+   *
+   */
+  public static class PlainIntegerDictionaryColumnWriter extends DictionaryColumnWriter {
+
+    private Map<Integer, Integer> dictionaryContent = new HashMap<Integer, Integer>();
+    private int[] entries = new int[64];
+
+    /**
+     * @param maxDictionaryByteSize the size at which we fall back to plain encoding
+     * @param initialSize the initial size of the plain encoding buffer
+     */
+    public PlainIntegerDictionaryColumnWriter(int maxDictionaryByteSize, int initialSize) {
+      super(maxDictionaryByteSize, initialSize);
+    }
+
+    @Override
+    public void writeInteger(int v) {
+      if (isDictionaryTooBig()) {
+        plainColumnWriter.writeInteger(v);
+      } else {
+        Integer id = dictionaryContent.get(v);
+        if (id == null) {
+          id = dictionaryContent.size();
+          dictionaryContent.put(v, id);
+          if (id == entries.length) {
+            entries = Arrays.copyOf(entries, entries.length * 2);
+          }
+          entries[id] = v;
+          dictionaryByteSize += 4;
+        }
+        writeId(id);
+      }
+    }
+
+    @Override
+    protected int getDictionarySize() {
+      return dictionaryContent.size();
+    }
+
+    @Override
+    protected void writeEntryToPlain(int id) {
+      plainColumnWriter.writeInteger(entries[id]);
+    }
+
+    @Override
+    protected void writeDictionary(int entryCount, PlainColumnWriter out) {
+      for (int i = 0; i < entryCount; i++) {
+        out.writeInteger(entries[i]);
+      }
+    }
+
+    @Override
+    protected void truncateDictionary(int entryCount) {
+      for (int i = dictionaryContent.size() - 1; i >= entryCount; i--) {
+        dictionaryContent.remove(entries[i]);
+      }
+    }
+  }
+
+  /**
+   * dictionary encoding for int64
+   *
+   * @author Julien Le Dem
+   *
+   */
+  public static class PlainLongDictionaryColumnWriter extends DictionaryColumnWriter {
+
+    private Map<Long, Integer> dictionaryContent = new HashMap<Long, Integer>();
+    private long[] entries = new long[64];
+
+    /**
+     * @param maxDictionaryByteSize the size at which we fall back to plain encoding
+     * @param initialSize the initial size of the plain encoding buffer
+     */
+    public PlainLongDictionaryColumnWriter(int maxDictionaryByteSize, int initialSize) {
+      super(maxDictionaryByteSize, initialSize);
+    }
+
+    @Override
+    public void writeLong(long v) {
+      if (isDictionaryTooBig()) {
+        plainColumnWriter.writeLong(v);
+      } else {
+        Integer id = dictionaryContent.get(v);
+        if (id == null) {
+          id = dictionaryContent.size();
+          dictionaryContent.put(v, id);
+          if (id == entries.length) {
+            entries = Arrays.copyOf(entries, entries.length * 2);
+          }
+          entries[id] = v;
+          dictionaryByteSize += 8;
+        }
+        writeId(id);
+      }
+    }
+
+    @Override
+    protected int getDictionarySize() {
+      return dictionaryContent.size();
+    }
+
+    @Override
+    protected void writeEntryToPlain(int id) {
+      plainColumnWriter.writeLong(entries[id]);
+    }
+
+    @Override
+    protected void writeDictionary(int entryCount, PlainColumnWriter out) {
+      for (int i = 0; i < entryCount; i++) {
+        out.writeLong(entries[i]);
+      }
+    }
+
+    @Override
+    protected void truncateDictionary(int entryCount) {
+      for (int i = dictionaryContent.size() - 1; i >= entryCount; i--) {
+        dictionaryContent.remove(entries[i]);
+      }
+    }
+  }
+}
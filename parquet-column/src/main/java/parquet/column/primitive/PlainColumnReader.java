@@ -17,51 +17,63 @@ package parquet.column.primitive;
 
 import static parquet.Log.DEBUG;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 
 import parquet.Log;
-import parquet.bytes.LittleEndianDataInputStream;
 import parquet.io.Binary;
 import parquet.io.ParquetDecodingException;
 
 /**
  * Plain encoding except for booleans
  *
+ * reads directly from the page through a little endian ByteBuffer
+ *
  * @author Julien Le Dem
  *
  */
 public class PlainColumnReader extends PrimitiveColumnReader {
   private static final Log LOG = Log.getLog(PlainColumnReader.class);
 
-  private LittleEndianDataInputStream in;
+  private byte[] page;
+  private ByteBuffer in;
 
   @Override
   public float readFloat() {
     try {
-      return in.readFloat();
-    } catch (IOException e) {
+      return in.getFloat();
+    } catch (BufferUnderflowException e) {
       throw new ParquetDecodingException("could not read float", e);
     }
   }
 
+  /**
+   * The returned value is a view on the current page and is valid only until
+   * the next page is read. Call {@link Binary#copy()} to keep it longer.
+   * {@inheritDoc}
+   * @see parquet.column.primitive.PrimitiveColumnReader#readBytes()
+   */
   @Override
   public Binary readBytes() {
     try {
-      byte[] value = new byte[in.readInt()];
-      in.readFully(value);
-      // TODO: we don't need to read to an array.
-      return Binary.fromByteArray(value);
-    } catch (IOException e) {
+      int length = in.getInt();
+      int start = in.position();
+      in.position(start + length);
+      return Binary.fromByteArray(page, start, length);
+    } catch (BufferUnderflowException e) {
       throw new ParquetDecodingException("could not read bytes", e);
+    } catch (IllegalArgumentException e) {
+      throw new ParquetDecodingException("could not read bytes at offset " + in.position(), e);
     }
   }
 
   @Override
   public double readDouble() {
     try {
-      return in.readDouble();
-    } catch (IOException e) {
+      return in.getDouble();
+    } catch (BufferUnderflowException e) {
       throw new ParquetDecodingException("could not read double", e);
     }
   }
@@ -69,8 +81,8 @@ public class PlainColumnReader extends PrimitiveColumnReader {
   @Override
   public int readInteger() {
     try {
-      return in.readInt();
-    } catch (IOException e) {
+      return in.getInt();
+    } catch (BufferUnderflowException e) {
       throw new ParquetDecodingException("could not read int", e);
     }
   }
@@ -78,30 +90,61 @@ public class PlainColumnReader extends PrimitiveColumnReader {
   @Override
   public long readLong() {
     try {
-      return in.readLong();
-    } catch (IOException e) {
+      return in.getLong();
+    } catch (BufferUnderflowException e) {
       throw new ParquetDecodingException("could not read long", e);
     }
   }
 
+  @Override
+  public void readIntegers(int[] values, int offset, int length) {
+    try {
+      in.asIntBuffer().get(values, offset, length);
+      in.position(in.position() + length * 4);
+    } catch (BufferUnderflowException e) {
+      throw new ParquetDecodingException("could not read " + length + " ints", e);
+    }
+  }
+
+  @Override
+  public void readLongs(long[] values, int offset, int length) {
+    try {
+      in.asLongBuffer().get(values, offset, length);
+      in.position(in.position() + length * 8);
+    } catch (BufferUnderflowException e) {
+      throw new ParquetDecodingException("could not read " + length + " longs", e);
+    }
+  }
+
+  @Override
+  public void readDoubles(double[] values, int offset, int length) {
+    try {
+      in.asDoubleBuffer().get(values, offset, length);
+      in.position(in.position() + length * 8);
+    } catch (BufferUnderflowException e) {
+      throw new ParquetDecodingException("could not read " + length + " doubles", e);
+    }
+  }
+
   @Override
   public int readByte() {
     try {
-      return in.read();
-    } catch (IOException e) {
+      return in.get() & 0xFF;
+    } catch (BufferUnderflowException e) {
       throw new ParquetDecodingException("could not read byte", e);
     }
   }
 
   /**
    * {@inheritDoc}
-   * @see parquet.column.primitive.PrimitiveColumnReader#initFromPage(byte[], int)
+   * @see parquet.column.primitive.PrimitiveColumnReader#initFromPage(long, byte[], int, int)
    */
   @Override
-  public int initFromPage(long valueCount, byte[] in, int offset) throws IOException {
-    if (DEBUG) LOG.debug("init from page at offset "+ offset + " for length " + (in.length - offset));
-    this.in = new LittleEndianDataInputStream(new ByteArrayInputStream(in, offset, in.length - offset));
-    return in.length;
+  public int initFromPage(long valueCount, byte[] in, int offset, int end) throws IOException {
+    if (DEBUG) LOG.debug("init from page at offset "+ offset + " for length " + (end - offset));
+    this.page = in;
+    this.in = ByteBuffer.wrap(in, offset, end - offset).order(ByteOrder.LITTLE_ENDIAN);
+    return end;
   }
 
-}
\ No newline at end of file
+}
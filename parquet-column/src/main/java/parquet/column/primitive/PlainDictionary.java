@@ -0,0 +1,134 @@
+/**
+ * Copyright 2012 Twitter, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package parquet.column.primitive;
+
+import java.io.IOException;
+
+import parquet.column.Dictionary;
+import parquet.column.Encoding;
+import parquet.column.mem.DictionaryPage;
+import parquet.io.Binary;
+import parquet.io.ParquetDecodingException;
+import parquet.schema.PrimitiveType.PrimitiveTypeName;
+
+/**
+ * a dictionary which values are stored in plain encoding in the dictionary page
+ *
+ * @see DictionaryColumnWriter
+ *
+ * @author Julien Le Dem
+ *
+ */
+public abstract class PlainDictionary extends Dictionary {
+
+  /**
+   * reads the dictionary page
+   * @param type the type of the column
+   * @param dictionaryPage the page containing the dictionary
+   * @return the corresponding dictionary
+   * @throws IOException
+   */
+  public static PlainDictionary read(PrimitiveTypeName type, DictionaryPage dictionaryPage) throws IOException {
+    if (dictionaryPage.getEncoding() != Encoding.PLAIN_DICTIONARY) {
+      throw new ParquetDecodingException("Dictionary encoding not supported: " + dictionaryPage.getEncoding());
+    }
+    // the dictionary owns this array so the entries can be views on it
+    byte[] bytes = dictionaryPage.getBytes().toByteArray();
+    int size = dictionaryPage.getDictionarySize();
+    PlainColumnReader reader = new PlainColumnReader();
+    reader.initFromPage(size, bytes, 0);
+    switch (type) {
+    case BINARY:
+      Binary[] binaryDictionaryContent = new Binary[size];
+      for (int i = 0; i < size; i++) {
+        binaryDictionaryContent[i] = reader.readBytes();
+      }
+      return new PlainBinaryDictionary(binaryDictionaryContent);
+    case INT32:
+      int[] intDictionaryContent = new int[size];
+      for (int i = 0; i < size; i++) {
+        intDictionaryContent[i] = reader.readInteger();
+      }
+      return new PlainIntegerDictionary(intDictionaryContent);
+    case INT64:
+      long[] longDictionaryContent = new long[size];
+      for (int i = 0; i < size; i++) {
+        longDictionaryContent[i] = reader.readLong();
+      }
+      return new PlainLongDictionary(longDictionaryContent);
+    default:
+      throw new ParquetDecodingException("Dictionary encoding not supported for type: " + type);
+    }
+  }
+
+  private PlainDictionary() {
+    super(Encoding.PLAIN_DICTIONARY);
+  }
+
+  private static final class PlainBinaryDictionary extends PlainDictionary {
+    private final Binary[] dictionaryContent;
+
+    private PlainBinaryDictionary(Binary[] dictionaryContent) {
+      this.dictionaryContent = dictionaryContent;
+    }
+
+    @Override
+    public Binary decodeToBinary(int id) {
+      return dictionaryContent[id];
+    }
+
+    @Override
+    public int getMaxId() {
+      return dictionaryContent.length - 1;
+    }
+  }
+
+  private static final class PlainIntegerDictionary extends PlainDictionary {
+    private final int[] dictionaryContent;
+
+    private PlainIntegerDictionary(int[] dictionaryContent) {
+      this.dictionaryContent = dictionaryContent;
+    }
+
+    @Override
+    public int decodeToInt(int id) {
+      return dictionaryContent[id];
+    }
+
+    @Override
+    public int getMaxId() {
+      return dictionaryContent.length - 1;
+    }
+  }
+
+  private static final class PlainLongDictionary extends PlainDictionary {
+    private final long[] dictionaryContent;
+
+    private PlainLongDictionary(long[] dictionaryContent) {
+      this.dictionaryContent = dictionaryContent;
+    }
+
+    @Override
+    public long decodeToLong(int id) {
+      return dictionaryContent[id];
+    }
+
+    @Override
+    public int getMaxId() {
+      return dictionaryContent.length - 1;
+    }
+  }
+}
@@ -35,8 +35,9 @@ public abstract class PrimitiveColumnReader {
   /**
    * Called to initialize the column reader from a part of a page.
    *
-   * The underlying implementation knows how much data to read, so a length
-   * is not provided.
+   * The underlying implementation knows how much data to read in its section,
+   * so a length is not provided. The end of the page is, as the array may be
+   * larger than the page (for example a reused decompression buffer).
    * 
    * Each page may contain several sections:
    * <ul>
@@ -51,10 +52,19 @@ public abstract class PrimitiveColumnReader {
    * @param valueCount count of values in this page
    * @param page the array to read from containing the page data (repetition levels, definition levels, data)
    * @param offset where to start reading from in the page
+   * @param end the offset of the end of the page in the array
    * @return the offset of the end of the data for this section of the page
    * @throws IOException
    */
-  public abstract int initFromPage(long valueCount, byte[] page, int offset) throws IOException;
+  public abstract int initFromPage(long valueCount, byte[] page, int offset, int end) throws IOException;
+
+  /**
+   * Called to initialize the column reader from a part of a page that ends with the array.
+   * @see #initFromPage(long, byte[], int, int)
+   */
+  public int initFromPage(long valueCount, byte[] page, int offset) throws IOException {
+    return initFromPage(valueCount, page, offset, page.length);
+  }
 
   /**
    * @return the next boolean from the page
@@ -104,4 +114,48 @@ public abstract class PrimitiveColumnReader {
   public long readLong() {
     throw new UnsupportedOperationException();
   }
-}
\ No newline at end of file
+
+  /**
+   * reads the next length ints from the page.
+   * Subclasses should override this to avoid reading one value at a time
+   * @param values the array to fill
+   * @param offset where to start in values
+   * @param length how many values to read
+   */
+  public void readIntegers(int[] values, int offset, int length) {
+    for (int i = offset; i < offset + length; i++) {
+      values[i] = readInteger();
+    }
+  }
+
+  /**
+   * reads the next length longs from the page.
+   * @see #readIntegers(int[], int, int)
+   */
+  public void readLongs(long[] values, int offset, int length) {
+    for (int i = offset; i < offset + length; i++) {
+      values[i] = readLong();
+    }
+  }
+
+  /**
+   * skips the next count longs of the page.
+   * Subclasses should override this when they can skip values without decoding them
+   * @param count how many values to skip
+   */
+  public void skipLongs(int count) {
+    for (int i = 0; i < count; i++) {
+      readLong();
+    }
+  }
+
+  /**
+   * reads the next length doubles from the page.
+   * @see #readIntegers(int[], int, int)
+   */
+  public void readDoubles(double[] values, int offset, int length) {
+    for (int i = offset; i < offset + length; i++) {
+      values[i] = readDouble();
+    }
+  }
+}
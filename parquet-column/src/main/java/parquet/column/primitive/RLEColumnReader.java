@@ -0,0 +1,151 @@
+/**
+ * Copyright 2012 Twitter, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package parquet.column.primitive;
+
+import static parquet.Log.DEBUG;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import parquet.Log;
+import parquet.io.ParquetDecodingException;
+
+/**
+ * @see RLEColumnWriter
+ *
+ * @author Julien Le Dem
+ *
+ */
+public class RLEColumnReader extends PrimitiveColumnReader {
+  private static final Log LOG = Log.getLog(RLEColumnReader.class);
+
+  private byte[] in;
+  private int position;
+  private int end;
+  private int width;
+  private long mask;
+
+  private boolean repeated;
+  private int currentCount;
+  private int currentValue;
+  // state of the bit packed run
+  private long buffer;
+  private int bits;
+
+  @Override
+  public int initFromPage(long valueCount, byte[] in, int offset, int end) throws IOException {
+    if (DEBUG) LOG.debug("init from page at offset "+ offset + " for length " + (end - offset));
+    this.in = in;
+    this.end = end;
+    this.width = in[offset] & 0xFF;
+    if (width > 32) {
+      throw new ParquetDecodingException("invalid bit width " + width);
+    }
+    this.mask = width == 32 ? 0xFFFFFFFFL : (1L << width) - 1;
+    this.position = offset + 1;
+    this.currentCount = 0;
+    this.buffer = 0;
+    this.bits = 0;
+    return end;
+  }
+
+  private int readNextByte() {
+    if (position >= end) {
+      throw new ParquetDecodingException("reading past the end of the page");
+    }
+    return in[position ++] & 0xFF;
+  }
+
+  private void readNextRun() {
+    int header = readUnsignedVarint();
+    repeated = (header & 1) == 0;
+    if (repeated) {
+      currentCount = header >>> 1;
+      int value = 0;
+      for (int b = 0; b < width; b += 8) {
+        value |= readNextByte() << b;
+      }
+      currentValue = value;
+    } else {
+      currentCount = (header >>> 1) * 8;
+      buffer = 0;
+      bits = 0;
+    }
+    if (currentCount == 0) {
+      throw new ParquetDecodingException("empty run at " + position);
+    }
+  }
+
+  private int readBitPacked() {
+    while (bits < width) {
+      buffer |= (long)readNextByte() << bits;
+      bits += 8;
+    }
+    int value = (int)(buffer & mask);
+    buffer >>>= width;
+    bits -= width;
+    return value;
+  }
+
+  private int readUnsignedVarint() {
+    int value = 0;
+    int i = 0;
+    int b;
+    while (((b = readNextByte()) & 0x80) != 0) {
+      value |= (b & 0x7F) << i;
+      i += 7;
+      if (i > 35) {
+        throw new ParquetDecodingException("Variable length quantity is too long");
+      }
+    }
+    return value | (b << i);
+  }
+
+  @Override
+  public int readInteger() {
+    if (currentCount == 0) {
+      readNextRun();
+    }
+    -- currentCount;
+    return repeated ? currentValue : readBitPacked();
+  }
+
+  @Override
+  public boolean readBoolean() {
+    return readInteger() != 0;
+  }
+
+  @Override
+  public void readIntegers(int[] values, int offset, int length) {
+    int i = offset;
+    final int end = offset + length;
+    while (i < end) {
+      if (currentCount == 0) {
+        readNextRun();
+      }
+      int n = Math.min(currentCount, end - i);
+      if (repeated) {
+        Arrays.fill(values, i, i + n, currentValue);
+        i += n;
+      } else {
+        for (int j = 0; j < n; j++) {
+          values[i ++] = readBitPacked();
+        }
+      }
+      currentCount -= n;
+    }
+  }
+}
@@ -0,0 +1,187 @@
+/**
+ * Copyright 2012 Twitter, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package parquet.column.primitive;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import parquet.Log;
+import parquet.bytes.BytesInput;
+import parquet.bytes.CapacityByteArrayOutputStream;
+import parquet.column.Encoding;
+import parquet.io.ParquetEncodingException;
+
+/**
+ * Encodes INT32 and BOOLEAN values with a hybrid of run length encoding and bit packing.
+ * The bit width is the width of the biggest value of the page (32 when there are negative values).
+ * The values of the page are buffered so that the width is known before encoding.
+ *
+ * <pre>
+ * page: bit width (1 byte) run*
+ * run: header (unsigned varint) followed by
+ *   header & 1 == 0: header &gt;&gt;&gt; 1 repetitions of a value stored on ceil(width / 8) bytes little endian
+ *   header & 1 == 1: header &gt;&gt;&gt; 1 groups of 8 values bit packed on width bits each, least significant bit first
+ * </pre>
+ * Only the last group of the page is padded with zeros.
+ *
+ * @author Julien Le Dem
+ *
+ */
+public class RLEColumnWriter extends DataColumnWriter {
+  private static final Log LOG = Log.getLog(RLEColumnWriter.class);
+
+  /**
+   * shorter runs are bit packed
+   */
+  static final int MIN_REPEATED_RUN = 8;
+
+  private final CapacityByteArrayOutputStream out;
+  private int[] values;
+  private int valueCount;
+  private int or;
+  private int runCount;
+
+  /**
+   * @param initialSize the initial size of the buffer of encoded values
+   */
+  public RLEColumnWriter(int initialSize) {
+    this.out = new CapacityByteArrayOutputStream(initialSize);
+    this.values = new int[1024];
+  }
+
+  @Override
+  public final void writeInteger(int v) {
+    if (valueCount == values.length) {
+      values = Arrays.copyOf(values, values.length * 2);
+    }
+    if (valueCount == 0 || values[valueCount - 1] != v) {
+      ++ runCount;
+    }
+    values[valueCount ++] = v;
+    or |= v;
+  }
+
+  @Override
+  public final void writeBoolean(boolean v) {
+    writeInteger(v ? 1 : 0);
+  }
+
+  static int getBitWidth(int or) {
+    return 32 - Integer.numberOfLeadingZeros(or);
+  }
+
+  /**
+   * an estimate of the encoded size: the smallest of bit packing everything or encoding every run
+   */
+  @Override
+  public long getBufferedSize() {
+    int width = getBitWidth(or);
+    long bitPacked = ((long)valueCount * width + 7) / 8;
+    long runs = (long)runCount * (2 + (width + 7) / 8);
+    return 1 + Math.min(bitPacked, runs);
+  }
+
+  @Override
+  public BytesInput getBytes() {
+    out.reset();
+    int width = getBitWidth(or);
+    out.write(width);
+    int literalStart = 0;
+    int i = 0;
+    while (i < valueCount) {
+      int value = values[i];
+      int runEnd = i + 1;
+      while (runEnd < valueCount && values[runEnd] == value) {
+        ++ runEnd;
+      }
+      int runLength = runEnd - i;
+      if (runLength >= MIN_REPEATED_RUN) {
+        // the bit packed values before the run must be a multiple of 8: they are completed with values from the run
+        int pending = i - literalStart;
+        int padding = (8 - pending % 8) % 8;
+        if (runLength - padding >= MIN_REPEATED_RUN) {
+          if (pending > 0) {
+            writeBitPacked(literalStart, i + padding, width);
+          }
+          writeRepeated(value, runLength - padding, width);
+          literalStart = runEnd;
+        }
+      }
+      i = runEnd;
+    }
+    if (literalStart < valueCount) {
+      writeBitPacked(literalStart, valueCount, width);
+    }
+    if (Log.DEBUG) LOG.debug("encoded " + valueCount + " values on " + width + " bits in " + out.size() + " bytes");
+    return BytesInput.from(out);
+  }
+
+  private void writeRepeated(int value, int count, int width) {
+    writeUnsignedVarint(count << 1);
+    for (int b = 0; b < width; b += 8) {
+      out.write((value >>> b) & 0xFF);
+    }
+  }
+
+  private void writeBitPacked(int from, int to, int width) {
+    int groups = (to - from + 7) / 8;
+    writeUnsignedVarint(groups << 1 | 1);
+    long mask = width == 32 ? 0xFFFFFFFFL : (1L << width) - 1;
+    long buffer = 0;
+    int bits = 0;
+    int end = from + groups * 8;
+    for (int i = from; i < end; i++) {
+      long value = i < to ? values[i] & mask : 0;
+      buffer |= value << bits;
+      bits += width;
+      while (bits >= 8) {
+        out.write((int)buffer & 0xFF);
+        buffer >>>= 8;
+        bits -= 8;
+      }
+    }
+  }
+
+  private void writeUnsignedVarint(int value) {
+    if (value < 0) {
+      throw new ParquetEncodingException("run too long: " + value);
+    }
+    while ((value & 0xFFFFFF80) != 0) {
+      out.write((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    out.write(value & 0x7F);
+  }
+
+  @Override
+  public void reset() {
+    out.reset();
+    valueCount = 0;
+    or = 0;
+    runCount = 0;
+  }
+
+  @Override
+  public long getAllocatedSize() {
+    return values.length * 4L + out.getCapacity();
+  }
+
+  @Override
+  public Encoding getEncoding() {
+    return Encoding.RLE;
+  }
+
+}
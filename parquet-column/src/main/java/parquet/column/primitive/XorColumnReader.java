@@ -0,0 +1,64 @@
+/**
+ * Copyright 2012 Twitter, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package parquet.column.primitive;
+
+import static parquet.Log.DEBUG;
+
+import java.io.IOException;
+
+import parquet.Log;
+
+/**
+ * Decodes the values one at a time from the bits of the page.
+ *
+ * @see XorColumnWriter
+ *
+ * @author Julien Le Dem
+ *
+ */
+public class XorColumnReader extends PrimitiveColumnReader {
+  private static final Log LOG = Log.getLog(XorColumnReader.class);
+
+  private final BitReader bitReader = new BitReader();
+  private boolean firstValueRead;
+  private long previous;
+  private int leadingZeros;
+  private int trailingZeros;
+
+  @Override
+  public int initFromPage(long valueCount, byte[] in, int offset, int end) throws IOException {
+    if (DEBUG) LOG.debug("init from page at offset "+ offset + " for length " + (end - offset));
+    bitReader.prepare(in, offset, end - offset);
+    firstValueRead = false;
+    return end;
+  }
+
+  @Override
+  public double readDouble() {
+    if (!firstValueRead) {
+      previous = bitReader.readNBitLong(64);
+      firstValueRead = true;
+    } else if (bitReader.readBit()) {
+      if (bitReader.readBit()) {
+        leadingZeros = bitReader.readNBitInteger(5);
+        int length = bitReader.readNBitInteger(6) + 1;
+        trailingZeros = 64 - leadingZeros - length;
+      }
+      previous ^= bitReader.readNBitLong(64 - leadingZeros - trailingZeros) << trailingZeros;
+    }
+    return Double.longBitsToDouble(previous);
+  }
+}
@@ -0,0 +1,114 @@
+/**
+ * Copyright 2012 Twitter, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package parquet.column.primitive;
+
+import parquet.Log;
+import parquet.bytes.BytesInput;
+import parquet.column.Encoding;
+
+/**
+ * Encodes DOUBLE values as the XOR of their bits with the previous value.
+ * Slowly changing values have few meaningful bits in the XOR and repeated values take 1 bit.
+ *
+ * <pre>
+ * page: first value (64 bits) value*
+ * value:
+ *   0: same as the previous value
+ *   1 0: the meaningful bits of the XOR fit in the window of the previous value, followed by the bits of that window
+ *   1 1: leading zeros of the XOR (5 bits) length of the meaningful bits - 1 (6 bits) followed by the meaningful bits
+ * </pre>
+ * The bits are written least significant first (see BitWriter).
+ *
+ * @author Julien Le Dem
+ *
+ */
+public class XorColumnWriter extends DataColumnWriter {
+  private static final Log LOG = Log.getLog(XorColumnWriter.class);
+
+  /**
+   * the leading zeros are stored on 5 bits
+   */
+  static final int MAX_LEADING_ZEROS = 31;
+
+  private final BitWriter bitWriter = new BitWriter();
+  private int valueCount;
+  private long previous;
+  // the window of meaningful bits of the previous XOR
+  private int leadingZeros;
+  private int trailingZeros;
+
+  @Override
+  public final void writeDouble(double v) {
+    long bits = Double.doubleToLongBits(v);
+    if (valueCount == 0) {
+      bitWriter.writeNBitLong(bits, 64);
+      // no window yet
+      leadingZeros = -1;
+    } else {
+      long xor = bits ^ previous;
+      if (xor == 0) {
+        bitWriter.writeBit(false);
+      } else {
+        bitWriter.writeBit(true);
+        int leading = Math.min(Long.numberOfLeadingZeros(xor), MAX_LEADING_ZEROS);
+        int trailing = Long.numberOfTrailingZeros(xor);
+        if (leadingZeros >= 0 && leading >= leadingZeros && trailing >= trailingZeros) {
+          bitWriter.writeBit(false);
+          bitWriter.writeNBitLong(xor >>> trailingZeros, 64 - leadingZeros - trailingZeros);
+        } else {
+          int length = 64 - leading - trailing;
+          bitWriter.writeBit(true);
+          bitWriter.writeNBitInteger(leading, 5);
+          bitWriter.writeNBitInteger(length - 1, 6);
+          bitWriter.writeNBitLong(xor >>> trailing, length);
+          leadingZeros = leading;
+          trailingZeros = trailing;
+        }
+      }
+    }
+    previous = bits;
+    ++ valueCount;
+  }
+
+  @Override
+  public long getBufferedSize() {
+    return bitWriter.getMemSize();
+  }
+
+  @Override
+  public BytesInput getBytes() {
+    byte[] bytes = bitWriter.finish();
+    if (Log.DEBUG) LOG.debug("encoded " + valueCount + " values in " + bytes.length + " bytes");
+    return BytesInput.from(bytes);
+  }
+
+  @Override
+  public void reset() {
+    bitWriter.reset();
+    valueCount = 0;
+  }
+
+  @Override
+  public long getAllocatedSize() {
+    return bitWriter.getCapacity();
+  }
+
+  @Override
+  public Encoding getEncoding() {
+    return Encoding.XOR;
+  }
+
+}
@@ -0,0 +1,150 @@
+/**
+ * Copyright 2012 Twitter, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package parquet.column.statistics;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import parquet.io.Binary;
+
+/**
+ * Statistics for binary columns.
+ * Values are compared as unsigned bytes in lexicographic order.
+ *
+ * @author Julien Le Dem
+ *
+ */
+public class BinaryStatistics extends Statistics<Binary> {
+  private static final long serialVersionUID = 1L;
+
+  // Binary is not Serializable, see writeObject() and readObject()
+  private transient Binary max;
+  private transient Binary min;
+
+  @Override
+  public void updateStats(Binary value) {
+    if (!this.hasNonNullValue()) {
+      initializeStats(value, value);
+    } else {
+      updateStats(value, value);
+    }
+  }
+
+  @Override
+  protected void mergeStatisticsMinMax(Statistics<?> stats) {
+    BinaryStatistics binaryStats = (BinaryStatistics)stats;
+    if (!this.hasNonNullValue()) {
+      initializeStats(binaryStats.getMin(), binaryStats.getMax());
+    } else {
+      updateStats(binaryStats.getMin(), binaryStats.getMax());
+    }
+  }
+
+  @Override
+  public void setMinMaxFromBytes(byte[] minBytes, byte[] maxBytes) {
+    max = Binary.fromByteArray(maxBytes);
+    min = Binary.fromByteArray(minBytes);
+    this.markAsNotEmpty();
+  }
+
+  @Override
+  public byte[] getMaxBytes() {
+    return max == null ? null : max.getBytes();
+  }
+
+  @Override
+  public byte[] getMinBytes() {
+    return min == null ? null : min.getBytes();
+  }
+
+  /**
+   * the values are copied when they become min or max as they may be reused by the caller
+   */
+  public void updateStats(Binary minValue, Binary maxValue) {
+    if (min.compareTo(minValue) > 0) { min = minValue.copy(); }
+    if (max.compareTo(maxValue) < 0) { max = maxValue.copy(); }
+  }
+
+  public void initializeStats(Binary minValue, Binary maxValue) {
+    min = minValue.copy();
+    max = maxValue.copy();
+    this.markAsNotEmpty();
+  }
+
+  @Override
+  public Binary genericGetMin() {
+    return min;
+  }
+
+  @Override
+  public Binary genericGetMax() {
+    return max;
+  }
+
+  public Binary getMax() {
+    return max;
+  }
+
+  public Binary getMin() {
+    return min;
+  }
+
+  public void setMinMax(Binary min, Binary max) {
+    this.max = max;
+    this.min = min;
+    this.markAsNotEmpty();
+  }
+
+  @Override
+  public String toString() {
+    if (hasNonNullValue()) {
+      return String.format("min: %s, max: %s, num_nulls: %d", min.toStringUsingUTF8(), max.toStringUsingUTF8(), getNumNulls());
+    }
+    return super.toString();
+  }
+
+  private void writeObject(ObjectOutputStream out) throws IOException {
+    out.defaultWriteObject();
+    writeBinary(out, min);
+    writeBinary(out, max);
+  }
+
+  private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+    in.defaultReadObject();
+    min = readBinary(in);
+    max = readBinary(in);
+  }
+
+  private static void writeBinary(ObjectOutputStream out, Binary value) throws IOException {
+    if (value == null) {
+      out.writeInt(-1);
+    } else {
+      out.writeInt(value.length());
+      value.writeTo(out);
+    }
+  }
+
+  private static Binary readBinary(ObjectInputStream in) throws IOException {
+    int length = in.readInt();
+    if (length == -1) {
+      return null;
+    }
+    byte[] bytes = new byte[length];
+    in.readFully(bytes);
+    return Binary.fromByteArray(bytes);
+  }
+}
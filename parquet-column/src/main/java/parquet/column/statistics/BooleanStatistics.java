@@ -0,0 +1,102 @@
+/**
+ * Copyright 2012 Twitter, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package parquet.column.statistics;
+
+import parquet.bytes.BytesUtils;
+
+/**
+ * Statistics for boolean columns (false < true)
+ *
+ * @author Julien Le Dem
+ *
+ */
+public class BooleanStatistics extends Statistics<Boolean> {
+  private static final long serialVersionUID = 1L;
+
+  private boolean max;
+  private boolean min;
+
+  @Override
+  public void updateStats(boolean value) {
+    if (!this.hasNonNullValue()) {
+      initializeStats(value, value);
+    } else {
+      updateStats(value, value);
+    }
+  }
+
+  @Override
+  protected void mergeStatisticsMinMax(Statistics<?> stats) {
+    BooleanStatistics boolStats = (BooleanStatistics)stats;
+    if (!this.hasNonNullValue()) {
+      initializeStats(boolStats.getMin(), boolStats.getMax());
+    } else {
+      updateStats(boolStats.getMin(), boolStats.getMax());
+    }
+  }
+
+  @Override
+  public void setMinMaxFromBytes(byte[] minBytes, byte[] maxBytes) {
+    max = BytesUtils.bytesToBool(maxBytes);
+    min = BytesUtils.bytesToBool(minBytes);
+    this.markAsNotEmpty();
+  }
+
+  @Override
+  public byte[] getMaxBytes() {
+    return BytesUtils.booleanToBytes(max);
+  }
+
+  @Override
+  public byte[] getMinBytes() {
+    return BytesUtils.booleanToBytes(min);
+  }
+
+  public void updateStats(boolean minValue, boolean maxValue) {
+    if (min && !minValue) { min = minValue; }
+    if (!max && maxValue) { max = maxValue; }
+  }
+
+  public void initializeStats(boolean minValue, boolean maxValue) {
+    min = minValue;
+    max = maxValue;
+    this.markAsNotEmpty();
+  }
+
+  @Override
+  public Boolean genericGetMin() {
+    return min;
+  }
+
+  @Override
+  public Boolean genericGetMax() {
+    return max;
+  }
+
+  public boolean getMax() {
+    return max;
+  }
+
+  public boolean getMin() {
+    return min;
+  }
+
+  public void setMinMax(boolean min, boolean max) {
+    this.max = max;
+    this.min = min;
+    this.markAsNotEmpty();
+  }
+}
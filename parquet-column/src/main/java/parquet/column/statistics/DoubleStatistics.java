@@ -0,0 +1,107 @@
+/**
+ * Copyright 2012 Twitter, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package parquet.column.statistics;
+
+import parquet.bytes.BytesUtils;
+
+/**
+ * Statistics for double columns
+ *
+ * @author Julien Le Dem
+ *
+ */
+public class DoubleStatistics extends Statistics<Double> {
+  private static final long serialVersionUID = 1L;
+
+  private double max;
+  private double min;
+
+  /**
+   * The values are ordered like {@link Double#compareTo(Double)} to be consistent with the filter predicates:
+   * -0.0 is smaller than 0.0 and NaN is bigger than any other value
+   * {@inheritDoc}
+   */
+  @Override
+  public void updateStats(double value) {
+    if (!this.hasNonNullValue()) {
+      initializeStats(value, value);
+    } else {
+      updateStats(value, value);
+    }
+  }
+
+  @Override
+  protected void mergeStatisticsMinMax(Statistics<?> stats) {
+    DoubleStatistics doubleStats = (DoubleStatistics)stats;
+    if (!this.hasNonNullValue()) {
+      initializeStats(doubleStats.getMin(), doubleStats.getMax());
+    } else {
+      updateStats(doubleStats.getMin(), doubleStats.getMax());
+    }
+  }
+
+  @Override
+  public void setMinMaxFromBytes(byte[] minBytes, byte[] maxBytes) {
+    max = Double.longBitsToDouble(BytesUtils.bytesToLong(maxBytes));
+    min = Double.longBitsToDouble(BytesUtils.bytesToLong(minBytes));
+    this.markAsNotEmpty();
+  }
+
+  @Override
+  public byte[] getMaxBytes() {
+    return BytesUtils.longToBytes(Double.doubleToLongBits(max));
+  }
+
+  @Override
+  public byte[] getMinBytes() {
+    return BytesUtils.longToBytes(Double.doubleToLongBits(min));
+  }
+
+  public void updateStats(double minValue, double maxValue) {
+    if (Double.compare(minValue, min) < 0) { min = minValue; }
+    if (Double.compare(maxValue, max) > 0) { max = maxValue; }
+  }
+
+  public void initializeStats(double minValue, double maxValue) {
+    min = minValue;
+    max = maxValue;
+    this.markAsNotEmpty();
+  }
+
+  @Override
+  public Double genericGetMin() {
+    return min;
+  }
+
+  @Override
+  public Double genericGetMax() {
+    return max;
+  }
+
+  public double getMax() {
+    return max;
+  }
+
+  public double getMin() {
+    return min;
+  }
+
+  public void setMinMax(double min, double max) {
+    this.max = max;
+    this.min = min;
+    this.markAsNotEmpty();
+  }
+}
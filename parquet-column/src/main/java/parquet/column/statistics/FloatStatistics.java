@@ -0,0 +1,107 @@
+/**
+ * Copyright 2012 Twitter, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package parquet.column.statistics;
+
+import parquet.bytes.BytesUtils;
+
+/**
+ * Statistics for float columns
+ *
+ * @author Julien Le Dem
+ *
+ */
+public class FloatStatistics extends Statistics<Float> {
+  private static final long serialVersionUID = 1L;
+
+  private float max;
+  private float min;
+
+  /**
+   * The values are ordered like {@link Float#compareTo(Float)} to be consistent with the filter predicates:
+   * -0.0 is smaller than 0.0 and NaN is bigger than any other value
+   * {@inheritDoc}
+   */
+  @Override
+  public void updateStats(float value) {
+    if (!this.hasNonNullValue()) {
+      initializeStats(value, value);
+    } else {
+      updateStats(value, value);
+    }
+  }
+
+  @Override
+  protected void mergeStatisticsMinMax(Statistics<?> stats) {
+    FloatStatistics floatStats = (FloatStatistics)stats;
+    if (!this.hasNonNullValue()) {
+      initializeStats(floatStats.getMin(), floatStats.getMax());
+    } else {
+      updateStats(floatStats.getMin(), floatStats.getMax());
+    }
+  }
+
+  @Override
+  public void setMinMaxFromBytes(byte[] minBytes, byte[] maxBytes) {
+    max = Float.intBitsToFloat(BytesUtils.bytesToInt(maxBytes));
+    min = Float.intBitsToFloat(BytesUtils.bytesToInt(minBytes));
+    this.markAsNotEmpty();
+  }
+
+  @Override
+  public byte[] getMaxBytes() {
+    return BytesUtils.intToBytes(Float.floatToIntBits(max));
+  }
+
+  @Override
+  public byte[] getMinBytes() {
+    return BytesUtils.intToBytes(Float.floatToIntBits(min));
+  }
+
+  public void updateStats(float minValue, float maxValue) {
+    if (Float.compare(minValue, min) < 0) { min = minValue; }
+    if (Float.compare(maxValue, max) > 0) { max = maxValue; }
+  }
+
+  public void initializeStats(float minValue, float maxValue) {
+    min = minValue;
+    max = maxValue;
+    this.markAsNotEmpty();
+  }
+
+  @Override
+  public Float genericGetMin() {
+    return min;
+  }
+
+  @Override
+  public Float genericGetMax() {
+    return max;
+  }
+
+  public float getMax() {
+    return max;
+  }
+
+  public float getMin() {
+    return min;
+  }
+
+  public void setMinMax(float min, float max) {
+    this.max = max;
+    this.min = min;
+    this.markAsNotEmpty();
+  }
+}
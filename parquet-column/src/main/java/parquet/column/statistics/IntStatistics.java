@@ -0,0 +1,102 @@
+/**
+ * Copyright 2012 Twitter, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package parquet.column.statistics;
+
+import parquet.bytes.BytesUtils;
+
+/**
+ * Statistics for int columns
+ *
+ * @author Julien Le Dem
+ *
+ */
+public class IntStatistics extends Statistics<Integer> {
+  private static final long serialVersionUID = 1L;
+
+  private int max;
+  private int min;
+
+  @Override
+  public void updateStats(int value) {
+    if (!this.hasNonNullValue()) {
+      initializeStats(value, value);
+    } else {
+      updateStats(value, value);
+    }
+  }
+
+  @Override
+  protected void mergeStatisticsMinMax(Statistics<?> stats) {
+    IntStatistics intStats = (IntStatistics)stats;
+    if (!this.hasNonNullValue()) {
+      initializeStats(intStats.getMin(), intStats.getMax());
+    } else {
+      updateStats(intStats.getMin(), intStats.getMax());
+    }
+  }
+
+  @Override
+  public void setMinMaxFromBytes(byte[] minBytes, byte[] maxBytes) {
+    max = BytesUtils.bytesToInt(maxBytes);
+    min = BytesUtils.bytesToInt(minBytes);
+    this.markAsNotEmpty();
+  }
+
+  @Override
+  public byte[] getMaxBytes() {
+    return BytesUtils.intToBytes(max);
+  }
+
+  @Override
+  public byte[] getMinBytes() {
+    return BytesUtils.intToBytes(min);
+  }
+
+  public void updateStats(int minValue, int maxValue) {
+    if (minValue < min) { min = minValue; }
+    if (maxValue > max) { max = maxValue; }
+  }
+
+  public void initializeStats(int minValue, int maxValue) {
+    min = minValue;
+    max = maxValue;
+    this.markAsNotEmpty();
+  }
+
+  @Override
+  public Integer genericGetMin() {
+    return min;
+  }
+
+  @Override
+  public Integer genericGetMax() {
+    return max;
+  }
+
+  public int getMax() {
+    return max;
+  }
+
+  public int getMin() {
+    return min;
+  }
+
+  public void setMinMax(int min, int max) {
+    this.max = max;
+    this.min = min;
+    this.markAsNotEmpty();
+  }
+}
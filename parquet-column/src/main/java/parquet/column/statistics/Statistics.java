@@ -0,0 +1,202 @@
+/**
+ * Copyright 2012 Twitter, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package parquet.column.statistics;
+
+import java.io.Serializable;
+
+import parquet.io.Binary;
+import parquet.schema.PrimitiveType.PrimitiveTypeName;
+
+/**
+ * Statistics of the values of a page or a column chunk: min, max and null count
+ *
+ * @author Julien Le Dem
+ *
+ * @param <T> the type of the values
+ */
+public abstract class Statistics<T extends Comparable<T>> implements Serializable {
+  private static final long serialVersionUID = 1L;
+
+  private boolean hasNonNullValue;
+  private long numNulls;
+
+  Statistics() {
+    hasNonNullValue = false;
+    numNulls = 0;
+  }
+
+  /**
+   * @param type the type of the column
+   * @return empty statistics for this type
+   */
+  public static Statistics<?> getStatsBasedOnType(PrimitiveTypeName type) {
+    switch (type) {
+    case INT32:
+      return new IntStatistics();
+    case INT64:
+      return new LongStatistics();
+    case FLOAT:
+      return new FloatStatistics();
+    case DOUBLE:
+      return new DoubleStatistics();
+    case BOOLEAN:
+      return new BooleanStatistics();
+    case BINARY:
+      return new BinaryStatistics();
+    default:
+      throw new UnsupportedOperationException("Statistics not implemented for type " + type);
+    }
+  }
+
+  /**
+   * updates the statistics with a new value
+   * @param value the value
+   */
+  public void updateStats(int value) {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * @see #updateStats(int)
+   */
+  public void updateStats(long value) {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * @see #updateStats(int)
+   */
+  public void updateStats(float value) {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * @see #updateStats(int)
+   */
+  public void updateStats(double value) {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * @see #updateStats(int)
+   */
+  public void updateStats(boolean value) {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * @see #updateStats(int)
+   */
+  public void updateStats(Binary value) {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * adds the statistics of another page or column chunk of the same column to this one
+   * @param stats the statistics to merge
+   */
+  public void mergeStatistics(Statistics<?> stats) {
+    if (stats.isEmpty()) {
+      return;
+    }
+    if (this.getClass() != stats.getClass()) {
+      throw new StatisticsClassException(this.getClass().toString(), stats.getClass().toString());
+    }
+    incrementNumNulls(stats.getNumNulls());
+    if (stats.hasNonNullValue()) {
+      mergeStatisticsMinMax(stats);
+      markAsNotEmpty();
+    }
+  }
+
+  /**
+   * merges min and max of stats (of the same class) in this one
+   * @param stats the statistics to merge
+   */
+  abstract protected void mergeStatisticsMinMax(Statistics<?> stats);
+
+  /**
+   * sets min and max from their plain encoded form (as returned by getMinBytes() and getMaxBytes())
+   * @param minBytes the plain encoded min
+   * @param maxBytes the plain encoded max
+   */
+  abstract public void setMinMaxFromBytes(byte[] minBytes, byte[] maxBytes);
+
+  /**
+   * @return the min value
+   */
+  abstract public T genericGetMin();
+
+  /**
+   * @return the max value
+   */
+  abstract public T genericGetMax();
+
+  /**
+   * @return the min value plain encoded
+   */
+  abstract public byte[] getMinBytes();
+
+  /**
+   * @return the max value plain encoded
+   */
+  abstract public byte[] getMaxBytes();
+
+  public void incrementNumNulls() {
+    numNulls++;
+  }
+
+  public void incrementNumNulls(long increment) {
+    numNulls += increment;
+  }
+
+  public long getNumNulls() {
+    return numNulls;
+  }
+
+  public void setNumNulls(long nulls) {
+    numNulls = nulls;
+  }
+
+  /**
+   * @return true if no value (null or not) has been recorded
+   */
+  public boolean isEmpty() {
+    return !hasNonNullValue && numNulls == 0;
+  }
+
+  /**
+   * @return true if at least one non null value has been recorded (min and max are set)
+   */
+  public boolean hasNonNullValue() {
+    return hasNonNullValue;
+  }
+
+  protected void markAsNotEmpty() {
+    hasNonNullValue = true;
+  }
+
+  @Override
+  public String toString() {
+    if (hasNonNullValue()) {
+      return String.format("min: %s, max: %s, num_nulls: %d", genericGetMin(), genericGetMax(), getNumNulls());
+    } else if (!isEmpty()) {
+      return String.format("num_nulls: %d", getNumNulls());
+    } else {
+      return "no stats for this column";
+    }
+  }
+}
@@ -0,0 +1,32 @@
+/**
+ * Copyright 2012 Twitter, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package parquet.column.statistics;
+
+import parquet.ParquetRuntimeException;
+
+/**
+ * Thrown when statistics of different types are merged
+ *
+ * @author Julien Le Dem
+ *
+ */
+public class StatisticsClassException extends ParquetRuntimeException {
+  private static final long serialVersionUID = 1L;
+
+  public StatisticsClassException(String className1, String className2) {
+    super("Statistics classes mismatched: " + className1 + " vs. " + className2);
+  }
+}
@@ -84,7 +84,7 @@ public class GroupRecordConsumer extends RecordMaterializer<Group> {
 
   @Override
   public void addBinary(Binary value) {
-    groups.peek().add(fields.peek(), value);
+    groups.peek().add(fields.peek(), value.copy());
   }
 
   @Override
@@ -35,7 +35,7 @@ class SimplePrimitiveConverter extends PrimitiveConverter {
    */
   @Override
   public void addBinary(Binary value) {
-    parent.getCurrentRecord().add(index, value);
+    parent.getCurrentRecord().add(index, value.copy());
   }
 
   /**
@@ -0,0 +1,92 @@
+/**
+ * Copyright 2012 Twitter, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package parquet.filter;
+
+/**
+ * matches when both predicates match
+ *
+ * @author Julien Le Dem
+ *
+ */
+public class AndPredicate extends Predicate {
+
+  private final Predicate left;
+  private final Predicate right;
+
+  AndPredicate(Predicate left, Predicate right) {
+    this.left = left;
+    this.right = right;
+  }
+
+  public Predicate getLeft() {
+    return left;
+  }
+
+  public Predicate getRight() {
+    return right;
+  }
+
+  @Override
+  public boolean canDrop(StatisticsSource statistics) {
+    return left.canDrop(statistics) || right.canDrop(statistics);
+  }
+
+  @Override
+  public boolean allMatch(StatisticsSource statistics) {
+    return left.allMatch(statistics) && right.allMatch(statistics);
+  }
+
+  /**
+   * when only one side can be evaluated record by record, the records it rejects are still skipped
+   * {@inheritDoc}
+   */
+  @Override
+  public RecordFilter bind(ColumnReaderSource columns) {
+    RecordFilter leftFilter = left.bind(columns);
+    RecordFilter rightFilter = right.bind(columns);
+    if (leftFilter == null) {
+      return rightFilter;
+    }
+    if (rightFilter == null) {
+      return leftFilter;
+    }
+    return and(leftFilter, rightFilter);
+  }
+
+  @Override
+  protected RecordFilter bindExactly(ColumnReaderSource columns) {
+    RecordFilter leftFilter = left.bindExactly(columns);
+    RecordFilter rightFilter = right.bindExactly(columns);
+    if (leftFilter == null || rightFilter == null) {
+      return null;
+    }
+    return and(leftFilter, rightFilter);
+  }
+
+  private static RecordFilter and(final RecordFilter leftFilter, final RecordFilter rightFilter) {
+    return new RecordFilter() {
+      @Override
+      public boolean isMatch() {
+        return leftFilter.isMatch() && rightFilter.isMatch();
+      }
+    };
+  }
+
+  @Override
+  public String toString() {
+    return "(" + left + " and " + right + ")";
+  }
+}
@@ -0,0 +1,179 @@
+/**
+ * Copyright 2012 Twitter, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package parquet.filter;
+
+import java.util.Arrays;
+
+import parquet.column.ColumnDescriptor;
+import parquet.column.ColumnReader;
+import parquet.column.statistics.Statistics;
+import parquet.io.Binary;
+import parquet.schema.PrimitiveType.PrimitiveTypeName;
+
+/**
+ * A predicate on the values of a single column evaluated against the min/max statistics of the column chunk
+ *
+ * @author Julien Le Dem
+ *
+ * @param <T> the type of the values of the column
+ */
+abstract public class ColumnPredicate<T extends Comparable<T>> extends Predicate {
+
+  private final String[] path;
+  private final Class<T> valueType;
+
+  @SuppressWarnings("unchecked") // the values are all of the type of the first one
+  ColumnPredicate(String columnPath, T value) {
+    if (value == null) {
+      throw new NullPointerException("value for column " + columnPath);
+    }
+    this.path = columnPath.split("\\.");
+    // Binary values are instances of its anonymous subclasses
+    this.valueType = (Class<T>)(value instanceof Binary ? Binary.class : value.getClass());
+  }
+
+  /**
+   * @return the path of the column
+   */
+  public String[] getPath() {
+    return path;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean canDrop(StatisticsSource source) {
+    Statistics<?> statistics = source.getStatistics(path);
+    if (statistics == null) {
+      return false;
+    }
+    if (statistics.getNumNulls() == source.getValueCount(path)) {
+      // only nulls
+      return true;
+    }
+    if (!statistics.hasNonNullValue()) {
+      return false;
+    }
+    return canDrop(cast(statistics.genericGetMin()), cast(statistics.genericGetMax()));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean allMatch(StatisticsSource source) {
+    Statistics<?> statistics = source.getStatistics(path);
+    if (statistics == null || statistics.getNumNulls() > 0 || !statistics.hasNonNullValue()) {
+      return false;
+    }
+    return allMatch(cast(statistics.genericGetMin()), cast(statistics.genericGetMax()));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public RecordFilter bind(ColumnReaderSource columns) {
+    ColumnDescriptor descriptor = columns.getColumnDescriptor(path);
+    if (descriptor == null || descriptor.getMaxRepetitionLevel() > 0) {
+      return null;
+    }
+    final ColumnReader reader = columns.getColumnReader(path);
+    final int maxDefinitionLevel = descriptor.getMaxDefinitionLevel();
+    final PrimitiveTypeName type = descriptor.getType();
+    if (valueType != javaType(type)) {
+      throw new IllegalArgumentException(
+          "predicate on column " + Arrays.toString(path) + " has a value of type " + valueType.getName()
+          + " but the column is of type " + type);
+    }
+    return new RecordFilter() {
+      @Override
+      public boolean isMatch() {
+        return reader.getCurrentDefinitionLevel() == maxDefinitionLevel
+            && ColumnPredicate.this.isMatch(valueType.cast(currentValue(reader, type)));
+      }
+    };
+  }
+
+  private static Class<?> javaType(PrimitiveTypeName type) {
+    switch (type) {
+    case INT32:
+      return Integer.class;
+    case INT64:
+      return Long.class;
+    case BOOLEAN:
+      return Boolean.class;
+    case BINARY:
+      return Binary.class;
+    case FLOAT:
+      return Float.class;
+    case DOUBLE:
+      return Double.class;
+    default:
+      throw new IllegalArgumentException("unknown type " + type);
+    }
+  }
+
+  private static Object currentValue(ColumnReader reader, PrimitiveTypeName type) {
+    switch (type) {
+    case INT32:
+      return reader.getInteger();
+    case INT64:
+      return reader.getLong();
+    case BOOLEAN:
+      return reader.getBoolean();
+    case BINARY:
+      return reader.getBinary();
+    case FLOAT:
+      return reader.getFloat();
+    case DOUBLE:
+      return reader.getDouble();
+    default:
+      throw new IllegalArgumentException("unknown type " + type);
+    }
+  }
+
+  private T cast(Object value) {
+    if (!valueType.isInstance(value)) {
+      throw new IllegalArgumentException(
+          "predicate on column " + Arrays.toString(path) + " has a value of type " + valueType.getName()
+          + " but the column contains " + value.getClass().getName());
+    }
+    return valueType.cast(value);
+  }
+
+  /**
+   * @param min the min non null value of the column chunk
+   * @param max the max non null value of the column chunk
+   * @return true if no value in [min, max] matches
+   */
+  abstract protected boolean canDrop(T min, T max);
+
+  /**
+   * @param min the min non null value of the column chunk
+   * @param max the max non null value of the column chunk
+   * @return true if all values in [min, max] match
+   */
+  abstract protected boolean allMatch(T min, T max);
+
+  /**
+   * @param value the non null value of the column in the current record
+   * @return true if the value matches
+   */
+  abstract protected boolean isMatch(T value);
+
+}
@@ -0,0 +1,41 @@
+/**
+ * Copyright 2012 Twitter, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package parquet.filter;
+
+import parquet.column.ColumnDescriptor;
+import parquet.column.ColumnReader;
+
+/**
+ * Provides the column readers of a row group to bind a {@link Predicate} into a {@link RecordFilter}
+ *
+ * @author Julien Le Dem
+ *
+ */
+public interface ColumnReaderSource {
+
+  /**
+   * @param path the path of the column
+   * @return the descriptor of the column or null if it is not read
+   */
+  ColumnDescriptor getColumnDescriptor(String[] path);
+
+  /**
+   * @param path the path of the column
+   * @return the reader of the column or null if it is not read
+   */
+  ColumnReader getColumnReader(String[] path);
+
+}
@@ -0,0 +1,115 @@
+/**
+ * Copyright 2012 Twitter, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package parquet.filter;
+
+import java.util.Arrays;
+
+/**
+ * compares the values of a column to a constant
+ *
+ * @author Julien Le Dem
+ *
+ * @param <T> the type of the values of the column
+ */
+public class ComparisonPredicate<T extends Comparable<T>> extends ColumnPredicate<T> {
+
+  public static enum Operator {
+    EQ("=="), LT("<"), LT_EQ("<="), GT(">"), GT_EQ(">=");
+
+    private final String symbol;
+
+    private Operator(String symbol) {
+      this.symbol = symbol;
+    }
+  }
+
+  private final Operator operator;
+  private final T value;
+
+  ComparisonPredicate(String columnPath, Operator operator, T value) {
+    super(columnPath, value);
+    this.operator = operator;
+    this.value = value;
+  }
+
+  public Operator getOperator() {
+    return operator;
+  }
+
+  public T getValue() {
+    return value;
+  }
+
+  @Override
+  protected boolean canDrop(T min, T max) {
+    switch (operator) {
+    case EQ:
+      return value.compareTo(min) < 0 || value.compareTo(max) > 0;
+    case LT:
+      return min.compareTo(value) >= 0;
+    case LT_EQ:
+      return min.compareTo(value) > 0;
+    case GT:
+      return max.compareTo(value) <= 0;
+    case GT_EQ:
+      return max.compareTo(value) < 0;
+    default:
+      throw new UnsupportedOperationException("unknown operator " + operator);
+    }
+  }
+
+  @Override
+  protected boolean allMatch(T min, T max) {
+    switch (operator) {
+    case EQ:
+      return value.compareTo(min) == 0 && value.compareTo(max) == 0;
+    case LT:
+      return max.compareTo(value) < 0;
+    case LT_EQ:
+      return max.compareTo(value) <= 0;
+    case GT:
+      return min.compareTo(value) > 0;
+    case GT_EQ:
+      return min.compareTo(value) >= 0;
+    default:
+      throw new UnsupportedOperationException("unknown operator " + operator);
+    }
+  }
+
+  @Override
+  protected boolean isMatch(T columnValue) {
+    int c = columnValue.compareTo(value);
+    switch (operator) {
+    case EQ:
+      return c == 0;
+    case LT:
+      return c < 0;
+    case LT_EQ:
+      return c <= 0;
+    case GT:
+      return c > 0;
+    case GT_EQ:
+      return c >= 0;
+    default:
+      throw new UnsupportedOperationException("unknown operator " + operator);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return Arrays.toString(getPath()) + " " + operator.symbol + " " + value;
+  }
+}
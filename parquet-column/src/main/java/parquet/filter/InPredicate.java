@@ -0,0 +1,72 @@
+/**
+ * Copyright 2012 Twitter, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package parquet.filter;
+
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * matches the values of a column that belong to a set of constants
+ *
+ * @author Julien Le Dem
+ *
+ * @param <T> the type of the values of the column
+ */
+public class InPredicate<T extends Comparable<T>> extends ColumnPredicate<T> {
+
+  private final Set<T> values;
+
+  InPredicate(String columnPath, Set<T> values) {
+    super(columnPath, first(columnPath, values));
+    this.values = values;
+  }
+
+  private static <T> T first(String columnPath, Set<T> values) {
+    if (values.isEmpty()) {
+      throw new IllegalArgumentException("no values for column " + columnPath);
+    }
+    return values.iterator().next();
+  }
+
+  public Set<T> getValues() {
+    return values;
+  }
+
+  @Override
+  protected boolean canDrop(T min, T max) {
+    for (T value : values) {
+      if (value.compareTo(min) >= 0 && value.compareTo(max) <= 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  protected boolean allMatch(T min, T max) {
+    return min.compareTo(max) == 0 && values.contains(min);
+  }
+
+  @Override
+  protected boolean isMatch(T value) {
+    return values.contains(value);
+  }
+
+  @Override
+  public String toString() {
+    return Arrays.toString(getPath()) + " in " + values;
+  }
+}
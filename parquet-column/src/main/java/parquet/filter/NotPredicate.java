@@ -0,0 +1,65 @@
+/**
+ * Copyright 2012 Twitter, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package parquet.filter;
+
+/**
+ * matches when the wrapped predicate does not
+ *
+ * @author Julien Le Dem
+ *
+ */
+public class NotPredicate extends Predicate {
+
+  private final Predicate predicate;
+
+  NotPredicate(Predicate predicate) {
+    this.predicate = predicate;
+  }
+
+  public Predicate getPredicate() {
+    return predicate;
+  }
+
+  @Override
+  public boolean canDrop(StatisticsSource statistics) {
+    return predicate.allMatch(statistics);
+  }
+
+  @Override
+  public boolean allMatch(StatisticsSource statistics) {
+    return predicate.canDrop(statistics);
+  }
+
+  @Override
+  public RecordFilter bind(ColumnReaderSource columns) {
+    // negating a filter that accepts more records than the predicate would skip matching records
+    final RecordFilter filter = predicate.bindExactly(columns);
+    if (filter == null) {
+      return null;
+    }
+    return new RecordFilter() {
+      @Override
+      public boolean isMatch() {
+        return !filter.isMatch();
+      }
+    };
+  }
+
+  @Override
+  public String toString() {
+    return "not " + predicate;
+  }
+}
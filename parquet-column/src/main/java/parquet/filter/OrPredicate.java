@@ -0,0 +1,78 @@
+/**
+ * Copyright 2012 Twitter, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package parquet.filter;
+
+/**
+ * matches when either predicate matches
+ *
+ * @author Julien Le Dem
+ *
+ */
+public class OrPredicate extends Predicate {
+
+  private final Predicate left;
+  private final Predicate right;
+
+  OrPredicate(Predicate left, Predicate right) {
+    this.left = left;
+    this.right = right;
+  }
+
+  public Predicate getLeft() {
+    return left;
+  }
+
+  public Predicate getRight() {
+    return right;
+  }
+
+  @Override
+  public boolean canDrop(StatisticsSource statistics) {
+    return left.canDrop(statistics) && right.canDrop(statistics);
+  }
+
+  @Override
+  public boolean allMatch(StatisticsSource statistics) {
+    return left.allMatch(statistics) || right.allMatch(statistics);
+  }
+
+  @Override
+  public RecordFilter bind(ColumnReaderSource columns) {
+    return or(left.bind(columns), right.bind(columns));
+  }
+
+  @Override
+  protected RecordFilter bindExactly(ColumnReaderSource columns) {
+    return or(left.bindExactly(columns), right.bindExactly(columns));
+  }
+
+  private static RecordFilter or(final RecordFilter leftFilter, final RecordFilter rightFilter) {
+    if (leftFilter == null || rightFilter == null) {
+      return null;
+    }
+    return new RecordFilter() {
+      @Override
+      public boolean isMatch() {
+        return leftFilter.isMatch() || rightFilter.isMatch();
+      }
+    };
+  }
+
+  @Override
+  public String toString() {
+    return "(" + left + " or " + right + ")";
+  }
+}
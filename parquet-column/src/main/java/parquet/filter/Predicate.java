@@ -0,0 +1,106 @@
+/**
+ * Copyright 2012 Twitter, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package parquet.filter;
+
+import java.util.Collection;
+import java.util.HashSet;
+
+/**
+ * A predicate on the columns of a record used to skip data that can not match.
+ *
+ * Predicates are built with the static factory methods:
+ * <pre>
+ * and(gtEq("ts", 1000L), lt("ts", 2000L))
+ * </pre>
+ * Column paths are dot separated ("foo.bar").
+ * A null value never matches a comparison. On a repeated column a record matches if any of its values does.
+ * Predicates are used to skip row groups based on their statistics and then records.
+ *
+ * @author Julien Le Dem
+ *
+ */
+abstract public class Predicate {
+
+  public static <T extends Comparable<T>> Predicate eq(String columnPath, T value) {
+    return new ComparisonPredicate<T>(columnPath, ComparisonPredicate.Operator.EQ, value);
+  }
+
+  public static <T extends Comparable<T>> Predicate notEq(String columnPath, T value) {
+    return not(eq(columnPath, value));
+  }
+
+  public static <T extends Comparable<T>> Predicate lt(String columnPath, T value) {
+    return new ComparisonPredicate<T>(columnPath, ComparisonPredicate.Operator.LT, value);
+  }
+
+  public static <T extends Comparable<T>> Predicate ltEq(String columnPath, T value) {
+    return new ComparisonPredicate<T>(columnPath, ComparisonPredicate.Operator.LT_EQ, value);
+  }
+
+  public static <T extends Comparable<T>> Predicate gt(String columnPath, T value) {
+    return new ComparisonPredicate<T>(columnPath, ComparisonPredicate.Operator.GT, value);
+  }
+
+  public static <T extends Comparable<T>> Predicate gtEq(String columnPath, T value) {
+    return new ComparisonPredicate<T>(columnPath, ComparisonPredicate.Operator.GT_EQ, value);
+  }
+
+  public static <T extends Comparable<T>> Predicate in(String columnPath, Collection<T> values) {
+    return new InPredicate<T>(columnPath, new HashSet<T>(values));
+  }
+
+  public static Predicate and(Predicate left, Predicate right) {
+    return new AndPredicate(left, right);
+  }
+
+  public static Predicate or(Predicate left, Predicate right) {
+    return new OrPredicate(left, right);
+  }
+
+  public static Predicate not(Predicate predicate) {
+    return new NotPredicate(predicate);
+  }
+
+  /**
+   * @param statistics the statistics of the row group
+   * @return true if the statistics prove that no record of the row group matches
+   */
+  abstract public boolean canDrop(StatisticsSource statistics);
+
+  /**
+   * @param statistics the statistics of the row group
+   * @return true if the statistics prove that all the records of the row group match
+   */
+  abstract public boolean allMatch(StatisticsSource statistics);
+
+  /**
+   * Record level evaluation is possible only when all the columns of the predicate are read and not repeated.
+   * The filter may evaluate only a part of the predicate: it accepts at least all the matching records.
+   * @param columns the column readers of the row group
+   * @return the filter evaluating this predicate on each record or null if it can not be evaluated record by record
+   */
+  abstract public RecordFilter bind(ColumnReaderSource columns);
+
+  /**
+   * Subclasses whose {@link #bind(ColumnReaderSource)} may evaluate only a part of the predicate must override this.
+   * @param columns the column readers of the row group
+   * @return the filter evaluating the whole predicate on each record (as needed to negate it) or null
+   */
+  protected RecordFilter bindExactly(ColumnReaderSource columns) {
+    return bind(columns);
+  }
+
+}
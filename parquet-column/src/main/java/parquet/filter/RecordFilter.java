@@ -0,0 +1,32 @@
+/**
+ * Copyright 2012 Twitter, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package parquet.filter;
+
+/**
+ * A {@link Predicate} bound to the column readers of a row group.
+ *
+ * @author Julien Le Dem
+ *
+ */
+public interface RecordFilter {
+
+  /**
+   * evaluates the predicate on the record the column readers are positioned on, without consuming any value
+   * @return true if the current record matches
+   */
+  boolean isMatch();
+
+}
@@ -0,0 +1,40 @@
+/**
+ * Copyright 2012 Twitter, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package parquet.filter;
+
+import parquet.column.statistics.Statistics;
+
+/**
+ * Provides the statistics of the column chunks of a row group to evaluate a {@link Predicate}
+ *
+ * @author Julien Le Dem
+ *
+ */
+public interface StatisticsSource {
+
+  /**
+   * @param path the path of the column
+   * @return the statistics of the column or null if not available
+   */
+  Statistics<?> getStatistics(String[] path);
+
+  /**
+   * @param path the path of the column
+   * @return the number of values (including nulls) in the column chunk
+   */
+  long getValueCount(String[] path);
+
+}
@@ -17,123 +17,76 @@ package parquet.io;
 
 import static parquet.Log.DEBUG;
 import parquet.Log;
-import parquet.column.ColumnReadStore;
+import parquet.column.ColumnReader;
 import parquet.io.RecordReaderImplementation.State;
+import parquet.io.convert.GroupConverter;
+import parquet.io.convert.PrimitiveConverter;
 import parquet.io.convert.RecordConverter;
 
-// TODO(julien): this class appears to be unused -- can it be nuked? - todd
+/**
+ * Base class of the record readers generated by the {@link RecordReaderCompiler}.
+ * The generated subclass copies the converters and column readers of the states in typed fields
+ * in {@link #setUp()} and implements the automaton of the schema in {@link #readOneRecord()}
+ *
+ * @author Julien Le Dem
+ *
+ * @param <T> the type of the materialized record
+ */
 public abstract class BaseRecordReader<T> extends RecordReader<T> {
   private static final Log LOG = Log.getLog(BaseRecordReader.class);
 
-  public RecordConsumer recordConsumer;
-  public RecordConverter<T> recordMaterializer;
-  public ColumnReadStore columnStore;
+  protected RecordConverter<T> recordMaterializer;
+  protected GroupConverter root;
+  protected ColumnReader[] columns;
+  protected PrimitiveConverter[] primitiveConverters;
+  protected GroupConverter[][] groupConverterPaths;
+
+  /**
+   * current level in the record being assembled
+   */
+  protected int currentLevel;
+
+  /**
+   * binds this reader to the converters and columns of the interpreter
+   * @param interpreter the interpreted reader for the same schema
+   */
+  void init(RecordReaderImplementation<T> interpreter) {
+    this.recordMaterializer = interpreter.getMaterializer();
+    this.root = interpreter.getRecordConsumer().asGroupConverter();
+    int stateCount = interpreter.getStateCount();
+    columns = new ColumnReader[stateCount];
+    primitiveConverters = new PrimitiveConverter[stateCount];
+    groupConverterPaths = new GroupConverter[stateCount][];
+    for (int i = 0; i < stateCount; i++) {
+      State state = interpreter.getState(i);
+      columns[i] = state.column;
+      primitiveConverters[i] = state.primitiveConverter;
+      groupConverterPaths[i] = state.groupConverterPath;
+    }
+    setUp();
+  }
+
   @Override
   public T read() {
     readOneRecord();
     return recordMaterializer.getCurrentRecord();
   }
 
-  protected abstract void readOneRecord();
-
-  State[] caseLookup;
-
-  private String endField;
+  /**
+   * copies the converters and columns in the fields of the generated class
+   */
+  protected abstract void setUp();
 
-  private int endIndex;
-
-  protected void currentLevel(int currentLevel) {
-    if (DEBUG) LOG.debug("currentLevel: "+currentLevel);
-  }
+  /**
+   * reads the triplets of one record and sends them to the converters
+   */
+  protected abstract void readOneRecord();
 
   protected void log(String message) {
     if (DEBUG) LOG.debug("bc: "+message);
   }
 
-  final protected int getCaseId(int state, int currentLevel, int d, int nextR) {
-    return caseLookup[state].getCase(currentLevel, d, nextR).getID();
-  }
-
-  final protected void startMessage() {
-    // reset state
-    endField = null;
-    if (DEBUG) LOG.debug("startMessage()");
-    recordConsumer.startMessage();
-  }
-
-  final protected void startGroup(String field, int index) {
-    startField(field, index);
-    if (DEBUG) LOG.debug("startGroup()");
-    recordConsumer.startGroup();
-  }
-
-  private void startField(String field, int index) {
-    if (DEBUG) LOG.debug("startField("+field+","+index+")");
-    if (endField != null && index == endIndex) {
-      // skip the close/open tag
-      endField = null;
-    } else {
-      if (endField != null) {
-        // close the previous field
-        recordConsumer.endField(endField, endIndex);
-        endField = null;
-      }
-      recordConsumer.startField(field, index);
-    }
-  }
-
-  final protected void addPrimitiveINT64(String field, int index, long value) {
-    startField(field, index);
-    if (DEBUG) LOG.debug("addLong("+value+")");
-    recordConsumer.addLong(value);
-    endField(field, index);
-  }
-
-  private void endField(String field, int index) {
-    if (DEBUG) LOG.debug("endField("+field+","+index+")");
-    if (endField != null) {
-      recordConsumer.endField(endField, endIndex);
-    }
-    endField = field;
-    endIndex = index;
-  }
-
-  final protected void addPrimitiveBINARY(String field, int index, Binary value) {
-    startField(field, index);
-    if (DEBUG) LOG.debug("addBinary("+value+")");
-    recordConsumer.addBinary(value);
-    endField(field, index);
-  }
-
-  final protected void addPrimitiveINT32(String field, int index, int value) {
-    startField(field, index);
-    if (DEBUG) LOG.debug("addInteger("+value+")");
-    recordConsumer.addInteger(value);
-    endField(field, index);
-  }
-
-  final protected void endGroup(String field, int index) {
-    if (endField != null) {
-      // close the previous field
-      recordConsumer.endField(endField, endIndex);
-      endField = null;
-    }
-    if (DEBUG) LOG.debug("endGroup()");
-    recordConsumer.endGroup();
-    endField(field, index);
-  }
-
-  final protected void endMessage() {
-    if (endField != null) {
-      // close the previous field
-      recordConsumer.endField(endField, endIndex);
-      endField = null;
-    }
-    if (DEBUG) LOG.debug("endMessage()");
-    recordConsumer.endMessage();
-  }
-
   protected void error(String message) {
     throw new ParquetDecodingException(message);
   }
-}
\ No newline at end of file
+}
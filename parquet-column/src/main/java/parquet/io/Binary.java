@@ -21,7 +21,17 @@ import java.util.Arrays;
 
 import parquet.bytes.BytesUtils;
 
-abstract public class Binary {
+/**
+ * A binary value.
+ *
+ * Binary values returned by the column readers can be views on the underlying page
+ * and are valid only until the reader moves to the next page.
+ * Use {@link #copy()} to keep a value longer than that.
+ *
+ * @author Julien Le Dem
+ *
+ */
+abstract public class Binary implements Comparable<Binary> {
 
   public static final Binary EMPTY = new Binary() {
     @Override
@@ -43,6 +53,41 @@ abstract public class Binary {
       return new byte[0];
     }
 
+    @Override
+    boolean equals(byte[] other, int otherOffset, int otherLength) {
+      return otherLength == 0;
+    }
+
+    @Override
+    boolean equals(Binary other) {
+      return other.length() == 0;
+    }
+
+    @Override
+    public int hashCode() {
+      return 1;
+    }
+
+    @Override
+    public Binary copy() {
+      return this;
+    }
+
+    @Override
+    int compareTo(byte[] other, int otherOffset, int otherLength) {
+      return otherLength == 0 ? 0 : -1;
+    }
+
+    @Override
+    public int compareTo(Binary other) {
+      return other.length() == 0 ? 0 : -1;
+    }
+
+    @Override
+    public String toString() {
+      return Binary.toString(new byte[0], 0, 0);
+    }
+
   };
 
   public static Binary fromByteArray(
@@ -71,6 +116,41 @@ abstract public class Binary {
         return Arrays.copyOfRange(value, offset, offset + length);
       }
 
+      @Override
+      boolean equals(byte[] other, int otherOffset, int otherLength) {
+        return Binary.equals(value, offset, length, other, otherOffset, otherLength);
+      }
+
+      @Override
+      boolean equals(Binary other) {
+        return other.equals(value, offset, length);
+      }
+
+      @Override
+      public int hashCode() {
+        return Binary.hashCode(value, offset, length);
+      }
+
+      @Override
+      public Binary copy() {
+        return Binary.fromByteArray(getBytes());
+      }
+
+      @Override
+      int compareTo(byte[] other, int otherOffset, int otherLength) {
+        return Binary.compare(value, offset, length, other, otherOffset, otherLength);
+      }
+
+      @Override
+      public int compareTo(Binary other) {
+        return -other.compareTo(value, offset, length);
+      }
+
+      @Override
+      public String toString() {
+        return Binary.toString(value, offset, length);
+      }
+
     };
   }
 
@@ -96,6 +176,41 @@ abstract public class Binary {
         return value;
       }
 
+      @Override
+      boolean equals(byte[] other, int otherOffset, int otherLength) {
+        return Binary.equals(value, 0, value.length, other, otherOffset, otherLength);
+      }
+
+      @Override
+      boolean equals(Binary other) {
+        return other.equals(value, 0, value.length);
+      }
+
+      @Override
+      public int hashCode() {
+        return Binary.hashCode(value, 0, value.length);
+      }
+
+      @Override
+      public Binary copy() {
+        return Binary.fromByteArray(Arrays.copyOf(value, value.length));
+      }
+
+      @Override
+      int compareTo(byte[] other, int otherOffset, int otherLength) {
+        return Binary.compare(value, 0, value.length, other, otherOffset, otherLength);
+      }
+
+      @Override
+      public int compareTo(Binary other) {
+        return -other.compareTo(value, 0, value.length);
+      }
+
+      @Override
+      public String toString() {
+        return Binary.toString(value, 0, value.length);
+      }
+
     };
   }
 
@@ -111,4 +226,105 @@ abstract public class Binary {
 
   abstract public byte[] getBytes();
 
+  /**
+   * @return a Binary that does not share its bytes with this one
+   */
+  abstract public Binary copy();
+
+  abstract boolean equals(byte[] bytes, int offset, int length);
+
+  abstract boolean equals(Binary other);
+
+  /**
+   * compares this to the given bytes
+   * @return a negative int, 0 or a positive int if this is respectively lower, equal or greater than the bytes
+   */
+  abstract int compareTo(byte[] bytes, int offset, int length);
+
+  /**
+   * lexicographic comparison of the unsigned bytes
+   * {@inheritDoc}
+   * @see java.lang.Comparable#compareTo(java.lang.Object)
+   */
+  abstract public int compareTo(Binary other);
+
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == null) {
+      return false;
+    }
+    if (obj instanceof Binary) {
+      return equals((Binary)obj);
+    }
+    return false;
+  }
+
+  /**
+   * same as Arrays.hashCode(byte[]) applied to the bytes of this Binary
+   * so that all the implementations hash the same way
+   */
+  private static final int hashCode(byte[] array, int offset, int length) {
+    int result = 1;
+    for (int i = offset; i < offset + length; i++) {
+      byte b = array[i];
+      result = 31 * result + b;
+    }
+    return result;
+  }
+
+  private static final boolean equals(byte[] array1, int offset1, int length1, byte[] array2, int offset2, int length2) {
+    if (array1 == null && array2 == null) return true;
+    if (array1 == null || array2 == null) return false;
+    if (length1 != length2) return false;
+    if (array1 == array2 && offset1 == offset2) return true;
+    for (int i = 0; i < length1; i++) {
+      if (array1[i + offset1] != array2[i + offset2]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static final int MAX_PREVIEW_LENGTH = 32;
+  private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+  /**
+   * the length and a preview of the first bytes: as text when they are printable ASCII, in hexadecimal otherwise
+   */
+  private static final String toString(byte[] array, int offset, int length) {
+    int previewLength = Math.min(length, MAX_PREVIEW_LENGTH);
+    boolean printable = true;
+    for (int i = offset; i < offset + previewLength && printable; i++) {
+      printable = array[i] >= 0x20 && array[i] < 0x7F;
+    }
+    StringBuilder sb = new StringBuilder("Binary{").append(length).append(" bytes, ");
+    if (printable) {
+      sb.append('"');
+      for (int i = offset; i < offset + previewLength; i++) {
+        sb.append((char)array[i]);
+      }
+      sb.append('"');
+    } else {
+      sb.append("0x");
+      for (int i = offset; i < offset + previewLength; i++) {
+        sb.append(HEX_DIGITS[(array[i] >>> 4) & 0xF]).append(HEX_DIGITS[array[i] & 0xF]);
+      }
+    }
+    if (previewLength < length) {
+      sb.append("...");
+    }
+    return sb.append('}').toString();
+  }
+
+  private static final int compare(byte[] array1, int offset1, int length1, byte[] array2, int offset2, int length2) {
+    int min = Math.min(length1, length2);
+    for (int i = 0; i < min; i++) {
+      int b1 = array1[i + offset1] & 0xFF;
+      int b2 = array2[i + offset2] & 0xFF;
+      if (b1 != b2) {
+        return b1 - b2;
+      }
+    }
+    return length1 - length2;
+  }
 }
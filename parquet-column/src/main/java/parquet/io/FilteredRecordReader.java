@@ -0,0 +1,118 @@
+/**
+ * Copyright 2012 Twitter, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package parquet.io;
+
+import static parquet.Log.DEBUG;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import parquet.Log;
+import parquet.column.ColumnDescriptor;
+import parquet.column.ColumnReader;
+import parquet.column.mem.MemColumnReadStore;
+import parquet.filter.ColumnReaderSource;
+import parquet.filter.Predicate;
+import parquet.filter.RecordFilter;
+import parquet.io.convert.RecordConverter;
+
+/**
+ * Reads only the records matching a {@link Predicate}.
+ * The filter columns of the next record are evaluated first and, if the record does not match,
+ * the record is skipped in all the columns without calling the converters.
+ *
+ * @author Julien Le Dem
+ *
+ * @param <T> the type of the materialized record
+ */
+public class FilteredRecordReader<T> extends RecordReaderImplementation<T> {
+  private static final Log LOG = Log.getLog(FilteredRecordReader.class);
+
+  private final RecordFilter recordFilter;
+  // every record has a value in the first column
+  private final ColumnReader firstColumn;
+
+  /**
+   * @param root the root of the schema
+   * @param recordMaterializer responsible of materializing the records
+   * @param validating whether we should validate against the schema
+   * @param columnStore where to read the column data from
+   * @param predicate the filter on the records
+   */
+  public FilteredRecordReader(MessageColumnIO root, RecordConverter<T> recordMaterializer, boolean validating,
+      MemColumnReadStore columnStore, Predicate predicate) {
+    super(root, recordMaterializer, validating, columnStore);
+    this.firstColumn = getState(0).column;
+    this.recordFilter = predicate.bind(new StateColumnReaderSource());
+    if (recordFilter == null) {
+      LOG.info("predicate can not be evaluated record by record: " + predicate);
+    }
+  }
+
+  /**
+   * @see parquet.io.RecordReader#read()
+   * @return the next matching record or null if there is none
+   */
+  @Override
+  public T read() {
+    skipToMatch();
+    if (firstColumn.isFullyConsumed()) {
+      return null;
+    }
+    return super.read();
+  }
+
+  private void skipToMatch() {
+    if (recordFilter == null) {
+      return;
+    }
+    while (!firstColumn.isFullyConsumed() && !recordFilter.isMatch()) {
+      if (DEBUG) LOG.debug("skipping record");
+      for (int i = 0; i < getStateCount(); i++) {
+        ColumnReader column = getState(i).column;
+        // a record ends at the next repetition level 0
+        do {
+          column.skip();
+        } while (column.getCurrentRepetitionLevel() != 0);
+      }
+    }
+  }
+
+  private class StateColumnReaderSource implements ColumnReaderSource {
+
+    private final Map<String, State> statesByPath = new HashMap<String, State>();
+
+    StateColumnReaderSource() {
+      for (int i = 0; i < getStateCount(); i++) {
+        State state = getState(i);
+        statesByPath.put(Arrays.toString(state.primitiveColumnIO.getColumnDescriptor().getPath()), state);
+      }
+    }
+
+    @Override
+    public ColumnDescriptor getColumnDescriptor(String[] path) {
+      State state = statesByPath.get(Arrays.toString(path));
+      return state == null ? null : state.primitiveColumnIO.getColumnDescriptor();
+    }
+
+    @Override
+    public ColumnReader getColumnReader(String[] path) {
+      State state = statesByPath.get(Arrays.toString(path));
+      return state == null ? null : state.column;
+    }
+  }
+}
@@ -23,6 +23,7 @@ import parquet.column.ColumnWriteStore;
 import parquet.column.ColumnWriter;
 import parquet.column.mem.MemColumnReadStore;
 import parquet.column.mem.PageReadStore;
+import parquet.filter.Predicate;
 import parquet.io.convert.RecordConverter;
 import parquet.schema.MessageType;
 
@@ -55,6 +56,19 @@ public class MessageColumnIO extends GroupColumnIO {
     return new RecordReaderImplementation<T>(this, recordMaterializer, validating, new MemColumnReadStore(columns));
   }
 
+  /**
+   * @param columns the pages of the row group
+   * @param recordMaterializer responsible of materializing the records
+   * @param predicate the filter on the records (may be null)
+   * @return a reader returning only the matching records and then null
+   */
+  public <T> RecordReader<T> getRecordReader(PageReadStore columns, RecordConverter<T> recordMaterializer, Predicate predicate) {
+    if (predicate == null) {
+      return getRecordReader(columns, recordMaterializer);
+    }
+    return new FilteredRecordReader<T>(this, recordMaterializer, validating, new MemColumnReadStore(columns), predicate);
+  }
+
   private class MessageColumnIORecordConsumer extends RecordConsumer {
     private ColumnIO currentColumnIO;
     private int currentLevel = 0;
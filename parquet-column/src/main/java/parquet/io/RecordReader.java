@@ -26,7 +26,7 @@ public abstract class RecordReader<T> {
 
   /**
    * reads one record and returns it
-   * @return the materialized record
+   * @return the materialized record or null if a filter determined there are no more matching records
    */
   public abstract T read();
 
@@ -0,0 +1,368 @@
+/**
+ * Copyright 2012 Twitter, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package parquet.io;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.security.CodeSource;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.tools.FileObject;
+import javax.tools.ForwardingJavaFileManager;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileManager;
+import javax.tools.JavaFileObject;
+import javax.tools.JavaFileObject.Kind;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import parquet.Log;
+import parquet.io.RecordReaderImplementation.State;
+import parquet.schema.PrimitiveType.PrimitiveTypeName;
+
+/**
+ * Compiles the record assembly automaton of a {@link RecordReaderImplementation} into a specialized class.
+ * Each state becomes a method with straight-line calls to its converters and column, with the transitions inlined as constants.
+ * The generated classes are cached by automaton, the least recently used ones are evicted when there are too many.
+ * The automata that failed to compile are remembered as well and not compiled again.
+ *
+ * The classes are generated as java source and compiled with the system java compiler.
+ * When none is available (running on a JRE) or the compilation fails the interpreter is used.
+ *
+ * @author Julien Le Dem
+ *
+ */
+public class RecordReaderCompiler {
+  private static final Log LOG = Log.getLog(RecordReaderCompiler.class);
+
+  private static final String PACKAGE = "parquet.io.compiled";
+
+  // each class has its own class loader so that it can be unloaded once evicted
+  private static final int MAX_CACHED_AUTOMATA = 100;
+
+  private static final Map<String, Class<?>> compiledClasses = newCache();
+  private static final Map<String, CompilationException> compilationFailures = newCache();
+  private static int classCount = 0;
+  private static boolean compilerUnavailable = false;
+  private static boolean fallbackLogged = false;
+
+  /**
+   * installs a compiled assembly in the provided reader if possible
+   * @param recordReader the reader to compile
+   * @return the same reader
+   */
+  public <T> RecordReader<T> compile(RecordReader<T> recordReader) {
+    if (recordReader instanceof RecordReaderImplementation) {
+      @SuppressWarnings("unchecked") // same T
+      RecordReaderImplementation<T> interpreter = (RecordReaderImplementation<T>)recordReader;
+      try {
+        interpreter.setCompiledReader(newCompiledReader(interpreter));
+      } catch (CompilationException e) {
+        logFallback(e);
+      }
+    }
+    return recordReader;
+  }
+
+  /**
+   * the same failure would be logged for every row group: only the first one is
+   */
+  private static synchronized void logFallback(CompilationException e) {
+    if (!fallbackLogged) {
+      fallbackLogged = true;
+      LOG.warn("could not compile the record reader, falling back to the interpreter: " + e.getMessage());
+    } else if (Log.DEBUG) {
+      LOG.debug("could not compile the record reader, falling back to the interpreter: " + e.getMessage());
+    }
+  }
+
+  <T> BaseRecordReader<T> newCompiledReader(RecordReaderImplementation<T> interpreter) {
+    String source = generateSource(interpreter, "RecordReader");
+    Class<?> compiledClass = getCompiledClass(source);
+    try {
+      @SuppressWarnings("unchecked") // generated from the interpreter of T
+      BaseRecordReader<T> compiled = (BaseRecordReader<T>)compiledClass.newInstance();
+      compiled.init(interpreter);
+      return compiled;
+    } catch (InstantiationException e) {
+      throw new CompilationException("could not instantiate " + compiledClass, e);
+    } catch (IllegalAccessException e) {
+      throw new CompilationException("could not instantiate " + compiledClass, e);
+    }
+  }
+
+  private static <V> Map<String, V> newCache() {
+    return new LinkedHashMap<String, V>(16, 0.75f, true) {
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, V> eldest) {
+        return size() > MAX_CACHED_AUTOMATA;
+      }
+    };
+  }
+
+  static synchronized Class<?> getCompiledClass(String source) {
+    // the source uses a place holder name so that the same automaton maps to the same key
+    Class<?> compiledClass = compiledClasses.get(source);
+    if (compiledClass == null) {
+      if (compilerUnavailable) {
+        throw new CompilationException("no java compiler available");
+      }
+      CompilationException failure = compilationFailures.get(source);
+      if (failure != null) {
+        throw new CompilationException("this record reader failed to compile before", failure);
+      }
+      String className = "RecordReader" + (classCount ++);
+      try {
+        compiledClass = compileClass(className, source.replace("class RecordReader ", "class " + className + " "));
+      } catch (CompilationException e) {
+        compilationFailures.put(source, e);
+        throw e;
+      }
+      compiledClasses.put(source, compiledClass);
+    }
+    return compiledClass;
+  }
+
+  private static Class<?> compileClass(final String className, final String source) {
+    JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    if (compiler == null) {
+      compilerUnavailable = true;
+      throw new CompilationException("no java compiler available");
+    }
+    final String fullClassName = PACKAGE + "." + className;
+    if (Log.DEBUG) LOG.debug("compiling " + fullClassName + ":\n" + source);
+    long t0 = System.currentTimeMillis();
+    final Map<String, ByteArrayOutputStream> classBytes = new HashMap<String, ByteArrayOutputStream>();
+    JavaFileManager fileManager = new ForwardingJavaFileManager<StandardJavaFileManager>(compiler.getStandardFileManager(null, null, null)) {
+      @Override
+      public JavaFileObject getJavaFileForOutput(Location location, final String name, Kind kind, FileObject sibling) throws IOException {
+        return new SimpleJavaFileObject(toURI(name, kind), kind) {
+          @Override
+          public OutputStream openOutputStream() throws IOException {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            classBytes.put(name, out);
+            return out;
+          }
+        };
+      }
+    };
+    JavaFileObject sourceFile = new SimpleJavaFileObject(toURI(fullClassName, Kind.SOURCE), Kind.SOURCE) {
+      @Override
+      public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+        return source;
+      }
+    };
+    StringWriter errors = new StringWriter();
+    Boolean success;
+    try {
+      success = compiler.getTask(
+          errors, fileManager, null,
+          Arrays.asList("-classpath", getClassPath(), "-g:none", "-nowarn"),
+          null, Arrays.asList(sourceFile)).call();
+    } finally {
+      try {
+        // also closes the standard file manager it forwards to
+        fileManager.close();
+      } catch (IOException e) {
+        LOG.warn("could not close the file manager of the compiler", e);
+      }
+    }
+    if (!success) {
+      throw new CompilationException("could not compile " + fullClassName + ": " + errors);
+    }
+    ClassLoader classLoader = new ClassLoader(BaseRecordReader.class.getClassLoader()) {
+      @Override
+      protected Class<?> findClass(String name) throws ClassNotFoundException {
+        ByteArrayOutputStream bytes = classBytes.get(name);
+        if (bytes == null) {
+          throw new ClassNotFoundException(name);
+        }
+        byte[] b = bytes.toByteArray();
+        return defineClass(name, b, 0, b.length);
+      }
+    };
+    try {
+      Class<?> compiledClass = classLoader.loadClass(fullClassName);
+      LOG.info("compiled record reader " + fullClassName + " in " + (System.currentTimeMillis() - t0) + " ms");
+      return compiledClass;
+    } catch (ClassNotFoundException e) {
+      throw new CompilationException("could not load " + fullClassName, e);
+    }
+  }
+
+  private static URI toURI(String name, Kind kind) {
+    try {
+      return new URI("string:///" + name.replace('.', '/') + kind.extension);
+    } catch (URISyntaxException e) {
+      throw new CompilationException(e);
+    }
+  }
+
+  /**
+   * the generated class must see the parquet classes even if they are not on the system class path
+   */
+  private static String getClassPath() {
+    String classPath = System.getProperty("java.class.path");
+    CodeSource codeSource = BaseRecordReader.class.getProtectionDomain().getCodeSource();
+    if (codeSource != null && codeSource.getLocation() != null) {
+      try {
+        classPath = new File(codeSource.getLocation().toURI()).getPath() + File.pathSeparator + classPath;
+      } catch (URISyntaxException e) {
+        throw new CompilationException(e);
+      }
+    }
+    return classPath;
+  }
+
+  /**
+   * generates the same code path as {@link RecordReaderImplementation#read()} with all the decisions that only depend on the schema made at compile time.
+   */
+  private <T> String generateSource(RecordReaderImplementation<T> interpreter, String className) {
+    int stateCount = interpreter.getStateCount();
+    StringBuilder sb = new StringBuilder();
+    sb.append("package ").append(PACKAGE).append(";\n\n");
+    sb.append("import parquet.column.ColumnReader;\n");
+    sb.append("import parquet.io.convert.GroupConverter;\n");
+    sb.append("import parquet.io.convert.PrimitiveConverter;\n\n");
+    sb.append("public final class ").append(className).append(" extends parquet.io.BaseRecordReader<Object> {\n\n");
+    // fields
+    for (int i = 0; i < stateCount; i++) {
+      State state = interpreter.getState(i);
+      sb.append("  private ColumnReader c").append(i).append(";\n");
+      sb.append("  private PrimitiveConverter p").append(i).append(";\n");
+      for (int j = 0; j < state.groupConverterPath.length; j++) {
+        sb.append("  private GroupConverter g").append(i).append("_").append(j).append(";\n");
+      }
+    }
+    // setUp
+    sb.append("\n  protected void setUp() {\n");
+    for (int i = 0; i < stateCount; i++) {
+      State state = interpreter.getState(i);
+      sb.append("    c").append(i).append(" = columns[").append(i).append("];\n");
+      sb.append("    p").append(i).append(" = primitiveConverters[").append(i).append("];\n");
+      for (int j = 0; j < state.groupConverterPath.length; j++) {
+        sb.append("    g").append(i).append("_").append(j)
+          .append(" = groupConverterPaths[").append(i).append("][").append(j).append("];\n");
+      }
+    }
+    sb.append("  }\n\n");
+    // main loop
+    sb.append("  protected void readOneRecord() {\n");
+    sb.append("    root.start();\n");
+    sb.append("    currentLevel = 0;\n");
+    sb.append("    int state = 0;\n");
+    sb.append("    while (state != ").append(stateCount).append(") {\n");
+    sb.append("      switch (state) {\n");
+    for (int i = 0; i < stateCount; i++) {
+      sb.append("      case ").append(i).append(": state = state").append(i).append("(); break;\n");
+    }
+    sb.append("      default: error(\"unknown state \" + state);\n");
+    sb.append("      }\n");
+    sb.append("    }\n");
+    sb.append("    root.end();\n");
+    sb.append("  }\n");
+    for (int i = 0; i < stateCount; i++) {
+      generateState(sb, interpreter, interpreter.getState(i));
+    }
+    sb.append("}\n");
+    return sb.toString();
+  }
+
+  private <T> void generateState(StringBuilder sb, RecordReaderImplementation<T> interpreter, State state) {
+    int i = state.id;
+    int maxLevel = state.fieldPath.length - 1;
+    sb.append("\n  // ").append(Arrays.toString(state.fieldPath)).append("\n");
+    sb.append("  private int state").append(i).append("() {\n");
+    sb.append("    int d = c").append(i).append(".getCurrentDefinitionLevel();\n");
+    // opening groups up to the depth for d
+    sb.append("    switch (d) {\n");
+    for (int d = 0; d <= state.maxDefinitionLevel; d++) {
+      int depth = state.getDepth(d);
+      if (depth < 0) {
+        continue;
+      }
+      sb.append("    case ").append(d).append(":\n");
+      sb.append("      switch (currentLevel) {\n");
+      for (int level = 0; level <= depth; level++) {
+        sb.append("      case ").append(level).append(": g").append(i).append("_").append(level).append(".start();\n");
+      }
+      sb.append("        currentLevel = ").append(depth + 1).append(";\n");
+      sb.append("      }\n");
+      sb.append("      break;\n");
+    }
+    sb.append("    }\n");
+    // value
+    sb.append("    if (d >= ").append(state.maxDefinitionLevel).append(") {\n");
+    sb.append("      p").append(i).append(".").append(addValue(state.primitive, "c" + i)).append(";\n");
+    sb.append("    }\n");
+    sb.append("    c").append(i).append(".consume();\n");
+    if (state.maxRepetitionLevel == 0) {
+      sb.append("    int nextR = 0;\n");
+    } else {
+      sb.append("    int nextR = c").append(i).append(".getCurrentRepetitionLevel();\n");
+    }
+    // closing groups down to the next level and transition
+    sb.append("    switch (nextR) {\n");
+    for (int nextR = 0; nextR <= state.maxRepetitionLevel; nextR++) {
+      int next = state.nextLevel[nextR];
+      sb.append("    case ").append(nextR).append(":\n");
+      if (next < maxLevel) {
+        sb.append("      switch (currentLevel) {\n");
+        for (int level = maxLevel; level > next; level--) {
+          sb.append("      case ").append(level).append(": g").append(i).append("_").append(level - 1).append(".end();\n");
+        }
+        sb.append("        currentLevel = ").append(next).append(";\n");
+        sb.append("      }\n");
+      }
+      sb.append("      return ").append(interpreter.getNextReader(i, nextR)).append(";\n");
+    }
+    sb.append("    default:\n");
+    sb.append("      error(\"illegal repetition level \" + nextR);\n");
+    sb.append("      return -1;\n");
+    sb.append("    }\n");
+    sb.append("  }\n");
+  }
+
+  private String addValue(PrimitiveTypeName primitive, String column) {
+    switch (primitive) {
+    case INT64:
+      return "addLong(" + column + ".getLong())";
+    case INT32:
+      return "addInt(" + column + ".getInteger())";
+    case BOOLEAN:
+      return "addBoolean(" + column + ".getBoolean())";
+    case BINARY:
+      return "addBinary(" + column + ".getBinary())";
+    case FLOAT:
+      return "addFloat(" + column + ".getFloat())";
+    case DOUBLE:
+      return "addDouble(" + column + ".getDouble())";
+    default:
+      throw new CompilationException("unknown type " + primitive);
+    }
+  }
+}
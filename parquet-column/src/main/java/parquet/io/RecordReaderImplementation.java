@@ -230,6 +230,8 @@ public class RecordReaderImplementation<T> extends RecordReader<T> {
 
   private State[] states;
 
+  private BaseRecordReader<T> compiledReader;
+
   /**
    *
    * @param root the root of the schema
@@ -374,6 +376,9 @@ public class RecordReaderImplementation<T> extends RecordReader<T> {
    */
   @Override
   public T read() {
+    if (compiledReader != null) {
+      return compiledReader.read();
+    }
     int currentLevel = 0;
     State currentState = states[0];
     recordConsumer.start();
@@ -406,6 +411,14 @@ public class RecordReaderImplementation<T> extends RecordReader<T> {
     return recordMaterializer.getCurrentRecord();
   }
 
+  /**
+   * @param compiledReader the generated reader to use instead of the interpreter
+   * @see RecordReaderCompiler
+   */
+  void setCompiledReader(BaseRecordReader<T> compiledReader) {
+    this.compiledReader = compiledReader;
+  }
+
   private static void log(String string) {
     LOG.debug(string);
   }
@@ -0,0 +1,53 @@
+/**
+ * Copyright 2012 Twitter, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package parquet.bytes;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+public class TestByteBufferInputStream {
+
+  @Test
+  public void testReadDirectBuffer() throws IOException {
+    byte[] expected = new byte[100];
+    for (int i = 0; i < expected.length; i++) {
+      expected[i] = (byte)(i * 7);
+    }
+    ByteBuffer buffer = ByteBuffer.allocateDirect(120);
+    buffer.position(10);
+    buffer.put(expected);
+    buffer.position(10);
+    buffer.limit(110);
+
+    ByteBufferInputStream in = new ByteBufferInputStream(buffer);
+    assertEquals(100, in.available());
+    assertEquals(expected[0] & 0xFF, in.read());
+    assertEquals(9, in.skip(9));
+    byte[] read = new byte[200];
+    assertEquals(90, in.read(read, 10, 190));
+    assertArrayEquals(Arrays.copyOfRange(expected, 10, 100), Arrays.copyOfRange(read, 10, 100));
+    assertEquals(-1, in.read());
+    assertEquals(-1, in.read(read, 0, 10));
+    // the buffer is untouched
+    assertEquals(10, buffer.position());
+  }
+}
@@ -0,0 +1,67 @@
+/**
+ * Copyright 2012 Twitter, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package parquet.bytes;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import org.junit.Test;
+
+public class TestCapacityByteArrayOutputStream {
+
+  @Test
+  public void testWriteAcrossSlabs() throws IOException {
+    CapacityByteArrayOutputStream out = new CapacityByteArrayOutputStream(10);
+    assertEquals(0, out.getCapacity());
+    byte[] expected = new byte[1000];
+    for (int i = 0; i < expected.length; i++) {
+      expected[i] = (byte)i;
+    }
+    for (int i = 0; i < 100; i++) {
+      out.write(expected[i]);
+    }
+    out.write(expected, 100, 900);
+    assertEquals(1000, out.size());
+    assertArrayEquals(expected, out.toByteArray());
+    assertArrayEquals(expected, BytesInput.from(out).toByteArray());
+    ByteArrayOutputStream copy = new ByteArrayOutputStream();
+    out.writeTo(copy);
+    assertArrayEquals(expected, copy.toByteArray());
+  }
+
+  @Test
+  public void testReuseSlabs() throws IOException {
+    CapacityByteArrayOutputStream out = new CapacityByteArrayOutputStream(10);
+    for (int i = 0; i < 100; i++) {
+      out.write(i);
+    }
+    int capacity = out.getCapacity();
+    out.reset();
+    assertEquals(0, out.size());
+    assertEquals(0, out.toByteArray().length);
+    byte[] expected = new byte[50];
+    for (int i = 0; i < expected.length; i++) {
+      expected[i] = (byte)(i * 3);
+      out.write(expected[i]);
+    }
+    assertArrayEquals(expected, out.toByteArray());
+    assertEquals(capacity, out.getCapacity());
+  }
+
+}
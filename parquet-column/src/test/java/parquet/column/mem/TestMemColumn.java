@@ -16,17 +16,28 @@
 package parquet.column.mem;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 import org.junit.Test;
 
 import parquet.Log;
+import parquet.bytes.BytesInput;
 import parquet.column.ColumnDescriptor;
 import parquet.column.ColumnReader;
 import parquet.column.ColumnWriter;
+import parquet.column.Encoding;
 import parquet.column.mem.MemColumnReadStore;
 import parquet.column.mem.MemColumnWriteStore;
 import parquet.column.mem.MemPageStore;
+import parquet.column.statistics.IntStatistics;
 import parquet.io.Binary;
+import parquet.io.ParquetEncodingException;
 import parquet.parser.MessageTypeParser;
 import parquet.schema.MessageType;
 
@@ -81,6 +92,47 @@ public class TestMemColumn {
     }
   }
 
+  @Test
+  public void testMemColumnBinaryDictionary() throws Exception {
+    String schema = "message msg { required group foo { required binary bar; } }";
+    String[] col = new String[]{"foo", "bar"};
+    MemPageStore memPageStore = new MemPageStore();
+    MemColumnWriteStore memColumnsStore = new MemColumnWriteStore(memPageStore, 2048, 2048, true);
+    ColumnDescriptor path = getCol(schema, col);
+
+    ColumnWriter columnWriter = memColumnsStore.getColumnWriter(path);
+    for (int i = 0; i < 2000; i++) {
+      columnWriter.write(Binary.fromString(String.valueOf(i % 42)), 0, 0);
+    }
+    columnWriter.flush();
+
+    ColumnReader columnReader = new MemColumnReadStore(memPageStore).getColumnReader(path);
+    int i = 0;
+    while (!columnReader.isFullyConsumed()) {
+      assertEquals(columnReader.getCurrentRepetitionLevel(), 0);
+      assertEquals(columnReader.getCurrentDefinitionLevel(), 0);
+      assertEquals(String.valueOf(i % 42), columnReader.getBinary().toStringUsingUTF8());
+      columnReader.consume();
+      ++ i;
+    }
+    assertEquals(2000, i);
+  }
+
+  @Test
+  public void testMemSizeCountsDictionary() throws Exception {
+    String schema = "message msg { required int32 foo; }";
+    MemPageStore memPageStore = new MemPageStore();
+    MemColumnWriteStore memColumnsStore = new MemColumnWriteStore(memPageStore, 1024, 64 * 1024, true);
+    ColumnDescriptor path = getCol(schema, new String[] {"foo"});
+    ColumnWriter columnWriter = memColumnsStore.getColumnWriter(path);
+    for (int i = 0; i < 10000; i++) {
+      columnWriter.write(i % 5000, 0, 0);
+    }
+    // the pages only hold the ids, the dictionary holds the 5000 values until the end of the column chunk
+    long pagesSize = memPageStore.getPageWriter(path).getMemSize();
+    assertTrue(memColumnsStore.memSize() >= pagesSize + 5000 * 4);
+  }
+
   @Test
   public void testMemColumnSeveralPages() throws Exception {
     String schema = "message msg { required group foo { required int64 bar; } }";
@@ -104,6 +156,66 @@ public class TestMemColumn {
     }
   }
 
+  @Test
+  public void testPagesReadInPlace() throws Exception {
+    String schema = "message msg { optional binary foo; }";
+    MemPageStore memPageStore = new MemPageStore();
+    MemColumnWriteStore memColumnsStore = new MemColumnWriteStore(memPageStore, 2048);
+    final ColumnDescriptor path = getCol(schema, new String[] {"foo"});
+    ColumnWriter columnWriter = memColumnsStore.getColumnWriter(path);
+    for (int i = 0; i < 1000; i++) {
+      if (i % 3 == 0) {
+        columnWriter.writeNull(0, 0);
+      } else {
+        columnWriter.write(Binary.fromString("value" + i), 0, 1);
+      }
+    }
+    columnWriter.flush();
+    List<Page> pages = ((MemPageWriter)memPageStore.getPageWriter(path)).getPages();
+    assertTrue(pages.size() > 1);
+
+    for (final boolean direct : new boolean[] { false, true }) {
+      final List<Page> movedPages = new ArrayList<Page>();
+      for (Page page : pages) {
+        // the page is a part of a larger buffer
+        byte[] bytes = page.getBytes().toByteArray();
+        byte[] buffer = new byte[bytes.length + 8];
+        Arrays.fill(buffer, (byte)0x7F);
+        System.arraycopy(bytes, 0, buffer, 3, bytes.length);
+        ByteBuffer moved;
+        if (direct) {
+          moved = ByteBuffer.allocateDirect(buffer.length);
+          moved.put(buffer);
+          moved.position(3);
+          moved.limit(3 + bytes.length);
+        } else {
+          moved = ByteBuffer.wrap(buffer, 3, bytes.length);
+        }
+        movedPages.add(new Page(BytesInput.from(moved), page.getValueCount(), page.getUncompressedSize(), page.getEncoding()));
+      }
+      ColumnReader columnReader = new MemColumnReadStore(new PageReadStore() {
+        @Override
+        public PageReader getPageReader(ColumnDescriptor descriptor) {
+          return new MemPageReader(1000, movedPages.iterator(), null);
+        }
+        @Override
+        public long getRowCount() {
+          return 1000;
+        }
+      }).getColumnReader(path);
+      for (int i = 0; i < 1000; i++) {
+        if (i % 3 == 0) {
+          assertEquals("value " + i, 0, columnReader.getCurrentDefinitionLevel());
+        } else {
+          assertEquals("value " + i, 1, columnReader.getCurrentDefinitionLevel());
+          assertEquals("value " + i, "value" + i, columnReader.getBinary().toStringUsingUTF8());
+        }
+        columnReader.consume();
+      }
+      assertTrue(columnReader.isFullyConsumed());
+    }
+  }
+
   @Test
   public void testMemColumnSeveralPagesRepeated() throws Exception {
     String schema = "message msg { repeated group foo { repeated int64 bar; } }";
@@ -142,4 +254,446 @@ public class TestMemColumn {
       ++ i;
     }
   }
+
+  @Test
+  public void testMemColumnReadLongs() throws Exception {
+    String schema = "message msg { required group foo { required int64 bar; } }";
+    String[] col = new String[]{"foo", "bar"};
+    MemPageStore memPageStore = new MemPageStore();
+    MemColumnWriteStore memColumnsStore = new MemColumnWriteStore(memPageStore, 2048);
+    ColumnDescriptor path = getCol(schema, col);
+
+    ColumnWriter columnWriter = memColumnsStore.getColumnWriter(path);
+    for (int i = 0; i < 2000; i++) {
+      columnWriter.write((long)i, 0, 0);
+    }
+    columnWriter.flush();
+
+    ColumnReader columnReader = new MemColumnReadStore(memPageStore).getColumnReader(path);
+    long[] values = new long[300];
+    int[] ds = new int[300];
+    int[] rs = new int[300];
+    int i = 0;
+    int read;
+    while ((read = columnReader.readLongs(values, ds, rs, 0, values.length)) > 0) {
+      for (int j = 0; j < read; j++) {
+        assertEquals(0, rs[j]);
+        assertEquals(0, ds[j]);
+        assertEquals((long)i, values[j]);
+        ++ i;
+      }
+    }
+    assertEquals(2000, i);
+    assertTrue(columnReader.isFullyConsumed());
+  }
+
+  @Test
+  public void testMemColumnReadIntegersRepeated() throws Exception {
+    String schema = "message msg { repeated group foo { repeated int32 bar; } }";
+    String[] col = new String[]{"foo", "bar"};
+    MemPageStore memPageStore = new MemPageStore();
+    MemColumnWriteStore memColumnsStore = new MemColumnWriteStore(memPageStore, 2048, 2048, true);
+    ColumnDescriptor path = getCol(schema, col);
+
+    ColumnWriter columnWriter = memColumnsStore.getColumnWriter(path);
+    int[] rs = { 0, 0, 0, 1, 1, 1, 2, 2, 2};
+    int[] ds = { 0, 1, 2, 0, 1, 2, 0, 1, 2};
+    for (int i = 0; i < 3000; i++) {
+      int r = rs[i % rs.length];
+      int d = ds[i % ds.length];
+      if (d == 2) {
+        columnWriter.write(i % 100, r, d);
+      } else {
+        columnWriter.writeNull(r, d);
+      }
+    }
+    columnWriter.flush();
+
+    ColumnReader columnReader = new MemColumnReadStore(memPageStore).getColumnReader(path);
+    int[] values = new int[3000];
+    int[] dLevels = new int[3000];
+    int[] rLevels = new int[3000];
+    // start with the triplet API to check both can be mixed
+    assertEquals(0, columnReader.getCurrentDefinitionLevel());
+    int read = 0;
+    while (read < values.length) {
+      int n = columnReader.readIntegers(values, dLevels, rLevels, read, Math.min(77, values.length - read));
+      assertTrue(n > 0);
+      read += n;
+    }
+    assertEquals(0, columnReader.readIntegers(values, dLevels, rLevels, 0, 10));
+    for (int i = 0; i < read; i++) {
+      assertEquals("r row " + i, rs[i % rs.length], rLevels[i]);
+      assertEquals("d row " + i, ds[i % ds.length], dLevels[i]);
+      if (dLevels[i] == 2) {
+        assertEquals("data row " + i, i % 100, values[i]);
+      }
+    }
+  }
+
+  @Test
+  public void testMemColumnStatistics() throws Exception {
+    String schema = "message msg { optional int32 bar; }";
+    String[] col = new String[]{"bar"};
+    MemPageStore memPageStore = new MemPageStore();
+    MemColumnWriteStore memColumnsStore = new MemColumnWriteStore(memPageStore, 2048);
+    ColumnDescriptor path = getCol(schema, col);
+
+    ColumnWriter columnWriter = memColumnsStore.getColumnWriter(path);
+    for (int i = 0; i < 2000; i++) {
+      if (i % 10 == 0) {
+        columnWriter.writeNull(0, 0);
+      } else {
+        columnWriter.write(i, 0, 1);
+      }
+    }
+    columnWriter.flush();
+
+    PageReader pageReader = memPageStore.getPageReader(path);
+    IntStatistics total = new IntStatistics();
+    int pageCount = 0;
+    long valueCount = 0;
+    while (valueCount < pageReader.getTotalValueCount()) {
+      Page page = pageReader.readPage();
+      valueCount += page.getValueCount();
+      IntStatistics stats = (IntStatistics)page.getStatistics();
+      assertTrue(stats.getMin() <= stats.getMax());
+      total.mergeStatistics(stats);
+      ++ pageCount;
+    }
+    assertTrue(pageCount > 1);
+    assertEquals(1, total.getMin());
+    assertEquals(1999, total.getMax());
+    assertEquals(200, total.getNumNulls());
+  }
+
+  @Test
+  public void testPageLimits() throws Exception {
+    String schema = "message msg { required int64 a; required int64 b; }";
+    MemPageStore memPageStore = new MemPageStore();
+    PageLimits pageLimits = new PageLimits(2048);
+    pageLimits.setPageValueCountThreshold("a", 100);
+    pageLimits.setPageSizeThreshold("b", 4096);
+    MemColumnWriteStore memColumnsStore = new MemColumnWriteStore(memPageStore, pageLimits, 2048, false);
+    ColumnDescriptor a = getCol(schema, new String[] {"a"});
+    ColumnDescriptor b = getCol(schema, new String[] {"b"});
+    ColumnWriter aWriter = memColumnsStore.getColumnWriter(a);
+    ColumnWriter bWriter = memColumnsStore.getColumnWriter(b);
+    for (long i = 0; i < 5000; i++) {
+      aWriter.write(i, 0, 0);
+      bWriter.write(i, 0, 0);
+    }
+    memColumnsStore.flush();
+
+    PageReader aPages = memPageStore.getPageReader(a);
+    long valueCount = 0;
+    while (valueCount < aPages.getTotalValueCount()) {
+      Page page = aPages.readPage();
+      assertTrue(page.getValueCount() <= 100);
+      valueCount += page.getValueCount();
+    }
+    assertEquals(5000, valueCount);
+
+    PageReader bPages = memPageStore.getPageReader(b);
+    valueCount = 0;
+    int pageCount = 0;
+    while (valueCount < bPages.getTotalValueCount()) {
+      Page page = bPages.readPage();
+      // the size is checked ahead of time so pages stay close to the threshold
+      assertTrue(page.getBytes().size() <= 4096 + 64);
+      valueCount += page.getValueCount();
+      ++ pageCount;
+    }
+    assertEquals(5000, valueCount);
+    assertTrue(pageCount > 5000 * 8 / 4096);
+    assertTrue(pageCount < 5000 * 8 / 2048);
+
+    ColumnReader columnReader = new MemColumnReadStore(memPageStore).getColumnReader(b);
+    for (long i = 0; i < 5000; i++) {
+      assertEquals(i, columnReader.getLong());
+      columnReader.consume();
+    }
+  }
+
+  @Test
+  public void testRLEEncoding() throws Exception {
+    String schema = "message msg { required int32 a; optional boolean b; }";
+    MemPageStore memPageStore = new MemPageStore();
+    ColumnEncodings columnEncodings = new ColumnEncodings();
+    columnEncodings.setEncoding("a", Encoding.RLE);
+    columnEncodings.setEncoding("b", Encoding.RLE);
+    MemColumnWriteStore memColumnsStore = new MemColumnWriteStore(memPageStore, new PageLimits(2048), 2048, true, columnEncodings);
+    ColumnDescriptor a = getCol(schema, new String[] {"a"});
+    ColumnDescriptor b = getCol(schema, new String[] {"b"});
+    ColumnWriter aWriter = memColumnsStore.getColumnWriter(a);
+    ColumnWriter bWriter = memColumnsStore.getColumnWriter(b);
+    for (int i = 0; i < 10000; i++) {
+      aWriter.write(rleValue(i), 0, 0);
+      if (i % 7 == 0) {
+        bWriter.writeNull(0, 0);
+      } else {
+        bWriter.write((i / 50) % 2 == 0, 0, 1);
+      }
+    }
+    memColumnsStore.flush();
+
+    PageReader aPages = memPageStore.getPageReader(a);
+    long valueCount = 0;
+    while (valueCount < aPages.getTotalValueCount()) {
+      Page page = aPages.readPage();
+      assertEquals(Encoding.RLE, page.getEncoding());
+      valueCount += page.getValueCount();
+    }
+
+    MemColumnReadStore readStore = new MemColumnReadStore(memPageStore);
+    ColumnReader aReader = readStore.getColumnReader(a);
+    ColumnReader bReader = readStore.getColumnReader(b);
+    for (int i = 0; i < 5000; i++) {
+      assertEquals("row " + i, rleValue(i), aReader.getInteger());
+      aReader.consume();
+    }
+    int[] values = new int[5000];
+    int[] dLevels = new int[5000];
+    int[] rLevels = new int[5000];
+    int read = 0;
+    while (read < values.length) {
+      read += aReader.readIntegers(values, dLevels, rLevels, read, Math.min(333, values.length - read));
+    }
+    for (int i = 0; i < values.length; i++) {
+      assertEquals("row " + (5000 + i), rleValue(5000 + i), values[i]);
+    }
+    for (int i = 0; i < 10000; i++) {
+      if (i % 7 == 0) {
+        assertEquals(0, bReader.getCurrentDefinitionLevel());
+      } else {
+        assertEquals("row " + i, (i / 50) % 2 == 0, bReader.getBoolean());
+      }
+      bReader.consume();
+    }
+  }
+
+  @Test
+  public void testDeltaBinaryPackedEncoding() throws Exception {
+    String schema = "message msg { optional int64 ts; }";
+    MemPageStore memPageStore = new MemPageStore();
+    ColumnEncodings columnEncodings = new ColumnEncodings();
+    columnEncodings.setEncoding("ts", Encoding.DELTA_BINARY_PACKED);
+    MemColumnWriteStore memColumnsStore = new MemColumnWriteStore(memPageStore, new PageLimits(2048), 2048, true, columnEncodings);
+    ColumnDescriptor ts = getCol(schema, new String[] {"ts"});
+    ColumnWriter writer = memColumnsStore.getColumnWriter(ts);
+    for (long i = 0; i < 10000; i++) {
+      if (i % 11 == 0) {
+        writer.writeNull(0, 0);
+      } else {
+        writer.write(1356998400000L + i * 1000, 0, 1);
+      }
+    }
+    memColumnsStore.flush();
+
+    PageReader pages = memPageStore.getPageReader(ts);
+    assertEquals(Encoding.DELTA_BINARY_PACKED, pages.readPage().getEncoding());
+    ColumnReader reader = new MemColumnReadStore(memPageStore).getColumnReader(ts);
+    for (long i = 0; i < 10000; i++) {
+      if (i % 11 == 0) {
+        assertEquals(0, reader.getCurrentDefinitionLevel());
+      } else {
+        assertEquals(1356998400000L + i * 1000, reader.getLong());
+      }
+      reader.consume();
+    }
+  }
+
+  @Test
+  public void testSkipLongs() throws Exception {
+    for (Encoding encoding : new Encoding[] { Encoding.PLAIN, Encoding.DELTA_BINARY_PACKED }) {
+      String schema = "message msg { optional int64 ts; }";
+      MemPageStore memPageStore = new MemPageStore();
+      ColumnEncodings columnEncodings = new ColumnEncodings();
+      columnEncodings.setEncoding("ts", encoding);
+      MemColumnWriteStore memColumnsStore = new MemColumnWriteStore(memPageStore, new PageLimits(2048), 2048, true, columnEncodings);
+      ColumnDescriptor ts = getCol(schema, new String[] {"ts"});
+      ColumnWriter writer = memColumnsStore.getColumnWriter(ts);
+      for (long i = 0; i < 10000; i++) {
+        if (i % 11 == 0) {
+          writer.writeNull(0, 0);
+        } else {
+          writer.write(1356998400000L + i * i, 0, 1);
+        }
+      }
+      memColumnsStore.flush();
+
+      ColumnReader reader = new MemColumnReadStore(memPageStore).getColumnReader(ts);
+      long[] values = new long[10];
+      int[] definitionLevels = new int[10];
+      int[] repetitionLevels = new int[10];
+      long i = 0;
+      while (i < 10000) {
+        if ((i / 300) % 3 == 0 || i % 7 == 0) {
+          // long runs of skipped values over several miniblocks and pages, and single ones
+          reader.skip();
+          ++ i;
+        } else if ((i / 300) % 3 == 1) {
+          if (i % 11 == 0) {
+            assertEquals(0, reader.getCurrentDefinitionLevel());
+          } else {
+            assertEquals(encoding + " value " + i, 1356998400000L + i * i, reader.getLong());
+          }
+          reader.consume();
+          ++ i;
+        } else {
+          int read = reader.readLongs(values, definitionLevels, repetitionLevels, 0, values.length);
+          for (int j = 0; j < read; j++, i++) {
+            if (i % 11 != 0) {
+              assertEquals(encoding + " value " + i, 1356998400000L + i * i, values[j]);
+            }
+          }
+        }
+      }
+      assertTrue(reader.isFullyConsumed());
+    }
+  }
+
+  @Test
+  public void testByteStreamSplitEncoding() throws Exception {
+    String schema = "message msg { required double d; optional float f; }";
+    MemPageStore memPageStore = new MemPageStore();
+    ColumnEncodings columnEncodings = new ColumnEncodings();
+    columnEncodings.setEncoding("d", Encoding.BYTE_STREAM_SPLIT);
+    columnEncodings.setEncoding("f", Encoding.BYTE_STREAM_SPLIT);
+    MemColumnWriteStore memColumnsStore = new MemColumnWriteStore(memPageStore, new PageLimits(2048), 2048, true, columnEncodings);
+    ColumnDescriptor d = getCol(schema, new String[] {"d"});
+    ColumnDescriptor f = getCol(schema, new String[] {"f"});
+    ColumnWriter dWriter = memColumnsStore.getColumnWriter(d);
+    ColumnWriter fWriter = memColumnsStore.getColumnWriter(f);
+    for (int i = 0; i < 5000; i++) {
+      dWriter.write(Math.sin(i) * 100, 0, 0);
+      if (i % 3 == 0) {
+        fWriter.writeNull(0, 0);
+      } else {
+        fWriter.write((float)Math.cos(i), 0, 1);
+      }
+    }
+    memColumnsStore.flush();
+
+    assertEquals(Encoding.BYTE_STREAM_SPLIT, memPageStore.getPageReader(d).readPage().getEncoding());
+    MemColumnReadStore readStore = new MemColumnReadStore(memPageStore);
+    ColumnReader dReader = readStore.getColumnReader(d);
+    ColumnReader fReader = readStore.getColumnReader(f);
+    for (int i = 0; i < 2500; i++) {
+      assertEquals(Math.sin(i) * 100, dReader.getDouble(), 0);
+      dReader.consume();
+    }
+    double[] values = new double[2500];
+    int[] dLevels = new int[2500];
+    int[] rLevels = new int[2500];
+    int read = 0;
+    while (read < values.length) {
+      read += dReader.readDoubles(values, dLevels, rLevels, read, Math.min(333, values.length - read));
+    }
+    for (int i = 0; i < values.length; i++) {
+      assertEquals(Math.sin(2500 + i) * 100, values[i], 0);
+    }
+    for (int i = 0; i < 5000; i++) {
+      if (i % 3 == 0) {
+        assertEquals(0, fReader.getCurrentDefinitionLevel());
+      } else {
+        assertEquals((float)Math.cos(i), fReader.getFloat(), 0);
+      }
+      fReader.consume();
+    }
+  }
+
+  @Test
+  public void testAdaptiveEncoding() throws Exception {
+    String schema = "message msg { required int32 runs; required int64 ts; required binary name; required double gauge; }";
+    MemPageStore memPageStore = new MemPageStore();
+    ColumnEncodings columnEncodings = new ColumnEncodings();
+    columnEncodings.setAdaptiveEncoding(true);
+    MemColumnWriteStore memColumnsStore = new MemColumnWriteStore(memPageStore, new PageLimits(2048), 64 * 1024, true, columnEncodings);
+    ColumnDescriptor runs = getCol(schema, new String[] {"runs"});
+    ColumnDescriptor ts = getCol(schema, new String[] {"ts"});
+    ColumnDescriptor name = getCol(schema, new String[] {"name"});
+    ColumnDescriptor gauge = getCol(schema, new String[] {"gauge"});
+    ColumnWriter runsWriter = memColumnsStore.getColumnWriter(runs);
+    ColumnWriter tsWriter = memColumnsStore.getColumnWriter(ts);
+    ColumnWriter nameWriter = memColumnsStore.getColumnWriter(name);
+    ColumnWriter gaugeWriter = memColumnsStore.getColumnWriter(gauge);
+    for (int i = 0; i < 5000; i++) {
+      runsWriter.write(i / 1000, 0, 0);
+      tsWriter.write(1356998400000L + i * 1000L, 0, 0);
+      nameWriter.write(Binary.fromString("name" + (i % 10)), 0, 0);
+      gaugeWriter.write(i < 2500 ? 1.5 : 2.5, 0, 0);
+    }
+    memColumnsStore.flush();
+
+    assertEquals(Encoding.RLE, memPageStore.getPageReader(runs).readPage().getEncoding());
+    assertEquals(Encoding.DELTA_BINARY_PACKED, memPageStore.getPageReader(ts).readPage().getEncoding());
+    assertEquals(Encoding.PLAIN_DICTIONARY, memPageStore.getPageReader(name).readPage().getEncoding());
+    assertEquals(Encoding.XOR, memPageStore.getPageReader(gauge).readPage().getEncoding());
+
+    MemColumnReadStore readStore = new MemColumnReadStore(memPageStore);
+    ColumnReader runsReader = readStore.getColumnReader(runs);
+    ColumnReader tsReader = readStore.getColumnReader(ts);
+    ColumnReader nameReader = readStore.getColumnReader(name);
+    ColumnReader gaugeReader = readStore.getColumnReader(gauge);
+    for (int i = 0; i < 5000; i++) {
+      assertEquals(i / 1000, runsReader.getInteger());
+      runsReader.consume();
+      assertEquals(1356998400000L + i * 1000L, tsReader.getLong());
+      tsReader.consume();
+      assertEquals("name" + (i % 10), nameReader.getBinary().toStringUsingUTF8());
+      nameReader.consume();
+      assertEquals(i < 2500 ? 1.5 : 2.5, gaugeReader.getDouble(), 0);
+      gaugeReader.consume();
+    }
+  }
+
+  @Test
+  public void testAvailableEncodings() throws Exception {
+    String schema = "message msg { required int64 ts; required double gauge; }";
+    MemPageStore memPageStore = new MemPageStore();
+    ColumnEncodings columnEncodings = new ColumnEncodings();
+    columnEncodings.setAdaptiveEncoding(true);
+    columnEncodings.setAvailableEncodings(Arrays.asList(Encoding.PLAIN, Encoding.PLAIN_DICTIONARY));
+    MemColumnWriteStore memColumnsStore = new MemColumnWriteStore(memPageStore, new PageLimits(2048), 64 * 1024, true, columnEncodings);
+    ColumnDescriptor ts = getCol(schema, new String[] {"ts"});
+    ColumnDescriptor gauge = getCol(schema, new String[] {"gauge"});
+    ColumnWriter tsWriter = memColumnsStore.getColumnWriter(ts);
+    ColumnWriter gaugeWriter = memColumnsStore.getColumnWriter(gauge);
+    for (int i = 0; i < 5000; i++) {
+      tsWriter.write(1356998400000L + i * 1000L, 0, 0);
+      gaugeWriter.write(i < 2500 ? 1.5 : 2.5, 0, 0);
+    }
+    memColumnsStore.flush();
+
+    PageReader tsPages = memPageStore.getPageReader(ts);
+    long valueCount = 0;
+    while (valueCount < tsPages.getTotalValueCount()) {
+      Page page = tsPages.readPage();
+      assertTrue(page.getEncoding().toString(), columnEncodings.isAvailable(page.getEncoding()));
+      valueCount += page.getValueCount();
+    }
+    assertEquals(Encoding.PLAIN, memPageStore.getPageReader(gauge).readPage().getEncoding());
+
+    columnEncodings.setEncoding("ts", Encoding.DELTA_BINARY_PACKED);
+    try {
+      new MemColumnWriteStore(new MemPageStore(), new PageLimits(2048), 64 * 1024, true, columnEncodings).getColumnWriter(ts);
+      fail("DELTA_BINARY_PACKED is not available");
+    } catch (ParquetEncodingException e) {
+      // expected
+    }
+  }
+
+  private static int rleValue(int i) {
+    // long runs, short runs and literals, including negative values on the full 32 bits
+    if (i % 1000 < 300) {
+      return i / 100;
+    } else if (i % 1000 < 500) {
+      return i % 5;
+    } else if (i % 1000 < 510) {
+      return -i;
+    } else {
+      return i * 31;
+    }
+  }
 }
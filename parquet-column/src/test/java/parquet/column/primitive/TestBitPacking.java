@@ -20,6 +20,7 @@ import static org.junit.Assert.assertArrayEquals;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.util.Random;
 
 
 import org.junit.Assert;
@@ -28,6 +29,7 @@ import org.junit.Test;
 import parquet.column.primitive.BitPacking;
 import parquet.column.primitive.BitPacking.BitPackingReader;
 import parquet.column.primitive.BitPacking.BitPackingWriter;
+import parquet.column.primitive.BitPacking.ByteArrayBitPackingReader;
 
 public class TestBitPacking {
 
@@ -177,6 +179,64 @@ public class TestBitPacking {
     }
     System.out.println("result: " + toString(result));
     assertArrayEquals(vals, result);
+
+    // same thing reading directly from the array
+    byte[] padded = new byte[bytes.length + 3];
+    System.arraycopy(bytes, 0, padded, 3, bytes.length);
+    ByteArrayBitPackingReader ar = BitPacking.createBitPackingReader(bitLength, padded, 3, bytes.length);
+    int[] arrayResult = new int[vals.length];
+    for (int i = 0; i < arrayResult.length; i++) {
+      arrayResult[i] = ar.read();
+    }
+    assertArrayEquals(vals, arrayResult);
+
+    // and in batches
+    ar = BitPacking.createBitPackingReader(bitLength, padded, 3, bytes.length);
+    int[] batchResult = new int[vals.length];
+    int read = 0;
+    while (read < batchResult.length) {
+      int n = Math.min(5, batchResult.length - read);
+      ar.read(batchResult, read, n);
+      read += n;
+    }
+    assertArrayEquals(vals, batchResult);
+  }
+
+  @Test
+  public void testPackUnpack8Values() throws IOException {
+    Random random = new Random(42);
+    for (int bitLength = 0; bitLength <= 8; bitLength++) {
+      int[] vals = new int[32];
+      for (int i = 0; i < vals.length; i++) {
+        vals[i] = bitLength == 0 ? 0 : random.nextInt(1 << bitLength);
+      }
+      ByteArrayOutputStream baos = new ByteArrayOutputStream();
+      BitPackingWriter w = BitPacking.getBitPackingWriter(bitLength, baos);
+      for (int i : vals) {
+        w.write(i);
+      }
+      w.finish();
+      byte[] expected = baos.toByteArray();
+
+      // same layout as the writers
+      byte[] packed = new byte[4 * bitLength + 1];
+      BitPacking.pack32Values(bitLength, vals, 0, packed, 1);
+      for (int i = 0; i < expected.length; i++) {
+        Assert.assertEquals("width " + bitLength + " byte " + i, expected[i], packed[i + 1]);
+      }
+      int[] unpacked = new int[33];
+      BitPacking.unpack32Values(bitLength, packed, 1, unpacked, 1);
+      for (int i = 0; i < vals.length; i++) {
+        Assert.assertEquals("width " + bitLength + " value " + i, vals[i], unpacked[i + 1]);
+      }
+
+      // batch reads, including a value before the first group of 8
+      ByteArrayBitPackingReader ar = BitPacking.createBitPackingReader(bitLength, expected, 0, expected.length);
+      int[] read = new int[32];
+      read[0] = ar.read();
+      ar.read(read, 1, 31);
+      assertArrayEquals(vals, read);
+    }
   }
 
   public static String toString(int[] vals) {
@@ -168,4 +168,28 @@ public class TestBoundedColumns {
       }
     }
   }
+
+  @Test
+  public void testReadIntegers() throws Exception {
+    for (int bound = 1; bound < 8; bound++) {
+      BoundedIntColumnWriter bicw = new BoundedIntColumnWriter(bound);
+      int[] expected = new int[5000];
+      for (int i = 0; i < expected.length; i++) {
+        // mix runs and single values
+        expected[i] = r.nextBoolean() ? bound : r.nextInt(bound + 1);
+        bicw.writeInteger(expected[i]);
+      }
+      byte[] input = bicw.getBytes().toByteArray();
+      BoundedIntColumnReader bicr = new BoundedIntColumnReader(bound);
+      bicr.initFromPage(expected.length, input, 0);
+      int[] got = new int[expected.length];
+      int offset = 0;
+      while (offset < got.length) {
+        int length = Math.min(r.nextInt(100), got.length - offset);
+        bicr.readIntegers(got, offset, length);
+        offset += length;
+      }
+      assertTrue("bound " + bound, Arrays.equals(expected, got));
+    }
+  }
 }
@@ -0,0 +1,144 @@
+/**
+ * Copyright 2012 Twitter, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package parquet.column.primitive;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.Random;
+
+import org.junit.Test;
+
+import parquet.column.Encoding;
+
+public class TestDeltaBinaryPacking {
+
+  @Test
+  public void testMonotonic() throws IOException {
+    long[] values = new long[1000];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = 1356998400000L + i * 1000 + (i % 7);
+    }
+    byte[] page = validateEncodeDecode(values);
+    // deltas fit in 3 bits
+    assertTrue(page.length < values.length);
+  }
+
+  @Test
+  public void testWideDeltas() throws IOException {
+    Random random = new Random(42);
+    long[] values = new long[777];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = random.nextInt(1 << 20) - (1 << 19);
+    }
+    validateEncodeDecode(values);
+  }
+
+  @Test
+  public void testOverflowingDeltas() throws IOException {
+    long[] values = new long[300];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = i % 3 == 0 ? Long.MAX_VALUE : i % 3 == 1 ? Long.MIN_VALUE : i;
+    }
+    validateEncodeDecode(values);
+  }
+
+  @Test
+  public void testSmallPages() throws IOException {
+    validateEncodeDecode(new long[0]);
+    validateEncodeDecode(new long[] { 42 });
+    validateEncodeDecode(new long[] { 42, -42 });
+    long[] values = new long[129];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = 5;
+    }
+    validateEncodeDecode(values);
+  }
+
+  @Test
+  public void testSkip() throws IOException {
+    long[] values = new long[1000];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = i * (long)i;
+    }
+    validateSkip(values);
+  }
+
+  @Test
+  public void testSkipNarrowDeltas() throws IOException {
+    Random random = new Random(7);
+    // every width from 0 to 9 bits, last miniblock partially filled
+    long[] values = new long[64 * 10 + 13];
+    long value = 0;
+    for (int i = 0; i < values.length; i++) {
+      int width = (i / 64) % 10;
+      value += width == 0 ? 3 : random.nextInt(1 << width);
+      values[i] = value;
+    }
+    validateSkip(values);
+  }
+
+  private void validateSkip(long[] values) throws IOException {
+    DeltaBinaryPackingColumnWriter writer = new DeltaBinaryPackingColumnWriter(64);
+    for (long value : values) {
+      writer.writeLong(value);
+    }
+    byte[] page = writer.getBytes().toByteArray();
+    DeltaBinaryPackingColumnReader reader = new DeltaBinaryPackingColumnReader();
+    reader.initFromPage(values.length, page, 0);
+    int i = 0;
+    int[] skips = { 0, 1, 3, 31, 32, 33, 200, 5 };
+    int s = 0;
+    while (i < values.length) {
+      assertEquals("value " + i, values[i], reader.readLong());
+      ++ i;
+      int skip = Math.min(skips[s ++ % skips.length], values.length - i);
+      reader.skipLongs(skip);
+      i += skip;
+    }
+  }
+
+  private byte[] validateEncodeDecode(long[] values) throws IOException {
+    DeltaBinaryPackingColumnWriter writer = new DeltaBinaryPackingColumnWriter(64);
+    // the writer is reused across pages
+    for (int page = 0; page < 2; page++) {
+      for (long value : values) {
+        writer.writeLong(value);
+      }
+      long estimate = writer.getBufferedSize();
+      byte[] bytes = writer.getBytes().toByteArray();
+      assertEquals(Encoding.DELTA_BINARY_PACKED, writer.getEncoding());
+      assertTrue(bytes.length <= estimate);
+      writer.reset();
+
+      DeltaBinaryPackingColumnReader reader = new DeltaBinaryPackingColumnReader();
+      reader.initFromPage(values.length, bytes, 0);
+      for (int i = 0; i < values.length / 2; i++) {
+        assertEquals("value " + i, values[i], reader.readLong());
+      }
+      long[] read = new long[values.length];
+      reader.readLongs(read, values.length / 2, values.length - values.length / 2);
+      for (int i = values.length / 2; i < values.length; i++) {
+        assertEquals("value " + i, values[i], read[i]);
+      }
+      if (page == 1) {
+        return bytes;
+      }
+    }
+    throw new AssertionError();
+  }
+}
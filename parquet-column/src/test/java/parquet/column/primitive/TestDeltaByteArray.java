@@ -0,0 +1,118 @@
+/**
+ * Copyright 2012 Twitter, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package parquet.column.primitive;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+
+import org.junit.Test;
+
+import parquet.column.Encoding;
+import parquet.io.Binary;
+
+public class TestDeltaByteArray {
+
+  @Test
+  public void testSortedPaths() throws IOException {
+    String[] values = new String[2000];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = "/user/logs/2012/" + (i / 100) + "/" + (i % 100) + "/part-" + i;
+    }
+    int plainSize = 0;
+    for (String value : values) {
+      plainSize += 4 + value.length();
+    }
+    byte[] page = validateEncodeDecode(values);
+    assertTrue(page.length * 2 < plainSize);
+  }
+
+  @Test
+  public void testUnsortedValues() throws IOException {
+    validateEncodeDecode(new String[] { "abc", "", "abc", "abcd", "ab", "b", "", "", "bcd", "xyz", "xyzzzzzzzzzzzzzzz", "x" });
+    validateEncodeDecode(new String[] { "" });
+    validateEncodeDecode(new String[0]);
+  }
+
+  @Test
+  public void testReusedBuffer() throws IOException {
+    String[] values = { "abcd", "abce", "abzz", "bbzz", "bbzz", "zzzz" };
+    DeltaByteArrayColumnWriter writer = new DeltaByteArrayColumnWriter(64);
+    // the caller overwrites the same array for every value
+    byte[] buffer = new byte[4];
+    Binary binary = Binary.fromByteArray(buffer);
+    for (String value : values) {
+      System.arraycopy(value.getBytes("UTF-8"), 0, buffer, 0, buffer.length);
+      writer.writeBytes(binary);
+    }
+    byte[] bytes = writer.getBytes().toByteArray();
+    DeltaByteArrayColumnReader reader = new DeltaByteArrayColumnReader();
+    reader.initFromPage(values.length, bytes, 0);
+    for (int i = 0; i < values.length; i++) {
+      assertEquals("value " + i, values[i], reader.readBytes().toStringUsingUTF8());
+    }
+  }
+
+  @Test
+  public void testReaderReusedAcrossPages() throws IOException {
+    String[][] pages = {
+        { "a", "ab" },
+        { "/user/logs/1", "/user/logs/12", "/user/logs/123", "/user/logs/2" },
+        { "xyz" } };
+    DeltaByteArrayColumnReader reader = new DeltaByteArrayColumnReader();
+    for (String[] values : pages) {
+      DeltaByteArrayColumnWriter writer = new DeltaByteArrayColumnWriter(64);
+      for (String value : values) {
+        writer.writeBytes(Binary.fromString(value));
+      }
+      byte[] bytes = writer.getBytes().toByteArray();
+      reader.initFromPage(values.length, bytes, 0);
+      for (int i = 0; i < values.length; i++) {
+        assertEquals("value " + i, values[i], reader.readBytes().toStringUsingUTF8());
+      }
+    }
+  }
+
+  private byte[] validateEncodeDecode(String[] values) throws IOException {
+    DeltaByteArrayColumnWriter writer = new DeltaByteArrayColumnWriter(64);
+    byte[] bytes = null;
+    // the writer is reused across pages
+    for (int page = 0; page < 2; page++) {
+      for (String value : values) {
+        writer.writeBytes(Binary.fromString(value));
+      }
+      bytes = writer.getBytes().toByteArray();
+      assertEquals(Encoding.DELTA_BYTE_ARRAY, writer.getEncoding());
+      writer.reset();
+
+      DeltaByteArrayColumnReader reader = new DeltaByteArrayColumnReader();
+      // the data may be preceded by other sections of the page
+      byte[] pageBytes = new byte[bytes.length + 3];
+      System.arraycopy(bytes, 0, pageBytes, 3, bytes.length);
+      assertEquals(pageBytes.length, reader.initFromPage(values.length, pageBytes, 3));
+      Binary[] read = new Binary[values.length];
+      for (int i = 0; i < values.length; i++) {
+        read[i] = reader.readBytes();
+      }
+      // the values read previously are still valid
+      for (int i = 0; i < values.length; i++) {
+        assertEquals("value " + i, values[i], read[i].toStringUsingUTF8());
+      }
+    }
+    return bytes;
+  }
+}
@@ -0,0 +1,238 @@
+/**
+ * Copyright 2012 Twitter, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package parquet.column.primitive;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static parquet.column.Encoding.PLAIN;
+import static parquet.column.Encoding.PLAIN_DICTIONARY;
+
+import java.io.IOException;
+
+import org.junit.Test;
+
+import parquet.column.Dictionary;
+import parquet.column.mem.DictionaryPage;
+import parquet.column.primitive.DictionaryColumnWriter.PlainBinaryDictionaryColumnWriter;
+import parquet.column.primitive.DictionaryColumnWriter.PlainIntegerDictionaryColumnWriter;
+import parquet.column.primitive.DictionaryColumnWriter.PlainLongDictionaryColumnWriter;
+import parquet.io.Binary;
+import parquet.schema.PrimitiveType.PrimitiveTypeName;
+
+public class TestDictionary {
+
+  @Test
+  public void testBinaryDictionary() throws IOException {
+    int COUNT = 100;
+    DictionaryColumnWriter cw = new PlainBinaryDictionaryColumnWriter(10000, 10000);
+    writeRepeated(COUNT, cw, "a");
+    byte[] bytes1 = cw.getBytes().toByteArray();
+    assertEquals(PLAIN_DICTIONARY, cw.getEncoding());
+    cw.reset();
+    writeRepeated(COUNT, cw, "b");
+    byte[] bytes2 = cw.getBytes().toByteArray();
+    assertEquals(PLAIN_DICTIONARY, cw.getEncoding());
+    cw.reset();
+
+    Dictionary dictionary = PlainDictionary.read(PrimitiveTypeName.BINARY, cw.createDictionaryPage());
+    assertEquals(19, dictionary.getMaxId());
+
+    DictionaryColumnReader cr = new DictionaryColumnReader(dictionary);
+    cr.initFromPage(COUNT, bytes1, 0);
+    for (int i = 0; i < COUNT; i++) {
+      assertEquals("a" + i % 10, cr.readBytes().toStringUsingUTF8());
+    }
+    cr.initFromPage(COUNT, bytes2, 0);
+    for (int i = 0; i < COUNT; i++) {
+      assertEquals("b" + i % 10, cr.readBytes().toStringUsingUTF8());
+    }
+  }
+
+  @Test
+  public void testBinaryDictionaryFallBack() throws IOException {
+    DictionaryColumnWriter cw = new PlainBinaryDictionaryColumnWriter(200, 10000);
+    for (int i = 0; i < 100; i++) {
+      cw.writeBytes(Binary.fromString("a" + i));
+    }
+    // the dictionary got too big before the first page was written
+    byte[] bytes = cw.getBytes().toByteArray();
+    assertEquals(PLAIN, cw.getEncoding());
+    assertNull(cw.createDictionaryPage());
+    PlainColumnReader cr = new PlainColumnReader();
+    cr.initFromPage(100, bytes, 0);
+    for (int i = 0; i < 100; i++) {
+      assertEquals("a" + i, cr.readBytes().toStringUsingUTF8());
+    }
+  }
+
+  @Test
+  public void testFallBackAfterFirstPage() throws IOException {
+    DictionaryColumnWriter cw = new PlainBinaryDictionaryColumnWriter(500, 10000);
+    writeRepeated(100, cw, "a");
+    byte[] bytes1 = cw.getBytes().toByteArray();
+    assertEquals(PLAIN_DICTIONARY, cw.getEncoding());
+    cw.reset();
+    for (int i = 0; i < 100; i++) {
+      cw.writeBytes(Binary.fromString("b" + i));
+    }
+    byte[] bytes2 = cw.getBytes().toByteArray();
+    assertEquals(PLAIN, cw.getEncoding());
+    cw.reset();
+
+    // the dictionary only contains the values used in the first page
+    DictionaryPage dictionaryPage = cw.createDictionaryPage();
+    assertEquals(10, dictionaryPage.getDictionarySize());
+    DictionaryColumnReader cr = new DictionaryColumnReader(PlainDictionary.read(PrimitiveTypeName.BINARY, dictionaryPage));
+    cr.initFromPage(100, bytes1, 0);
+    for (int i = 0; i < 100; i++) {
+      assertEquals("a" + i % 10, cr.readBytes().toStringUsingUTF8());
+    }
+    PlainColumnReader pcr = new PlainColumnReader();
+    pcr.initFromPage(100, bytes2, 0);
+    for (int i = 0; i < 100; i++) {
+      assertEquals("b" + i, pcr.readBytes().toStringUsingUTF8());
+    }
+  }
+
+  @Test
+  public void testBufferedSize() throws IOException {
+    DictionaryColumnWriter cw = new PlainIntegerDictionaryColumnWriter(10000, 10000);
+    for (int i = 0; i < 1000; i++) {
+      cw.writeInteger(i % 50);
+    }
+    // 50 new entries of 4 bytes
+    long bufferedSize = cw.getBufferedSize();
+    assertEquals(cw.getBytes().size() + 50 * 4, bufferedSize);
+    cw.reset();
+    for (int i = 0; i < 1000; i++) {
+      cw.writeInteger(i % 70);
+    }
+    // the ids need one more bit and 20 entries were added
+    bufferedSize = cw.getBufferedSize();
+    assertEquals(cw.getBytes().size() + 20 * 4, bufferedSize);
+    cw.reset();
+    for (int i = 0; i < 1000; i++) {
+      cw.writeInteger(i % 70);
+    }
+    bufferedSize = cw.getBufferedSize();
+    assertEquals(cw.getBytes().size(), bufferedSize);
+  }
+
+  @Test
+  public void testDictionaryByteSize() throws IOException {
+    DictionaryColumnWriter cw = new PlainIntegerDictionaryColumnWriter(10000, 10000);
+    for (int i = 0; i < 1000; i++) {
+      cw.writeInteger(i % 50);
+    }
+    // the new entries are part of the page
+    assertEquals(0, cw.getDictionaryByteSize());
+    cw.getBytes();
+    cw.reset();
+    // the dictionary is kept for the column chunk
+    assertEquals(50 * 4, cw.getDictionaryByteSize());
+    for (int i = 0; i < 1000; i++) {
+      cw.writeInteger(i % 70);
+    }
+    assertEquals(50 * 4, cw.getDictionaryByteSize());
+    cw.getBytes();
+    cw.reset();
+    assertEquals(70 * 4, cw.getDictionaryByteSize());
+    cw.createDictionaryPage();
+    cw.resetDictionary();
+    assertEquals(0, cw.getDictionaryByteSize());
+  }
+
+  @Test
+  public void testDiscardPage() throws IOException {
+    DictionaryColumnWriter cw = new PlainIntegerDictionaryColumnWriter(400, 10000);
+    for (int i = 0; i < 1000; i++) {
+      cw.writeInteger(i % 50);
+    }
+    cw.getBytes();
+    cw.reset();
+    // these entries are not kept as the page is not written
+    for (int i = 0; i < 1000; i++) {
+      cw.writeInteger(50 + i % 20);
+    }
+    cw.discardPage();
+    assertEquals(50 * 4, cw.getDictionaryByteSize());
+    for (int i = 0; i < 1000; i++) {
+      cw.writeInteger(i % 50);
+    }
+    assertEquals(cw.getBytes().size(), cw.getBufferedSize());
+    cw.reset();
+    // falling back to plain is undone too
+    for (int i = 0; i < 1000; i++) {
+      cw.writeInteger(1000 + i);
+    }
+    assertEquals(PLAIN, cw.getEncoding());
+    cw.discardPage();
+    for (int i = 0; i < 1000; i++) {
+      cw.writeInteger(i % 50);
+    }
+    assertEquals(PLAIN_DICTIONARY, cw.getEncoding());
+    byte[] bytes = cw.getBytes().toByteArray();
+    cw.reset();
+    Dictionary dictionary = PlainDictionary.read(PrimitiveTypeName.INT32, cw.createDictionaryPage());
+    assertEquals(49, dictionary.getMaxId());
+    DictionaryColumnReader cr = new DictionaryColumnReader(dictionary);
+    cr.initFromPage(1000, bytes, 0);
+    for (int i = 0; i < 1000; i++) {
+      assertEquals(i % 50, cr.readInteger());
+    }
+  }
+
+  @Test
+  public void testIntDictionary() throws IOException {
+    DictionaryColumnWriter cw = new PlainIntegerDictionaryColumnWriter(10000, 10000);
+    for (int i = 0; i < 1000; i++) {
+      cw.writeInteger(i % 50);
+    }
+    byte[] bytes = cw.getBytes().toByteArray();
+    assertEquals(PLAIN_DICTIONARY, cw.getEncoding());
+    cw.reset();
+    Dictionary dictionary = PlainDictionary.read(PrimitiveTypeName.INT32, cw.createDictionaryPage());
+    assertEquals(49, dictionary.getMaxId());
+    DictionaryColumnReader cr = new DictionaryColumnReader(dictionary);
+    cr.initFromPage(1000, bytes, 0);
+    for (int i = 0; i < 1000; i++) {
+      assertEquals(i % 50, cr.readInteger());
+    }
+  }
+
+  @Test
+  public void testLongDictionary() throws IOException {
+    DictionaryColumnWriter cw = new PlainLongDictionaryColumnWriter(10000, 10000);
+    for (int i = 0; i < 1000; i++) {
+      cw.writeLong(Long.MAX_VALUE - i % 50);
+    }
+    byte[] bytes = cw.getBytes().toByteArray();
+    assertEquals(PLAIN_DICTIONARY, cw.getEncoding());
+    cw.reset();
+    DictionaryColumnReader cr = new DictionaryColumnReader(PlainDictionary.read(PrimitiveTypeName.INT64, cw.createDictionaryPage()));
+    cr.initFromPage(1000, bytes, 0);
+    for (int i = 0; i < 1000; i++) {
+      assertEquals(Long.MAX_VALUE - i % 50, cr.readLong());
+    }
+  }
+
+  private void writeRepeated(int COUNT, DictionaryColumnWriter cw, String prefix) {
+    for (int i = 0; i < COUNT; i++) {
+      cw.writeBytes(Binary.fromString(prefix + i % 10));
+    }
+  }
+
+}
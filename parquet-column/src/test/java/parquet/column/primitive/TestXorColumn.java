@@ -0,0 +1,79 @@
+/**
+ * Copyright 2012 Twitter, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package parquet.column.primitive;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.Random;
+
+import org.junit.Test;
+
+import parquet.column.Encoding;
+
+public class TestXorColumn {
+
+  @Test
+  public void testGauge() throws IOException {
+    double[] values = new double[1000];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = 12.5 + (i / 100) * 0.25;
+    }
+    byte[] page = validateEncodeDecode(values);
+    // about 1 bit per value
+    assertTrue(page.length < values.length / 4);
+  }
+
+  @Test
+  public void testRandom() throws IOException {
+    Random random = new Random(42);
+    double[] values = new double[1000];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = random.nextGaussian() * 1000;
+    }
+    validateEncodeDecode(values);
+  }
+
+  @Test
+  public void testSpecialValues() throws IOException {
+    validateEncodeDecode(new double[] {
+        0, -0.0, Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.MIN_VALUE, Double.MAX_VALUE,
+        1, 1, -1, 1, Double.longBitsToDouble(1), Double.longBitsToDouble(0x8000000000000001L) });
+    validateEncodeDecode(new double[] { 3.14 });
+  }
+
+  private byte[] validateEncodeDecode(double[] values) throws IOException {
+    XorColumnWriter writer = new XorColumnWriter();
+    byte[] bytes = null;
+    // the writer is reused across pages
+    for (int page = 0; page < 2; page++) {
+      for (double value : values) {
+        writer.writeDouble(value);
+      }
+      bytes = writer.getBytes().toByteArray();
+      assertEquals(Encoding.XOR, writer.getEncoding());
+      writer.reset();
+
+      XorColumnReader reader = new XorColumnReader();
+      reader.initFromPage(values.length, bytes, 0);
+      for (int i = 0; i < values.length; i++) {
+        assertEquals("value " + i, Double.doubleToLongBits(values[i]), Double.doubleToLongBits(reader.readDouble()));
+      }
+    }
+    return bytes;
+  }
+}
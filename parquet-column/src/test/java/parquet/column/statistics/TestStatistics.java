@@ -0,0 +1,185 @@
+/**
+ * Copyright 2012 Twitter, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package parquet.column.statistics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import org.junit.Test;
+
+import parquet.io.Binary;
+import parquet.schema.PrimitiveType.PrimitiveTypeName;
+
+public class TestStatistics {
+
+  @Test
+  public void testIntMinMax() {
+    IntStatistics stats = new IntStatistics();
+    assertTrue(stats.isEmpty());
+    int[] values = {3, -7, 42, 0, Integer.MAX_VALUE, 12};
+    for (int value : values) {
+      stats.updateStats(value);
+    }
+    stats.incrementNumNulls();
+    assertEquals(-7, stats.getMin());
+    assertEquals(Integer.MAX_VALUE, stats.getMax());
+    assertEquals(1, stats.getNumNulls());
+
+    IntStatistics read = new IntStatistics();
+    read.setMinMaxFromBytes(stats.getMinBytes(), stats.getMaxBytes());
+    assertEquals(-7, read.getMin());
+    assertEquals(Integer.MAX_VALUE, read.getMax());
+  }
+
+  @Test
+  public void testLongMinMax() {
+    LongStatistics stats = new LongStatistics();
+    long[] values = {3, -7, Long.MIN_VALUE, 0, 1L << 40, 12};
+    for (long value : values) {
+      stats.updateStats(value);
+    }
+    LongStatistics read = new LongStatistics();
+    read.setMinMaxFromBytes(stats.getMinBytes(), stats.getMaxBytes());
+    assertEquals(Long.MIN_VALUE, read.getMin());
+    assertEquals(1L << 40, read.getMax());
+  }
+
+  @Test
+  public void testDoubleMinMax() {
+    DoubleStatistics stats = new DoubleStatistics();
+    double[] values = {3.5, -7.25, 1e10};
+    for (double value : values) {
+      stats.updateStats(value);
+    }
+    DoubleStatistics read = new DoubleStatistics();
+    read.setMinMaxFromBytes(stats.getMinBytes(), stats.getMaxBytes());
+    assertEquals(-7.25, read.getMin(), 0);
+    assertEquals(1e10, read.getMax(), 0);
+  }
+
+  @Test
+  public void testDoubleMinMaxNaNAndZeros() {
+    // same order as Double.compareTo
+    DoubleStatistics stats = new DoubleStatistics();
+    stats.updateStats(Double.NaN);
+    assertTrue(stats.hasNonNullValue());
+    stats.updateStats(0.0);
+    stats.updateStats(-0.0);
+    DoubleStatistics read = new DoubleStatistics();
+    read.setMinMaxFromBytes(stats.getMinBytes(), stats.getMaxBytes());
+    assertEquals(Double.valueOf(-0.0), Double.valueOf(read.getMin()));
+    assertTrue(Double.isNaN(read.getMax()));
+  }
+
+  @Test
+  public void testFloatMinMax() {
+    FloatStatistics stats = new FloatStatistics();
+    float[] values = {3.5f, -7.25f, 1e10f};
+    for (float value : values) {
+      stats.updateStats(value);
+    }
+    FloatStatistics read = new FloatStatistics();
+    read.setMinMaxFromBytes(stats.getMinBytes(), stats.getMaxBytes());
+    assertEquals(-7.25f, read.getMin(), 0);
+    assertEquals(1e10f, read.getMax(), 0);
+  }
+
+  @Test
+  public void testFloatMinMaxNaNAndZeros() {
+    FloatStatistics stats = new FloatStatistics();
+    stats.updateStats(0.0f);
+    stats.updateStats(Float.NaN);
+    stats.updateStats(-0.0f);
+    assertEquals(Float.valueOf(-0.0f), Float.valueOf(stats.getMin()));
+    assertTrue(Float.isNaN(stats.getMax()));
+  }
+
+  @Test
+  public void testBooleanMinMax() {
+    BooleanStatistics stats = new BooleanStatistics();
+    stats.updateStats(true);
+    assertEquals(true, stats.getMin());
+    stats.updateStats(false);
+    BooleanStatistics read = new BooleanStatistics();
+    read.setMinMaxFromBytes(stats.getMinBytes(), stats.getMaxBytes());
+    assertEquals(false, read.getMin());
+    assertEquals(true, read.getMax());
+  }
+
+  @Test
+  public void testBinaryMinMax() {
+    BinaryStatistics stats = new BinaryStatistics();
+    byte[] reused = new byte[1];
+    // the min and max must not change when the caller reuses its buffer
+    for (int b : new int[] {0x10, 0xF0, 0x01, 0x80}) {
+      reused[0] = (byte)b;
+      stats.updateStats(Binary.fromByteArray(reused, 0, 1));
+    }
+    stats.updateStats(Binary.fromString(""));
+    reused[0] = 0x42;
+    assertEquals(0, stats.getMin().length());
+    assertEquals((byte)0xF0, stats.getMax().getBytes()[0]);
+  }
+
+  @Test
+  public void testMerge() {
+    Statistics<?> total = Statistics.getStatsBasedOnType(PrimitiveTypeName.INT64);
+    LongStatistics page1 = new LongStatistics();
+    page1.updateStats(10L);
+    page1.updateStats(20L);
+    LongStatistics page2 = new LongStatistics();
+    page2.incrementNumNulls(5);
+    LongStatistics page3 = new LongStatistics();
+    page3.updateStats(-5L);
+    page3.incrementNumNulls();
+    total.mergeStatistics(page1);
+    total.mergeStatistics(page2);
+    total.mergeStatistics(page3);
+    assertEquals(-5L, total.genericGetMin());
+    assertEquals(20L, total.genericGetMax());
+    assertEquals(6, total.getNumNulls());
+  }
+
+  @Test(expected = StatisticsClassException.class)
+  public void testMergeMismatch() {
+    IntStatistics intStats = new IntStatistics();
+    LongStatistics longStats = new LongStatistics();
+    longStats.updateStats(1L);
+    intStats.mergeStatistics(longStats);
+  }
+
+  @Test
+  public void testSerialization() throws Exception {
+    BinaryStatistics stats = new BinaryStatistics();
+    stats.updateStats(Binary.fromString("foo"));
+    stats.updateStats(Binary.fromString("bar"));
+    stats.incrementNumNulls(3);
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    ObjectOutputStream out = new ObjectOutputStream(baos);
+    out.writeObject(stats);
+    out.close();
+    ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(baos.toByteArray()));
+    BinaryStatistics read = (BinaryStatistics)in.readObject();
+    assertEquals("bar", read.getMin().toStringUsingUTF8());
+    assertEquals("foo", read.getMax().toStringUsingUTF8());
+    assertEquals(3, read.getNumNulls());
+  }
+}
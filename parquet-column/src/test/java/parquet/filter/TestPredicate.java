@@ -0,0 +1,184 @@
+/**
+ * Copyright 2012 Twitter, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package parquet.filter;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static parquet.filter.Predicate.and;
+import static parquet.filter.Predicate.eq;
+import static parquet.filter.Predicate.gt;
+import static parquet.filter.Predicate.gtEq;
+import static parquet.filter.Predicate.in;
+import static parquet.filter.Predicate.lt;
+import static parquet.filter.Predicate.ltEq;
+import static parquet.filter.Predicate.not;
+import static parquet.filter.Predicate.notEq;
+import static parquet.filter.Predicate.or;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+import parquet.column.statistics.BinaryStatistics;
+import parquet.column.statistics.DoubleStatistics;
+import parquet.column.statistics.FloatStatistics;
+import parquet.column.statistics.IntStatistics;
+import parquet.column.statistics.LongStatistics;
+import parquet.column.statistics.Statistics;
+import parquet.io.Binary;
+
+public class TestPredicate {
+
+  private static class MapStatisticsSource implements StatisticsSource {
+    private final Map<String, Statistics<?>> statistics = new HashMap<String, Statistics<?>>();
+    private final long valueCount;
+
+    MapStatisticsSource(long valueCount) {
+      this.valueCount = valueCount;
+    }
+
+    MapStatisticsSource add(String path, Statistics<?> stats) {
+      statistics.put(Arrays.toString(path.split("\\.")), stats);
+      return this;
+    }
+
+    @Override
+    public Statistics<?> getStatistics(String[] path) {
+      return statistics.get(Arrays.toString(path));
+    }
+
+    @Override
+    public long getValueCount(String[] path) {
+      return valueCount;
+    }
+  }
+
+  private static LongStatistics longStats(long min, long max, long nulls) {
+    LongStatistics stats = new LongStatistics();
+    stats.updateStats(min);
+    stats.updateStats(max);
+    stats.setNumNulls(nulls);
+    return stats;
+  }
+
+  @Test
+  public void testComparisons() {
+    StatisticsSource source = new MapStatisticsSource(10).add("a.b", longStats(10L, 20L, 0));
+    assertTrue(eq("a.b", 9L).canDrop(source));
+    assertFalse(eq("a.b", 10L).canDrop(source));
+    assertFalse(eq("a.b", 20L).canDrop(source));
+    assertTrue(eq("a.b", 21L).canDrop(source));
+
+    assertTrue(lt("a.b", 10L).canDrop(source));
+    assertFalse(lt("a.b", 11L).canDrop(source));
+    assertFalse(ltEq("a.b", 10L).canDrop(source));
+    assertTrue(ltEq("a.b", 9L).canDrop(source));
+    assertTrue(gt("a.b", 20L).canDrop(source));
+    assertFalse(gt("a.b", 19L).canDrop(source));
+    assertFalse(gtEq("a.b", 20L).canDrop(source));
+    assertTrue(gtEq("a.b", 21L).canDrop(source));
+
+    assertTrue(lt("a.b", 21L).allMatch(source));
+    assertFalse(lt("a.b", 20L).allMatch(source));
+    assertTrue(gtEq("a.b", 10L).allMatch(source));
+    assertFalse(gt("a.b", 10L).allMatch(source));
+
+    // unknown column
+    assertFalse(eq("a.c", 21L).canDrop(source));
+    assertFalse(eq("a.c", 21L).allMatch(source));
+  }
+
+  @Test
+  public void testNulls() {
+    StatisticsSource withNulls = new MapStatisticsSource(10).add("a", longStats(10L, 20L, 3));
+    assertFalse(lt("a", 21L).allMatch(withNulls));
+    assertFalse(not(gtEq("a", 21L)).canDrop(withNulls));
+
+    IntStatistics allNulls = new IntStatistics();
+    allNulls.setNumNulls(10);
+    StatisticsSource onlyNulls = new MapStatisticsSource(10).add("a", allNulls);
+    assertTrue(eq("a", 1).canDrop(onlyNulls));
+    assertTrue(in("a", Arrays.asList(1, 2)).canDrop(onlyNulls));
+    assertFalse(notEq("a", 1).canDrop(onlyNulls));
+  }
+
+  @Test
+  public void testInAndBinary() {
+    BinaryStatistics stats = new BinaryStatistics();
+    stats.updateStats(Binary.fromString("bar"));
+    stats.updateStats(Binary.fromString("foo"));
+    StatisticsSource source = new MapStatisticsSource(2).add("s", stats);
+    assertTrue(in("s", Arrays.asList(Binary.fromString("a"), Binary.fromString("zzz"))).canDrop(source));
+    assertFalse(in("s", Arrays.asList(Binary.fromString("a"), Binary.fromString("baz"))).canDrop(source));
+    assertFalse(eq("s", Binary.fromString("foo")).canDrop(source));
+
+    BinaryStatistics single = new BinaryStatistics();
+    single.updateStats(Binary.fromString("foo"));
+    StatisticsSource singleSource = new MapStatisticsSource(1).add("s", single);
+    assertTrue(in("s", Arrays.asList(Binary.fromString("foo"), Binary.fromString("bar"))).allMatch(singleSource));
+    assertTrue(notEq("s", Binary.fromString("foo")).canDrop(singleSource));
+    assertFalse(notEq("s", Binary.fromString("bar")).canDrop(singleSource));
+  }
+
+  @Test
+  public void testBooleanOperators() {
+    StatisticsSource source = new MapStatisticsSource(10)
+        .add("a", longStats(10L, 20L, 0))
+        .add("b", longStats(100L, 200L, 0));
+    assertTrue(and(eq("a", 15L), eq("b", 5L)).canDrop(source));
+    assertFalse(and(eq("a", 15L), eq("b", 150L)).canDrop(source));
+    assertFalse(or(eq("a", 5L), eq("b", 150L)).canDrop(source));
+    assertTrue(or(eq("a", 5L), eq("b", 5L)).canDrop(source));
+    assertTrue(not(and(gtEq("a", 10L), lt("b", 201L))).canDrop(source));
+    assertFalse(not(or(gtEq("a", 15L), lt("b", 150L))).canDrop(source));
+  }
+
+  @Test
+  public void testNaNAndNegativeZero() {
+    // the row groups must not be dropped when the records would match
+    DoubleStatistics zeros = new DoubleStatistics();
+    zeros.updateStats(0.0);
+    zeros.updateStats(-0.0);
+    StatisticsSource zerosSource = new MapStatisticsSource(2).add("x", zeros);
+    assertFalse(lt("x", 0.0).canDrop(zerosSource));
+    assertFalse(notEq("x", 0.0).canDrop(zerosSource));
+    assertFalse(eq("x", -0.0).canDrop(zerosSource));
+
+    DoubleStatistics nans = new DoubleStatistics();
+    nans.updateStats(Double.NaN);
+    nans.updateStats(Double.NaN);
+    StatisticsSource nansSource = new MapStatisticsSource(2).add("x", nans);
+    assertFalse(gt("x", 1.0).canDrop(nansSource));
+    assertTrue(gt("x", 1.0).allMatch(nansSource));
+    assertFalse(eq("x", Double.NaN).canDrop(nansSource));
+    assertTrue(lt("x", 1.0).canDrop(nansSource));
+
+    FloatStatistics mixed = new FloatStatistics();
+    mixed.updateStats(1.5f);
+    mixed.updateStats(Float.NaN);
+    StatisticsSource mixedSource = new MapStatisticsSource(2).add("f", mixed);
+    assertFalse(gt("f", 2f).canDrop(mixedSource));
+    assertFalse(notEq("f", 1.5f).canDrop(mixedSource));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testTypeMismatch() {
+    StatisticsSource source = new MapStatisticsSource(10).add("a", longStats(10L, 20L, 0));
+    eq("a", 15).canDrop(source);
+  }
+}
@@ -0,0 +1,42 @@
+/**
+ * Copyright 2012 Twitter, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package parquet.io;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class TestBinary {
+
+  @Test
+  public void testToString() {
+    assertEquals("Binary{0 bytes, \"\"}", Binary.EMPTY.toString());
+    assertEquals("Binary{5 bytes, \"hello\"}", Binary.fromString("hello").toString());
+    assertEquals("Binary{3 bytes, 0x00ff10}", Binary.fromByteArray(new byte[] { 0, -1, 16 }).toString());
+    byte[] bytes = "__abc__".getBytes();
+    assertEquals("Binary{3 bytes, \"abc\"}", Binary.fromByteArray(bytes, 2, 3).toString());
+  }
+
+  @Test
+  public void testToStringIsBounded() {
+    StringBuilder value = new StringBuilder();
+    for (int i = 0; i < 1000; i++) {
+      value.append('a');
+    }
+    String string = Binary.fromString(value.toString()).toString();
+    assertEquals("Binary{1000 bytes, \"" + value.substring(0, 32) + "\"...}", string);
+  }
+}
@@ -0,0 +1,122 @@
+/**
+ * Copyright 2012 Twitter, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package parquet.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static parquet.example.Paper.r1;
+import static parquet.example.Paper.r2;
+import static parquet.example.Paper.schema;
+import static parquet.filter.Predicate.and;
+import static parquet.filter.Predicate.eq;
+import static parquet.filter.Predicate.gt;
+import static parquet.filter.Predicate.in;
+import static parquet.filter.Predicate.not;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import parquet.column.mem.MemColumnWriteStore;
+import parquet.column.mem.MemPageStore;
+import parquet.example.data.Group;
+import parquet.example.data.GroupWriter;
+import parquet.example.data.simple.convert.GroupRecordConverter;
+import parquet.filter.Predicate;
+
+public class TestFiltered {
+
+  private MemPageStore writeRecords(int copies) {
+    MemPageStore memPageStore = new MemPageStore();
+    MemColumnWriteStore columns = new MemColumnWriteStore(memPageStore, 800);
+    MessageColumnIO columnIO = new ColumnIOFactory(true).getColumnIO(schema);
+    GroupWriter groupWriter = new GroupWriter(columnIO.getRecordWriter(columns), schema);
+    for (int i = 0; i < copies; i++) {
+      groupWriter.write(r1);
+      groupWriter.write(r2);
+    }
+    columns.flush();
+    // the end of the records is found without the row count of the store
+    return memPageStore;
+  }
+
+  private RecordReader<Group> getRecordReader(MemPageStore memPageStore, Predicate predicate) {
+    MessageColumnIO columnIO = new ColumnIOFactory(true).getColumnIO(schema);
+    return columnIO.getRecordReader(memPageStore, new GroupRecordConverter(schema), predicate);
+  }
+
+  @Test
+  public void testFilterOnRequiredColumn() {
+    MemPageStore memPageStore = writeRecords(3);
+
+    RecordReader<Group> recordReader = getRecordReader(memPageStore, eq("DocId", 20L));
+    for (int i = 0; i < 3; i++) {
+      assertEquals(r2.toString(), recordReader.read().toString());
+    }
+    assertNull(recordReader.read());
+
+    recordReader = getRecordReader(memPageStore, not(gt("DocId", 10L)));
+    for (int i = 0; i < 3; i++) {
+      assertEquals(r1.toString(), recordReader.read().toString());
+    }
+    assertNull(recordReader.read());
+
+    recordReader = getRecordReader(memPageStore, in("DocId", Arrays.asList(10L, 20L)));
+    for (int i = 0; i < 3; i++) {
+      assertEquals(r1.toString(), recordReader.read().toString());
+      assertEquals(r2.toString(), recordReader.read().toString());
+    }
+    assertNull(recordReader.read());
+
+    recordReader = getRecordReader(memPageStore, eq("DocId", 30L));
+    assertNull(recordReader.read());
+  }
+
+  @Test
+  public void testFilterOnRepeatedColumn() {
+    MemPageStore memPageStore = writeRecords(1);
+    // can not be evaluated record by record: all the records are returned
+    RecordReader<Group> recordReader = getRecordReader(memPageStore, eq("Name.Url", Binary.fromString("http://C")));
+    assertEquals(r1.toString(), recordReader.read().toString());
+    assertEquals(r2.toString(), recordReader.read().toString());
+    assertNull(recordReader.read());
+  }
+
+  @Test
+  public void testFilterOnRequiredAndRepeatedColumns() {
+    MemPageStore memPageStore = writeRecords(3);
+    // only the required column is evaluated record by record
+    Predicate predicate = and(eq("DocId", 20L), eq("Name.Url", Binary.fromString("http://C")));
+    RecordReader<Group> recordReader = getRecordReader(memPageStore, predicate);
+    for (int i = 0; i < 3; i++) {
+      assertEquals(r2.toString(), recordReader.read().toString());
+    }
+    assertNull(recordReader.read());
+
+    // the negation needs the whole predicate: all the records are returned
+    recordReader = getRecordReader(memPageStore, not(predicate));
+    for (int i = 0; i < 3; i++) {
+      assertEquals(r1.toString(), recordReader.read().toString());
+      assertEquals(r2.toString(), recordReader.read().toString());
+    }
+    assertNull(recordReader.read());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testTypeMismatch() {
+    getRecordReader(writeRecords(1), eq("DocId", 20));
+  }
+}
@@ -0,0 +1,117 @@
+/**
+ * Copyright 2012 Twitter, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package parquet.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+import static parquet.example.Paper.pr1;
+import static parquet.example.Paper.pr2;
+import static parquet.example.Paper.r1;
+import static parquet.example.Paper.r2;
+import static parquet.example.Paper.schema;
+import static parquet.example.Paper.schema2;
+import static parquet.filter.Predicate.eq;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import org.junit.Test;
+
+import parquet.column.mem.MemColumnWriteStore;
+import parquet.column.mem.MemPageStore;
+import parquet.example.data.Group;
+import parquet.example.data.GroupWriter;
+import parquet.example.data.simple.convert.GroupRecordConverter;
+import parquet.schema.MessageType;
+
+public class TestRecordReaderCompiler {
+
+  private MemPageStore writeRecords() {
+    MemPageStore memPageStore = new MemPageStore();
+    MemColumnWriteStore columns = new MemColumnWriteStore(memPageStore, 800);
+    MessageColumnIO columnIO = new ColumnIOFactory(true).getColumnIO(schema);
+    GroupWriter groupWriter = new GroupWriter(columnIO.getRecordWriter(columns), schema);
+    groupWriter.write(r1);
+    groupWriter.write(r2);
+    columns.flush();
+    memPageStore.addRowCount(2);
+    return memPageStore;
+  }
+
+  private RecordReaderImplementation<Group> getInterpreter(MemPageStore memPageStore, MessageType requestedSchema) {
+    MessageColumnIO columnIO = new ColumnIOFactory(true).getColumnIO(requestedSchema);
+    return (RecordReaderImplementation<Group>)columnIO.getRecordReader(memPageStore, new GroupRecordConverter(requestedSchema));
+  }
+
+  @Test
+  public void testCompiledReader() {
+    MemPageStore memPageStore = writeRecords();
+    RecordReaderCompiler compiler = new RecordReaderCompiler();
+
+    BaseRecordReader<Group> recordReader = compiler.newCompiledReader(getInterpreter(memPageStore, schema));
+    assertEquals(r1.toString(), recordReader.read().toString());
+    assertEquals(r2.toString(), recordReader.read().toString());
+
+    BaseRecordReader<Group> projectedRecordReader = compiler.newCompiledReader(getInterpreter(memPageStore, schema2));
+    assertEquals(pr1.toString(), projectedRecordReader.read().toString());
+    assertEquals(pr2.toString(), projectedRecordReader.read().toString());
+  }
+
+  @Test
+  public void testCompiledEvents() {
+    MemPageStore memPageStore = writeRecords();
+    final Deque<String> expectations = new ArrayDeque<String>();
+    for (String string : TestColumnIO.expectedEventsForR1) {
+      expectations.add(string);
+    }
+    MessageColumnIO columnIO = new ColumnIOFactory().getColumnIO(schema);
+    RecordReader<Void> recordReader = new RecordReaderCompiler().compile(
+        columnIO.getRecordReader(memPageStore, new ExpectationValidatingConverter(expectations, schema)));
+    recordReader.read();
+    assertEquals(0, expectations.size());
+  }
+
+  @Test
+  public void testCompiledFilteredReader() {
+    MemPageStore memPageStore = writeRecords();
+    MessageColumnIO columnIO = new ColumnIOFactory(true).getColumnIO(schema);
+    RecordReader<Group> recordReader = new RecordReaderCompiler().compile(
+        columnIO.getRecordReader(memPageStore, new GroupRecordConverter(schema), eq("DocId", 20L)));
+    assertEquals(r2.toString(), recordReader.read().toString());
+    assertNull(recordReader.read());
+  }
+
+  @Test
+  public void testCompilationFailureIsCached() {
+    String source = "package parquet.io.compiled;\npublic final class RecordReader extends NotAClass {}\n";
+    CompilationException first = null;
+    try {
+      RecordReaderCompiler.getCompiledClass(source);
+      fail("invalid source");
+    } catch (CompilationException e) {
+      first = e;
+    }
+    try {
+      RecordReaderCompiler.getCompiledClass(source);
+      fail("invalid source");
+    } catch (CompilationException e) {
+      // not compiled again
+      assertSame(first, e.getCause());
+    }
+  }
+}
@@ -20,6 +20,8 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -36,6 +38,7 @@ import org.apache.thrift.transport.TIOStreamTransport;
 import parquet.format.ColumnChunk;
 import parquet.format.CompressionCodec;
 import parquet.format.DataPageHeader;
+import parquet.format.DictionaryPageHeader;
 import parquet.format.Encoding;
 import parquet.format.FieldLevelEncoding;
 import parquet.format.FieldRepetitionType;
@@ -45,11 +48,13 @@ import parquet.format.PageHeader;
 import parquet.format.PageType;
 import parquet.format.RowGroup;
 import parquet.format.SchemaElement;
+import parquet.format.Statistics;
 import parquet.format.Type;
 import parquet.hadoop.metadata.BlockMetaData;
 import parquet.hadoop.metadata.ColumnChunkMetaData;
 import parquet.hadoop.metadata.CompressionCodecName;
 import parquet.hadoop.metadata.ParquetMetadata;
+import parquet.io.ParquetEncodingException;
 import parquet.schema.GroupType;
 import parquet.schema.MessageType;
 import parquet.schema.PrimitiveType;
@@ -59,6 +64,13 @@ import parquet.schema.Type.Repetition;
 
 public class ParquetMetadataConverter {
 
+  /**
+   * the encodings that parquet-format can describe.
+   * The other encodings of the column layer are experimental and not written to files
+   */
+  public static final Set<parquet.column.Encoding> FILE_ENCODINGS = Collections.unmodifiableSet(
+      EnumSet.of(parquet.column.Encoding.PLAIN, parquet.column.Encoding.PLAIN_DICTIONARY));
+
   public FileMetaData toParquetMetadata(int currentVersion, ParquetMetadata parquetMetadata) {
     List<BlockMetaData> blocks = parquetMetadata.getBlocks();
     List<RowGroup> rowGroups = new ArrayList<RowGroup>();
@@ -148,6 +160,9 @@ public class ParquetMetadataConverter {
           columnMetaData.getTotalSize(),
           columnMetaData.getFirstDataPageOffset()
           );
+      if (columnMetaData.getStatistics() != null && !columnMetaData.getStatistics().isEmpty()) {
+        columnChunk.meta_data.setStatistics(toParquetStatistics(columnMetaData.getStatistics()));
+      }
 //      columnChunk.meta_data.index_page_offset = ;
 //      columnChunk.meta_data.key_value_metadata = ; // nothing yet
 
@@ -177,6 +192,8 @@ public class ParquetMetadataConverter {
     switch (encoding) {
     case PLAIN:
       return parquet.column.Encoding.PLAIN;
+    case PLAIN_DICTIONARY:
+      return parquet.column.Encoding.PLAIN_DICTIONARY;
     default:
       throw new RuntimeException("Unknown encoding " + encoding);
     }
@@ -186,9 +203,41 @@ public class ParquetMetadataConverter {
     switch (encoding) {
     case PLAIN:
       return parquet.format.Encoding.PLAIN;
+    case PLAIN_DICTIONARY:
+      return parquet.format.Encoding.PLAIN_DICTIONARY;
     default:
-      throw new RuntimeException("Unknown encoding " + encoding);
+      throw new ParquetEncodingException("encoding " + encoding + " can not be written to a file");
+    }
+  }
+
+  /**
+   * @param statistics the statistics of a page or a column chunk
+   * @return the corresponding thrift statistics
+   */
+  public static Statistics toParquetStatistics(parquet.column.statistics.Statistics<?> statistics) {
+    Statistics stats = new Statistics();
+    stats.setNull_count(statistics.getNumNulls());
+    if (statistics.hasNonNullValue()) {
+      stats.setMax(statistics.getMaxBytes());
+      stats.setMin(statistics.getMinBytes());
+    }
+    return stats;
+  }
+
+  /**
+   * @param statistics the thrift statistics
+   * @param type the type of the column
+   * @return the corresponding statistics
+   */
+  public static parquet.column.statistics.Statistics<?> fromParquetStatistics(Statistics statistics, PrimitiveTypeName type) {
+    parquet.column.statistics.Statistics<?> stats = parquet.column.statistics.Statistics.getStatsBasedOnType(type);
+    if (statistics != null) {
+      if (statistics.isSetMax() && statistics.isSetMin()) {
+        stats.setMinMaxFromBytes(statistics.getMin(), statistics.getMax());
+      }
+      stats.setNumNulls(statistics.getNull_count());
     }
+    return stats;
   }
 
   private PrimitiveTypeName getPrimitive(Type type) {
@@ -258,6 +307,9 @@ public class ParquetMetadataConverter {
         column.setValueCount(metaData.num_values);
         column.setTotalUncompressedSize(metaData.total_uncompressed_size);
         column.setTotalSize(metaData.total_compressed_size);
+        if (metaData.isSetStatistics()) {
+          column.setStatistics(fromParquetStatistics(metaData.statistics, column.getType()));
+        }
         // TODO
         // index_page_offset
         // key_value_metadata
@@ -322,7 +374,28 @@ public class ParquetMetadataConverter {
       int valueCount,
       parquet.column.Encoding encoding,
       OutputStream to) throws IOException {
-    writePageHeader(newDataPageHeader(uncompressedSize, compressedSize, valueCount, encoding), to);
+    writePageHeader(newDataPageHeader(uncompressedSize, compressedSize, valueCount, null, encoding), to);
+  }
+
+  public void writeDataPageHeader(
+      int uncompressedSize,
+      int compressedSize,
+      int valueCount,
+      parquet.column.statistics.Statistics<?> statistics,
+      parquet.column.Encoding encoding,
+      OutputStream to) throws IOException {
+    writePageHeader(newDataPageHeader(uncompressedSize, compressedSize, valueCount, statistics, encoding), to);
+  }
+
+  public void writeDictionaryPageHeader(
+      int uncompressedSize,
+      int compressedSize,
+      int valueCount,
+      parquet.column.Encoding encoding,
+      OutputStream to) throws IOException {
+    PageHeader pageHeader = new PageHeader(PageType.DICTIONARY_PAGE, uncompressedSize, compressedSize);
+    pageHeader.dictionary_page_header = new DictionaryPageHeader(valueCount, getEncoding(encoding));
+    writePageHeader(pageHeader, to);
   }
 
   protected void writePageHeader(PageHeader pageHeader, OutputStream to) throws IOException {
@@ -383,6 +456,7 @@ public class ParquetMetadataConverter {
   private PageHeader newDataPageHeader(
       int uncompressedSize, int compressedSize,
       int valueCount,
+      parquet.column.statistics.Statistics<?> statistics,
       parquet.column.Encoding encoding) {
     PageHeader pageHeader = new PageHeader(PageType.DATA_PAGE, (int)uncompressedSize, (int)compressedSize);
     // TODO: pageHeader.crc = ...;
@@ -391,6 +465,9 @@ public class ParquetMetadataConverter {
         getEncoding(encoding),
         FieldLevelEncoding.RLE, // TODO: manage several encodings
         FieldLevelEncoding.BIT_PACKED);
+    if (statistics != null && !statistics.isEmpty()) {
+      pageHeader.data_page_header.setStatistics(toParquetStatistics(statistics));
+    }
     return pageHeader;
   }
 
@@ -0,0 +1,135 @@
+/**
+ * Copyright 2012 Twitter, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package parquet.hadoop;
+
+import static parquet.Log.DEBUG;
+
+import java.io.IOException;
+import java.util.LinkedList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+import parquet.Log;
+import parquet.column.mem.MemColumnWriteStore;
+
+/**
+ * Writes the row groups to the file in a background thread while the next row group is being filled.
+ * The row groups are written in order. At most maxPending row groups wait to be written,
+ * the writing thread blocks when handing off one more.
+ *
+ * Errors are reported by the next call to {@link #flush(long, MemColumnWriteStore, ColumnChunkPageWriteStore)} or {@link #close()}
+ *
+ * @author Julien Le Dem
+ *
+ */
+class AsyncRowGroupFlusher {
+  private static final Log LOG = Log.getLog(AsyncRowGroupFlusher.class);
+
+  private static final ThreadFactory THREAD_FACTORY = new ThreadFactory() {
+    @Override
+    public Thread newThread(Runnable r) {
+      Thread thread = new Thread(r, "parquet-row-group-flusher");
+      thread.setDaemon(true);
+      return thread;
+    }
+  };
+
+  private final ParquetFileWriter w;
+  private final int maxPending;
+  private final ExecutorService executor = Executors.newSingleThreadExecutor(THREAD_FACTORY);
+  private final LinkedList<Future<Void>> pending = new LinkedList<Future<Void>>();
+
+  /**
+   * @param w the file to write to (must not be used by anybody else until closed)
+   * @param maxPending the maximum number of row groups handed off and not written yet
+   */
+  AsyncRowGroupFlusher(ParquetFileWriter w, int maxPending) {
+    if (maxPending < 1) {
+      throw new IllegalArgumentException("maxPending must be at least 1: " + maxPending);
+    }
+    this.w = w;
+    this.maxPending = maxPending;
+  }
+
+  /**
+   * flushes the columns of a row group and hands off its pages to be written in the background.
+   * The columns are flushed in the calling thread as they share the compressor with the next row group.
+   * The stores must not be used by the caller anymore
+   * @param recordCount the number of records in the row group
+   * @param store the columns of the row group
+   * @param pageStore the pages of the row group
+   * @throws IOException if a previous row group could not be written
+   * @throws InterruptedException if interrupted while waiting for a previous row group to be written
+   */
+  void flush(final long recordCount, MemColumnWriteStore store, final ColumnChunkPageWriteStore pageStore) throws IOException, InterruptedException {
+    while (!pending.isEmpty() && (pending.size() >= maxPending || pending.getFirst().isDone())) {
+      if (DEBUG) LOG.debug("waiting for a row group to be written, " + pending.size() + " pending");
+      waitFor(pending.removeFirst());
+    }
+    store.flush();
+    pending.add(executor.submit(new Callable<Void>() {
+      @Override
+      public Void call() throws Exception {
+        w.startBlock(recordCount);
+        pageStore.flushToFileWriter(w);
+        w.endBlock();
+        return null;
+      }
+    }));
+  }
+
+  /**
+   * @return the number of row groups handed off and not known to be written
+   */
+  int getPendingCount() {
+    return pending.size();
+  }
+
+  /**
+   * waits for all the row groups to be written and stops the background thread
+   * @throws IOException if a row group could not be written
+   * @throws InterruptedException if interrupted while waiting
+   */
+  void close() throws IOException, InterruptedException {
+    try {
+      while (!pending.isEmpty()) {
+        waitFor(pending.removeFirst());
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private void waitFor(Future<Void> rowGroup) throws IOException, InterruptedException {
+    try {
+      rowGroup.get();
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof IOException) {
+        throw (IOException)cause;
+      } else if (cause instanceof RuntimeException) {
+        throw (RuntimeException)cause;
+      } else if (cause instanceof Error) {
+        throw (Error)cause;
+      }
+      throw new IOException("could not write row group", cause);
+    }
+  }
+}
@@ -19,11 +19,13 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
 
 
 import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.io.IOUtils;
 import org.apache.hadoop.io.compress.CodecPool;
 import org.apache.hadoop.io.compress.CompressionCodec;
 import org.apache.hadoop.io.compress.CompressionOutputStream;
@@ -31,15 +33,21 @@ import org.apache.hadoop.io.compress.Compressor;
 import org.apache.hadoop.io.compress.Decompressor;
 import org.apache.hadoop.util.ReflectionUtils;
 
+import parquet.bytes.ByteBufferInputStream;
 import parquet.bytes.BytesInput;
 import parquet.hadoop.metadata.CompressionCodecName;
 
 class CodecFactory {
 
+  /**
+   * Decompresses pages into a buffer reused from one page to the next.
+   * The result of {@link #decompress(BytesInput, int)} must be consumed before the next call.
+   */
   public class BytesDecompressor {
 
     private final CompressionCodec codec;
     private final Decompressor decompressor;
+    private byte[] decompressedBuffer = new byte[0];
 
     public BytesDecompressor(CompressionCodec codec) {
       this.codec = codec;
@@ -54,14 +62,29 @@ class CodecFactory {
       final BytesInput decompressed;
       if (codec != null) {
         decompressor.reset();
-        InputStream is = codec.createInputStream(new ByteArrayInputStream(bytes.toByteArray()), decompressor);
-        decompressed = BytesInput.from(is, uncompressedSize);
+        InputStream is = codec.createInputStream(toInputStream(bytes), decompressor);
+        if (decompressedBuffer.length < uncompressedSize) {
+          decompressedBuffer = new byte[uncompressedSize];
+        }
+        IOUtils.readFully(is, decompressedBuffer, 0, uncompressedSize);
+        decompressed = BytesInput.from(decompressedBuffer, 0, uncompressedSize);
       } else {
         decompressed = bytes;
       }
       return decompressed;
     }
 
+    /**
+     * the compressed bytes are read in place, whether they are in a heap or a direct (mapped) buffer
+     */
+    private InputStream toInputStream(BytesInput bytes) throws IOException {
+      ByteBuffer buffer = bytes.toByteBuffer();
+      if (buffer.hasArray()) {
+        return new ByteArrayInputStream(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+      }
+      return new ByteBufferInputStream(buffer);
+    }
+
     private void release() {
       if (decompressor != null) {
         CodecPool.returnDecompressor(decompressor);
@@ -113,7 +136,7 @@ class CodecFactory {
       return compressedBytes;
     }
 
-    private void release() {
+    void release() {
       if (compressor != null) {
         CodecPool.returnCompressor(compressor);
       }
@@ -169,6 +192,15 @@ class CodecFactory {
     return comp;
   }
 
+  /**
+   * @param codecName the requested codec
+   * @param pageSize the size of a page (this will be approximate)
+   * @return a new compressor that is not shared and must be released by the caller
+   */
+  BytesCompressor newCompressor(CompressionCodecName codecName, int pageSize) {
+    return new BytesCompressor(codecName, getCodec(codecName), pageSize);
+  }
+
   public BytesDecompressor getDecompressor(CompressionCodecName codecName) {
     BytesDecompressor decomp = decompressors.get(codecName);
     if (decomp == null) {
@@ -23,11 +23,14 @@ import java.util.List;
 import java.util.Map;
 
 import parquet.Log;
+import parquet.bytes.BytesInput;
 import parquet.column.ColumnDescriptor;
+import parquet.column.mem.DictionaryPage;
 import parquet.column.mem.Page;
 import parquet.column.mem.PageReadStore;
 import parquet.column.mem.PageReader;
 import parquet.hadoop.CodecFactory.BytesDecompressor;
+import parquet.io.ParquetDecodingException;
 
 /**
  * TODO: should this actually be called RowGroupImpl or something?
@@ -44,16 +47,29 @@ class ColumnChunkPageReadStore implements PageReadStore {
    *
    * This implementation is provided with a list of pages, each of which
    * is decompressed and passed through. 
+   * The pages can also be decompressed ahead of time with {@link #decompress()}.
    */
   static final class ColumnChunkPageReader implements PageReader {
 
     private final BytesDecompressor decompressor;
     private final long valueCount;
     private final List<Page> compressedPages;
+    private DictionaryPage compressedDictionaryPage;
+    private final String description;
+    private int pageCount = 0;
+    private boolean decompressed = false;
 
-    ColumnChunkPageReader(BytesDecompressor decompressor, List<Page> compressedPages) {
+    /**
+     * @param decompressor to decompress the pages
+     * @param compressedPages the data pages of the chunk
+     * @param compressedDictionaryPage the dictionary page of the chunk or null
+     * @param description the column and the position of the chunk in the file, for the error messages
+     */
+    ColumnChunkPageReader(BytesDecompressor decompressor, List<Page> compressedPages, DictionaryPage compressedDictionaryPage, String description) {
       this.decompressor = decompressor;
+      this.description = description;
       this.compressedPages = new LinkedList<Page>(compressedPages);
+      this.compressedDictionaryPage = compressedDictionaryPage;
       int count = 0;
       for (Page p : compressedPages) {
         count += p.getValueCount();
@@ -72,19 +88,68 @@ class ColumnChunkPageReadStore implements PageReadStore {
         return null;
       }
       Page compressedPage = compressedPages.remove(0); 
+      ++ pageCount;
+      if (decompressed) {
+        return compressedPage;
+      }
       try {
         return new Page(
             decompressor.decompress(compressedPage.getBytes(), compressedPage.getUncompressedSize()),
             compressedPage.getValueCount(),
             compressedPage.getUncompressedSize(),
+            compressedPage.getStatistics(),
             compressedPage.getEncoding());
       } catch (IOException e) {
-        throw new RuntimeException(e); // TODO: cleanup
+        throw new ParquetDecodingException("could not decompress data page " + pageCount + " of " + description, e);
+      }
+    }
+
+    @Override
+    public DictionaryPage readDictionaryPage() {
+      if (compressedDictionaryPage == null) {
+        return null;
+      }
+      if (decompressed) {
+        return compressedDictionaryPage;
+      }
+      try {
+        return new DictionaryPage(
+            decompressor.decompress(compressedDictionaryPage.getBytes(), compressedDictionaryPage.getUncompressedSize()),
+            compressedDictionaryPage.getDictionarySize(),
+            compressedDictionaryPage.getEncoding());
+      } catch (IOException e) {
+        throw new ParquetDecodingException("could not decompress the dictionary page of " + description, e);
       }
     }
+
+    /**
+     * decompresses all the pages in memory so that reading them does not use the decompressor anymore
+     * @throws IOException if the pages can not be decompressed
+     */
+    void decompress() throws IOException {
+      if (decompressed) {
+        return;
+      }
+      for (int i = 0; i < compressedPages.size(); i++) {
+        Page compressedPage = compressedPages.get(i);
+        compressedPages.set(i, new Page(
+            BytesInput.copy(decompressor.decompress(compressedPage.getBytes(), compressedPage.getUncompressedSize())),
+            compressedPage.getValueCount(),
+            compressedPage.getUncompressedSize(),
+            compressedPage.getStatistics(),
+            compressedPage.getEncoding()));
+      }
+      if (compressedDictionaryPage != null) {
+        compressedDictionaryPage = new DictionaryPage(
+            BytesInput.copy(decompressor.decompress(compressedDictionaryPage.getBytes(), compressedDictionaryPage.getUncompressedSize())),
+            compressedDictionaryPage.getDictionarySize(),
+            compressedDictionaryPage.getEncoding());
+      }
+      decompressed = true;
+    }
   }
 
-  private final Map<ColumnDescriptor, ColumnChunkPageReader> readers = new HashMap<ColumnDescriptor, ColumnChunkPageReader>();
+  private final Map<ColumnDescriptor, PageReader> readers = new HashMap<ColumnDescriptor, PageReader>();
   private final long rowCount;
 
   public ColumnChunkPageReadStore(long rowCount) {
@@ -104,7 +169,20 @@ class ColumnChunkPageReadStore implements PageReadStore {
     return readers.get(path);
   }
 
-  void addColumn(ColumnDescriptor path, ColumnChunkPageReader reader) {
+  /**
+   * decompresses all the pages of the row group in memory.
+   * The pages of streaming readers are not in memory and are left alone.
+   * @throws IOException if the pages can not be decompressed
+   */
+  void decompress() throws IOException {
+    for (PageReader reader : readers.values()) {
+      if (reader instanceof ColumnChunkPageReader) {
+        ((ColumnChunkPageReader)reader).decompress();
+      }
+    }
+  }
+
+  void addColumn(ColumnDescriptor path, PageReader reader) {
     if (readers.put(path, reader) != null) {
       throw new RuntimeException(path+ " was added twice");
     }
@@ -19,28 +19,55 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Future;
 
 import parquet.bytes.BytesInput;
 import parquet.bytes.CapacityByteArrayOutputStream;
 import parquet.column.ColumnDescriptor;
 import parquet.column.Encoding;
+import parquet.column.mem.DictionaryPage;
 import parquet.column.mem.PageWriteStore;
 import parquet.column.mem.PageWriter;
+import parquet.column.statistics.Statistics;
 import parquet.format.converter.ParquetMetadataConverter;
 import parquet.hadoop.CodecFactory.BytesCompressor;
+import parquet.io.ParquetEncodingException;
 import parquet.schema.MessageType;
 
 class ColumnChunkPageWriteStore implements PageWriteStore {
 
   private static ParquetMetadataConverter parquetMetadataConverter = new ParquetMetadataConverter();
 
+  /**
+   * a page waiting for its compression to be done
+   */
+  private static final class PendingPage {
+    private final Future<BytesInput> compressedBytes;
+    private final long uncompressedSize;
+    private final int valueCount;
+    private final Statistics<?> statistics;
+    private final Encoding encoding;
+
+    PendingPage(Future<BytesInput> compressedBytes, long uncompressedSize, int valueCount, Statistics<?> statistics, Encoding encoding) {
+      this.compressedBytes = compressedBytes;
+      this.uncompressedSize = uncompressedSize;
+      this.valueCount = valueCount;
+      this.statistics = statistics;
+      this.encoding = encoding;
+    }
+  }
+
   private static final class ColumnChunkPageWriter implements PageWriter {
 
     private final ColumnDescriptor path;
     private final BytesCompressor compressor;
+    private final ParallelPageCompressor parallelCompressor;
+    private final LinkedList<PendingPage> pendingPages = new LinkedList<PendingPage>();
+    private long pendingSize;
 
     private final CapacityByteArrayOutputStream buf;
 
@@ -48,63 +75,123 @@ class ColumnChunkPageWriteStore implements PageWriteStore {
     private long compressedLength;
     private long totalValueCount;
 
+    private DictionaryPage dictionaryPage;
+
+    private Statistics<?> totalStatistics;
+
     private Set<Encoding> encodings = new HashSet<Encoding>();
 
-    private ColumnChunkPageWriter(ColumnDescriptor path, BytesCompressor compressor, int initialSize) {
+    private ColumnChunkPageWriter(ColumnDescriptor path, BytesCompressor compressor, ParallelPageCompressor parallelCompressor, int initialSize) {
       this.path = path;
       this.compressor = compressor;
+      this.parallelCompressor = parallelCompressor;
       this.buf = new CapacityByteArrayOutputStream(initialSize);
+      this.totalStatistics = Statistics.getStatsBasedOnType(path.getType());
     }
 
     @Override
-    public void writePage(BytesInput bytes, int valueCount, Encoding encoding) throws IOException {
-      long uncompressedSize = bytes.size();
-      BytesInput compressedBytes = compressor.compress(bytes);
+    public void writePage(BytesInput bytes, int valueCount, Statistics<?> statistics, Encoding encoding) throws IOException {
+      if (parallelCompressor == null) {
+        writeCompressedPage(compressor.compress(bytes), bytes.size(), valueCount, statistics, encoding);
+      } else {
+        // the column writer reuses its buffers once the page is written
+        BytesInput uncompressedBytes = BytesInput.copy(bytes);
+        pendingPages.add(new PendingPage(parallelCompressor.compress(uncompressedBytes), uncompressedBytes.size(), valueCount, statistics, encoding));
+        pendingSize += uncompressedBytes.size();
+        writePendingPages(false);
+      }
+    }
+
+    /**
+     * writes the pending pages in order
+     * @param wait whether to wait for all of them to be compressed or to stop at the first one that is not done
+     */
+    private void writePendingPages(boolean wait) throws IOException {
+      while (!pendingPages.isEmpty() && (wait || pendingPages.getFirst().compressedBytes.isDone())) {
+        PendingPage page = pendingPages.removeFirst();
+        pendingSize -= page.uncompressedSize;
+        writeCompressedPage(ParallelPageCompressor.get(page.compressedBytes), page.uncompressedSize, page.valueCount, page.statistics, page.encoding);
+      }
+    }
+
+    private void writeCompressedPage(BytesInput compressedBytes, long uncompressedSize, int valueCount, Statistics<?> statistics, Encoding encoding) throws IOException {
       long compressedSize = compressedBytes.size();
       parquetMetadataConverter.writeDataPageHeader(
           (int)uncompressedSize,
           (int)compressedSize,
           valueCount,
+          statistics,
           encoding,
           buf);
       this.uncompressedLength += uncompressedSize;
       this.compressedLength += compressedSize;
       this.totalValueCount += valueCount;
       compressedBytes.writeAllTo(buf);
+      if (statistics != null) {
+        totalStatistics.mergeStatistics(statistics);
+      }
       encodings.add(encoding);
     }
 
     @Override
     public long getMemSize() {
-      return buf.size();
+      return buf.size() + pendingSize;
     }
 
     public void writeToFileWriter(ParquetFileWriter writer) throws IOException {
+      writePendingPages(true);
       writer.startColumn(path, totalValueCount, compressor.getCodecName());
-      writer.writeDataPages(BytesInput.from(buf), uncompressedLength, compressedLength, new ArrayList<Encoding>(encodings));
+      if (dictionaryPage != null) {
+        writer.writeDictionaryPage(dictionaryPage);
+        encodings.add(dictionaryPage.getEncoding());
+      }
+      writer.writeDataPages(BytesInput.from(buf), uncompressedLength, compressedLength, totalStatistics, new ArrayList<Encoding>(encodings));
       writer.endColumn();
       encodings.clear();
+      totalStatistics = Statistics.getStatsBasedOnType(path.getType());
     }
 
     @Override
     public long allocatedSize() {
       return buf.getCapacity();
     }
+
+    @Override
+    public void writeDictionaryPage(DictionaryPage dictionaryPage) throws IOException {
+      if (this.dictionaryPage != null) {
+        throw new ParquetEncodingException("Only one dictionary page is allowed");
+      }
+      BytesInput dictionaryBytes = dictionaryPage.getBytes();
+      int uncompressedSize = (int)dictionaryBytes.size();
+      BytesInput compressedBytes = compressor.compress(dictionaryBytes);
+      this.dictionaryPage = new DictionaryPage(BytesInput.copy(compressedBytes), uncompressedSize, dictionaryPage.getDictionarySize(), dictionaryPage.getEncoding());
+    }
   }
 
   private final Map<ColumnDescriptor, ColumnChunkPageWriter> writers = new HashMap<ColumnDescriptor, ColumnChunkPageWriter>();
   private final MessageType schema;
   private final BytesCompressor compressor;
+  private final ParallelPageCompressor parallelCompressor;
 
   public ColumnChunkPageWriteStore(BytesCompressor compressor, MessageType schema) {
+    this(compressor, schema, null);
+  }
+
+  /**
+   * @param compressor the compressor used to compress the pages and the dictionaries
+   * @param schema the schema of the file
+   * @param parallelCompressor if not null the data pages are compressed by this pool of threads instead
+   */
+  public ColumnChunkPageWriteStore(BytesCompressor compressor, MessageType schema, ParallelPageCompressor parallelCompressor) {
     this.compressor = compressor;
     this.schema = schema;
+    this.parallelCompressor = parallelCompressor;
   }
 
   @Override
   public PageWriter getPageWriter(ColumnDescriptor path) {
     if (!writers.containsKey(path)) {
-      writers.put(path,  new ColumnChunkPageWriter(path, compressor, 1024*1024/2)); // TODO: better deal with this initial size
+      writers.put(path,  new ColumnChunkPageWriter(path, compressor, parallelCompressor, 64*1024)); // the buffer grows without copying
     }
     return writers.get(path);
   }
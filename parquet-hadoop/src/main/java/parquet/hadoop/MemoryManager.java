@@ -0,0 +1,114 @@
+/**
+ * Copyright 2012 Twitter, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package parquet.hadoop;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import parquet.Log;
+
+/**
+ * Shares the heap between all the {@link ParquetRecordWriter}s open in the JVM.
+ * Each writer registers the memory it needs to buffer its row groups.
+ * When the total is more than the pool (a fraction of the max heap),
+ * every writer gets its allocation scaled down by the same ratio and flushes smaller row groups.
+ *
+ * @author Julien Le Dem
+ *
+ */
+class MemoryManager {
+  private static final Log LOG = Log.getLog(MemoryManager.class);
+
+  static final float DEFAULT_MEMORY_POOL_RATIO = 0.95f;
+
+  private static MemoryManager memoryManager;
+
+  /**
+   * @param memoryPoolRatio the fraction of the max heap used by the writers. Only the first call sets it
+   * @return the memory manager of the JVM
+   */
+  static synchronized MemoryManager getMemoryManager(float memoryPoolRatio) {
+    if (memoryManager == null) {
+      memoryManager = new MemoryManager(memoryPoolRatio, Runtime.getRuntime().maxMemory());
+    } else if (memoryPoolRatio != memoryManager.memoryPoolRatio) {
+      LOG.warn("the memory pool ratio is already set to " + memoryManager.memoryPoolRatio + ", ignoring " + memoryPoolRatio);
+    }
+    return memoryManager;
+  }
+
+  private final float memoryPoolRatio;
+  private final long totalMemoryPool;
+  private final Map<ParquetRecordWriter<?>, Long> writerList = new HashMap<ParquetRecordWriter<?>, Long>();
+
+  MemoryManager(float memoryPoolRatio, long maxMemory) {
+    if (memoryPoolRatio <= 0 || memoryPoolRatio > 1) {
+      throw new IllegalArgumentException("the memory pool ratio must be in ]0, 1]: " + memoryPoolRatio);
+    }
+    this.memoryPoolRatio = memoryPoolRatio;
+    this.totalMemoryPool = (long)Math.floor(maxMemory * memoryPoolRatio);
+    LOG.info("memory pool for the writers: " + totalMemoryPool + " bytes");
+  }
+
+  /**
+   * @param writer the writer to add
+   * @param allocation the memory the writer needs when it is not scaled down
+   */
+  synchronized void addWriter(ParquetRecordWriter<?> writer, long allocation) {
+    if (writerList.put(writer, allocation) != null) {
+      throw new IllegalArgumentException("the writer was already added");
+    }
+    updateAllocation();
+  }
+
+  /**
+   * @param writer the writer to remove. Its memory is given back to the others
+   */
+  synchronized void removeWriter(ParquetRecordWriter<?> writer) {
+    if (writerList.remove(writer) != null) {
+      updateAllocation();
+    }
+  }
+
+  /**
+   * @return the total memory needed by the writers when they are not scaled down
+   */
+  synchronized long getTotalAllocation() {
+    long total = 0;
+    for (long allocation : writerList.values()) {
+      total += allocation;
+    }
+    return total;
+  }
+
+  long getTotalMemoryPool() {
+    return totalMemoryPool;
+  }
+
+  private void updateAllocation() {
+    long totalAllocations = getTotalAllocation();
+    double scale;
+    if (totalAllocations <= totalMemoryPool) {
+      scale = 1.0;
+    } else {
+      scale = (double)totalMemoryPool / totalAllocations;
+      LOG.warn("Total allocation of " + totalAllocations + " bytes for " + writerList.size() + " writers exceeds the memory pool of "
+          + totalMemoryPool + " bytes. Scaling the row group sizes to " + String.format("%.2f", scale * 100) + "%");
+    }
+    for (Map.Entry<ParquetRecordWriter<?>, Long> entry : writerList.entrySet()) {
+      entry.getKey().setMemoryAllocation((long)Math.floor(entry.getValue() * scale));
+    }
+  }
+}
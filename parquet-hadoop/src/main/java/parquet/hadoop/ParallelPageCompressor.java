@@ -0,0 +1,129 @@
+/**
+ * Copyright 2012 Twitter, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package parquet.hadoop;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+import parquet.Log;
+import parquet.bytes.BytesInput;
+import parquet.hadoop.CodecFactory.BytesCompressor;
+import parquet.hadoop.metadata.CompressionCodecName;
+
+/**
+ * Compresses pages in a pool of threads so that the pages of different columns are compressed concurrently.
+ * Each thread uses its own compressor as they are not thread safe.
+ *
+ * @author Julien Le Dem
+ *
+ */
+class ParallelPageCompressor {
+  private static final Log LOG = Log.getLog(ParallelPageCompressor.class);
+
+  private static final ThreadFactory THREAD_FACTORY = new ThreadFactory() {
+    @Override
+    public Thread newThread(Runnable r) {
+      Thread thread = new Thread(r, "parquet-page-compressor");
+      thread.setDaemon(true);
+      return thread;
+    }
+  };
+
+  private final ExecutorService executor;
+  private final List<BytesCompressor> allCompressors = new ArrayList<BytesCompressor>();
+  private final BlockingQueue<BytesCompressor> availableCompressors;
+
+  /**
+   * @param codecFactory to create the compressors
+   * @param codecName the codec used to compress the pages
+   * @param pageSize the size of a page (this will be approximate)
+   * @param threadCount the number of compression threads
+   */
+  ParallelPageCompressor(CodecFactory codecFactory, CompressionCodecName codecName, int pageSize, int threadCount) {
+    LOG.info("compressing pages with " + threadCount + " threads");
+    this.executor = Executors.newFixedThreadPool(threadCount, THREAD_FACTORY);
+    this.availableCompressors = new ArrayBlockingQueue<BytesCompressor>(threadCount);
+    for (int i = 0; i < threadCount; i++) {
+      BytesCompressor compressor = codecFactory.newCompressor(codecName, pageSize);
+      allCompressors.add(compressor);
+      availableCompressors.add(compressor);
+    }
+  }
+
+  /**
+   * @param bytes the uncompressed page. It must not be modified until the page is compressed
+   * @return the compressed page once it is done
+   */
+  Future<BytesInput> compress(final BytesInput bytes) {
+    return executor.submit(new Callable<BytesInput>() {
+      @Override
+      public BytesInput call() throws Exception {
+        BytesCompressor compressor = availableCompressors.take();
+        try {
+          // the compressor reuses its output buffer
+          return BytesInput.copy(compressor.compress(bytes));
+        } finally {
+          availableCompressors.put(compressor);
+        }
+      }
+    });
+  }
+
+  /**
+   * waits for the compression of a page
+   * @param compressedPage the result of {@link #compress(BytesInput)}
+   * @return the compressed page
+   * @throws IOException if the compression failed
+   */
+  static BytesInput get(Future<BytesInput> compressedPage) throws IOException {
+    try {
+      return compressedPage.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("interrupted while compressing a page");
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof IOException) {
+        throw (IOException)cause;
+      } else if (cause instanceof RuntimeException) {
+        throw (RuntimeException)cause;
+      } else if (cause instanceof Error) {
+        throw (Error)cause;
+      }
+      throw new IOException("could not compress page", cause);
+    }
+  }
+
+  /**
+   * stops the compression threads and releases the compressors
+   */
+  void close() {
+    executor.shutdownNow();
+    for (BytesCompressor compressor : allCompressors) {
+      compressor.release();
+    }
+  }
+}
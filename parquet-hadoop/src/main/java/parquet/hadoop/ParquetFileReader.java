@@ -20,10 +20,19 @@ import static parquet.bytes.BytesUtils.readIntLittleEndian;
 import static parquet.hadoop.ParquetFileWriter.MAGIC;
 import static parquet.hadoop.ParquetFileWriter.PARQUET_SUMMARY;
 
+import java.io.BufferedInputStream;
+import java.io.EOFException;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -45,8 +54,11 @@ import org.apache.hadoop.mapred.Utils;
 import parquet.Log;
 import parquet.bytes.BytesInput;
 import parquet.column.ColumnDescriptor;
+import parquet.column.mem.DictionaryPage;
 import parquet.column.mem.Page;
 import parquet.column.mem.PageReadStore;
+import parquet.column.mem.PageReader;
+import parquet.filter.Predicate;
 import parquet.format.PageHeader;
 import parquet.format.PageType;
 import parquet.format.converter.ParquetMetadataConverter;
@@ -55,6 +67,7 @@ import parquet.hadoop.ColumnChunkPageReadStore.ColumnChunkPageReader;
 import parquet.hadoop.metadata.BlockMetaData;
 import parquet.hadoop.metadata.ColumnChunkMetaData;
 import parquet.hadoop.metadata.ParquetMetadata;
+import parquet.io.ParquetDecodingException;
 
 /**
  * Reads a Parquet file
@@ -66,6 +79,9 @@ public class ParquetFileReader {
 
   private static final Log LOG = Log.getLog(ParquetFileReader.class);
 
+  // the biggest array or mapping a single read can go into
+  private static final long MAX_BUFFER_SIZE = Integer.MAX_VALUE - 8;
+
   private static ParquetMetadataConverter parquetMetadataConverter = new ParquetMetadataConverter();
 
   private static ParquetMetadata deserializeFooter(InputStream is) throws IOException {
@@ -264,6 +280,11 @@ public class ParquetFileReader {
   private final List<BlockMetaData> blocks;
   private final FSDataInputStream f;
   private final Path filePath;
+  private final Predicate predicate;
+  private final long maxReadGap;
+  private final long maxReadSize;
+  private final boolean pageStreaming;
+  private final FileChannel mappedFile;
   private int currentBlock = 0;
   private Map<String, ColumnDescriptor> paths = new HashMap<String, ColumnDescriptor>();
 
@@ -276,14 +297,40 @@ public class ParquetFileReader {
    * @throws IOException if the file can not be opened
    */
   public ParquetFileReader(Configuration configuration, Path filePath, List<BlockMetaData> blocks, List<ColumnDescriptor> columns) throws IOException {
+    this(configuration, filePath, blocks, columns, null);
+  }
+
+  /**
+   *
+   * @param f the Parquet file
+   * @param blocks the blocks to read
+   * @param colums the columns to read (their path)
+   * @param predicate the row groups whose statistics prove that no record matches are skipped (may be null)
+   * @throws IOException if the file can not be opened
+   */
+  public ParquetFileReader(Configuration configuration, Path filePath, List<BlockMetaData> blocks, List<ColumnDescriptor> columns, Predicate predicate) throws IOException {
     FileSystem fs = FileSystem.get(configuration);
     this.filePath = filePath;
     this.f = fs.open(filePath);
     this.blocks = blocks;
+    this.predicate = predicate;
     for (ColumnDescriptor col : columns) {
       paths.put(Arrays.toString(col.getPath()), col);
     }
     this.codecFactory = new CodecFactory(configuration);
+    this.maxReadGap = ParquetInputFormat.getReadMaxGap(configuration);
+    this.maxReadSize = Math.min(MAX_BUFFER_SIZE, ParquetInputFormat.getReadMaxSize(configuration));
+    if (ParquetInputFormat.getEnableMemoryMap(configuration) && "file".equals(fs.makeQualified(filePath).toUri().getScheme())) {
+      File file = new File(fs.makeQualified(filePath).toUri().getPath());
+      if (DEBUG) LOG.debug("memory mapping " + file);
+      this.mappedFile = new RandomAccessFile(file, "r").getChannel();
+    } else {
+      this.mappedFile = null;
+    }
+    // the prefetcher needs the row groups fully in memory and mapped pages are not on the heap anyway
+    this.pageStreaming = ParquetInputFormat.getEnablePageStreaming(configuration)
+        && !ParquetInputFormat.getEnablePrefetch(configuration)
+        && mappedFile == null;
   }
 
   /**
@@ -292,6 +339,10 @@ public class ParquetFileReader {
    * @return the PageReadStore which can provide PageReaders for each column. 
    */
   public PageReadStore readNextRowGroup() throws IOException {
+    while (currentBlock < blocks.size() && RowGroupFilter.canDrop(predicate, blocks.get(currentBlock))) {
+      if (DEBUG) LOG.debug("skipping row group " + currentBlock + " filtered out by " + predicate);
+      ++currentBlock;
+    }
     if (currentBlock == blocks.size()) {
       return null;
     }
@@ -300,44 +351,239 @@ public class ParquetFileReader {
       throw new RuntimeException("Illegal row group of 0 rows");
     }
     ColumnChunkPageReadStore columnChunkPageReadStore = new ColumnChunkPageReadStore(block.getRowCount());
+    if (pageStreaming) {
+      for (ColumnChunkMetaData mc : block.getColumns()) {
+        ColumnDescriptor columnDescriptor = paths.get(Arrays.toString(mc.getPath()));
+        if (columnDescriptor != null) {
+          columnChunkPageReadStore.addColumn(columnDescriptor, new StreamingPageReader(columnDescriptor, mc));
+        }
+      }
+      ++currentBlock;
+      return columnChunkPageReadStore;
+    }
+    // plan the reads: the requested chunks close to each other are read together
+    List<ColumnChunkMetaData> requestedChunks = new ArrayList<ColumnChunkMetaData>();
     for (ColumnChunkMetaData mc : block.getColumns()) {
-      String pathKey = Arrays.toString(mc.getPath());
-      ColumnDescriptor columnDescriptor = paths.get(pathKey);
-      if (columnDescriptor != null) {
-        List<Page> pagesInChunk = readColumnChunkPages(columnDescriptor, mc);
-        BytesDecompressor decompressor = codecFactory.getDecompressor(mc.getCodec());
-        ColumnChunkPageReader columnChunkPageReader = new ColumnChunkPageReader(decompressor, pagesInChunk);
-        columnChunkPageReadStore.addColumn(columnDescriptor, columnChunkPageReader);
+      if (paths.containsKey(Arrays.toString(mc.getPath()))) {
+        requestedChunks.add(mc);
+      }
+    }
+    Collections.sort(requestedChunks, new Comparator<ColumnChunkMetaData>() {
+      @Override
+      public int compare(ColumnChunkMetaData c1, ColumnChunkMetaData c2) {
+        return Long.signum(c1.getFirstDataPageOffset() - c2.getFirstDataPageOffset());
+      }
+    });
+    List<ConsecutiveChunkList> reads = new ArrayList<ConsecutiveChunkList>();
+    ConsecutiveChunkList currentRead = null;
+    for (ColumnChunkMetaData mc : requestedChunks) {
+      if (mc.getTotalSize() > MAX_BUFFER_SIZE) {
+        // does not fit in a buffer: the pages are read one by one
+        ColumnDescriptor columnDescriptor = paths.get(Arrays.toString(mc.getPath()));
+        f.seek(mc.getFirstDataPageOffset());
+        columnChunkPageReadStore.addColumn(columnDescriptor, readColumnChunkPages(columnDescriptor, mc, f));
+        continue;
+      }
+      if (currentRead == null || !currentRead.canAdd(mc)) {
+        currentRead = new ConsecutiveChunkList(mc.getFirstDataPageOffset());
+        reads.add(currentRead);
+      }
+      currentRead.add(mc);
+    }
+    if (DEBUG) LOG.debug("reading " + requestedChunks.size() + " column chunks in " + reads.size() + " reads");
+    for (ConsecutiveChunkList read : reads) {
+      ByteBuffer data = read.readAll();
+      for (ColumnChunkMetaData mc : read.chunks) {
+        ColumnDescriptor columnDescriptor = paths.get(Arrays.toString(mc.getPath()));
+        int offset = (int)(mc.getFirstDataPageOffset() - read.offset);
+        int length = (int)Math.min(mc.getTotalSize(), data.capacity() - offset);
+        ColumnChunkPageReader pageReader;
+        ChunkInputStream chunk = new ChunkInputStream(data, offset, length);
+        try {
+          pageReader = readColumnChunkPages(columnDescriptor, mc, chunk);
+        } catch (IOException e) {
+          if (!chunk.isEndReached()) {
+            throw e;
+          }
+          // files written before the chunk size included the page headers
+          if (DEBUG) LOG.debug("column chunk " + Arrays.toString(mc.getPath()) + " does not fit in its size, reading the pages one by one", e);
+          f.seek(mc.getFirstDataPageOffset());
+          pageReader = readColumnChunkPages(columnDescriptor, mc, f);
+        }
+        columnChunkPageReadStore.addColumn(columnDescriptor, pageReader);
       }
     }
     ++currentBlock;
     return columnChunkPageReadStore;
   }
 
+  /**
+   * column chunks read in a single read, including the gaps between them.
+   * When the file is memory mapped the read is a mapping of the file and the gaps cost nothing.
+   */
+  private class ConsecutiveChunkList {
+
+    private final long offset;
+    private long end;
+    private final List<ColumnChunkMetaData> chunks = new ArrayList<ColumnChunkMetaData>();
+
+    ConsecutiveChunkList(long offset) {
+      this.offset = offset;
+      this.end = offset;
+    }
+
+    boolean canAdd(ColumnChunkMetaData mc) {
+      long gap = mc.getFirstDataPageOffset() - end;
+      long chunkEnd = mc.getFirstDataPageOffset() + mc.getTotalSize();
+      if (mappedFile != null) {
+        return gap >= 0 && chunkEnd - offset <= MAX_BUFFER_SIZE;
+      }
+      return gap >= 0 && gap <= maxReadGap && chunkEnd - offset <= maxReadSize;
+    }
+
+    void add(ColumnChunkMetaData mc) {
+      chunks.add(mc);
+      end = mc.getFirstDataPageOffset() + mc.getTotalSize();
+    }
+
+    ByteBuffer readAll() throws IOException {
+      if (mappedFile != null) {
+        long length = Math.min(end, mappedFile.size()) - offset;
+        if (DEBUG) LOG.debug(offset + ": mapping " + chunks.size() + " column chunks, " + length + " bytes");
+        return mappedFile.map(MapMode.READ_ONLY, offset, length);
+      }
+      if (DEBUG) LOG.debug(offset + ": reading " + chunks.size() + " column chunks, " + (end - offset) + " bytes");
+      f.seek(offset);
+      byte[] data = new byte[(int)(end - offset)];
+      f.readFully(data);
+      return ByteBuffer.wrap(data);
+    }
+  }
+
+  /**
+   * the pages are slices of the buffer
+   */
+  private static final class ChunkInputStream extends InputStream {
+
+    private final ByteBuffer buffer;
+    private boolean endReached = false;
+
+    ChunkInputStream(ByteBuffer data, int offset, int length) {
+      this.buffer = data.duplicate();
+      this.buffer.position(offset);
+      this.buffer.limit(offset + length);
+    }
+
+    /**
+     * @return whether something was read past the end of the column chunk
+     */
+    boolean isEndReached() {
+      return endReached;
+    }
+
+    @Override
+    public int read() {
+      if (!buffer.hasRemaining()) {
+        endReached = true;
+        return -1;
+      }
+      return buffer.get() & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) {
+      if (len == 0) {
+        return 0;
+      }
+      if (!buffer.hasRemaining()) {
+        endReached = true;
+        return -1;
+      }
+      int read = Math.min(len, buffer.remaining());
+      buffer.get(b, off, read);
+      return read;
+    }
+
+    @Override
+    public long skip(long n) {
+      int skipped = (int)Math.max(0, Math.min(n, buffer.remaining()));
+      buffer.position(buffer.position() + skipped);
+      return skipped;
+    }
+
+    @Override
+    public int available() {
+      return buffer.remaining();
+    }
+
+    BytesInput slice(int size) throws EOFException {
+      if (size > buffer.remaining()) {
+        endReached = true;
+        throw new EOFException("page of " + size + " bytes ends after the column chunk");
+      }
+      ByteBuffer page = buffer.duplicate();
+      page.limit(page.position() + size);
+      buffer.position(buffer.position() + size);
+      return BytesInput.from(page);
+    }
+  }
+
+  private BytesInput readPageBytes(InputStream in, int size) throws IOException {
+    if (in instanceof ChunkInputStream) {
+      return ((ChunkInputStream)in).slice(size);
+    }
+    return BytesInput.copy(BytesInput.from(in, size));
+  }
+
   /**
    * Read all of the pages in a given column chunk.
-   * @return the list of pages
+   * @param in the stream positioned at the begining of the column chunk
+   * @return the page reader for the pages of this chunk
    */
-  private List<Page> readColumnChunkPages(ColumnDescriptor columnDescriptor, ColumnChunkMetaData metadata)
+  private ColumnChunkPageReader readColumnChunkPages(ColumnDescriptor columnDescriptor, ColumnChunkMetaData metadata, InputStream in)
       throws IOException {
-    f.seek(metadata.getFirstDataPageOffset());
     if (DEBUG) {
-      LOG.debug(f.getPos() + ": start column chunk " + Arrays.toString(metadata.getPath()) +
+      LOG.debug(metadata.getFirstDataPageOffset() + ": start column chunk " + Arrays.toString(metadata.getPath()) +
         " " + metadata.getType() + " count=" + metadata.getValueCount());
     }
     
     List<Page> pagesInChunk = new ArrayList<Page>();
+    DictionaryPage dictionaryPage = null;
     long valuesCountReadSoFar = 0;
     while (valuesCountReadSoFar < metadata.getValueCount()) {
-      PageHeader pageHeader = readNextDataPageHeader();
-      pagesInChunk.add(
-          new Page(
-              BytesInput.copy(BytesInput.from(f, pageHeader.compressed_page_size)),
-              pageHeader.data_page_header.num_values,
-              pageHeader.uncompressed_page_size,
-              parquetMetadataConverter.getEncoding(pageHeader.data_page_header.encoding)
-              ));
-      valuesCountReadSoFar += pageHeader.data_page_header.num_values;
+      PageHeader pageHeader = readPageHeader(in, metadata);
+      switch (pageHeader.type) {
+      case DICTIONARY_PAGE:
+        // there is only one dictionary page per column chunk
+        if (dictionaryPage != null) {
+          throw new IOException("more than one dictionary page in column chunk at " + filePath + " offset " + metadata.getFirstDataPageOffset());
+        }
+        dictionaryPage =
+            new DictionaryPage(
+                readPageBytes(in, pageHeader.compressed_page_size),
+                pageHeader.uncompressed_page_size,
+                pageHeader.dictionary_page_header.num_values,
+                parquetMetadataConverter.getEncoding(pageHeader.dictionary_page_header.encoding)
+                );
+        break;
+      case DATA_PAGE:
+        pagesInChunk.add(
+            new Page(
+                readPageBytes(in, pageHeader.compressed_page_size),
+                pageHeader.data_page_header.num_values,
+                pageHeader.uncompressed_page_size,
+                pageHeader.data_page_header.isSetStatistics() ?
+                    ParquetMetadataConverter.fromParquetStatistics(pageHeader.data_page_header.statistics, columnDescriptor.getType())
+                    : null,
+                parquetMetadataConverter.getEncoding(pageHeader.data_page_header.encoding)
+                ));
+        valuesCountReadSoFar += pageHeader.data_page_header.num_values;
+        break;
+      default:
+        if (DEBUG) LOG.debug("skipping page of type " + pageHeader.type + " of size " + pageHeader.compressed_page_size);
+        in.skip(pageHeader.compressed_page_size);
+        break;
+      }
     }
     if (valuesCountReadSoFar != metadata.getValueCount()) {
       // Would be nice to have a CorruptParquetFileException or something as a subclass?
@@ -345,31 +591,181 @@ public class ParquetFileReader {
           "Expected " + metadata.getValueCount() + " values in column chunk at " +
           filePath + " offset " + metadata.getFirstDataPageOffset() +
           " but got " + valuesCountReadSoFar + " values instead over " + pagesInChunk.size()
-          + " pages ending at file offset " + f.getPos());
+          + " pages");
     }
-    return pagesInChunk;
+    BytesDecompressor decompressor = codecFactory.getDecompressor(metadata.getCodec());
+    return new ColumnChunkPageReader(decompressor, pagesInChunk, dictionaryPage, describe(metadata));
   }
 
-  private PageHeader readNextDataPageHeader() throws IOException {
-    PageHeader pageHeader;
-    do {
-      long pos = f.getPos();
-      if (DEBUG) LOG.debug(pos + ": reading page");
+  /**
+   * @return the column and the position of the chunk, for the error messages
+   */
+  private String describe(ColumnChunkMetaData metadata) {
+    return "column " + Arrays.toString(metadata.getPath()) + " in column chunk at " + filePath + " offset " + metadata.getFirstDataPageOffset();
+  }
+
+  /**
+   * Reads the pages of a column chunk one at a time when they are requested.
+   * Each column chunk has its own position in the file so that the columns can be read in any order.
+   */
+  private class StreamingPageReader implements PageReader {
+
+    private final ColumnDescriptor columnDescriptor;
+    private final ColumnChunkMetaData metadata;
+    private final BytesDecompressor decompressor;
+    private final InputStream in;
+    private long valuesCountReadSoFar = 0;
+    private int pageCount = 0;
+    private PageHeader nextPageHeader;
+
+    StreamingPageReader(ColumnDescriptor columnDescriptor, ColumnChunkMetaData metadata) {
+      this.columnDescriptor = columnDescriptor;
+      this.metadata = metadata;
+      this.decompressor = codecFactory.getDecompressor(metadata.getCodec());
+      this.in = new BufferedInputStream(new PositionedInputStream(metadata.getFirstDataPageOffset()), STREAMING_BUFFER_SIZE);
+      if (DEBUG) {
+        LOG.debug(metadata.getFirstDataPageOffset() + ": streaming column chunk " + Arrays.toString(metadata.getPath()) +
+          " " + metadata.getType() + " count=" + metadata.getValueCount());
+      }
+    }
+
+    @Override
+    public long getTotalValueCount() {
+      return metadata.getValueCount();
+    }
+
+    @Override
+    public DictionaryPage readDictionaryPage() {
+      // the dictionary page, if any, is the first page of the chunk
+      if (valuesCountReadSoFar > 0 || metadata.getValueCount() == 0) {
+        return null;
+      }
       try {
-        pageHeader = parquetMetadataConverter.readPageHeader(f);
-        if (pageHeader.type != PageType.DATA_PAGE) {
-          if (DEBUG) LOG.debug("not a data page, skipping " + pageHeader.compressed_page_size);
-          f.skip(pageHeader.compressed_page_size);
+        PageHeader pageHeader = peekPageHeader();
+        if (pageHeader.type != PageType.DICTIONARY_PAGE) {
+          return null;
+        }
+        nextPageHeader = null;
+        ++ pageCount;
+        return new DictionaryPage(
+            decompressor.decompress(readBytes(pageHeader.compressed_page_size), pageHeader.uncompressed_page_size),
+            pageHeader.dictionary_page_header.num_values,
+            parquetMetadataConverter.getEncoding(pageHeader.dictionary_page_header.encoding)
+            );
+      } catch (IOException e) {
+        throw new ParquetDecodingException("could not read the dictionary page of " + describe(metadata), e);
+      }
+    }
+
+    @Override
+    public Page readPage() {
+      try {
+        while (valuesCountReadSoFar < metadata.getValueCount()) {
+          PageHeader pageHeader = peekPageHeader();
+          nextPageHeader = null;
+          ++ pageCount;
+          switch (pageHeader.type) {
+          case DATA_PAGE:
+            valuesCountReadSoFar += pageHeader.data_page_header.num_values;
+            return new Page(
+                decompressor.decompress(readBytes(pageHeader.compressed_page_size), pageHeader.uncompressed_page_size),
+                pageHeader.data_page_header.num_values,
+                pageHeader.uncompressed_page_size,
+                pageHeader.data_page_header.isSetStatistics() ?
+                    ParquetMetadataConverter.fromParquetStatistics(pageHeader.data_page_header.statistics, columnDescriptor.getType())
+                    : null,
+                parquetMetadataConverter.getEncoding(pageHeader.data_page_header.encoding)
+                );
+          default:
+            // including a dictionary page that was not requested
+            if (DEBUG) LOG.debug("skipping page of type " + pageHeader.type + " of size " + pageHeader.compressed_page_size);
+            long toSkip = pageHeader.compressed_page_size;
+            while (toSkip > 0) {
+              long skipped = in.skip(toSkip);
+              if (skipped <= 0) {
+                throw new EOFException("page of " + pageHeader.compressed_page_size + " bytes ends after the end of the file");
+              }
+              toSkip -= skipped;
+            }
+            break;
+          }
         }
+        return null;
       } catch (IOException e) {
-        throw new IOException("could not read page header at position " + pos, e);
+        throw new ParquetDecodingException("could not read page " + pageCount + " of " + describe(metadata), e);
       }
-    } while (pageHeader.type != PageType.DATA_PAGE);
-    return pageHeader;
+    }
+
+    private PageHeader peekPageHeader() throws IOException {
+      if (nextPageHeader == null) {
+        nextPageHeader = readPageHeader(in, metadata);
+      }
+      return nextPageHeader;
+    }
+
+    /**
+     * the compressed bytes of the page are copied so that the page does not depend on the position of the stream
+     */
+    private BytesInput readBytes(int size) throws IOException {
+      return BytesInput.copy(BytesInput.from(in, size));
+    }
+  }
+
+  private static final int STREAMING_BUFFER_SIZE = 64 * 1024;
+
+  /**
+   * reads the file from a given position using positioned reads that do not move the position of the shared stream
+   */
+  private class PositionedInputStream extends InputStream {
+
+    private long position;
+
+    PositionedInputStream(long position) {
+      this.position = position;
+    }
+
+    @Override
+    public int read() throws IOException {
+      byte[] b = new byte[1];
+      return read(b, 0, 1) == -1 ? -1 : b[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      if (len == 0) {
+        return 0;
+      }
+      int read = f.read(position, b, off, len);
+      if (read > 0) {
+        position += read;
+      }
+      return read;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+      if (n <= 0) {
+        return 0;
+      }
+      position += n;
+      return n;
+    }
+  }
+
+  private PageHeader readPageHeader(InputStream in, ColumnChunkMetaData metadata) throws IOException {
+    if (DEBUG) LOG.debug("reading page");
+    try {
+      return parquetMetadataConverter.readPageHeader(in);
+    } catch (IOException e) {
+      throw new IOException("could not read page header in column chunk at " + filePath + " offset " + metadata.getFirstDataPageOffset(), e);
+    }
   }
 
   public void close() throws IOException {
     f.close();
+    if (mappedFile != null) {
+      mappedFile.close();
+    }
     this.codecFactory.release();
   }
 
@@ -36,6 +36,8 @@ import parquet.Log;
 import parquet.bytes.BytesInput;
 import parquet.bytes.BytesUtils;
 import parquet.column.ColumnDescriptor;
+import parquet.column.mem.DictionaryPage;
+import parquet.column.statistics.Statistics;
 import parquet.format.converter.ParquetMetadataConverter;
 import parquet.hadoop.metadata.BlockMetaData;
 import parquet.hadoop.metadata.ColumnChunkMetaData;
@@ -68,6 +70,7 @@ public class ParquetFileWriter {
   private long compressedLength;
   private final ParquetMetadataConverter metadataConverter = new ParquetMetadataConverter();
   private Set<parquet.column.Encoding> currentEncodings;
+  private Statistics<?> currentStatistics;
 
   /**
    * Captures the order in which methods should be called
@@ -169,10 +172,36 @@ public class ParquetFileWriter {
     currentColumn = new ColumnChunkMetaData(descriptor.getPath(), descriptor.getType(), compressionCodecName, new ArrayList<parquet.column.Encoding>());
     currentColumn.setValueCount(valueCount);
     currentColumn.setFirstDataPageOffset(out.getPos());
+    currentStatistics = Statistics.getStatsBasedOnType(descriptor.getType());
     compressedLength = 0;
     uncompressedLength = 0;
   }
 
+  /**
+   * writes a dictionary page
+   * @param dictionaryPage the dictionary page
+   */
+  public void writeDictionaryPage(DictionaryPage dictionaryPage) throws IOException {
+    state = state.write();
+    if (DEBUG) LOG.debug(out.getPos() + ": write dictionary page: " + dictionaryPage.getDictionarySize() + " values");
+    int uncompressedSize = dictionaryPage.getUncompressedSize();
+    int compressedPageSize = (int)dictionaryPage.getBytes().size();
+    long beforeHeader = out.getPos();
+    metadataConverter.writeDictionaryPageHeader(
+        uncompressedSize,
+        compressedPageSize,
+        dictionaryPage.getDictionarySize(),
+        dictionaryPage.getEncoding(),
+        out);
+    // the sizes of the column chunk include the page headers
+    long headerSize = out.getPos() - beforeHeader;
+    this.uncompressedLength += uncompressedSize + headerSize;
+    this.compressedLength += compressedPageSize + headerSize;
+    if (DEBUG) LOG.debug(out.getPos() + ": write dictionary page content " + compressedPageSize);
+    dictionaryPage.getBytes().writeAllTo(out);
+    currentEncodings.add(dictionaryPage.getEncoding());
+  }
+
   /**
    * writes a single page
    * @param valueCount count of values
@@ -182,16 +211,35 @@ public class ParquetFileWriter {
   public void writeDataPage(
       int valueCount, int uncompressedPageSize,
       BytesInput bytes, parquet.column.Encoding encoding) throws IOException {
+    writeDataPage(valueCount, uncompressedPageSize, bytes, null, encoding);
+  }
+
+  /**
+   * writes a single page
+   * @param valueCount count of values
+   * @param uncompressedPageSize the size of the data once uncompressed
+   * @param bytes the compressed data for the page without header
+   * @param statistics the statistics of the values in the page (can be null)
+   */
+  public void writeDataPage(
+      int valueCount, int uncompressedPageSize,
+      BytesInput bytes, Statistics<?> statistics, parquet.column.Encoding encoding) throws IOException {
     state = state.write();
     if (DEBUG) LOG.debug(out.getPos() + ": write data page: " + valueCount + " values");
     int compressedPageSize = (int)bytes.size();
+    long beforeHeader = out.getPos();
     metadataConverter.writeDataPageHeader(
         uncompressedPageSize, compressedPageSize,
         valueCount,
+        statistics,
         encoding,
         out);
-    this.uncompressedLength += uncompressedPageSize;
-    this.compressedLength += compressedPageSize;
+    if (statistics != null) {
+      currentStatistics.mergeStatistics(statistics);
+    }
+    long headerSize = out.getPos() - beforeHeader;
+    this.uncompressedLength += uncompressedPageSize + headerSize;
+    this.compressedLength += compressedPageSize + headerSize;
     if (DEBUG) LOG.debug(out.getPos() + ": write data page content " + compressedPageSize);
     bytes.writeAllTo(out);
     currentEncodings.add(encoding);
@@ -201,10 +249,11 @@ public class ParquetFileWriter {
    * writes a number of pages at once
    * @param bytes bytes to be written including page headers
    * @param uncompressedTotalPageSize total uncompressed size (without page headers)
-   * @param compressedTotalPageSize total compressed size (without page headers)
+   * @param compressedTotalPageSize total compressed size (without page headers, the column chunk sizes will include them)
+   * @param totalStats the statistics of all the values in the pages
    * @throws IOException
    */
-   void writeDataPages(BytesInput bytes, long uncompressedTotalPageSize, long compressedTotalPageSize, List<parquet.column.Encoding> encodings) throws IOException {
+   void writeDataPages(BytesInput bytes, long uncompressedTotalPageSize, long compressedTotalPageSize, Statistics<?> totalStats, List<parquet.column.Encoding> encodings) throws IOException {
     state = state.write();
     if (DEBUG) LOG.debug(out.getPos() + ": write data pages");
 //    int compressedPageSize = (int)bytes.size();
@@ -212,10 +261,12 @@ public class ParquetFileWriter {
 //    // pageHeader.crc = ...;
 //    pageHeader.data_page = new DataPageHeader(valueCount, Encoding.PLAIN); // TODO: encoding
 //    metadataConverter.writePageHeader(pageHeader, out);
-    this.uncompressedLength += uncompressedTotalPageSize;
-    this.compressedLength += compressedTotalPageSize;
+    long headersSize = bytes.size() - compressedTotalPageSize;
+    this.uncompressedLength += uncompressedTotalPageSize + headersSize;
+    this.compressedLength += compressedTotalPageSize + headersSize;
     if (DEBUG) LOG.debug(out.getPos() + ": write data pages content");
     bytes.writeAllTo(out);
+    currentStatistics.mergeStatistics(totalStats);
     currentEncodings.addAll(encodings);
   }
 
@@ -229,12 +280,14 @@ public class ParquetFileWriter {
     currentColumn.setTotalUncompressedSize(uncompressedLength);
     currentColumn.setTotalSize(compressedLength);
     currentColumn.getEncodings().addAll(currentEncodings);
+    currentColumn.setStatistics(currentStatistics);
     currentBlock.addColumn(currentColumn);
     if (INFO) LOG.info("ended Column chumk: " + currentColumn);
     currentColumn = null;
     this.uncompressedLength = 0;
     this.compressedLength = 0;
     this.currentEncodings.clear();
+    this.currentStatistics = null;
   }
 
   /**
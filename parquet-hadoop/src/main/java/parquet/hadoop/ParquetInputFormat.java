@@ -15,6 +15,8 @@
  */
 package parquet.hadoop;
 
+import static parquet.Log.DEBUG;
+
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -34,9 +36,11 @@ import org.apache.hadoop.mapreduce.TaskAttemptContext;
 import org.apache.hadoop.mapreduce.lib.input.FileInputFormat;
 
 import parquet.Log;
+import parquet.filter.Predicate;
 import parquet.hadoop.metadata.BlockMetaData;
 import parquet.hadoop.metadata.FileMetaData;
 import parquet.hadoop.metadata.ParquetMetadata;
+import parquet.io.RecordReaderCompiler;
 import parquet.parser.MessageTypeParser;
 import parquet.schema.MessageType;
 
@@ -48,6 +52,9 @@ import parquet.schema.MessageType;
  * The requestedSchema will control how the original records get projected by the loader.
  * It must be a subset of the original schema. Only the columns needed to reconstruct the records with the requestedSchema will be scanned.
  *
+ * An optional {@link PredicateProvider} set at {@link #FILTER_PREDICATE_CLASS} provides a filter.
+ * The row groups whose statistics prove that no record matches the filter are not read.
+ *
  * @author Julien Le Dem
  *
  * @param <T> the type of the materialized records
@@ -78,6 +85,150 @@ public class ParquetInputFormat<T> extends FileInputFormat<Void, T> {
     }
   }
 
+  public static final String FILTER_PREDICATE_CLASS = "parquet.filter.predicate.class";
+
+  /**
+   * set to true to assemble the records with a class generated and compiled at runtime instead of the interpreter.
+   * Off by default: it needs a JDK on the task nodes and each new schema pays for a compilation.
+   * @see RecordReaderCompiler
+   */
+  public static final String COMPILE_RECORD_READER = "parquet.compile.record.reader";
+
+  /**
+   * set to true to read and decompress the next row groups in the background while the current one is assembled
+   */
+  public static final String ENABLE_PREFETCH = "parquet.enable.prefetch";
+
+  /**
+   * maximum uncompressed size of the row groups prefetched ahead of the one being assembled
+   */
+  public static final String PREFETCH_MAX_BYTES = "parquet.prefetch.max.bytes";
+
+  public static final long DEFAULT_PREFETCH_MAX_BYTES = 256 * 1024 * 1024;
+
+  /**
+   * set to true to read and decompress the pages of each column one at a time when they are needed
+   * instead of reading the whole row group in memory first.
+   * Peak memory is then about one page per column. Ignored when {@link #ENABLE_PREFETCH} is set.
+   */
+  public static final String ENABLE_PAGE_STREAMING = "parquet.enable.page.streaming";
+
+  /**
+   * set to true to memory map the files on the local file system (file: paths).
+   * The pages are then slices of the mapping and are not copied on the heap before being decompressed.
+   * The checksums of the local file system are not verified.
+   */
+  public static final String ENABLE_MEMORY_MAP = "parquet.enable.memory.map";
+
+  /**
+   * the requested column chunks of a row group separated by at most this many bytes are read in a single read
+   */
+  public static final String READ_MAX_GAP = "parquet.read.max.gap";
+
+  /**
+   * maximum size of a read merging several column chunks (a bigger chunk is read on its own)
+   */
+  public static final String READ_MAX_SIZE = "parquet.read.max.size";
+
+  public static final long DEFAULT_READ_MAX_GAP = 1024 * 1024;
+
+  public static final long DEFAULT_READ_MAX_SIZE = 32 * 1024 * 1024;
+
+  public static void setReadMaxGap(Job job, long readMaxGap) {
+    job.getConfiguration().setLong(READ_MAX_GAP, readMaxGap);
+  }
+
+  public static long getReadMaxGap(Configuration configuration) {
+    return configuration.getLong(READ_MAX_GAP, DEFAULT_READ_MAX_GAP);
+  }
+
+  public static void setReadMaxSize(Job job, long readMaxSize) {
+    job.getConfiguration().setLong(READ_MAX_SIZE, readMaxSize);
+  }
+
+  public static long getReadMaxSize(Configuration configuration) {
+    return configuration.getLong(READ_MAX_SIZE, DEFAULT_READ_MAX_SIZE);
+  }
+
+  public static void setEnablePrefetch(Job job, boolean enablePrefetch) {
+    job.getConfiguration().setBoolean(ENABLE_PREFETCH, enablePrefetch);
+  }
+
+  public static boolean getEnablePrefetch(Configuration configuration) {
+    return configuration.getBoolean(ENABLE_PREFETCH, false);
+  }
+
+  public static void setEnablePageStreaming(Job job, boolean enablePageStreaming) {
+    job.getConfiguration().setBoolean(ENABLE_PAGE_STREAMING, enablePageStreaming);
+  }
+
+  public static boolean getEnablePageStreaming(Configuration configuration) {
+    return configuration.getBoolean(ENABLE_PAGE_STREAMING, false);
+  }
+
+  public static void setEnableMemoryMap(Job job, boolean enableMemoryMap) {
+    job.getConfiguration().setBoolean(ENABLE_MEMORY_MAP, enableMemoryMap);
+  }
+
+  public static boolean getEnableMemoryMap(Configuration configuration) {
+    return configuration.getBoolean(ENABLE_MEMORY_MAP, false);
+  }
+
+  public static void setPrefetchMaxBytes(Job job, long prefetchMaxBytes) {
+    job.getConfiguration().setLong(PREFETCH_MAX_BYTES, prefetchMaxBytes);
+  }
+
+  public static long getPrefetchMaxBytes(Configuration configuration) {
+    return configuration.getLong(PREFETCH_MAX_BYTES, DEFAULT_PREFETCH_MAX_BYTES);
+  }
+
+  public static void setCompileRecordReader(Job job, boolean compileRecordReader) {
+    job.getConfiguration().setBoolean(COMPILE_RECORD_READER, compileRecordReader);
+  }
+
+  public static boolean getCompileRecordReader(Configuration configuration) {
+    return configuration.getBoolean(COMPILE_RECORD_READER, false);
+  }
+
+  public static void setFilterPredicateClass(Job job, Class<? extends PredicateProvider> predicateProviderClass) {
+    job.getConfiguration().set(FILTER_PREDICATE_CLASS, predicateProviderClass.getName());
+  }
+
+  public static Class<?> getFilterPredicateClass(Configuration configuration) {
+    final String className = configuration.get(FILTER_PREDICATE_CLASS);
+    if (className == null) {
+      return null;
+    }
+    try {
+      final Class<?> predicateProviderClass = Class.forName(className);
+      if (!PredicateProvider.class.isAssignableFrom(predicateProviderClass)) {
+        throw new BadConfigurationException("class " + className + " set in job conf at " + FILTER_PREDICATE_CLASS + " is not a subclass of PredicateProvider");
+      }
+      return predicateProviderClass;
+    } catch (ClassNotFoundException e) {
+      throw new BadConfigurationException("could not instanciate class " + className + " set in job conf at " + FILTER_PREDICATE_CLASS , e);
+    }
+  }
+
+  /**
+   * @param configuration the job configuration
+   * @return the filter provided by the class set at {@link #FILTER_PREDICATE_CLASS} or null if none
+   */
+  public static Predicate getFilterPredicate(Configuration configuration) {
+    Class<?> predicateProviderClass = getFilterPredicateClass(configuration);
+    if (predicateProviderClass == null) {
+      return null;
+    }
+    try {
+      PredicateProvider predicateProvider = (PredicateProvider)predicateProviderClass.newInstance();
+      return predicateProvider.getPredicate(configuration);
+    } catch (InstantiationException e) {
+      throw new BadConfigurationException("could not instanciate predicate provider class " + predicateProviderClass.getName(), e);
+    } catch (IllegalAccessException e) {
+      throw new BadConfigurationException("could not instanciate predicate provider class " + predicateProviderClass.getName(), e);
+    }
+  }
+
   private String requestedSchema;
   private Class<?> readSupportClass;
 
@@ -133,12 +284,13 @@ public class ParquetInputFormat<T> extends FileInputFormat<Void, T> {
    * @param fileMetaData file level meta data
    * @param extraMetadata
    * @param readSupport how to materialize the records
+   * @param predicate the filter used to drop row groups (may be null)
    * @return the splits (one per HDFS block)
    * @throws IOException If hosts can't be retrieved for the HDFS block
    */
   static <T> List<InputSplit> generateSplits(List<BlockMetaData> blocks,
       BlockLocation[] hdfsBlocks, FileStatus fileStatus,
-      FileMetaData fileMetaData, Class<?> readSupportClass, String requestedSchema, Map<String, String> extraMetadata) throws IOException {
+      FileMetaData fileMetaData, Class<?> readSupportClass, String requestedSchema, Map<String, String> extraMetadata, Predicate predicate) throws IOException {
     Comparator<BlockLocation> comparator = new Comparator<BlockLocation>() {
       @Override
       public int compare(BlockLocation b1, BlockLocation b2) {
@@ -175,6 +327,11 @@ public class ParquetInputFormat<T> extends FileInputFormat<Void, T> {
       List<BlockMetaData> blocksForCurrentSplit = splitGroups.get(i);
       if (blocksForCurrentSplit.size() == 0) {
         LOG.warn("HDFS block without row group: " + hdfsBlocks[i]);
+        continue;
+      }
+      blocksForCurrentSplit = RowGroupFilter.filterRowGroups(predicate, blocksForCurrentSplit);
+      if (blocksForCurrentSplit.size() == 0) {
+        if (DEBUG) LOG.debug("all the row groups in HDFS block " + hdfsBlocks[i] + " are filtered out");
       } else {
         splits.add(new ParquetInputSplit<T>(
           fileStatus.getPath(),
@@ -201,6 +358,7 @@ public class ParquetInputFormat<T> extends FileInputFormat<Void, T> {
     Configuration configuration = jobContext.getConfiguration();
     FileSystem fs = FileSystem.get(configuration);
     List<Footer> footers = getFooters(jobContext);
+    Predicate predicate = getFilterPredicate(configuration);
     for (Footer footer : footers) {
       LOG.debug(footer.getFile());
       FileStatus fileStatus = fs.getFileStatus(footer.getFile());
@@ -215,7 +373,8 @@ public class ParquetInputFormat<T> extends FileInputFormat<Void, T> {
               parquetMetaData.getFileMetaData(),
               readSupportClass,
               requestedSchema,
-              parquetMetaData.getKeyValueMetaData())
+              parquetMetaData.getKeyValueMetaData(),
+              predicate)
           );
     }
     return splits;
@@ -32,8 +32,14 @@ import org.apache.hadoop.mapreduce.TaskAttemptContext;
 import org.apache.hadoop.mapreduce.lib.output.FileOutputFormat;
 
 import parquet.Log;
+import parquet.column.ColumnDescriptor;
+import parquet.column.Encoding;
+import parquet.column.mem.ColumnEncodings;
+import parquet.column.mem.PageLimits;
+import parquet.format.converter.ParquetMetadataConverter;
 import parquet.hadoop.WriteSupport.WriteContext;
 import parquet.hadoop.metadata.CompressionCodecName;
+import parquet.io.ParquetEncodingException;
 import parquet.parser.MessageTypeParser;
 import parquet.schema.MessageType;
 
@@ -48,7 +54,13 @@ import parquet.schema.MessageType;
  * <pre>
  * parquet.block.size=52428800 # in bytes, default = 50 * 1024 * 1024
  * parquet.page.size=8192 # in bytes, default = 8 * 1024
+ * parquet.page.value.count=20000 # maximum number of values in a page, default = no limit
+ * parquet.page.size.a.b=65536 # the page size and value count can be set for a given column by appending its path
  * parquet.compression=UNCOMPRESSED # one of: UNCOMPRESSED, SNAPPY, GZIP, LZO. Default: UNCOMPRESSED. Supersedes mapred.output.compress*
+ * parquet.enable.dictionary=true # false to turn dictionary encoding off
+ * parquet.dictionary.page.size=8192 # in bytes, default = parquet.page.size. Past this size the column falls back to plain encoding
+ * parquet.enable.adaptive.encoding=false # true to pick plain or dictionary encoding for each page of the columns without parquet.encoding (needs parquet.enable.dictionary)
+ * parquet.encoding.a.b=PLAIN # the encoding of the data pages of the column a.b (one of: PLAIN, PLAIN_DICTIONARY). Default depends on the type
  * </pre>
  *
  * If parquet.compression is not set, the following properties are checked (FileOutputFormat behavior)
@@ -70,6 +82,40 @@ public class ParquetOutputFormat<T> extends FileOutputFormat<Void, T> {
   public static final String PAGE_SIZE           = "parquet.page.size";
   public static final String COMPRESSION         = "parquet.compression";
   public static final String WRITE_SUPPORT_CLASS = "parquet.write.support.class";
+  public static final String DICTIONARY_PAGE_SIZE = "parquet.dictionary.page.size";
+  public static final String ENABLE_DICTIONARY   = "parquet.enable.dictionary";
+  public static final String PAGE_VALUE_COUNT    = "parquet.page.value.count";
+  /**
+   * prefix of the encoding of the data pages of a column: parquet.encoding.{column path}
+   * (one of {@link ParquetMetadataConverter#FILE_ENCODINGS})
+   */
+  public static final String ENCODING            = "parquet.encoding";
+  /**
+   * set to true to pick the smallest encoding for each page of the columns that do not set parquet.encoding.
+   * Files can only use the {@link ParquetMetadataConverter#FILE_ENCODINGS}, so this picks plain or dictionary encoding
+   * and does nothing when dictionary encoding is off
+   */
+  public static final String ENABLE_ADAPTIVE_ENCODING = "parquet.enable.adaptive.encoding";
+  /**
+   * number of threads compressing the pages of the columns concurrently (1 to compress in the writing thread)
+   */
+  public static final String COMPRESSION_THREADS = "parquet.compression.threads";
+  /**
+   * set to true to write the row groups in a background thread while the next one is being filled
+   */
+  public static final String ENABLE_ASYNC_FLUSH  = "parquet.enable.async.flush";
+  /**
+   * maximum number of row groups waiting to be written in the background (each of them holds up to a block size of memory)
+   */
+  public static final String ASYNC_FLUSH_MAX_PENDING = "parquet.async.flush.max.pending";
+  /**
+   * fraction of the heap shared by all the writers of the JVM. The row groups are scaled down when they need more
+   */
+  public static final String MEMORY_POOL_RATIO   = "parquet.memory.pool.ratio";
+  /**
+   * set to false to let every writer use its full block size whatever the other writers of the JVM need
+   */
+  public static final String ENABLE_MEMORY_MANAGER = "parquet.enable.memory.manager";
 
   public static void setWriteSupportClass(Job job,  Class<?> writeSupportClass) {
     job.getConfiguration().set(WRITE_SUPPORT_CLASS, writeSupportClass.getName());
@@ -99,6 +145,53 @@ public class ParquetOutputFormat<T> extends FileOutputFormat<Void, T> {
     job.getConfiguration().setInt(PAGE_SIZE, pageSize);
   }
 
+  /**
+   * @param job the job to configure
+   * @param columnPath the path of the column separated by dots
+   * @param pageSize the page size for that column
+   */
+  public static void setPageSize(Job job, String columnPath, int pageSize) {
+    job.getConfiguration().setInt(PAGE_SIZE + "." + columnPath, pageSize);
+  }
+
+  public static void setPageValueCount(Job job, int pageValueCount) {
+    job.getConfiguration().setInt(PAGE_VALUE_COUNT, pageValueCount);
+  }
+
+  /**
+   * @param job the job to configure
+   * @param columnPath the path of the column separated by dots
+   * @param pageValueCount the maximum number of values in a page of that column
+   */
+  public static void setPageValueCount(Job job, String columnPath, int pageValueCount) {
+    job.getConfiguration().setInt(PAGE_VALUE_COUNT + "." + columnPath, pageValueCount);
+  }
+
+  /**
+   * @param job the job to configure
+   * @param columnPath the path of the column separated by dots
+   * @param encoding the encoding of the data pages of that column (one of {@link ParquetMetadataConverter#FILE_ENCODINGS})
+   */
+  public static void setEncoding(Job job, String columnPath, Encoding encoding) {
+    job.getConfiguration().set(ENCODING + "." + columnPath, encoding.name());
+  }
+
+  public static void setEnableAdaptiveEncoding(Job job, boolean enableAdaptiveEncoding) {
+    job.getConfiguration().setBoolean(ENABLE_ADAPTIVE_ENCODING, enableAdaptiveEncoding);
+  }
+
+  public static boolean getEnableAdaptiveEncoding(JobContext jobContext) {
+    return jobContext.getConfiguration().getBoolean(ENABLE_ADAPTIVE_ENCODING, false);
+  }
+
+  public static void setDictionaryPageSize(Job job, int pageSize) {
+    job.getConfiguration().setInt(DICTIONARY_PAGE_SIZE, pageSize);
+  }
+
+  public static void setEnableDictionary(Job job, boolean enableDictionary) {
+    job.getConfiguration().setBoolean(ENABLE_DICTIONARY, enableDictionary);
+  }
+
   public static void setCompression(Job job, CompressionCodecName compression) {
     job.getConfiguration().set(COMPRESSION, compression.name());
   }
@@ -111,6 +204,105 @@ public class ParquetOutputFormat<T> extends FileOutputFormat<Void, T> {
     return jobContext.getConfiguration().getInt(PAGE_SIZE, 8*1024);
   }
 
+  public static int getPageValueCount(JobContext jobContext) {
+    return jobContext.getConfiguration().getInt(PAGE_VALUE_COUNT, Integer.MAX_VALUE);
+  }
+
+  /**
+   * @param jobContext the job
+   * @param schema the schema of the file
+   * @return the page size and value count of each column of the schema
+   */
+  public static PageLimits getPageLimits(JobContext jobContext, MessageType schema) {
+    Configuration conf = jobContext.getConfiguration();
+    PageLimits pageLimits = new PageLimits(getPageSize(jobContext), getPageValueCount(jobContext));
+    for (ColumnDescriptor column : schema.getColumns()) {
+      String columnPath = PageLimits.toColumnPath(column);
+      String pageSize = conf.get(PAGE_SIZE + "." + columnPath);
+      if (pageSize != null) {
+        pageLimits.setPageSizeThreshold(columnPath, Integer.parseInt(pageSize));
+      }
+      String pageValueCount = conf.get(PAGE_VALUE_COUNT + "." + columnPath);
+      if (pageValueCount != null) {
+        pageLimits.setPageValueCountThreshold(columnPath, Integer.parseInt(pageValueCount));
+      }
+    }
+    return pageLimits;
+  }
+
+  /**
+   * @param jobContext the job
+   * @param schema the schema of the file
+   * @return the encodings requested for the columns of the schema
+   */
+  public static ColumnEncodings getColumnEncodings(JobContext jobContext, MessageType schema) {
+    Configuration conf = jobContext.getConfiguration();
+    ColumnEncodings columnEncodings = new ColumnEncodings();
+    // the experimental encodings of the column layer are not part of the file format
+    columnEncodings.setAvailableEncodings(ParquetMetadataConverter.FILE_ENCODINGS);
+    columnEncodings.setAdaptiveEncoding(getEnableAdaptiveEncoding(jobContext));
+    for (ColumnDescriptor column : schema.getColumns()) {
+      String columnPath = PageLimits.toColumnPath(column);
+      String encoding = conf.get(ENCODING + "." + columnPath);
+      if (encoding != null) {
+        Encoding columnEncoding = Encoding.valueOf(encoding.toUpperCase());
+        if (!columnEncodings.isAvailable(columnEncoding)) {
+          throw new ParquetEncodingException("encoding " + columnEncoding + " of column " + columnPath + " can not be written to a file");
+        }
+        columnEncodings.setEncoding(columnPath, columnEncoding);
+      }
+    }
+    return columnEncodings;
+  }
+
+  public static int getDictionaryPageSize(JobContext jobContext) {
+    return jobContext.getConfiguration().getInt(DICTIONARY_PAGE_SIZE, getPageSize(jobContext));
+  }
+
+  public static boolean getEnableDictionary(JobContext jobContext) {
+    return jobContext.getConfiguration().getBoolean(ENABLE_DICTIONARY, true);
+  }
+
+  public static void setCompressionThreads(Job job, int compressionThreads) {
+    job.getConfiguration().setInt(COMPRESSION_THREADS, compressionThreads);
+  }
+
+  public static int getCompressionThreads(JobContext jobContext) {
+    return jobContext.getConfiguration().getInt(COMPRESSION_THREADS, 1);
+  }
+
+  public static void setEnableAsyncFlush(Job job, boolean enableAsyncFlush) {
+    job.getConfiguration().setBoolean(ENABLE_ASYNC_FLUSH, enableAsyncFlush);
+  }
+
+  public static boolean getEnableAsyncFlush(JobContext jobContext) {
+    return jobContext.getConfiguration().getBoolean(ENABLE_ASYNC_FLUSH, false);
+  }
+
+  public static void setAsyncFlushMaxPending(Job job, int maxPending) {
+    job.getConfiguration().setInt(ASYNC_FLUSH_MAX_PENDING, maxPending);
+  }
+
+  public static int getAsyncFlushMaxPending(JobContext jobContext) {
+    return jobContext.getConfiguration().getInt(ASYNC_FLUSH_MAX_PENDING, 1);
+  }
+
+  public static void setMemoryPoolRatio(Job job, float memoryPoolRatio) {
+    job.getConfiguration().setFloat(MEMORY_POOL_RATIO, memoryPoolRatio);
+  }
+
+  public static float getMemoryPoolRatio(JobContext jobContext) {
+    return jobContext.getConfiguration().getFloat(MEMORY_POOL_RATIO, MemoryManager.DEFAULT_MEMORY_POOL_RATIO);
+  }
+
+  public static void setEnableMemoryManager(Job job, boolean enableMemoryManager) {
+    job.getConfiguration().setBoolean(ENABLE_MEMORY_MANAGER, enableMemoryManager);
+  }
+
+  public static boolean getEnableMemoryManager(JobContext jobContext) {
+    return jobContext.getConfiguration().getBoolean(ENABLE_MEMORY_MANAGER, true);
+  }
+
   public static CompressionCodecName getCompression(JobContext jobContext) {
     return CompressionCodecName.fromConf(jobContext.getConfiguration().get(COMPRESSION, CompressionCodecName.UNCOMPRESSED.name()));
   }
@@ -152,6 +344,10 @@ public class ParquetOutputFormat<T> extends FileOutputFormat<Void, T> {
     if (INFO) LOG.info("Parquet block size to " + blockSize);
     int pageSize = getPageSize(taskAttemptContext);
     if (INFO) LOG.info("Parquet page size to " + pageSize);
+    int dictionaryPageSize = getDictionaryPageSize(taskAttemptContext);
+    boolean enableDictionary = getEnableDictionary(taskAttemptContext);
+    if (INFO) LOG.info("Dictionary is " + (enableDictionary ? "on" : "off"));
+    if (INFO) LOG.info("Parquet dictionary page size to " + dictionaryPageSize);
 
     if (writeSupport == null) {
       Class<?> writeSupportClass = getWriteSupportClass(taskAttemptContext);
@@ -183,7 +379,25 @@ public class ParquetOutputFormat<T> extends FileOutputFormat<Void, T> {
     WriteContext init = writeSupport.init(conf);
     ParquetFileWriter w = new ParquetFileWriter(conf, init.getSchema(), file);
     w.start();
-    return new ParquetRecordWriter<T>(w, writeSupport, init.getSchema(), init.getExtraMetaData(), blockSize, pageSize, codecFactory.getCompressor(codec, pageSize));
+    int compressionThreads = getCompressionThreads(taskAttemptContext);
+    ParallelPageCompressor parallelCompressor = null;
+    if (compressionThreads > 1 && codec != CompressionCodecName.UNCOMPRESSED) {
+      parallelCompressor = new ParallelPageCompressor(codecFactory, codec, pageSize, compressionThreads);
+    }
+    int maxPendingRowGroups = 0;
+    if (getEnableAsyncFlush(taskAttemptContext)) {
+      maxPendingRowGroups = getAsyncFlushMaxPending(taskAttemptContext);
+      if (INFO) LOG.info("Row groups written in the background, at most " + maxPendingRowGroups + " pending");
+    }
+    PageLimits pageLimits = getPageLimits(taskAttemptContext, init.getSchema());
+    ColumnEncodings columnEncodings = getColumnEncodings(taskAttemptContext, init.getSchema());
+    MemoryManager memoryManager = null;
+    if (getEnableMemoryManager(taskAttemptContext)) {
+      memoryManager = MemoryManager.getMemoryManager(getMemoryPoolRatio(taskAttemptContext));
+    } else {
+      if (INFO) LOG.info("Memory manager is off");
+    }
+    return new ParquetRecordWriter<T>(w, writeSupport, init.getSchema(), init.getExtraMetaData(), blockSize, pageLimits, codecFactory.getCompressor(codec, pageSize), parallelCompressor, dictionaryPageSize, enableDictionary, columnEncodings, maxPendingRowGroups, memoryManager);
   }
 
   @Override
@@ -18,6 +18,7 @@ package parquet.hadoop;
 import static parquet.Log.DEBUG;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 
 import org.apache.hadoop.conf.Configuration;
@@ -29,9 +30,12 @@ import org.apache.hadoop.mapreduce.TaskAttemptContext;
 import parquet.Log;
 import parquet.column.ColumnDescriptor;
 import parquet.column.mem.PageReadStore;
+import parquet.filter.Predicate;
 import parquet.hadoop.metadata.BlockMetaData;
+import parquet.hadoop.metadata.ColumnChunkMetaData;
 import parquet.io.ColumnIOFactory;
 import parquet.io.MessageColumnIO;
+import parquet.io.RecordReaderCompiler;
 import parquet.io.convert.RecordConverter;
 import parquet.parser.MessageTypeParser;
 import parquet.schema.GroupType;
@@ -60,8 +64,11 @@ public class ParquetRecordReader<T> extends RecordReader<Void, T> {
 
   private T currentValue;
   private long total;
-  private int current = 0;
+  private long current = 0;
   private ParquetFileReader reader;
+  private RowGroupPrefetcher prefetcher;
+  private Predicate predicate;
+  private RecordReaderCompiler recordReaderCompiler;
   private parquet.io.RecordReader<T> recordReader;
 
   private long totalTimeSpentReadingBytes;
@@ -83,7 +90,7 @@ public class ParquetRecordReader<T> extends RecordReader<Void, T> {
     this.readSupportClass = readSupportClass;
   }
 
-  private void checkRead() throws IOException {
+  private void checkRead() throws IOException, InterruptedException {
     if (current == totalCountLoadedSoFar) {
       if (current != 0) {
         long timeAssembling = System.currentTimeMillis() - startedAssemblingCurrentBlockAt;
@@ -97,7 +104,7 @@ public class ParquetRecordReader<T> extends RecordReader<Void, T> {
 
       LOG.info("at row " + current + ". reading next block");
       long t0 = System.currentTimeMillis();
-      PageReadStore pages = reader.readNextRowGroup();
+      PageReadStore pages = prefetcher == null ? reader.readNextRowGroup() : prefetcher.readNextRowGroup();
       if (pages == null) {
         throw new IOException("expecting more rows but reached last block. Read " + current + " out of " + total);
       }
@@ -106,7 +113,10 @@ public class ParquetRecordReader<T> extends RecordReader<Void, T> {
       LOG.info("block read in memory in " + timeSpentReading + " ms. row count = " + pages.getRowCount());
       if (Log.DEBUG) LOG.debug("initializing Record assembly with requested schema " + requestedSchema);
       MessageColumnIO columnIO = columnIOFactory.getColumnIO(requestedSchema);
-      recordReader = columnIO.getRecordReader(pages, recordConverter);
+      recordReader = columnIO.getRecordReader(pages, recordConverter, predicate);
+      if (recordReaderCompiler != null) {
+        recordReader = recordReaderCompiler.compile(recordReader);
+      }
       startedAssemblingCurrentBlockAt = System.currentTimeMillis();
       totalCountLoadedSoFar += pages.getRowCount();
     }
@@ -117,6 +127,9 @@ public class ParquetRecordReader<T> extends RecordReader<Void, T> {
    */
   @Override
   public void close() throws IOException {
+    if (prefetcher != null) {
+      prefetcher.close();
+    }
     reader.close();
   }
 
@@ -170,10 +183,31 @@ public class ParquetRecordReader<T> extends RecordReader<Void, T> {
     Path path = parquetInputSplit.getPath();
     List<BlockMetaData> blocks = parquetInputSplit.getBlocks();
     List<ColumnDescriptor> columns = requestedSchema.getColumns();
-    reader = new ParquetFileReader(configuration, path, blocks, columns);
-    for (BlockMetaData block : blocks) {
+    predicate = ParquetInputFormat.getFilterPredicate(configuration);
+    if (ParquetInputFormat.getCompileRecordReader(configuration)) {
+      recordReaderCompiler = new RecordReaderCompiler();
+    }
+    reader = new ParquetFileReader(configuration, path, blocks, columns, predicate);
+    // the reader skips the same row groups
+    List<BlockMetaData> filteredBlocks = RowGroupFilter.filterRowGroups(predicate, blocks);
+    for (BlockMetaData block : filteredBlocks) {
       total += block.getRowCount();
     }
+    if (ParquetInputFormat.getEnablePrefetch(configuration)) {
+      List<Long> rowGroupSizes = new ArrayList<Long>();
+      for (BlockMetaData block : filteredBlocks) {
+        long size = 0;
+        for (ColumnChunkMetaData column : block.getColumns()) {
+          if (contains(requestedSchema, column.getPath(), 0)) {
+            size += column.getTotalUncompressedSize();
+          }
+        }
+        rowGroupSizes.add(size);
+      }
+      long maxBytesInFlight = ParquetInputFormat.getPrefetchMaxBytes(configuration);
+      LOG.info("prefetching row groups up to " + maxBytesInFlight + " bytes");
+      prefetcher = new RowGroupPrefetcher(reader, rowGroupSizes, maxBytesInFlight);
+    }
     LOG.info("RecordReader initialized will read a total of " + total + " records.");
   }
 
@@ -197,9 +231,15 @@ public class ParquetRecordReader<T> extends RecordReader<Void, T> {
    */
   @Override
   public boolean nextKeyValue() throws IOException, InterruptedException {
-    if (current < total) {
+    while (current < total) {
       checkRead();
       currentValue = recordReader.read();
+      if (currentValue == null) {
+        // the filter found no more matching records in this row group
+        if (DEBUG) LOG.debug("skipping to the end of the row group at row " + current);
+        current = totalCountLoadedSoFar;
+        continue;
+      }
       if (DEBUG) LOG.debug("read value: " + currentValue);
       current ++;
       return true;
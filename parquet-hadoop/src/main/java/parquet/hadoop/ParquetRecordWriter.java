@@ -23,7 +23,9 @@ import org.apache.hadoop.mapreduce.RecordWriter;
 import org.apache.hadoop.mapreduce.TaskAttemptContext;
 
 import parquet.Log;
+import parquet.column.mem.ColumnEncodings;
 import parquet.column.mem.MemColumnWriteStore;
+import parquet.column.mem.PageLimits;
 import parquet.hadoop.CodecFactory.BytesCompressor;
 import parquet.io.ColumnIOFactory;
 import parquet.io.MessageColumnIO;
@@ -46,11 +48,21 @@ public class ParquetRecordWriter<T> extends RecordWriter<Void, T> {
   private final MessageType schema;
   private final Map<String, String> extraMetaData;
   private final int blockSize;
-  private final int pageSize;
+  private final PageLimits pageLimits;
   private final BytesCompressor compressor;
+  private final ParallelPageCompressor parallelCompressor;
+  private final int dictionaryPageSize;
+  private final boolean enableDictionary;
+  private final ColumnEncodings columnEncodings;
+  private final AsyncRowGroupFlusher asyncFlusher;
+  private final int rowGroupsInMemory;
+  private final MemoryManager memoryManager;
 
   private long recordCount = 0;
   private long recordCountForNextMemCheck = 100;
+  // set by the memory manager
+  private volatile long rowGroupSizeThreshold;
+  private volatile boolean checkMemNow = false;
 
   private MemColumnWriteStore store;
   private ColumnChunkPageWriteStore pageStore;
@@ -63,9 +75,17 @@ public class ParquetRecordWriter<T> extends RecordWriter<Void, T> {
    * @param schema the schema of the records
    * @param extraMetaData extra meta data to write in the footer of the file
    * @param blockSize the size of a block in the file (this will be approximate)
-   * @param codec the codec used to compress
+   * @param pageLimits the size and value count of a page of each column in the file (the size will be approximate)
+   * @param compressor the compressor used to compress the pages
+   * @param parallelCompressor if not null, compresses the pages in a pool of threads (closed with the writer)
+   * @param dictionaryPageSize the threshold for dictionary size
+   * @param enableDictionary to enable the dictionary
+   * @param columnEncodings the encodings requested for some of the columns
+   * @param maxPendingRowGroups if more than 0, the row groups are written in the background
+   *                            and at most that many row groups wait to be written
+   * @param memoryManager scales down the row groups when all the writers of the JVM need more than the heap (may be null)
    */
-  ParquetRecordWriter(ParquetFileWriter w, WriteSupport<T> writeSupport, MessageType schema,  Map<String, String> extraMetaData, int blockSize, int pageSize, BytesCompressor compressor) {
+  ParquetRecordWriter(ParquetFileWriter w, WriteSupport<T> writeSupport, MessageType schema,  Map<String, String> extraMetaData, int blockSize, PageLimits pageLimits, BytesCompressor compressor, ParallelPageCompressor parallelCompressor, int dictionaryPageSize, boolean enableDictionary, ColumnEncodings columnEncodings, int maxPendingRowGroups, MemoryManager memoryManager) {
     if (writeSupport == null) {
       throw new NullPointerException("writeSupport");
     }
@@ -74,14 +94,34 @@ public class ParquetRecordWriter<T> extends RecordWriter<Void, T> {
     this.schema = schema;
     this.extraMetaData = extraMetaData;
     this.blockSize = blockSize;
-    this.pageSize = pageSize;
+    this.pageLimits = pageLimits;
     this.compressor = compressor;
-    initStore();
+    this.parallelCompressor = parallelCompressor;
+    this.dictionaryPageSize = dictionaryPageSize;
+    this.enableDictionary = enableDictionary;
+    this.columnEncodings = columnEncodings;
+    this.asyncFlusher = maxPendingRowGroups > 0 ? new AsyncRowGroupFlusher(w, maxPendingRowGroups) : null;
+    // the row groups waiting to be written are in memory too
+    this.rowGroupsInMemory = 1 + Math.max(0, maxPendingRowGroups);
+    this.rowGroupSizeThreshold = blockSize;
+    this.memoryManager = memoryManager;
+    if (memoryManager != null) {
+      memoryManager.addWriter(this, (long)blockSize * rowGroupsInMemory);
+    }
+    boolean initialized = false;
+    try {
+      initStore();
+      initialized = true;
+    } finally {
+      if (!initialized) {
+        removeFromMemoryManager();
+      }
+    }
   }
 
   private void initStore() {
-    pageStore = new ColumnChunkPageWriteStore(compressor, schema);
-    store = new MemColumnWriteStore(pageStore, pageSize);
+    pageStore = new ColumnChunkPageWriteStore(compressor, schema, parallelCompressor);
+    store = new MemColumnWriteStore(pageStore, pageLimits, dictionaryPageSize, enableDictionary, columnEncodings);
     MessageColumnIO columnIO = new ColumnIOFactory().getColumnIO(schema);
     writeSupport.prepareForWrite(columnIO.getRecordWriter(store));
   }
@@ -92,8 +132,23 @@ public class ParquetRecordWriter<T> extends RecordWriter<Void, T> {
   @Override
   public void close(TaskAttemptContext taskAttemptContext) throws IOException,
   InterruptedException {
-    flushStore();
-    w.end(extraMetaData);
+    removeFromMemoryManager();
+    try {
+      try {
+        flushStore();
+      } finally {
+        // waits for the row groups still being written and stops the thread
+        if (asyncFlusher != null) {
+          asyncFlusher.close();
+        }
+      }
+      // the footer is written only if all the row groups were
+      w.end(extraMetaData);
+    } finally {
+      if (parallelCompressor != null) {
+        parallelCompressor.close();
+      }
+    }
   }
 
   /**
@@ -106,25 +161,69 @@ public class ParquetRecordWriter<T> extends RecordWriter<Void, T> {
     checkBlockSizeReached();
   }
 
-  private void checkBlockSizeReached() throws IOException {
-    if (recordCount >= recordCountForNextMemCheck) { // checking the memory size is relatively expensive, so let's not do it for every record.
+  private void checkBlockSizeReached() throws IOException, InterruptedException {
+    if (recordCount >= recordCountForNextMemCheck || checkMemNow) { // checking the memory size is relatively expensive, so let's not do it for every record.
+      checkMemNow = false;
+      long threshold = rowGroupSizeThreshold;
       long memSize = store.memSize();
       float recordSize = (float) memSize / recordCount;
-      recordCountForNextMemCheck = (long)(blockSize * 0.9 / recordSize); // -10% so that we don't miss it.
+      recordCountForNextMemCheck = (long)(threshold * 0.9 / recordSize); // -10% so that we don't miss it.
       if (recordCountForNextMemCheck - recordCount > 1000) {
         LOG.info("Checked mem at " + recordCount + " will check again at: " + recordCountForNextMemCheck);
       }
-      if (memSize > blockSize) {
-        LOG.info("mem size " + memSize + " > " + blockSize + ": flushing " + recordCount + " records to disk.");
-        flushStore();
-        initStore();
+      if (memSize > threshold) {
+        LOG.info("mem size " + memSize + " > " + threshold + ": flushing " + recordCount + " records to disk.");
+        boolean flushed = false;
+        try {
+          flushStore();
+          initStore();
+          flushed = true;
+        } finally {
+          if (!flushed) {
+            // this writer can not be used anymore and close may never be called
+            removeFromMemoryManager();
+          }
+        }
       }
     }
   }
 
+  /**
+   * called by the memory manager when the memory available to this writer changes
+   * @param allocation the memory this writer can use for the row groups it holds
+   */
+  void setMemoryAllocation(long allocation) {
+    long threshold = Math.min(blockSize, allocation / rowGroupsInMemory);
+    if (threshold < rowGroupSizeThreshold) {
+      // the current row group may be too big already
+      checkMemNow = true;
+    }
+    rowGroupSizeThreshold = threshold;
+  }
+
+  /**
+   * @return the size at which the current row group is flushed
+   */
+  long getRowGroupSizeThreshold() {
+    return rowGroupSizeThreshold;
+  }
+
+  private void removeFromMemoryManager() {
+    if (memoryManager != null) {
+      memoryManager.removeWriter(this);
+    }
+  }
+
   private void flushStore()
-      throws IOException {
+      throws IOException, InterruptedException {
     LOG.info("Flushing mem store to file. allocated memory: " + store.allocatedSize());
+    if (asyncFlusher != null) {
+      asyncFlusher.flush(recordCount, store, pageStore);
+      recordCount = 0;
+      store = null;
+      pageStore = null;
+      return;
+    }
     w.startBlock(recordCount);
     store.flush();
     pageStore.flushToFileWriter(w);
@@ -0,0 +1,42 @@
+/**
+ * Copyright 2012 Twitter, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package parquet.hadoop;
+
+import org.apache.hadoop.conf.Configuration;
+
+import parquet.filter.Predicate;
+
+/**
+ * Abstraction used by the {@link ParquetInputFormat} to get the filter on the records.
+ * Row groups whose statistics prove that no record matches are not read.
+ * When the predicate only references non repeated columns of the requested schema,
+ * the records that do not match are skipped before assembly.
+ *
+ * @see ParquetInputFormat#setFilterPredicateClass(org.apache.hadoop.mapreduce.Job, Class)
+ *
+ * @author Julien Le Dem
+ *
+ */
+abstract public class PredicateProvider {
+
+  /**
+   * called when the splits are generated and in {@link ParquetRecordReader#initialize(org.apache.hadoop.mapreduce.InputSplit, org.apache.hadoop.mapreduce.TaskAttemptContext)}
+   * @param configuration the job configuration
+   * @return the filter to apply or null to read everything
+   */
+  abstract public Predicate getPredicate(Configuration configuration);
+
+}
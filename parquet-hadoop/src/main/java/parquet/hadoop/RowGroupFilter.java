@@ -0,0 +1,90 @@
+/**
+ * Copyright 2012 Twitter, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package parquet.hadoop;
+
+import static parquet.Log.DEBUG;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import parquet.Log;
+import parquet.column.statistics.Statistics;
+import parquet.filter.Predicate;
+import parquet.filter.StatisticsSource;
+import parquet.hadoop.metadata.BlockMetaData;
+import parquet.hadoop.metadata.ColumnChunkMetaData;
+
+/**
+ * Evaluates a {@link Predicate} against the column chunk statistics of row groups
+ *
+ * @author Julien Le Dem
+ *
+ */
+class RowGroupFilter implements StatisticsSource {
+  private static final Log LOG = Log.getLog(RowGroupFilter.class);
+
+  /**
+   * @param predicate the filter (may be null)
+   * @param blocks the row groups
+   * @return the row groups that may contain matching records
+   */
+  static List<BlockMetaData> filterRowGroups(Predicate predicate, List<BlockMetaData> blocks) {
+    if (predicate == null) {
+      return blocks;
+    }
+    List<BlockMetaData> filtered = new ArrayList<BlockMetaData>(blocks.size());
+    for (BlockMetaData block : blocks) {
+      if (!canDrop(predicate, block)) {
+        filtered.add(block);
+      }
+    }
+    if (DEBUG) LOG.debug("kept " + filtered.size() + " out of " + blocks.size() + " row groups for filter " + predicate);
+    return filtered;
+  }
+
+  /**
+   * @param predicate the filter (may be null)
+   * @param block the row group
+   * @return true if the statistics of the row group prove that no record matches
+   */
+  static boolean canDrop(Predicate predicate, BlockMetaData block) {
+    return predicate != null && predicate.canDrop(new RowGroupFilter(block));
+  }
+
+  private final Map<String, ColumnChunkMetaData> columns = new HashMap<String, ColumnChunkMetaData>();
+
+  private RowGroupFilter(BlockMetaData block) {
+    for (ColumnChunkMetaData column : block.getColumns()) {
+      columns.put(Arrays.toString(column.getPath()), column);
+    }
+  }
+
+  @Override
+  public Statistics<?> getStatistics(String[] path) {
+    ColumnChunkMetaData column = columns.get(Arrays.toString(path));
+    return column == null ? null : column.getStatistics();
+  }
+
+  @Override
+  public long getValueCount(String[] path) {
+    ColumnChunkMetaData column = columns.get(Arrays.toString(path));
+    return column == null ? -1 : column.getValueCount();
+  }
+
+}
@@ -0,0 +1,142 @@
+/**
+ * Copyright 2012 Twitter, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package parquet.hadoop;
+
+import static parquet.Log.DEBUG;
+
+import java.io.IOException;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import parquet.Log;
+import parquet.column.mem.PageReadStore;
+
+/**
+ * Reads and decompresses the next row groups in a background thread while the current one is assembled.
+ * The row groups are prefetched in order as long as their uncompressed size fits in the limit.
+ * The next row group is always prefetched even if it is bigger than the limit.
+ *
+ * All the reads and decompressions happen in the background thread so that the reader and the decompressors are never used concurrently.
+ *
+ * @author Julien Le Dem
+ *
+ */
+class RowGroupPrefetcher {
+  private static final Log LOG = Log.getLog(RowGroupPrefetcher.class);
+
+  private static final ThreadFactory THREAD_FACTORY = new ThreadFactory() {
+    @Override
+    public Thread newThread(Runnable r) {
+      Thread thread = new Thread(r, "parquet-row-group-prefetcher");
+      thread.setDaemon(true);
+      return thread;
+    }
+  };
+
+  // reads are not interruptible, this bounds the wait for the one in progress
+  private static final long CLOSE_TIMEOUT_SECONDS = 10;
+
+  private final ParquetFileReader reader;
+  private final List<Long> rowGroupSizes;
+  private final long maxBytesInFlight;
+  private final ExecutorService executor = Executors.newSingleThreadExecutor(THREAD_FACTORY);
+
+  private final LinkedList<Future<PageReadStore>> inFlight = new LinkedList<Future<PageReadStore>>();
+  private long bytesInFlight = 0;
+  private int nextToSchedule = 0;
+  private int nextToReturn = 0;
+
+  /**
+   * @param reader the file reader (must not be used by anybody else)
+   * @param rowGroupSizes the uncompressed size of the columns read in each row group the reader will return
+   * @param maxBytesInFlight the maximum size of the row groups prefetched and not returned yet
+   */
+  RowGroupPrefetcher(ParquetFileReader reader, List<Long> rowGroupSizes, long maxBytesInFlight) {
+    this.reader = reader;
+    this.rowGroupSizes = rowGroupSizes;
+    this.maxBytesInFlight = maxBytesInFlight;
+  }
+
+  private void schedule() {
+    while (nextToSchedule < rowGroupSizes.size()
+        && (inFlight.isEmpty() || bytesInFlight + rowGroupSizes.get(nextToSchedule) <= maxBytesInFlight)) {
+      if (DEBUG) LOG.debug("prefetching row group " + nextToSchedule);
+      inFlight.add(executor.submit(new Callable<PageReadStore>() {
+        @Override
+        public PageReadStore call() throws Exception {
+          ColumnChunkPageReadStore pages = (ColumnChunkPageReadStore)reader.readNextRowGroup();
+          if (pages != null) {
+            pages.decompress();
+          }
+          return pages;
+        }
+      }));
+      bytesInFlight += rowGroupSizes.get(nextToSchedule);
+      ++ nextToSchedule;
+    }
+  }
+
+  /**
+   * @return the next row group, with its pages decompressed, or null if there are no more
+   * @throws IOException if the row group could not be read
+   * @throws InterruptedException if interrupted while waiting for the row group
+   */
+  PageReadStore readNextRowGroup() throws IOException, InterruptedException {
+    schedule();
+    if (inFlight.isEmpty()) {
+      return null;
+    }
+    Future<PageReadStore> next = inFlight.removeFirst();
+    bytesInFlight -= rowGroupSizes.get(nextToReturn);
+    ++ nextToReturn;
+    // start the next one before waiting
+    schedule();
+    try {
+      return next.get();
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof IOException) {
+        throw (IOException)cause;
+      } else if (cause instanceof RuntimeException) {
+        throw (RuntimeException)cause;
+      } else if (cause instanceof Error) {
+        throw (Error)cause;
+      }
+      throw new IOException("could not read row group " + (nextToReturn - 1), cause);
+    }
+  }
+
+  /**
+   * stops the background thread and waits for the current read to stop. The reader must be closed afterwards.
+   */
+  void close() {
+    executor.shutdownNow();
+    try {
+      if (!executor.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+        LOG.warn("the prefetching thread did not stop after " + CLOSE_TIMEOUT_SECONDS + " seconds");
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -20,6 +20,7 @@ import java.util.Arrays;
 import java.util.List;
 
 import parquet.column.Encoding;
+import parquet.column.statistics.Statistics;
 import parquet.schema.PrimitiveType.PrimitiveTypeName;
 
 
@@ -44,6 +45,7 @@ public class ColumnChunkMetaData implements Serializable {
 
   private long totalUncompressedSize;
 
+  private Statistics<?> statistics;
 
   /**
    *
@@ -145,9 +147,24 @@ public class ColumnChunkMetaData implements Serializable {
     return encodings;
   }
 
+  /**
+   *
+   * @return the statistics of the values in this column chunk or null if not available
+   */
+  public Statistics<?> getStatistics() {
+    return statistics;
+  }
+
+  /**
+   * @param statistics the statistics of the values in this column chunk
+   */
+  public void setStatistics(Statistics<?> statistics) {
+    this.statistics = statistics;
+  }
+
   @Override
   public String toString() {
-    return "ColumnMetaData{" + codec + ", " + firstDataPage + ", " + Arrays.toString(path) + "}";
+    return "ColumnMetaData{" + codec + ", " + firstDataPage + ", " + Arrays.toString(path) + (statistics == null ? "" : ", " + statistics) + "}";
   }
 
 }
@@ -16,6 +16,7 @@
 package parquet.format.converter;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
@@ -30,6 +31,7 @@ import parquet.format.PageHeader;
 import parquet.format.PageType;
 import parquet.format.SchemaElement;
 import parquet.format.converter.ParquetMetadataConverter;
+import parquet.io.ParquetEncodingException;
 import parquet.schema.MessageType;
 
 public class TestParquetMetadataConverter {
@@ -55,4 +57,21 @@ public class TestParquetMetadataConverter {
     assertEquals(Paper.schema, schema);
   }
 
+  @Test
+  public void testEncodings() {
+    ParquetMetadataConverter parquetMetadataConverter = new ParquetMetadataConverter();
+    for (parquet.column.Encoding encoding : parquet.column.Encoding.values()) {
+      if (ParquetMetadataConverter.FILE_ENCODINGS.contains(encoding)) {
+        assertEquals(encoding, parquetMetadataConverter.getEncoding(parquetMetadataConverter.getEncoding(encoding)));
+      } else {
+        try {
+          parquetMetadataConverter.getEncoding(encoding);
+          fail(encoding + " is not in the file format");
+        } catch (ParquetEncodingException e) {
+          // expected
+        }
+      }
+    }
+  }
+
 }
@@ -30,10 +30,13 @@ import org.apache.hadoop.mapreduce.InputSplit;
 import org.junit.Test;
 
 import parquet.column.Encoding;
+import parquet.column.statistics.BinaryStatistics;
+import parquet.filter.Predicate;
 import parquet.hadoop.metadata.BlockMetaData;
 import parquet.hadoop.metadata.ColumnChunkMetaData;
 import parquet.hadoop.metadata.CompressionCodecName;
 import parquet.hadoop.metadata.FileMetaData;
+import parquet.io.Binary;
 import parquet.schema.MessageType;
 import parquet.schema.PrimitiveType.PrimitiveTypeName;
 
@@ -51,7 +54,7 @@ public class TestInputFormat {
     };
     FileStatus fileStatus = new FileStatus(100, false, 2, 50, 0, new Path("hdfs://foo.namenode:1234/bar"));
     FileMetaData fileMetaData = new FileMetaData(new MessageType("foo"));
-    List<InputSplit> splits = ParquetInputFormat.generateSplits(blocks, hdfsBlocks, fileStatus, fileMetaData, ReadSupport.class, "", new HashMap<String, String>());
+    List<InputSplit> splits = ParquetInputFormat.generateSplits(blocks, hdfsBlocks, fileStatus, fileMetaData, ReadSupport.class, "", new HashMap<String, String>(), null);
     assertEquals(splits.toString().replaceAll("([{])", "$0\n").replaceAll("([}])", "\n$0"), 2, splits.size());
     for (int i = 0; i < splits.size(); i++) {
       ParquetInputSplit<?> parquetInputSplit = (ParquetInputSplit<?>)splits.get(i);
@@ -62,10 +65,47 @@ public class TestInputFormat {
     }
   }
 
+  @Test
+  public void testBlocksToSplitsWithFilter() throws IOException, InterruptedException {
+    List<BlockMetaData> blocks = new ArrayList<BlockMetaData>();
+    for (int i = 0; i < 10; i++) {
+      blocks.add(newBlock(i * 10, String.valueOf(i)));
+    }
+    BlockLocation[] hdfsBlocks = new BlockLocation[] {
+        new BlockLocation(new String[0], new String[] { "foo0.datanode", "bar0.datanode"}, 0, 50),
+        new BlockLocation(new String[0], new String[] { "foo1.datanode", "bar1.datanode"}, 50, 50)
+    };
+    FileStatus fileStatus = new FileStatus(100, false, 2, 50, 0, new Path("hdfs://foo.namenode:1234/bar"));
+    FileMetaData fileMetaData = new FileMetaData(new MessageType("foo"));
+    Predicate predicate = Predicate.or(Predicate.eq("foo", Binary.fromString("3")), Predicate.eq("foo", Binary.fromString("4")));
+    List<InputSplit> splits = ParquetInputFormat.generateSplits(blocks, hdfsBlocks, fileStatus, fileMetaData, ReadSupport.class, "", new HashMap<String, String>(), predicate);
+    assertEquals(1, splits.size());
+    ParquetInputSplit<?> parquetInputSplit = (ParquetInputSplit<?>)splits.get(0);
+    assertEquals(2, parquetInputSplit.getBlocks().size());
+    assertEquals("[foo0.datanode, bar0.datanode]", Arrays.toString(parquetInputSplit.getLocations()));
+
+    predicate = Predicate.not(Predicate.eq("foo", Binary.fromString("3")));
+    splits = ParquetInputFormat.generateSplits(blocks, hdfsBlocks, fileStatus, fileMetaData, ReadSupport.class, "", new HashMap<String, String>(), predicate);
+    assertEquals(2, splits.size());
+    assertEquals(4, ((ParquetInputSplit<?>)splits.get(0)).getBlocks().size());
+    assertEquals(5, ((ParquetInputSplit<?>)splits.get(1)).getBlocks().size());
+  }
+
   private BlockMetaData newBlock(long start) {
+    return newBlock(start, null);
+  }
+
+  private BlockMetaData newBlock(long start, String value) {
     BlockMetaData blockMetaData = new BlockMetaData();
     ColumnChunkMetaData column = new ColumnChunkMetaData(new String[] {"foo"}, PrimitiveTypeName.BINARY, CompressionCodecName.GZIP, Arrays.asList(Encoding.PLAIN));
     column.setFirstDataPageOffset(start);
+    if (value != null) {
+      BinaryStatistics statistics = new BinaryStatistics();
+      statistics.updateStats(Binary.fromString(value));
+      column.setStatistics(statistics);
+      column.setValueCount(1);
+      blockMetaData.setRowCount(1);
+    }
     blockMetaData.addColumn(column);
     return blockMetaData;
   }
@@ -0,0 +1,94 @@
+/**
+ * Copyright 2012 Twitter, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package parquet.hadoop;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.Path;
+import org.junit.Test;
+
+import parquet.column.mem.ColumnEncodings;
+import parquet.column.mem.PageLimits;
+import parquet.example.data.Group;
+import parquet.example.data.simple.SimpleGroupFactory;
+import parquet.hadoop.example.GroupWriteSupport;
+import parquet.hadoop.metadata.CompressionCodecName;
+import parquet.parser.MessageTypeParser;
+import parquet.schema.MessageType;
+
+public class TestMemoryManager {
+
+  private static final MessageType SCHEMA = MessageTypeParser.parseMessageType("message m { required int32 a; }");
+
+  private final Configuration conf = new Configuration();
+  private final CodecFactory codecFactory = new CodecFactory(conf);
+
+  @Test
+  public void testScaleDownAndRemove() throws Exception {
+    // a pool of 500000 bytes
+    MemoryManager memoryManager = new MemoryManager(0.5f, 1000 * 1000);
+    assertEquals(500000, memoryManager.getTotalMemoryPool());
+
+    ParquetRecordWriter<Group> w1 = newWriter("w1", 200000, 0, memoryManager);
+    assertEquals(200000, w1.getRowGroupSizeThreshold());
+
+    // 200000 + 2 * 200000 does not fit: everybody gets 5/6 of what it needs
+    ParquetRecordWriter<Group> w2 = newWriter("w2", 200000, 1, memoryManager);
+    assertEquals(600000, memoryManager.getTotalAllocation());
+    assertEquals(166666, w1.getRowGroupSizeThreshold());
+    // the pending row group of w2 is in memory too
+    assertEquals(166666, w2.getRowGroupSizeThreshold());
+
+    w1.write(null, new SimpleGroupFactory(SCHEMA).newGroup().append("a", 1));
+    w2.write(null, new SimpleGroupFactory(SCHEMA).newGroup().append("a", 2));
+
+    // closing w2 gives its memory back
+    w2.close(null);
+    assertEquals(200000, memoryManager.getTotalAllocation());
+    assertEquals(200000, w1.getRowGroupSizeThreshold());
+
+    w1.close(null);
+    assertEquals(0, memoryManager.getTotalAllocation());
+    // removing a writer twice is harmless
+    memoryManager.removeWriter(w1);
+    assertEquals(0, memoryManager.getTotalAllocation());
+    codecFactory.release();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidRatio() {
+    new MemoryManager(1.5f, 1000);
+  }
+
+  private ParquetRecordWriter<Group> newWriter(String name, int blockSize, int maxPendingRowGroups, MemoryManager memoryManager) throws IOException {
+    File file = new File("target/test/TestMemoryManager/" + name).getAbsoluteFile();
+    file.delete();
+    ParquetFileWriter w = new ParquetFileWriter(conf, SCHEMA, new Path(file.toURI()));
+    w.start();
+    GroupWriteSupport writeSupport = new GroupWriteSupport();
+    GroupWriteSupport.setSchema(SCHEMA, conf);
+    writeSupport.init(conf);
+    return new ParquetRecordWriter<Group>(
+        w, writeSupport, SCHEMA, new HashMap<String, String>(), blockSize, new PageLimits(1024),
+        codecFactory.getCompressor(CompressionCodecName.UNCOMPRESSED, 1024), null,
+        1024, false, new ColumnEncodings(), maxPendingRowGroups, memoryManager);
+  }
+}
@@ -118,6 +118,51 @@ public class TestParquetFileWriter {
 
       assertNull(r.readNextRowGroup());
     }
+
+    { // stream the pages of col #1 and #2 in interleaved order
+      Configuration streamingConfiguration = new Configuration(configuration);
+      streamingConfiguration.setBoolean(ParquetInputFormat.ENABLE_PAGE_STREAMING, true);
+      ParquetFileReader r = new ParquetFileReader(streamingConfiguration, path, readFooter.getBlocks(), Arrays.asList(schema.getColumnDescription(path1), schema.getColumnDescription(path2)));
+
+      PageReadStore pages = r.readNextRowGroup();
+      assertEquals(3, pages.getRowCount());
+      assertNull(pages.getPageReader(c1).readDictionaryPage());
+      validateContains(schema, pages, path2, 2, BytesInput.from(bytes2));
+      validateContains(schema, pages, path1, 2, BytesInput.from(bytes1));
+      validateContains(schema, pages, path2, 3, BytesInput.from(bytes2));
+      validateContains(schema, pages, path1, 3, BytesInput.from(bytes1));
+      validateContains(schema, pages, path2, 1, BytesInput.from(bytes2));
+      assertNull(pages.getPageReader(c1).readPage());
+
+      pages = r.readNextRowGroup();
+      assertEquals(4, pages.getRowCount());
+      validateContains(schema, pages, path1, 7, BytesInput.from(bytes3));
+      validateContains(schema, pages, path2, 8, BytesInput.from(bytes4));
+
+      assertNull(r.readNextRowGroup());
+    }
+
+    { // read all blocks of col #1 and #2 from a memory mapped file
+      Configuration mappedConfiguration = new Configuration(configuration);
+      mappedConfiguration.setBoolean(ParquetInputFormat.ENABLE_MEMORY_MAP, true);
+      ParquetFileReader r = new ParquetFileReader(mappedConfiguration, path, readFooter.getBlocks(), Arrays.asList(schema.getColumnDescription(path1), schema.getColumnDescription(path2)));
+
+      PageReadStore pages = r.readNextRowGroup();
+      assertEquals(3, pages.getRowCount());
+      validateContains(schema, pages, path1, 2, BytesInput.from(bytes1));
+      validateContains(schema, pages, path1, 3, BytesInput.from(bytes1));
+      validateContains(schema, pages, path2, 2, BytesInput.from(bytes2));
+      validateContains(schema, pages, path2, 3, BytesInput.from(bytes2));
+      validateContains(schema, pages, path2, 1, BytesInput.from(bytes2));
+
+      pages = r.readNextRowGroup();
+      assertEquals(4, pages.getRowCount());
+      validateContains(schema, pages, path1, 7, BytesInput.from(bytes3));
+      validateContains(schema, pages, path2, 8, BytesInput.from(bytes4));
+
+      assertNull(r.readNextRowGroup());
+      r.close();
+    }
     PrintFooter.main(new String[] {path.toString()});
   }
 
@@ -18,11 +18,14 @@ package parquet.hadoop.example;
 import static java.lang.Thread.sleep;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
 
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.FileSystem;
@@ -38,6 +41,11 @@ import org.junit.Test;
 import parquet.Log;
 import parquet.example.data.Group;
 import parquet.example.data.simple.SimpleGroupFactory;
+import parquet.hadoop.Footer;
+import parquet.hadoop.ParquetFileReader;
+import parquet.hadoop.ParquetInputFormat;
+import parquet.hadoop.ParquetOutputFormat;
+import parquet.hadoop.metadata.BlockMetaData;
 import parquet.hadoop.metadata.CompressionCodecName;
 import parquet.parser.MessageTypeParser;
 
@@ -66,10 +74,61 @@ public class TestInputOutputFormat {
 
   @Test
   public void testReadWrite() throws IOException, ClassNotFoundException, InterruptedException {
+    readWrite("parquet", "out", new Configuration(), 0);
+  }
+
+  @Test
+  public void testReadWriteAsyncFlush() throws IOException, ClassNotFoundException, InterruptedException {
+    Configuration conf = new Configuration();
+    conf.setBoolean(ParquetOutputFormat.ENABLE_ASYNC_FLUSH, true);
+    // small row groups so that several of them are compressed while the previous ones are written
+    readWrite("parquet-async", "out-async", conf, 1024);
+    int blockCount = 0;
+    for (Footer footer : readFooters("parquet-async")) {
+      blockCount += footer.getParquetMetadata().getBlocks().size();
+    }
+    assertTrue("row groups: " + blockCount, blockCount > 1);
+  }
+
+  @Test
+  public void testReadWriteParallelCompression() throws IOException, ClassNotFoundException, InterruptedException {
+    Configuration conf = new Configuration();
+    conf.setInt(ParquetOutputFormat.COMPRESSION_THREADS, 4);
+    // small pages so that several of them are compressed at the same time
+    readWrite("parquet-threads", "out-threads", conf, 1024);
+    for (Footer footer : readFooters("parquet-threads")) {
+      for (BlockMetaData block : footer.getParquetMetadata().getBlocks()) {
+        // the column chunks are written in the order of the schema
+        assertEquals(2, block.getColumns().size());
+        assertEquals("[line]", Arrays.toString(block.getColumns().get(0).getPath()));
+        assertEquals("[content]", Arrays.toString(block.getColumns().get(1).getPath()));
+      }
+    }
+  }
+
+  @Test
+  public void testReadWritePrefetch() throws IOException, ClassNotFoundException, InterruptedException {
+    Configuration conf = new Configuration();
+    conf.setBoolean(ParquetInputFormat.ENABLE_PREFETCH, true);
+    // several row groups so that the next ones are read while the current one is assembled
+    readWrite("parquet-prefetch", "out-prefetch", conf, 1024);
+    int blockCount = 0;
+    for (Footer footer : readFooters("parquet-prefetch")) {
+      blockCount += footer.getParquetMetadata().getBlocks().size();
+    }
+    assertTrue("row groups: " + blockCount, blockCount > 1);
+  }
+
+  private List<Footer> readFooters(String parquetDir) throws IOException {
     final Configuration conf = new Configuration();
+    final Path parquetPath = new Path("target/test/example/TestInputOutputFormat/" + parquetDir);
+    return ParquetFileReader.readFooters(conf, parquetPath.getFileSystem(conf).getFileStatus(parquetPath));
+  }
+
+  private void readWrite(String parquetDir, String outputDir, Configuration conf, int blockSize) throws IOException, ClassNotFoundException, InterruptedException {
     final Path inputPath = new Path("src/test/java/parquet/hadoop/example/TestInputOutputFormat.java");
-    final Path parquetPath = new Path("target/test/example/TestInputOutputFormat/parquet");
-    final Path outputPath = new Path("target/test/example/TestInputOutputFormat/out");
+    final Path parquetPath = new Path("target/test/example/TestInputOutputFormat/" + parquetDir);
+    final Path outputPath = new Path("target/test/example/TestInputOutputFormat/" + outputDir);
     final FileSystem fileSystem = parquetPath.getFileSystem(conf);
     fileSystem.delete(parquetPath, true);
     fileSystem.delete(outputPath, true);
@@ -79,6 +138,10 @@ public class TestInputOutputFormat {
       job.setInputFormatClass(TextInputFormat.class);
       job.setNumReduceTasks(0);
       ExampleOutputFormat.setCompression(job, CompressionCodecName.GZIP);
+      if (blockSize > 0) {
+        ExampleOutputFormat.setBlockSize(job, blockSize);
+        ExampleOutputFormat.setPageSize(job, blockSize / 4);
+      }
       ExampleOutputFormat.setOutputPath(job, parquetPath);
       job.setOutputFormatClass(ExampleOutputFormat.class);
       job.setMapperClass(TestInputOutputFormat.MyMapper.class);
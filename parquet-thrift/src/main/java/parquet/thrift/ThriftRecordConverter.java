@@ -371,11 +371,13 @@ public class ThriftRecordConverter<T> extends RecordConverter<T> {
     }
 
     @Override
-    public void addBinary(final Binary value) {
+    public void addBinary(Binary value) {
+      // the events are replayed after the value has been read and it may not be valid anymore
+      final Binary copy = value.copy();
       events.add(new ParquetProtocol() {
         @Override
         public String readString() throws TException {
-          return value.toStringUsingUTF8();
+          return copy.toStringUsingUTF8();
         }
       });
     }